@@ -45,6 +45,7 @@ import org.apache.camel.spi.EndpointStrategy;
 import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.FactoryFinder;
 import org.apache.camel.spi.FactoryFinderResolver;
+import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.spi.InflightRepository;
 import org.apache.camel.spi.Injector;
 import org.apache.camel.spi.InterceptStrategy;
@@ -1426,6 +1427,83 @@ public interface CamelContext extends SuspendableService, RuntimeConfiguration {
      */
     void setTypeConverterStatisticsEnabled(Boolean typeConverterStatisticsEnabled);
 
+    /**
+     * Whether or not the type converter registry remembers the outcome of conversions in a lookup table.
+     *
+     * @return <tt>true</tt> if enabled, <tt>false</tt> if disabled (default).
+     */
+    Boolean isTypeConverterLookupTableEnabled();
+
+    /**
+     * Sets whether or not the type converter registry remembers the outcome of conversions in a lookup table
+     * indexed by the to and from types, which speeds up repeated conversions of the same types.
+     * <p/>
+     * By default the lookup table is disabled.
+     *
+     * @param typeConverterLookupTableEnabled <tt>true</tt> to enable, <tt>false</tt> to disable
+     */
+    void setTypeConverterLookupTableEnabled(Boolean typeConverterLookupTableEnabled);
+
+    /**
+     * Whether or not processor fusion is enabled.
+     *
+     * @return <tt>true</tt> if enabled, <tt>false</tt> if disabled (default).
+     */
+    Boolean isProcessorFusionEnabled();
+
+    /**
+     * Sets whether or not runs of simple synchronous processors in a route (such as setHeader, setBody, transform,
+     * removeHeader, convertBodyTo and filter) should be fused into a single {@link org.apache.camel.processor.FusedProcessor}
+     * when the route is created.
+     * <p/>
+     * The fused steps keep their error handler, interceptors and JMX statistics, but are invoked directly one after
+     * the other within a single channel. The message history, backlog tracer and debugger of the fused steps are
+     * executed by this channel around the fused steps as a whole. Routes which uses stream caching or a delayer is not fused.
+     * <p/>
+     * By default processor fusion is disabled.
+     *
+     * @param processorFusionEnabled <tt>true</tt> to enable, <tt>false</tt> to disable
+     */
+    void setProcessorFusionEnabled(Boolean processorFusionEnabled);
+
+    /**
+     * Whether or not parallel route startup is enabled.
+     *
+     * @return <tt>true</tt> if enabled, <tt>false</tt> if disabled (default).
+     */
+    Boolean isParallelRouteStartup();
+
+    /**
+     * Sets whether or not the components, and the consumers of the routes, should be started concurrently
+     * using a bounded thread pool when starting routes.
+     * <p/>
+     * Routes which has been configured with a <tt>startupOrder</tt> are still started one by one, in their order,
+     * as they may depend on each other. The routes in-between, which has no <tt>startupOrder</tt>, are independent
+     * and therefore started concurrently. The routes are warmed up (starting their processors) as usual before
+     * any consumer is started.
+     * <p/>
+     * The time taken to start each route is logged in a startup report.
+     * <p/>
+     * By default parallel route startup is disabled.
+     *
+     * @param parallelRouteStartup <tt>true</tt> to enable, <tt>false</tt> to disable
+     */
+    void setParallelRouteStartup(Boolean parallelRouteStartup);
+
+    /**
+     * Gets the maximum number of threads used for parallel route startup.
+     */
+    int getParallelRouteStartupPoolSize();
+
+    /**
+     * Sets the maximum number of threads used for parallel route startup.
+     * <p/>
+     * By default <tt>10</tt> threads is used.
+     *
+     * @param parallelRouteStartupPoolSize the maximum number of threads
+     */
+    void setParallelRouteStartupPoolSize(int parallelRouteStartupPoolSize);
+
     /**
      * Whether or not <a href="http://www.slf4j.org/api/org/slf4j/MDC.html">MDC</a> logging is being enabled.
      *
@@ -1454,6 +1532,26 @@ public interface CamelContext extends SuspendableService, RuntimeConfiguration {
      */
     void setUseBreadcrumb(Boolean useBreadcrumb);
 
+    /**
+     * Whether or not copy on write headers is enabled.
+     *
+     * @return <tt>true</tt> if copy on write headers is enabled
+     */
+    Boolean isCopyOnWriteHeaders();
+
+    /**
+     * Set whether copy on write headers is enabled.
+     * <p/>
+     * When enabled a copy of a message shares the headers with the message it was copied from,
+     * until either message changes its headers. This reduces the overhead of EIPs such as the
+     * Multicast, Splitter, Recipient List and Wire Tap which creates a copy of the message per destination.
+     * <p/>
+     * The message headers will then not be an instance of the map created by the {@link HeadersMapFactory}.
+     *
+     * @param copyOnWriteHeaders <tt>true</tt> to enable copy on write headers, <tt>false</tt> to disable
+     */
+    void setCopyOnWriteHeaders(Boolean copyOnWriteHeaders);
+
     /**
      * Resolves a component's default name from its java type.
      * <p/>
@@ -1630,4 +1728,14 @@ public interface CamelContext extends SuspendableService, RuntimeConfiguration {
      */
     void setModelJAXBContextFactory(ModelJAXBContextFactory modelJAXBContextFactory);
 
+    /**
+     * Gets the {@link HeadersMapFactory} to use.
+     */
+    HeadersMapFactory getHeadersMapFactory();
+
+    /**
+     * Sets a custom {@link HeadersMapFactory} to be used.
+     */
+    void setHeadersMapFactory(HeadersMapFactory factory);
+
 }
\ No newline at end of file
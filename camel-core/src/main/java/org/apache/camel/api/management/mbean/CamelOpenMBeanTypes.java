@@ -125,6 +125,17 @@ public final class CamelOpenMBeanTypes {
                 new OpenType[]{SimpleType.STRING, SimpleType.STRING, SimpleType.STRING, SimpleType.STRING, SimpleType.STRING, SimpleType.STRING});
     }
 
+    public static TabularType listAwaitThreadsPerRouteTabularType() throws OpenDataException {
+        CompositeType ct = listAwaitThreadsPerRouteCompositeType();
+        return new TabularType("listAwaitThreadsPerRoute", "Lists number of blocked threads by the routing engine per route", ct, new String[]{"routeId"});
+    }
+
+    public static CompositeType listAwaitThreadsPerRouteCompositeType() throws OpenDataException {
+        return new CompositeType("routes", "Routes", new String[]{"routeId", "threadsBlocked"},
+                new String[]{"RouteId", "Threads Blocked"},
+                new OpenType[]{SimpleType.STRING, SimpleType.LONG});
+    }
+
     public static TabularType listEipsTabularType() throws OpenDataException {
         CompositeType ct = listEipsCompositeType();
         return new TabularType("listEips", "Lists all the EIPs", ct, new String[]{"name"});
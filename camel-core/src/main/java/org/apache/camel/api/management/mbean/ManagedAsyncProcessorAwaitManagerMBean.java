@@ -38,9 +38,12 @@ public interface ManagedAsyncProcessorAwaitManagerMBean extends ManagedServiceMB
     @ManagedOperation(description = "To interrupt an exchange which may seem as stuck, to force the exchange to continue, allowing any blocking thread to be released.")
     void interrupt(String exchangeId);
 
-    @ManagedAttribute(description = "Number of threads that has been blocked")
+    @ManagedAttribute(description = "Number of threads that has been blocked (including threads where the callback was already done, counted with zero wait duration)")
     long getThreadsBlocked();
 
+    @ManagedOperation(description = "Lists the number of threads that has been blocked per route, which are the routes still falling back to blocking instead of continuing asynchronously")
+    TabularData browseThreadsBlockedPerRoute();
+
     @ManagedAttribute(description = "Number of threads that has been interrupted")
     long getThreadsInterrupted();
 
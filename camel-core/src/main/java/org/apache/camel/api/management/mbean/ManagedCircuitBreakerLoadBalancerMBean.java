@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.api.management.mbean;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+
+public interface ManagedCircuitBreakerLoadBalancerMBean extends ManagedProcessorMBean {
+
+    @ManagedAttribute(description = "Current state of the circuit breaker (Closed, HalfOpen or Open)")
+    String getState();
+
+    @ManagedAttribute(description = "Number of consecutive failures which opens the circuit")
+    int getThreshold();
+
+    @ManagedAttribute(description = "Time in millis the circuit stays open before allowing trial calls")
+    long getHalfOpenAfter();
+
+    @ManagedAttribute(description = "Whether the sliding window is in use")
+    boolean isSlidingWindow();
+
+    @ManagedAttribute(description = "Percentage of failed calls in the sliding window which opens the circuit")
+    int getFailureRateThreshold();
+
+    @ManagedAttribute(description = "Percentage of slow calls in the sliding window which opens the circuit")
+    int getSlowCallRateThreshold();
+
+    @ManagedAttribute(description = "Duration in millis above which a call is considered slow")
+    long getSlowCallDurationThreshold();
+
+    @ManagedAttribute(description = "Number of calls in the count based sliding window")
+    int getSlidingWindowSize();
+
+    @ManagedAttribute(description = "Duration in millis of the time based sliding window")
+    long getSlidingWindowMillis();
+
+    @ManagedAttribute(description = "Minimum number of calls before the failure and slow call rates are evaluated")
+    int getMinimumNumberOfCalls();
+
+    @ManagedAttribute(description = "Number of trial calls permitted in the half open state")
+    int getPermittedNumberOfCallsInHalfOpenState();
+
+    @ManagedAttribute(description = "Number of calls in the sliding window")
+    int getNumberOfCalls();
+
+    @ManagedAttribute(description = "Number of failed calls in the sliding window, or consecutive failures if not using a sliding window")
+    int getNumberOfFailedCalls();
+
+    @ManagedAttribute(description = "Number of slow calls in the sliding window")
+    int getNumberOfSlowCalls();
+
+    @ManagedAttribute(description = "Percentage of failed calls in the sliding window")
+    int getFailureRate();
+
+    @ManagedAttribute(description = "Percentage of slow calls in the sliding window")
+    int getSlowCallRate();
+
+    @ManagedOperation(description = "Resets the circuit breaker to the closed state and clears the statistics")
+    void resetState();
+
+}
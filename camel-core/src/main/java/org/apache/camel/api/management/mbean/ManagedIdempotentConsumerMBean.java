@@ -27,4 +27,13 @@ public interface ManagedIdempotentConsumerMBean extends ManagedProcessorMBean {
     @ManagedOperation(description = "Reset the current count of duplicate Messages")
     void resetDuplicateMessageCount();
 
+    @ManagedAttribute(description = "Number of lookups where the key was already in the idempotent repository, or -1 if not supported by the repository")
+    long getRepositoryHits();
+
+    @ManagedAttribute(description = "Number of lookups where the key was not in the idempotent repository, or -1 if not supported by the repository")
+    long getRepositoryMisses();
+
+    @ManagedAttribute(description = "Number of keys evicted from the idempotent repository, or -1 if not supported by the repository")
+    long getRepositoryEvicted();
+
 }
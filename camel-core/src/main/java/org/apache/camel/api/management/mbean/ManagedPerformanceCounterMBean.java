@@ -59,6 +59,24 @@ public interface ManagedPerformanceCounterMBean extends ManagedCounterMBean {
     @ManagedAttribute(description = "Delta Processing Time [milliseconds]")
     long getDeltaProcessingTime() throws Exception;
 
+    @ManagedAttribute(description = "Whether latency histogram is enabled, which is needed for the processing time percentiles")
+    boolean isLatencyHistogramEnabled();
+
+    @ManagedAttribute(description = "50th percentile (median) Processing Time over the sliding window [milliseconds] (-1 if latency histogram is disabled)")
+    long getProcessingTimePercentile50();
+
+    @ManagedAttribute(description = "95th percentile Processing Time over the sliding window [milliseconds] (-1 if latency histogram is disabled)")
+    long getProcessingTimePercentile95();
+
+    @ManagedAttribute(description = "99th percentile Processing Time over the sliding window [milliseconds] (-1 if latency histogram is disabled)")
+    long getProcessingTimePercentile99();
+
+    @ManagedAttribute(description = "99.9th percentile Processing Time over the sliding window [milliseconds] (-1 if latency histogram is disabled)")
+    long getProcessingTimePercentile999();
+
+    @ManagedOperation(description = "Processing Time at the given percentile over the sliding window [milliseconds] (-1 if latency histogram is disabled)")
+    long getProcessingTimePercentile(double percentile);
+
     @ManagedAttribute(description = "Last Exchange Completed Timestamp")
     Date getLastExchangeCompletedTimestamp();
 
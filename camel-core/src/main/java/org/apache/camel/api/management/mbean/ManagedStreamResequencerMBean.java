@@ -0,0 +1,45 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.api.management.mbean;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+
+public interface ManagedStreamResequencerMBean extends ManagedProcessorMBean {
+
+    @ManagedAttribute(description = "Timeout in millis for waiting for out of sequence exchanges")
+    long getTimeout();
+
+    @ManagedAttribute(description = "Maximum number of exchanges held by the resequencer")
+    int getCapacity();
+
+    @ManagedAttribute(description = "Number of exchanges currently held by the resequencer")
+    int getSize();
+
+    @ManagedAttribute(description = "Number of exchanges delivered by the resequencer")
+    long getDeliveredCount();
+
+    @ManagedAttribute(description = "Number of exchanges which arrived out of sequence and waited for a gap to be filled")
+    long getGapCount();
+
+    @ManagedAttribute(description = "Number of exchanges released because they timed out waiting for a gap to be filled")
+    long getTimeoutCount();
+
+    @ManagedOperation(description = "Resets the gap and timeout statistics")
+    void resetResequencerStatistics();
+
+}
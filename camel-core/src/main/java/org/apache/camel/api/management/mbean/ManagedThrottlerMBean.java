@@ -35,4 +35,13 @@ public interface ManagedThrottlerMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "Number of exchanges currently throttled")
     int getThrottledCount();
 
+    @ManagedAttribute(description = "Whether token bucket mode is enabled")
+    boolean isTokenBucket();
+
+    @ManagedAttribute(description = "Maximum number of exchanges which can pass at once in token bucket mode")
+    long getBurst();
+
+    @ManagedAttribute(description = "Number of keys currently being throttled when using a correlation expression")
+    int getKeyCount();
+
 }
\ No newline at end of file
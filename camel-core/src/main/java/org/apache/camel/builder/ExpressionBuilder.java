@@ -50,6 +50,7 @@ import org.apache.camel.support.ExpressionAdapter;
 import org.apache.camel.support.TokenPairExpressionIterator;
 import org.apache.camel.support.TokenXMLExpressionIterator;
 import org.apache.camel.support.XMLTokenExpressionIterator;
+import org.apache.camel.util.ByteTokenizerIterator;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.GroupIterator;
@@ -1257,6 +1258,11 @@ public final class ExpressionBuilder {
         return new ExpressionAdapter() {
             public Object evaluate(Exchange exchange) {
                 Object value = expression.evaluate(exchange, Object.class);
+                // prefer to scan the raw bytes of streams and files
+                Iterator<?> it = ByteTokenizerIterator.createIterator(exchange, value, token, 1);
+                if (it != null) {
+                    return it;
+                }
                 Scanner scanner = ObjectHelper.getScanner(exchange, value);
                 scanner.useDelimiter(token);
                 return scanner;
@@ -1269,6 +1275,32 @@ public final class ExpressionBuilder {
         };
     }
 
+    /**
+     * Returns a tokenize expression which will tokenize the string with the
+     * given token, and group the given number of parts together
+     */
+    public static Expression groupTokenizeExpression(final Expression expression,
+                                                     final String token, final int group) {
+        return new ExpressionAdapter() {
+            public Object evaluate(Exchange exchange) {
+                Object value = expression.evaluate(exchange, Object.class);
+                // prefer to scan the raw bytes of streams and files, which can group the parts directly
+                Iterator<?> it = ByteTokenizerIterator.createIterator(exchange, value, token, group);
+                if (it != null) {
+                    return it;
+                }
+                Scanner scanner = ObjectHelper.getScanner(exchange, value);
+                scanner.useDelimiter(token);
+                return new GroupIterator(exchange, scanner, token, group);
+            }
+
+            @Override
+            public String toString() {
+                return "group tokenize(" + expression + ", " + token + ") " + group + " times";
+            }
+        };
+    }
+
     /**
      * Returns an {@link TokenPairExpressionIterator} expression
      */
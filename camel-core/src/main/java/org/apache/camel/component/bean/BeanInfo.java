@@ -17,6 +17,7 @@
 package org.apache.camel.component.bean;
 
 import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
@@ -51,6 +52,7 @@ import org.apache.camel.language.LanguageAnnotation;
 import org.apache.camel.spi.Registry;
 import org.apache.camel.util.CastUtils;
 import org.apache.camel.util.IntrospectionSupport;
+import org.apache.camel.util.LRUCache;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.StringQuoteHelper;
 import org.slf4j.Logger;
@@ -76,6 +78,8 @@ public class BeanInfo {
     private List<MethodInfo> operationsWithCustomAnnotation = new ArrayList<MethodInfo>();
     private List<MethodInfo> operationsWithHandlerAnnotation = new ArrayList<MethodInfo>();
     private Map<Method, MethodInfo> methodMap = new HashMap<Method, MethodInfo>();
+    // cache of the methods chosen by the message body type, so we do not scan the candidate methods per message
+    private Map<ChosenMethodKey, MethodInfo> chosenMethods = new LRUCache<ChosenMethodKey, MethodInfo>(1000);
 
     static {
         // exclude all java.lang.Object methods as we dont want to invoke them
@@ -122,6 +126,7 @@ public class BeanInfo {
             operationsWithCustomAnnotation = beanInfo.operationsWithCustomAnnotation;
             operationsWithHandlerAnnotation = beanInfo.operationsWithHandlerAnnotation;
             methodMap = beanInfo.methodMap;
+            chosenMethods = beanInfo.chosenMethods;
             return;
         }
 
@@ -545,6 +550,28 @@ public class BeanInfo {
      * @throws AmbiguousMethodCallException is thrown if cannot choose method due to ambiguity
      */
     protected MethodInfo chooseMethod(Object pojo, Exchange exchange, String name) throws AmbiguousMethodCallException {
+        // the chosen method only depends on the name, the type of the message body, the exchange pattern
+        // and whether the exchange has an exception, so we can cache the outcome
+        Object body = exchange.getIn().getBody();
+        boolean exception = exchange.getException() != null || exchange.getProperty(Exchange.EXCEPTION_CAUGHT) != null;
+        ChosenMethodKey key = new ChosenMethodKey(name, body != null ? body.getClass() : null, exchange.getPattern().isOutCapable(), exception);
+
+        MethodInfo answer = chosenMethods.get(key);
+        if (answer != null) {
+            LOG.trace("Using cached chosen method: {}", answer);
+            return answer;
+        }
+
+        answer = doChooseMethod(pojo, exchange, name);
+        // only cache if the message body was not converted while choosing the method,
+        // as then the type converters was involved and we must choose again the next time
+        if (answer != null && body == exchange.getIn().getBody()) {
+            chosenMethods.put(key.weakKey(), answer);
+        }
+        return answer;
+    }
+
+    private MethodInfo doChooseMethod(Object pojo, Exchange exchange, String name) throws AmbiguousMethodCallException {
         // @Handler should be select first
         // then any single method that has a custom @annotation
         // or any single method that has a match parameter type that matches the Exchange payload
@@ -1158,4 +1185,87 @@ public class BeanInfo {
         return null;
     }
 
+    /**
+     * Key for the cache of chosen methods.
+     * <p/>
+     * The type of the message body is kept as its class name and class loader, and the keys stored in the cache
+     * only hold a weak reference to the class loader, so the cache does not keep the classes of message bodies
+     * (and their class loaders) from being garbage collected, for example when an application is redeployed.
+     */
+    private static final class ChosenMethodKey {
+        private final String name;
+        private final String bodyTypeName;
+        // the class loader is held strongly by keys used for lookups, and weakly by keys stored in the cache
+        private final ClassLoader bodyTypeLoader;
+        private final WeakReference<ClassLoader> bodyTypeLoaderRef;
+        private final boolean outCapable;
+        private final boolean exception;
+        private final int hash;
+
+        private ChosenMethodKey(String name, Class<?> bodyType, boolean outCapable, boolean exception) {
+            this(name, bodyType != null ? bodyType.getName() : null, bodyType != null ? bodyType.getClassLoader() : null,
+                    null, outCapable, exception);
+        }
+
+        private ChosenMethodKey(String name, String bodyTypeName, ClassLoader bodyTypeLoader, WeakReference<ClassLoader> bodyTypeLoaderRef,
+                                boolean outCapable, boolean exception) {
+            this.name = name;
+            this.bodyTypeName = bodyTypeName;
+            this.bodyTypeLoader = bodyTypeLoader;
+            this.bodyTypeLoaderRef = bodyTypeLoaderRef;
+            this.outCapable = outCapable;
+            this.exception = exception;
+
+            int result = name != null ? name.hashCode() : 0;
+            result = 31 * result + (bodyTypeName != null ? bodyTypeName.hashCode() : 0);
+            result = 31 * result + System.identityHashCode(bodyTypeLoaderRef != null ? bodyTypeLoaderRef.get() : bodyTypeLoader);
+            result = 31 * result + (outCapable ? 1 : 0);
+            result = 31 * result + (exception ? 1 : 0);
+            this.hash = result;
+        }
+
+        /**
+         * Creates a copy of this key which only holds a weak reference to the class loader, to be stored in the cache.
+         */
+        private ChosenMethodKey weakKey() {
+            if (bodyTypeLoader == null) {
+                // no body or a class from the bootstrap class loader, which is never garbage collected
+                return this;
+            }
+            return new ChosenMethodKey(name, bodyTypeName, null, new WeakReference<ClassLoader>(bodyTypeLoader), outCapable, exception);
+        }
+
+        private boolean isCollected() {
+            return bodyTypeLoaderRef != null && bodyTypeLoaderRef.get() == null;
+        }
+
+        private ClassLoader getBodyTypeLoader() {
+            return bodyTypeLoaderRef != null ? bodyTypeLoaderRef.get() : bodyTypeLoader;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            ChosenMethodKey that = (ChosenMethodKey) o;
+            if (isCollected() || that.isCollected()) {
+                // the class loader has been garbage collected so the key can no longer match
+                return false;
+            }
+            return outCapable == that.outCapable && exception == that.exception
+                    && ObjectHelper.equal(name, that.name) && ObjectHelper.equal(bodyTypeName, that.bodyTypeName)
+                    && getBodyTypeLoader() == that.getBodyTypeLoader();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
 }
@@ -62,6 +62,7 @@ import static org.apache.camel.util.ObjectHelper.asString;
  */
 public class MethodInfo {
     private static final Logger LOG = LoggerFactory.getLogger(MethodInfo.class);
+    private static final Object[] EMPTY_ARGUMENTS = new Object[0];
 
     private CamelContext camelContext;
     private Class<?> type;
@@ -417,20 +418,31 @@ public class MethodInfo {
         final int size = parameters.size();
         LOG.trace("Creating parameters expression for {} parameters", size);
 
+        // pre compute the expressions and types of the parameters so we do not look them up per invocation
         final Expression[] expressions = new Expression[size];
+        final Class<?>[] parameterTypes = new Class<?>[size];
         for (int i = 0; i < size; i++) {
             Expression parameterExpression = parameters.get(i).getExpression();
             expressions[i] = parameterExpression;
+            parameterTypes[i] = parameters.get(i).getType();
             LOG.trace("Parameter #{} has expression: {}", i, parameterExpression);
         }
         return new Expression() {
             @SuppressWarnings("unchecked")
             public <T> T evaluate(Exchange exchange, Class<T> type) {
+                if (size == 0) {
+                    // no parameters to bind, but the headers should still not be propagated
+                    exchange.getIn().removeHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY);
+                    exchange.getIn().removeHeader(Exchange.BEAN_METHOD_NAME);
+                    return (T) EMPTY_ARGUMENTS;
+                }
+
                 Object[] answer = new Object[size];
                 Object body = exchange.getIn().getBody();
                 boolean multiParameterArray = false;
-                if (exchange.getIn().getHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY) != null) {
-                    multiParameterArray = exchange.getIn().getHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY, Boolean.class);
+                Object multiParameterArrayHeader = exchange.getIn().getHeader(Exchange.BEAN_MULTI_PARAMETER_ARRAY);
+                if (multiParameterArrayHeader != null) {
+                    multiParameterArray = exchange.getContext().getTypeConverter().convertTo(boolean.class, exchange, multiParameterArrayHeader);
                     if (multiParameterArray) {
                         // Just change the message body to an Object array
                         if (!(body instanceof Object[])) {
@@ -464,7 +476,7 @@ public class MethodInfo {
                     // grab the parameter value for the given index
                     Object parameterValue = it != null && it.hasNext() ? it.next() : null;
                     // and the expected parameter type
-                    Class<?> parameterType = parameters.get(i).getType();
+                    Class<?> parameterType = parameterTypes[i];
                     // the value for the parameter to use
                     Object value = null;
 
@@ -17,19 +17,57 @@
 package org.apache.camel.component.file;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.camel.Processor;
 import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
 
 /**
  * File consumer.
+ * <p/>
+ * If <tt>watchDirectory</tt> is enabled then the directories are registered with the file system
+ * {@link WatchService}, and only the new or changed files reported by the watch service are considered
+ * when polling, instead of listing the directories. A full scan of the directories is done on the
+ * first poll, when the watch service has lost events, and periodically as a safety net.
+ * <p/>
+ * If <tt>recursive</tt> is enabled and <tt>directoryWalkPoolSize</tt> is configured then the sub directories
+ * are listed in parallel as soon as they are found, while the files are validated by the polling thread.
  */
 public class FileConsumer extends GenericFileConsumer<File> {
 
     private String endpointPath;
+    private WatchService watchService;
+    private final Set<File> watchedDirectories = new HashSet<File>();
+    private final Set<File> changedFiles = new LinkedHashSet<File>();
+    private boolean rescanRequired = true;
+    private long lastRescan;
+    private ExecutorService walkExecutorService;
 
     public FileConsumer(GenericFileEndpoint<File> endpoint, Processor processor, GenericFileOperations<File> operations) {
         super(endpoint, processor, operations);
@@ -38,6 +76,16 @@ public class FileConsumer extends GenericFileConsumer<File> {
 
     @Override
     protected boolean pollDirectory(String fileName, List<GenericFile<File>> fileList, int depth) {
+        if (depth == 0 && watchService != null) {
+            return pollWatchedDirectory(fileName, fileList);
+        }
+        if (depth == 0 && walkExecutorService != null) {
+            return pollDirectoryInParallel(fileName, fileList);
+        }
+        return doPollDirectory(fileName, fileList, depth);
+    }
+
+    protected boolean doPollDirectory(String fileName, List<GenericFile<File>> fileList, int depth) {
         log.trace("pollDirectory from fileName: {}", fileName);
 
         depth++;
@@ -51,6 +99,10 @@ public class FileConsumer extends GenericFileConsumer<File> {
             return true;
         }
 
+        if (watchService != null && (depth == 1 || endpoint.isRecursive())) {
+            watchDirectory(directory);
+        }
+
         log.trace("Polling directory: {}", directory.getPath());
         File[] dirFiles = directory.listFiles();
         if (dirFiles == null || dirFiles.length == 0) {
@@ -82,7 +134,7 @@ public class FileConsumer extends GenericFileConsumer<File> {
             // creates a generic file
             GenericFile<File> gf = asGenericFile(endpointPath, file, getEndpoint().getCharset());
 
-            if (file.isDirectory()) {
+            if (gf.isDirectory()) {
                 if (endpoint.isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(gf, true, files)) {
                     // recursive scan and add the sub files and folders
                     String subDirectory = fileName + File.separator + file.getName();
@@ -97,16 +149,345 @@ public class FileConsumer extends GenericFileConsumer<File> {
                     log.trace("Adding valid file: {}", file);
                     // matched file so add
                     fileList.add(gf);
+                    if (watchService != null) {
+                        // keep track of the file until its consumed, as it may not be (eg read lock not acquired or rollback)
+                        // and there is no new watch event for the file then
+                        changedFiles.add(file);
+                    }
+                } else if (watchService != null && depth >= endpoint.minDepth && isWaitingForDoneFile(gf)) {
+                    // keep track of the file, as there is no watch event for the file when its done file is written
+                    changedFiles.add(file);
+                }
+
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Polls the directory tree by listing the directories in parallel, using the directory walk thread pool.
+     * <p/>
+     * The walker threads only list the directories and read the attributes of their entries. Each listed directory
+     * is handed over to this polling thread, which validates the files and sub directories, as the filters and
+     * repositories are not thread safe, and submits the valid sub directories to be listed as soon as they are found.
+     * At most one directory per walker thread is listed ahead, which bounds the listed entries waiting to be validated.
+     */
+    protected boolean pollDirectoryInParallel(String fileName, List<GenericFile<File>> fileList) {
+        File directory = new File(fileName);
+        if (!directory.exists() || !directory.isDirectory()) {
+            log.debug("Cannot poll as directory does not exists or its not a directory: {}", directory);
+            if (getEndpoint().isDirectoryMustExist()) {
+                throw new GenericFileOperationFailedException("Directory does not exist: " + directory);
+            }
+            return true;
+        }
+
+        int maxListing = getEndpoint().getDirectoryWalkPoolSize();
+        CompletionService<ListedDirectory> walker = new ExecutorCompletionService<ListedDirectory>(walkExecutorService);
+        Set<Future<ListedDirectory>> listing = new HashSet<Future<ListedDirectory>>();
+        Deque<ListDirectoryTask> waiting = new ArrayDeque<ListDirectoryTask>();
+        waiting.add(new ListDirectoryTask(fileName, 1));
+        try {
+            while (!waiting.isEmpty() || !listing.isEmpty()) {
+                // list the waiting directories, but no more than one per walker thread at a time
+                while (!waiting.isEmpty() && listing.size() < maxListing) {
+                    listing.add(walker.submit(waiting.poll()));
+                }
+                Future<ListedDirectory> future = walker.take();
+                listing.remove(future);
+                if (!addListedDirectory(future.get(), fileList, waiting)) {
+                    return false;
                 }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ObjectHelper.wrapRuntimeCamelException(e);
+        } catch (ExecutionException e) {
+            throw ObjectHelper.wrapRuntimeCamelException(e.getCause());
+        } finally {
+            // stop listing the remaining directories if we stopped early
+            for (Future<ListedDirectory> future : listing) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Validates the entries of the listed directory, adding the valid files, and the valid sub directories
+     * to be listed next.
+     *
+     * @return <tt>false</tt> if no more files can be polled
+     */
+    private boolean addListedDirectory(ListedDirectory listed, List<GenericFile<File>> fileList, Deque<ListDirectoryTask> waiting) {
+        for (GenericFile<File> gf : listed.entries) {
+            // check if we can continue polling in files
+            if (!canPollMoreFiles(fileList)) {
+                return false;
+            }
+
+            if (gf.isDirectory()) {
+                if (listed.depth < endpoint.getMaxDepth() && isValidFile(gf, true, listed.files)) {
+                    waiting.add(new ListDirectoryTask(listed.fileName + File.separator + gf.getFileNameOnly(), listed.depth + 1));
+                }
+            } else if (listed.depth >= endpoint.minDepth && isValidFile(gf, false, listed.files)) {
+                log.trace("Adding valid file: {}", gf.getFile());
+                fileList.add(gf);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The entries of a directory listed by a {@link ListDirectoryTask}.
+     */
+    private static final class ListedDirectory {
+
+        private final String fileName;
+        private final int depth;
+        private final List<File> files;
+        private final List<GenericFile<File>> entries;
+
+        private ListedDirectory(String fileName, int depth, List<File> files, List<GenericFile<File>> entries) {
+            this.fileName = fileName;
+            this.depth = depth;
+            this.files = files;
+            this.entries = entries;
+        }
+    }
+
+    /**
+     * Lists a single directory using a {@link DirectoryStream}, and reads the attributes of its entries.
+     */
+    private final class ListDirectoryTask implements Callable<ListedDirectory> {
+
+        private final String fileName;
+        private final int depth;
+
+        private ListDirectoryTask(String fileName, int depth) {
+            this.fileName = fileName;
+            this.depth = depth;
+        }
+
+        @Override
+        public ListedDirectory call() throws Exception {
+            log.trace("Polling directory: {} at depth: {}", fileName, depth);
+
+            List<File> files = new ArrayList<File>();
+            List<GenericFile<File>> entries = new ArrayList<GenericFile<File>>();
+            DirectoryStream<Path> stream = null;
+            try {
+                stream = Files.newDirectoryStream(new File(fileName).toPath());
+                for (Path path : stream) {
+                    File file = path.toFile();
+                    GenericFile<File> gf = asGenericFile(endpointPath, file, getEndpoint().getCharset());
+                    // read the attributes on this walker thread, so the file system is accessed in parallel
+                    gf.isDirectory();
+                    files.add(file);
+                    entries.add(gf);
+                }
+            } catch (IOException e) {
+                // the same as when a directory cannot be listed sequentially, eg it was deleted in the meantime
+                log.debug("Cannot list directory: {} due to: {}", fileName, e.getMessage());
+            } catch (DirectoryIteratorException e) {
+                log.debug("Cannot list directory: {} due to: {}", fileName, e.getMessage());
+            } finally {
+                IOHelper.close(stream, "directoryStream", log);
+            }
+            return new ListedDirectory(fileName, depth, files, entries);
+        }
+    }
+
+    /**
+     * Polls the new or changed files reported by the watch service, or does a full scan of the directory if needed.
+     */
+    protected boolean pollWatchedDirectory(String fileName, List<GenericFile<File>> fileList) {
+        drainWatchEvents();
+
+        long interval = getEndpoint().getWatchRescanInterval();
+        long now = System.currentTimeMillis();
+        if (rescanRequired || !watchedDirectories.contains(new File(fileName)) || (interval > 0 && now - lastRescan >= interval)) {
+            log.debug("Scanning all files in directory: {}", fileName);
+            rescanRequired = false;
+            lastRescan = now;
+            // the full scan finds the changed files again, and keeps track of the files which are not yet consumed
+            changedFiles.clear();
+            boolean answer = doPollDirectory(fileName, fileList, 0);
+            if (!answer) {
+                // we hit the max messages per poll limit, so we need to scan again to find the remaining files
+                rescanRequired = true;
+            }
+            return answer;
+        }
+
+        log.trace("Polling {} changed files in directory: {}", changedFiles.size(), fileName);
+        Iterator<File> it = changedFiles.iterator();
+        while (it.hasNext()) {
+            // check if we can continue polling in files
+            if (!canPollMoreFiles(fileList)) {
+                return false;
+            }
+
+            File file = it.next();
+            if (!file.isFile() || depthOf(file) < endpoint.minDepth) {
+                // the file is gone (eg consumed) or not to be consumed
+                it.remove();
+                continue;
+            }
+
+            GenericFile<File> gf = asGenericFile(endpointPath, file, getEndpoint().getCharset());
+            if (endpoint.getInProgressRepository().contains(gf.getAbsoluteFilePath())) {
+                // keep the file until its no longer in progress, as the file may not have been consumed
+                continue;
+            }
+            if (isWaitingForDoneFile(gf)) {
+                // keep the file until its done file has been written
+                continue;
+            }
 
+            if (isValidFile(gf, false, null)) {
+                log.trace("Adding valid file: {}", file);
+                fileList.add(gf);
+            } else {
+                it.remove();
             }
         }
 
         return true;
     }
 
+    private boolean isWaitingForDoneFile(GenericFile<File> file) {
+        return endpoint.getDoneFileName() != null && !endpoint.isDoneFile(file.getFileNameOnly())
+                && !new File(endpoint.createDoneFileName(file.getAbsoluteFilePath())).exists();
+    }
+
+    private void drainWatchEvents() {
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            File directory = ((Path) key.watchable()).toFile();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    log.debug("Watch service lost events for directory: {}. Will scan all files on next poll.", directory);
+                    rescanRequired = true;
+                    continue;
+                }
+
+                File file = new File(directory, event.context().toString());
+                log.trace("Watch event: {} for file: {}", event.kind(), file);
+                if (file.isDirectory()) {
+                    watchNewDirectory(file);
+                } else {
+                    changedFiles.add(file);
+                }
+            }
+            if (!key.reset()) {
+                // the directory is no longer accessible (eg deleted)
+                watchedDirectories.remove(directory);
+            }
+        }
+    }
+
+    private void watchNewDirectory(File directory) {
+        if (!endpoint.isRecursive() || watchedDirectories.contains(directory)) {
+            return;
+        }
+        int depth = depthOf(directory);
+        if (depth < 0 || depth >= endpoint.getMaxDepth()) {
+            return;
+        }
+        GenericFile<File> gf = asGenericFile(endpointPath, directory, getEndpoint().getCharset());
+        if (!isValidFile(gf, true, null) || !watchDirectory(directory)) {
+            return;
+        }
+
+        // files may have been created before we started to watch the directory
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    watchNewDirectory(file);
+                } else {
+                    changedFiles.add(file);
+                }
+            }
+        }
+    }
+
+    private boolean watchDirectory(File directory) {
+        if (watchedDirectories.contains(directory)) {
+            return true;
+        }
+        try {
+            directory.toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            watchedDirectories.add(directory);
+            log.trace("Watching directory: {}", directory);
+            return true;
+        } catch (IOException e) {
+            log.debug("Cannot watch directory: " + directory + " due " + e.getMessage() + ". Will scan all files on next poll.", e);
+            rescanRequired = true;
+            return false;
+        }
+    }
+
+    /**
+     * The depth of the file relative to the starting directory, where the files in the starting directory has depth 1.
+     */
+    private int depthOf(File file) {
+        File root = new File(endpointPath);
+        int depth = 0;
+        File parent = file;
+        while (parent != null && !parent.equals(root)) {
+            depth++;
+            parent = parent.getParentFile();
+        }
+        return parent != null ? depth : -1;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        // create the watch service before the consumer is scheduled to poll
+        if (getEndpoint().isWatchDirectory()) {
+            watchService = getEndpoint().getFile().toPath().getFileSystem().newWatchService();
+            rescanRequired = true;
+        } else if (endpoint.isRecursive() && getEndpoint().getDirectoryWalkPoolSize() > 0) {
+            walkExecutorService = getEndpoint().getCamelContext().getExecutorServiceManager()
+                    .newFixedThreadPool(this, "FileDirectoryWalker", getEndpoint().getDirectoryWalkPoolSize());
+        }
+        super.doStart();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        if (watchService != null) {
+            IOHelper.close(watchService, "watchService", log);
+            watchService = null;
+        }
+        if (walkExecutorService != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdownNow(walkExecutorService);
+            walkExecutorService = null;
+        }
+        watchedDirectories.clear();
+        changedFiles.clear();
+    }
+
+    @Override
+    protected boolean isValidFile(GenericFile<File> file, boolean isDirectory, List<File> files) {
+        boolean answer = super.isValidFile(file, isDirectory, files);
+        if (answer && !isDirectory && file instanceof LazyAttributesGenericFile) {
+            // read the attributes of the valid file now, so they are as when the file was polled
+            ((LazyAttributesGenericFile) file).loadAttributes();
+        }
+        return answer;
+    }
+
     @Override
     protected boolean isMatched(GenericFile<File> file, String doneFileName, List<File> files) {
+        if (files == null) {
+            // the files in the directory was not listed, so check the file system
+            return new File(doneFileName).exists();
+        }
         String onlyName = FileUtil.stripPath(doneFileName);
         // the done file name must be among the files
         for (File f : files) {
@@ -126,7 +507,8 @@ public class FileConsumer extends GenericFileConsumer<File> {
      * @return wrapped as a GenericFile
      */
     public static GenericFile<File> asGenericFile(String endpointPath, File file, String charset) {
-        GenericFile<File> answer = new GenericFile<File>();
+        // the size, directory and last modified attributes are read from the file system when first used
+        GenericFile<File> answer = new LazyAttributesGenericFile();
         // use file specific binding
         answer.setBinding(new FileBinding());
 
@@ -134,8 +516,6 @@ public class FileConsumer extends GenericFileConsumer<File> {
         answer.setEndpointPath(endpointPath);
         answer.setFile(file);
         answer.setFileNameOnly(file.getName());
-        answer.setFileLength(file.length());
-        answer.setDirectory(file.isDirectory());
         // must use FileUtil.isAbsolute to have consistent check for whether the file is
         // absolute or not. As windows do not consider \ paths as absolute where as all
         // other OS platforms will consider \ as absolute. The logic in Camel mandates
@@ -143,7 +523,6 @@ public class FileConsumer extends GenericFileConsumer<File> {
         // to return a consistent answer for all OS platforms.
         answer.setAbsolute(FileUtil.isAbsolute(file));
         answer.setAbsoluteFilePath(file.getAbsolutePath());
-        answer.setLastModified(file.lastModified());
 
         // compute the file path as relative to the starting directory
         File path;
@@ -173,4 +552,94 @@ public class FileConsumer extends GenericFileConsumer<File> {
     public FileEndpoint getEndpoint() {
         return (FileEndpoint) super.getEndpoint();
     }
+
+    /**
+     * A {@link GenericFile} which reads the size, directory and last modified attributes from the file system
+     * when they are first used, so listing a directory does not read all the attributes of every entry.
+     * Setting an attribute, such as when the file is copied, does not read them from the file system.
+     */
+    static final class LazyAttributesGenericFile extends GenericFile<File> {
+
+        private boolean attributesLoaded;
+        private boolean lastModifiedLoaded;
+
+        LazyAttributesGenericFile() {
+        }
+
+        /**
+         * Reads all the attributes which has not been read yet.
+         */
+        void loadAttributes() {
+            loadSizeAndDirectory();
+            loadLastModified();
+        }
+
+        @Override
+        public long getFileLength() {
+            loadSizeAndDirectory();
+            return super.getFileLength();
+        }
+
+        @Override
+        public void setFileLength(long fileLength) {
+            attributesLoaded = true;
+            super.setFileLength(fileLength);
+        }
+
+        @Override
+        public boolean isDirectory() {
+            loadSizeAndDirectory();
+            return super.isDirectory();
+        }
+
+        @Override
+        public void setDirectory(boolean directory) {
+            attributesLoaded = true;
+            super.setDirectory(directory);
+        }
+
+        @Override
+        public long getLastModified() {
+            loadLastModified();
+            return super.getLastModified();
+        }
+
+        @Override
+        public void setLastModified(long lastModified) {
+            lastModifiedLoaded = true;
+            super.setLastModified(lastModified);
+        }
+
+        private void loadSizeAndDirectory() {
+            File file = getFile();
+            if (attributesLoaded || file == null) {
+                return;
+            }
+            attributesLoaded = true;
+            // read the attributes at once, instead of a file system call for each of them
+            BasicFileAttributes attributes = null;
+            try {
+                attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            } catch (IOException e) {
+                // ignore, eg the file may have been deleted in the meantime
+            }
+            if (attributes != null) {
+                super.setFileLength(attributes.size());
+                super.setDirectory(attributes.isDirectory());
+            } else {
+                super.setFileLength(file.length());
+                super.setDirectory(file.isDirectory());
+            }
+        }
+
+        private void loadLastModified() {
+            File file = getFile();
+            if (lastModifiedLoaded || file == null) {
+                return;
+            }
+            lastModifiedLoaded = true;
+            // the last modified is not taken from the attributes as their precision can differ from java.io.File
+            super.setLastModified(file.lastModified());
+        }
+    }
 }
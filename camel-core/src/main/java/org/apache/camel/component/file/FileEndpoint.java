@@ -46,6 +46,12 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     private boolean renameUsingCopy;
     @UriParam(label = "producer", defaultValue = "true")
     private boolean forceWrites = true;
+    @UriParam(label = "consumer")
+    private boolean watchDirectory;
+    @UriParam(label = "consumer", defaultValue = "60000")
+    private long watchRescanInterval = 60000;
+    @UriParam(label = "consumer")
+    private int directoryWalkPoolSize;
 
     public FileEndpoint() {
         // use marker file as default exclusive read locks
@@ -209,4 +215,44 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     public void setForceWrites(boolean forceWrites) {
         this.forceWrites = forceWrites;
     }
+
+    public boolean isWatchDirectory() {
+        return watchDirectory;
+    }
+
+    /**
+     * Whether to use the file system watch service to detect new and changed files, instead of listing
+     * the directories on every poll. The directories are still fully scanned on the first poll, and periodically
+     * (see watchRescanInterval) as a safety net for changes the watch service may not report.
+     * This is recommended for directories with many files that are seldom changed.
+     */
+    public void setWatchDirectory(boolean watchDirectory) {
+        this.watchDirectory = watchDirectory;
+    }
+
+    public long getWatchRescanInterval() {
+        return watchRescanInterval;
+    }
+
+    /**
+     * When watchDirectory is enabled, the interval in millis between full scans of the directories.
+     * Use 0 or a negative value to only do a full scan on the first poll, or when the watch service lost events.
+     */
+    public void setWatchRescanInterval(long watchRescanInterval) {
+        this.watchRescanInterval = watchRescanInterval;
+    }
+
+    public int getDirectoryWalkPoolSize() {
+        return directoryWalkPoolSize;
+    }
+
+    /**
+     * When recursive is enabled, the number of threads to use for listing the sub directories in parallel.
+     * This can speedup polling directory trees with many sub directories, but requires any custom filters
+     * and idempotent repository in use to be thread safe. The default value 0 lists the directories one
+     * by one using the polling thread. This option is not in use when watchDirectory is enabled.
+     */
+    public void setDirectoryWalkPoolSize(int directoryWalkPoolSize) {
+        this.directoryWalkPoolSize = directoryWalkPoolSize;
+    }
 }
@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
 import org.apache.camel.Component;
 import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
@@ -1313,6 +1314,9 @@ public abstract class GenericFileEndpoint<T> extends ScheduledPollEndpoint imple
             }
         }
 
+        if (idempotentRepository instanceof CamelContextAware && ((CamelContextAware) idempotentRepository).getCamelContext() == null) {
+            ((CamelContextAware) idempotentRepository).setCamelContext(getCamelContext());
+        }
         ServiceHelper.startServices(inProgressRepository, idempotentRepository);
         super.doStart();
     }
@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import org.apache.camel.util.concurrent.RingBufferBlockingQueue;
+
+/**
+ * Implementation of {@link BlockingQueueFactory} producing {@link org.apache.camel.util.concurrent.RingBufferBlockingQueue}
+ * <p/>
+ * As a ring buffer is always bounded, the default capacity is used when the queue should be unbounded
+ * (the default size of the SEDA endpoints).
+ */
+public class RingBufferBlockingQueueFactory<E> implements BlockingQueueFactory<E> {
+    /**
+     * Capacity used when none provided
+     */
+    private int defaultCapacity = 1024;
+    /**
+     * Strategy used by threads waiting on the queue
+     */
+    private RingBufferBlockingQueue.WaitStrategy waitStrategy = RingBufferBlockingQueue.WaitStrategy.Park;
+
+    /**
+     * @return Default ring buffer capacity
+     */
+    public int getDefaultCapacity() {
+        return defaultCapacity;
+    }
+
+    /**
+     * @param defaultCapacity Default ring buffer capacity
+     */
+    public void setDefaultCapacity(int defaultCapacity) {
+        this.defaultCapacity = defaultCapacity;
+    }
+
+    /**
+     * @return Strategy used by threads waiting on the queue
+     */
+    public RingBufferBlockingQueue.WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * @param waitStrategy Strategy used by threads waiting on the queue
+     */
+    public void setWaitStrategy(RingBufferBlockingQueue.WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    @Override
+    public RingBufferBlockingQueue<E> create() {
+        return create(defaultCapacity);
+    }
+
+    @Override
+    public RingBufferBlockingQueue<E> create(int capacity) {
+        // unbounded is not possible with a ring buffer, so use the default capacity instead
+        int size = capacity == Integer.MAX_VALUE ? defaultCapacity : capacity;
+        return new RingBufferBlockingQueue<E>(size, waitStrategy);
+    }
+}
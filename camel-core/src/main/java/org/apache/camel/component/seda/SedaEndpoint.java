@@ -79,6 +79,8 @@ public class SedaEndpoint extends DefaultEndpoint implements BrowsableEndpoint,
     private boolean purgeWhenStopping;
     @UriParam(label = "consumer", defaultValue = "1000")
     private int pollTimeout = 1000;
+    @UriParam(label = "consumer", defaultValue = "1")
+    private int pollBatchSize = 1;
 
     @UriParam(label = "producer", defaultValue = "IfReplyExpected")
     private WaitForTaskToComplete waitForTaskToComplete = WaitForTaskToComplete.IfReplyExpected;
@@ -359,6 +361,21 @@ public class SedaEndpoint extends DefaultEndpoint implements BrowsableEndpoint,
         this.pollTimeout = pollTimeout;
     }
 
+    @ManagedAttribute
+    public int getPollBatchSize() {
+        return pollBatchSize;
+    }
+
+    /**
+     * The maximum number of messages each consumer thread takes from the queue every time it wakes up.
+     * The messages are taken at once, and then processed one by one by the consumer thread, which
+     * reduces the contention on the queue when there are many messages.
+     * Notice that the messages which has been taken are not available for the other concurrent consumers.
+     */
+    public void setPollBatchSize(int pollBatchSize) {
+        this.pollBatchSize = pollBatchSize;
+    }
+
     @ManagedAttribute
     public boolean isPurgeWhenStopping() {
         return purgeWhenStopping;
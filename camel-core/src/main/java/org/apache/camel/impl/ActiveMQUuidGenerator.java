@@ -167,6 +167,13 @@ public class ActiveMQUuidGenerator implements UuidGenerator {
         }
     }
 
+    /**
+     * The seed which is unique for this generator, and which the generated ids starts with.
+     */
+    protected String getSeed() {
+        return seed;
+    }
+
     public String generateUuid() {
         StringBuilder sb = new StringBuilder(length);
         sb.append(seed);
@@ -0,0 +1,220 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.camel.spi.HeadersMapFactory;
+
+/**
+ * A headers map which can share its underlying map with copies of the message, until either the original
+ * or the copy is changed. The first change copies the underlying map, using the {@link HeadersMapFactory}.
+ * <p/>
+ * A shared underlying map is never changed, which allows copies to be read from different threads,
+ * as done by the EIPs that process copies of the exchange in parallel.
+ *
+ * @see DefaultMessage#copyFrom(org.apache.camel.Message)
+ */
+final class CopyOnWriteHeadersMap extends AbstractMap<String, Object> implements Serializable {
+
+    private static final long serialVersionUID = -3785120430428342541L;
+
+    private final transient HeadersMapFactory factory;
+    private volatile Map<String, Object> map;
+    private volatile boolean shared;
+    private transient Set<Map.Entry<String, Object>> entrySet;
+
+    CopyOnWriteHeadersMap(HeadersMapFactory factory, Map<String, Object> map) {
+        this(factory, map, false);
+    }
+
+    private CopyOnWriteHeadersMap(HeadersMapFactory factory, Map<String, Object> map, boolean shared) {
+        this.factory = factory;
+        this.map = map;
+        this.shared = shared;
+    }
+
+    /**
+     * Creates a new map which shares the underlying map with this map, until either map is changed.
+     */
+    CopyOnWriteHeadersMap share() {
+        synchronized (this) {
+            shared = true;
+            return new CopyOnWriteHeadersMap(factory, map, true);
+        }
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return map.containsValue(value);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return map.get(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return writableMap().put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        writableMap().putAll(m);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (shared && !map.containsKey(key)) {
+            // avoid copying when there is nothing to remove
+            return null;
+        }
+        return writableMap().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        synchronized (this) {
+            if (shared) {
+                // no need to copy the shared map as it would be cleared anyway
+                map = factory.newMap();
+                shared = false;
+                return;
+            }
+        }
+        map.clear();
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+
+    private Map<String, Object> writableMap() {
+        if (shared) {
+            synchronized (this) {
+                if (shared) {
+                    map = factory.newMap(map);
+                    shared = false;
+                }
+            }
+        }
+        return map;
+    }
+
+    private Object writeReplace() throws ObjectStreamException {
+        // serialize the underlying map as-is
+        return map;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public void clear() {
+            CopyOnWriteHeadersMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private final Map<String, Object> source = map;
+        private final Iterator<Map.Entry<String, Object>> it = source.entrySet().iterator();
+        private Map.Entry<String, Object> last;
+
+        public boolean hasNext() {
+            return it.hasNext();
+        }
+
+        public Map.Entry<String, Object> next() {
+            last = it.next();
+            return new Entry(last);
+        }
+
+        public void remove() {
+            if (isIteratingWritableMap()) {
+                it.remove();
+            } else {
+                // the map has been copied (or is about to be) so remove from the copy and keep iterating the source
+                CopyOnWriteHeadersMap.this.remove(last.getKey());
+            }
+        }
+
+        private boolean isIteratingWritableMap() {
+            return !shared && map == source;
+        }
+
+        private final class Entry extends SimpleEntry<String, Object> {
+            private static final long serialVersionUID = 1L;
+            private final Map.Entry<String, Object> entry;
+
+            private Entry(Map.Entry<String, Object> entry) {
+                super(entry);
+                this.entry = entry;
+            }
+
+            @Override
+            public Object setValue(Object value) {
+                if (isIteratingWritableMap()) {
+                    entry.setValue(value);
+                } else {
+                    put(getKey(), value);
+                }
+                return super.setValue(value);
+            }
+        }
+    }
+
+}
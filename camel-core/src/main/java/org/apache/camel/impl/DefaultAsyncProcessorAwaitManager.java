@@ -18,9 +18,11 @@ package org.apache.camel.impl;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
@@ -47,6 +49,7 @@ public class DefaultAsyncProcessorAwaitManager extends ServiceSupport implements
     private final AtomicLong minDuration = new AtomicLong();
     private final AtomicLong maxDuration = new AtomicLong();
     private final AtomicLong meanDuration = new AtomicLong();
+    private final ConcurrentMap<String, AtomicLong> blockedPerRoute = new ConcurrentHashMap<String, AtomicLong>();
 
     private final Map<Exchange, AwaitThread> inflight = new ConcurrentHashMap<Exchange, AwaitThread>();
     private final ExchangeFormatter exchangeFormatter;
@@ -64,13 +67,28 @@ public class DefaultAsyncProcessorAwaitManager extends ServiceSupport implements
 
     @Override
     public void await(Exchange exchange, CountDownLatch latch) {
+        if (latch.getCount() == 0) {
+            // the callback has already been triggered by the other thread, so there is no need to block,
+            // but it is still counted as a blocked thread (with zero wait duration) in the statistics
+            LOG.trace("Asynchronous callback already received, will continue routing exchangeId: {} -> {}",
+                    exchange.getExchangeId(), exchange);
+            if (statistics.isStatisticsEnabled()) {
+                blockedCounter.incrementAndGet();
+                countBlockedPerRoute(new AwaitThreadEntry(Thread.currentThread(), exchange, latch).getRouteId());
+                updateDurationStatistics(0);
+            }
+            return;
+        }
+
         LOG.trace("Waiting for asynchronous callback before continuing for exchangeId: {} -> {}",
                 exchange.getExchangeId(), exchange);
         try {
+            AwaitThreadEntry entry = new AwaitThreadEntry(Thread.currentThread(), exchange, latch);
             if (statistics.isStatisticsEnabled()) {
                 blockedCounter.incrementAndGet();
+                countBlockedPerRoute(entry.getRouteId());
             }
-            inflight.put(exchange, new AwaitThreadEntry(Thread.currentThread(), exchange, latch));
+            inflight.put(exchange, entry);
             latch.await();
             LOG.trace("Asynchronous callback received, will continue routing exchangeId: {} -> {}",
                     exchange.getExchangeId(), exchange);
@@ -83,22 +101,39 @@ public class DefaultAsyncProcessorAwaitManager extends ServiceSupport implements
             AwaitThread thread = inflight.remove(exchange);
 
             if (statistics.isStatisticsEnabled() && thread != null) {
-                long time = thread.getWaitDuration();
-                long total = totalDuration.get() + time;
-                totalDuration.set(total);
-
-                if (time < minDuration.get()) {
-                    minDuration.set(time);
-                } else if (time > maxDuration.get()) {
-                    maxDuration.set(time);
-                }
+                updateDurationStatistics(thread.getWaitDuration());
+            }
+        }
+    }
+
+    private void updateDurationStatistics(long time) {
+        long total = totalDuration.get() + time;
+        totalDuration.set(total);
 
-                // update mean
-                long count = blockedCounter.get();
-                long mean = count > 0 ? total / count : 0;
-                meanDuration.set(mean);
+        long min = minDuration.get();
+        if (min == 0 || time < min) {
+            minDuration.set(time);
+        }
+        if (time > maxDuration.get()) {
+            maxDuration.set(time);
+        }
+
+        // update mean
+        long count = blockedCounter.get();
+        long mean = count > 0 ? total / count : 0;
+        meanDuration.set(mean);
+    }
+
+    private void countBlockedPerRoute(String routeId) {
+        String key = routeId != null ? routeId : "";
+        AtomicLong counter = blockedPerRoute.get(key);
+        if (counter == null) {
+            AtomicLong existing = blockedPerRoute.putIfAbsent(key, counter = new AtomicLong());
+            if (existing != null) {
+                counter = existing;
             }
         }
+        counter.incrementAndGet();
     }
 
     @Override
@@ -257,6 +292,15 @@ public class DefaultAsyncProcessorAwaitManager extends ServiceSupport implements
                 routeId = history.getRouteId();
                 nodeId = history.getNode() != null ? history.getNode().getId() : null;
             }
+            if (routeId == null) {
+                // fallback to the current route, or the route which created the exchange
+                if (exchange.getUnitOfWork() != null && exchange.getUnitOfWork().getRouteContext() != null) {
+                    routeId = exchange.getUnitOfWork().getRouteContext().getRoute().getId();
+                }
+                if (routeId == null) {
+                    routeId = exchange.getFromRouteId();
+                }
+            }
         }
 
         @Override
@@ -306,6 +350,15 @@ public class DefaultAsyncProcessorAwaitManager extends ServiceSupport implements
             return blockedCounter.get();
         }
 
+        @Override
+        public Map<String, Long> getThreadsBlockedPerRoute() {
+            Map<String, Long> answer = new LinkedHashMap<String, Long>();
+            for (Map.Entry<String, AtomicLong> entry : blockedPerRoute.entrySet()) {
+                answer.put(entry.getKey(), entry.getValue().get());
+            }
+            return Collections.unmodifiableMap(answer);
+        }
+
         @Override
         public long getThreadsInterrupted() {
             return interruptedCounter.get();
@@ -339,6 +392,7 @@ public class DefaultAsyncProcessorAwaitManager extends ServiceSupport implements
             minDuration.set(0);
             maxDuration.set(0);
             meanDuration.set(0);
+            blockedPerRoute.clear();
         }
 
         @Override
@@ -35,6 +35,9 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -117,6 +120,7 @@ import org.apache.camel.spi.EventNotifier;
 import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.FactoryFinder;
 import org.apache.camel.spi.FactoryFinderResolver;
+import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.spi.InflightRepository;
 import org.apache.camel.spi.Injector;
 import org.apache.camel.spi.InterceptStrategy;
@@ -214,8 +218,13 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
     private Boolean disableJMX = Boolean.FALSE;
     private Boolean lazyLoadTypeConverters = Boolean.FALSE;
     private Boolean typeConverterStatisticsEnabled = Boolean.FALSE;
+    private Boolean typeConverterLookupTableEnabled = Boolean.FALSE;
+    private Boolean processorFusionEnabled = Boolean.FALSE;
+    private Boolean parallelRouteStartup = Boolean.FALSE;
+    private int parallelRouteStartupPoolSize = 10;
     private Boolean useMDCLogging = Boolean.FALSE;
     private Boolean useBreadcrumb = Boolean.TRUE;
+    private Boolean copyOnWriteHeaders = Boolean.FALSE;
     private Boolean allowUseOriginalMessage = Boolean.TRUE;
     private Long delay;
     private ErrorHandlerFactory errorHandlerBuilder;
@@ -258,6 +267,7 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
     private final StopWatch stopWatch = new StopWatch(false);
     private Date startDate;
     private ModelJAXBContextFactory modelJAXBContextFactory;
+    private HeadersMapFactory headersMapFactory;
 
     /**
      * Creates the {@link CamelContext} using {@link JndiRegistry} as registry,
@@ -799,13 +809,13 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
     }
 
     void removeRouteCollection(Collection<Route> routes) {
-        synchronized (routes) {
+        synchronized (this.routes) {
             this.routes.removeAll(routes);
         }
     }
 
     void addRouteCollection(Collection<Route> routes) throws Exception {
-        synchronized (routes) {
+        synchronized (this.routes) {
             this.routes.addAll(routes);
         }
     }
@@ -1092,6 +1102,11 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
                     log.debug("Removing: {} which was only in use by route: {}", endpoint, routeId);
                     removeEndpoint(endpoint);
                 }
+
+                // the types converted by the route may no longer be in use
+                if (typeConverterRegistry instanceof BaseTypeConverterRegistry) {
+                    ((BaseTypeConverterRegistry) typeConverterRegistry).clearLookupTable();
+                }
                 return true;
             } else {
                 return false;
@@ -1252,7 +1267,10 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
         if (isStarted()) {
             listener.onCamelContextStarted(this, true);
         } else {
-            startupListeners.add(listener);
+            // components and consumers may be started concurrently when using parallel route startup
+            synchronized (startupListeners) {
+                startupListeners.add(listener);
+            }
         }
     }
 
@@ -2725,7 +2743,11 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
         }
 
         // start components
-        startServices(components.values());
+        if (isParallelRouteStartup() && components.size() > 1) {
+            doStartComponentsInParallel();
+        } else {
+            startServices(components.values());
+        }
 
         // start the route definitions before the routes is started
         startRouteDefinitions(routeDefinitions);
@@ -3200,7 +3222,9 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
             // will then be prepared in time before we start inputs which will consume messages to be routed
             RouteService routeService = entry.getValue().getRouteService();
             log.debug("Warming up route id: {} having autoStartup={}", routeService.getId(), autoStartup);
+            long start = System.nanoTime();
             routeService.warmUp();
+            entry.getValue().setWarmUpTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
         }
     }
 
@@ -3215,91 +3239,266 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
     private void doStartOrResumeRouteConsumers(Map<Integer, DefaultRouteStartupOrder> inputs, boolean resumeOnly, boolean addingRoute) throws Exception {
         List<Endpoint> routeInputs = new ArrayList<Endpoint>();
 
-        for (Map.Entry<Integer, DefaultRouteStartupOrder> entry : inputs.entrySet()) {
-            Integer order = entry.getKey();
-            Route route = entry.getValue().getRoute();
-            RouteService routeService = entry.getValue().getRouteService();
+        if (!resumeOnly && isParallelRouteStartup() && inputs.size() > 1) {
+            doStartRouteConsumersInParallel(inputs, routeInputs, addingRoute);
+            return;
+        }
 
-            // if we are starting camel, then skip routes which are configured to not be auto started
-            boolean autoStartup = routeService.getRouteDefinition().isAutoStartup(this) && this.isAutoStartup();
-            if (addingRoute && !autoStartup) {
-                log.info("Skipping starting of route " + routeService.getId() + " as its configured with autoStartup=false");
-                continue;
+        for (Map.Entry<Integer, DefaultRouteStartupOrder> entry : inputs.entrySet()) {
+            DefaultRouteStartupOrder order = entry.getValue();
+            if (doPrepareRouteConsumers(order, routeInputs, resumeOnly, addingRoute)) {
+                try {
+                    doStartOrResumeRouteConsumers(order, resumeOnly);
+                } finally {
+                    doAddRouteStartupOrder(order);
+                }
             }
+        }
 
-            // start the service
-            for (Consumer consumer : routeService.getInputs().values()) {
-                Endpoint endpoint = consumer.getEndpoint();
+        if (!resumeOnly && log.isDebugEnabled()) {
+            logRouteStartupReport(inputs.values());
+        }
+    }
 
-                // check multiple consumer violation, with the other routes to be started
-                if (!doCheckMultipleConsumerSupportClash(endpoint, routeInputs)) {
-                    throw new FailedToStartRouteException(routeService.getId(),
-                        "Multiple consumers for the same endpoint is not allowed: " + endpoint);
+    /**
+     * Starts the route consumers, where the routes without a <tt>startupOrder</tt> are started concurrently,
+     * and the routes with a <tt>startupOrder</tt> are started one by one.
+     */
+    private void doStartRouteConsumersInParallel(Map<Integer, DefaultRouteStartupOrder> inputs, List<Endpoint> routeInputs,
+                                                 boolean addingRoute) throws Exception {
+        ExecutorService executor = getExecutorServiceManager().newFixedThreadPool(this, "RouteStartup",
+                Math.max(1, Math.min(inputs.size(), getParallelRouteStartupPoolSize())));
+        try {
+            for (List<DefaultRouteStartupOrder> stage : doComputeStartupStages(inputs)) {
+                // the checks and lifecycle callbacks is done up front by this thread
+                final List<DefaultRouteStartupOrder> toStart = new ArrayList<DefaultRouteStartupOrder>(stage.size());
+                for (DefaultRouteStartupOrder order : stage) {
+                    if (doPrepareRouteConsumers(order, routeInputs, false, addingRoute)) {
+                        toStart.add(order);
+                    }
                 }
 
-                // check for multiple consumer violations with existing routes which
-                // have already been started, or is currently starting
-                List<Endpoint> existingEndpoints = new ArrayList<Endpoint>();
-                for (Route existingRoute : getRoutes()) {
-                    if (route.getId().equals(existingRoute.getId())) {
-                        // skip ourselves
-                        continue;
+                try {
+                    if (toStart.size() == 1) {
+                        doStartOrResumeRouteConsumers(toStart.get(0), false);
+                    } else if (toStart.size() > 1) {
+                        log.debug("Starting {} routes concurrently", toStart.size());
+                        List<Callable<Object>> tasks = new ArrayList<Callable<Object>>(toStart.size());
+                        for (final DefaultRouteStartupOrder order : toStart) {
+                            tasks.add(new Callable<Object>() {
+                                public Object call() throws Exception {
+                                    doStartOrResumeRouteConsumers(order, false);
+                                    return null;
+                                }
+                            });
+                        }
+                        doInvokeAll(executor, tasks);
                     }
-                    Endpoint existing = existingRoute.getEndpoint();
-                    ServiceStatus status = getRouteStatus(existingRoute.getId());
-                    if (status != null && (status.isStarted() || status.isStarting())) {
-                        existingEndpoints.add(existing);
+                } finally {
+                    // add in the startup order so the routes are stopped in reverse order
+                    for (DefaultRouteStartupOrder order : toStart) {
+                        doAddRouteStartupOrder(order);
                     }
                 }
-                if (!doCheckMultipleConsumerSupportClash(endpoint, existingEndpoints)) {
-                    throw new FailedToStartRouteException(routeService.getId(),
-                            "Multiple consumers for the same endpoint is not allowed: " + endpoint);
-                }
+            }
+        } finally {
+            getExecutorServiceManager().shutdownNow(executor);
+        }
 
-                // start the consumer on the route
-                log.debug("Route: {} >>> {}", route.getId(), route);
-                if (resumeOnly) {
-                    log.debug("Resuming consumer (order: {}) on route: {}", order, route.getId());
-                } else {
-                    log.debug("Starting consumer (order: {}) on route: {}", order, route.getId());
+        logRouteStartupReport(inputs.values());
+    }
+
+    /**
+     * Splits the routes to start into stages, which must be started one after the other.
+     * <p/>
+     * A route with a <tt>startupOrder</tt> is a stage of its own, as it may depend on the routes started before it,
+     * and a run of routes without a <tt>startupOrder</tt> is a single stage as they are independent of each other.
+     */
+    private List<List<DefaultRouteStartupOrder>> doComputeStartupStages(Map<Integer, DefaultRouteStartupOrder> inputs) {
+        List<List<DefaultRouteStartupOrder>> answer = new ArrayList<List<DefaultRouteStartupOrder>>();
+        List<DefaultRouteStartupOrder> independent = null;
+        for (DefaultRouteStartupOrder order : inputs.values()) {
+            if (order.getRouteService().getRouteDefinition().getStartupOrder() != null) {
+                answer.add(Collections.singletonList(order));
+                independent = null;
+            } else {
+                if (independent == null) {
+                    independent = new ArrayList<DefaultRouteStartupOrder>();
+                    answer.add(independent);
                 }
+                independent.add(order);
+            }
+        }
+        return answer;
+    }
 
-                if (resumeOnly && route.supportsSuspension()) {
-                    // if we are resuming and the route can be resumed
-                    ServiceHelper.resumeService(consumer);
-                    log.info("Route: " + route.getId() + " resumed and consuming from: " + endpoint);
-                } else {
-                    // when starting we should invoke the lifecycle strategies
-                    for (LifecycleStrategy strategy : lifecycleStrategies) {
-                        strategy.onServiceAdd(this, consumer, route);
+    private void doStartComponentsInParallel() throws Exception {
+        List<Callable<Object>> tasks = new ArrayList<Callable<Object>>(components.size());
+        for (final Component component : components.values()) {
+            if (component instanceof Service) {
+                tasks.add(new Callable<Object>() {
+                    public Object call() throws Exception {
+                        startService((Service) component);
+                        return null;
                     }
-                    startService(consumer);
-                    log.info("Route: " + route.getId() + " started and consuming from: " + endpoint);
+                });
+            }
+        }
+
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        ExecutorService executor = getExecutorServiceManager().newFixedThreadPool(this, "ComponentStartup",
+                Math.max(1, Math.min(tasks.size(), getParallelRouteStartupPoolSize())));
+        try {
+            doInvokeAll(executor, tasks);
+        } finally {
+            getExecutorServiceManager().shutdownNow(executor);
+        }
+    }
+
+    /**
+     * Invokes all the tasks and waits for them to complete, and rethrows the first failure if any
+     */
+    private void doInvokeAll(ExecutorService executor, List<Callable<Object>> tasks) throws Exception {
+        Exception cause = null;
+        for (Future<Object> future : executor.invokeAll(tasks)) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (cause == null) {
+                    cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
                 }
+            }
+        }
+        if (cause != null) {
+            throw cause;
+        }
+    }
 
-                routeInputs.add(endpoint);
+    /**
+     * Checks whether the consumers of the route can be started, and invokes the lifecycle strategies
+     *
+     * @return <tt>true</tt> to start the route, <tt>false</tt> to skip it
+     */
+    private boolean doPrepareRouteConsumers(DefaultRouteStartupOrder order, List<Endpoint> routeInputs,
+                                            boolean resumeOnly, boolean addingRoute) throws Exception {
+        Route route = order.getRoute();
+        RouteService routeService = order.getRouteService();
+
+        // if we are starting camel, then skip routes which are configured to not be auto started
+        boolean autoStartup = routeService.getRouteDefinition().isAutoStartup(this) && this.isAutoStartup();
+        if (addingRoute && !autoStartup) {
+            log.info("Skipping starting of route " + routeService.getId() + " as its configured with autoStartup=false");
+            return false;
+        }
 
-                // add to the order which they was started, so we know how to stop them in reverse order
-                // but only add if we haven't already registered it before (we dont want to double add when restarting)
-                boolean found = false;
-                for (RouteStartupOrder other : routeStartupOrder) {
-                    if (other.getRoute().getId().equals(route.getId())) {
-                        found = true;
-                        break;
-                    }
+        for (Consumer consumer : routeService.getInputs().values()) {
+            Endpoint endpoint = consumer.getEndpoint();
+
+            // check multiple consumer violation, with the other routes to be started
+            if (!doCheckMultipleConsumerSupportClash(endpoint, routeInputs)) {
+                throw new FailedToStartRouteException(routeService.getId(),
+                    "Multiple consumers for the same endpoint is not allowed: " + endpoint);
+            }
+
+            // check for multiple consumer violations with existing routes which
+            // have already been started, or is currently starting
+            List<Endpoint> existingEndpoints = new ArrayList<Endpoint>();
+            for (Route existingRoute : getRoutes()) {
+                if (route.getId().equals(existingRoute.getId())) {
+                    // skip ourselves
+                    continue;
+                }
+                Endpoint existing = existingRoute.getEndpoint();
+                ServiceStatus status = getRouteStatus(existingRoute.getId());
+                if (status != null && (status.isStarted() || status.isStarting())) {
+                    existingEndpoints.add(existing);
                 }
-                if (!found) {
-                    routeStartupOrder.add(entry.getValue());
+            }
+            if (!doCheckMultipleConsumerSupportClash(endpoint, existingEndpoints)) {
+                throw new FailedToStartRouteException(routeService.getId(),
+                        "Multiple consumers for the same endpoint is not allowed: " + endpoint);
+            }
+
+            if (!resumeOnly || !route.supportsSuspension()) {
+                // when starting we should invoke the lifecycle strategies
+                for (LifecycleStrategy strategy : lifecycleStrategies) {
+                    strategy.onServiceAdd(this, consumer, route);
                 }
             }
 
+            routeInputs.add(endpoint);
+        }
+        return true;
+    }
+
+    private void doStartOrResumeRouteConsumers(DefaultRouteStartupOrder order, boolean resumeOnly) throws Exception {
+        Route route = order.getRoute();
+        RouteService routeService = order.getRouteService();
+        long start = System.nanoTime();
+
+        // start the service
+        for (Consumer consumer : routeService.getInputs().values()) {
+            Endpoint endpoint = consumer.getEndpoint();
+
+            // start the consumer on the route
+            log.debug("Route: {} >>> {}", route.getId(), route);
             if (resumeOnly) {
-                routeService.resume();
+                log.debug("Resuming consumer (order: {}) on route: {}", order.getStartupOrder(), route.getId());
+            } else {
+                log.debug("Starting consumer (order: {}) on route: {}", order.getStartupOrder(), route.getId());
+            }
+
+            if (resumeOnly && route.supportsSuspension()) {
+                // if we are resuming and the route can be resumed
+                ServiceHelper.resumeService(consumer);
+                log.info("Route: " + route.getId() + " resumed and consuming from: " + endpoint);
             } else {
-                // and start the route service (no need to start children as they are already warmed up)
-                routeService.start(false);
+                startService(consumer);
+                log.info("Route: " + route.getId() + " started and consuming from: " + endpoint);
+            }
+        }
+
+        if (resumeOnly) {
+            routeService.resume();
+        } else {
+            // and start the route service (no need to start children as they are already warmed up)
+            routeService.start(false);
+        }
+
+        order.setStartupTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void doAddRouteStartupOrder(DefaultRouteStartupOrder order) {
+        if (order.getRouteService().getInputs().isEmpty()) {
+            return;
+        }
+        // add to the order which they was started, so we know how to stop them in reverse order
+        // but only add if we haven't already registered it before (we dont want to double add when restarting)
+        for (RouteStartupOrder other : routeStartupOrder) {
+            if (other.getRoute().getId().equals(order.getRoute().getId())) {
+                return;
             }
         }
+        routeStartupOrder.add(order);
+    }
+
+    /**
+     * Logs the time taken to warm up and start each of the routes
+     */
+    protected void logRouteStartupReport(Collection<DefaultRouteStartupOrder> orders) {
+        StringBuilder sb = new StringBuilder("Route startup report:");
+        for (DefaultRouteStartupOrder order : orders) {
+            sb.append(String.format("%n    %-40s order: %5d warm up: %6d ms start: %6d ms",
+                    order.getRoute().getId(), order.getStartupOrder(), order.getWarmUpTime(), order.getStartupTime()));
+        }
+        if (isParallelRouteStartup()) {
+            log.info(sb.toString());
+        } else {
+            log.debug(sb.toString());
+        }
     }
 
     private boolean doCheckMultipleConsumerSupportClash(Endpoint endpoint, List<Endpoint> routeInputs) {
@@ -3337,6 +3536,9 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
         if (isTypeConverterStatisticsEnabled() != null) {
             getTypeConverterRegistry().getStatistics().setStatisticsEnabled(isTypeConverterStatisticsEnabled());
         }
+        if (isTypeConverterLookupTableEnabled() && getTypeConverterRegistry() instanceof BaseTypeConverterRegistry) {
+            ((BaseTypeConverterRegistry) getTypeConverterRegistry()).setLookupTableEnabled(true);
+        }
     }
 
     /**
@@ -3538,6 +3740,17 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
         this.modelJAXBContextFactory = modelJAXBContextFactory;
     }
 
+    public HeadersMapFactory getHeadersMapFactory() {
+        if (headersMapFactory == null) {
+            headersMapFactory = new DefaultHeadersMapFactory();
+        }
+        return headersMapFactory;
+    }
+
+    public void setHeadersMapFactory(HeadersMapFactory headersMapFactory) {
+        this.headersMapFactory = headersMapFactory;
+    }
+
     public NodeIdFactory getNodeIdFactory() {
         return nodeIdFactory;
     }
@@ -3638,6 +3851,38 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
         this.typeConverterStatisticsEnabled = typeConverterStatisticsEnabled;
     }
 
+    public Boolean isTypeConverterLookupTableEnabled() {
+        return typeConverterLookupTableEnabled != null && typeConverterLookupTableEnabled;
+    }
+
+    public void setTypeConverterLookupTableEnabled(Boolean typeConverterLookupTableEnabled) {
+        this.typeConverterLookupTableEnabled = typeConverterLookupTableEnabled;
+    }
+
+    public Boolean isProcessorFusionEnabled() {
+        return processorFusionEnabled != null && processorFusionEnabled;
+    }
+
+    public void setProcessorFusionEnabled(Boolean processorFusionEnabled) {
+        this.processorFusionEnabled = processorFusionEnabled;
+    }
+
+    public Boolean isParallelRouteStartup() {
+        return parallelRouteStartup != null && parallelRouteStartup;
+    }
+
+    public void setParallelRouteStartup(Boolean parallelRouteStartup) {
+        this.parallelRouteStartup = parallelRouteStartup;
+    }
+
+    public int getParallelRouteStartupPoolSize() {
+        return parallelRouteStartupPoolSize;
+    }
+
+    public void setParallelRouteStartupPoolSize(int parallelRouteStartupPoolSize) {
+        this.parallelRouteStartupPoolSize = parallelRouteStartupPoolSize;
+    }
+
     public Boolean isUseMDCLogging() {
         return useMDCLogging != null && useMDCLogging;
     }
@@ -3654,6 +3899,14 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
         this.useBreadcrumb = useBreadcrumb;
     }
 
+    public Boolean isCopyOnWriteHeaders() {
+        return copyOnWriteHeaders != null && copyOnWriteHeaders;
+    }
+
+    public void setCopyOnWriteHeaders(Boolean copyOnWriteHeaders) {
+        this.copyOnWriteHeaders = copyOnWriteHeaders;
+    }
+
     public ClassLoader getApplicationContextClassLoader() {
         return applicationContextClassLoader;
     }
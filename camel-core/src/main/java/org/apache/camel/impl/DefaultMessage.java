@@ -22,8 +22,10 @@ import java.util.Map;
 import java.util.Set;
 import javax.activation.DataHandler;
 
+import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
-import org.apache.camel.util.CaseInsensitiveMap;
+import org.apache.camel.Message;
+import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.util.EndpointHelper;
 import org.apache.camel.util.MessageHelper;
 
@@ -34,10 +36,16 @@ import org.apache.camel.util.MessageHelper;
  * This allows us to be able to lookup headers using case insensitive keys, making it easier for end users
  * as they do not have to be worried about using exact keys.
  * See more details at {@link org.apache.camel.util.CaseInsensitiveMap}.
+ * <p/>
+ * The map implementation can be customized using a {@link org.apache.camel.spi.HeadersMapFactory}
+ * configured on the {@link org.apache.camel.CamelContext}. When copy on write headers is enabled on the
+ * {@link org.apache.camel.CamelContext} then a copied message shares the headers with the message it was copied
+ * from, until either message changes its headers.
  *
  * @version 
  */
 public class DefaultMessage extends MessageSupport {
+    private static final HeadersMapFactory DEFAULT_HEADERS_MAP_FACTORY = new DefaultHeadersMapFactory();
     private boolean fault;
     private Map<String, Object> headers;
     private Map<String, DataHandler> attachments;
@@ -170,11 +178,12 @@ public class DefaultMessage extends MessageSupport {
     }
 
     public void setHeaders(Map<String, Object> headers) {
-        if (headers instanceof CaseInsensitiveMap) {
+        HeadersMapFactory factory = getHeadersMapFactory();
+        if (headers instanceof CopyOnWriteHeadersMap || factory.isInstanceOf(headers)) {
             this.headers = headers;
         } else {
             // wrap it in a case insensitive map
-            this.headers = new CaseInsensitiveMap(headers);
+            this.headers = factory.newMap(headers);
         }
     }
 
@@ -186,6 +195,35 @@ public class DefaultMessage extends MessageSupport {
         return headers != null && !headers.isEmpty();
     }
 
+    @Override
+    protected void copyHeadersFrom(Message that) {
+        CamelContext context = that.getExchange() != null ? that.getExchange().getContext() : null;
+        if (headers == null && getExchange() == null && context != null) {
+            // this message is not yet associated with an exchange (such as when copying a message)
+            if (that instanceof DefaultMessage && context.isCopyOnWriteHeaders()) {
+                // share the headers until either message changes its headers
+                DefaultMessage other = (DefaultMessage) that;
+                if (other.hasHeaders()) {
+                    headers = other.shareHeaders();
+                }
+                return;
+            }
+            // use the same kind of headers map as the message we copy from
+            headers = context.getHeadersMapFactory().newMap();
+        }
+        super.copyHeadersFrom(that);
+    }
+
+    /**
+     * Wraps the headers so they can be shared with a copy of this message, until either message changes its headers.
+     */
+    private Map<String, Object> shareHeaders() {
+        if (!(headers instanceof CopyOnWriteHeadersMap)) {
+            headers = new CopyOnWriteHeadersMap(getHeadersMapFactory(), headers);
+        }
+        return ((CopyOnWriteHeadersMap) headers).share();
+    }
+
     public DefaultMessage newInstance() {
         return new DefaultMessage();
     }
@@ -199,11 +237,23 @@ public class DefaultMessage extends MessageSupport {
      *         the underlying inbound transport
      */
     protected Map<String, Object> createHeaders() {
-        Map<String, Object> map = new CaseInsensitiveMap();
+        Map<String, Object> map = getHeadersMapFactory().newMap();
         populateInitialHeaders(map);
         return map;
     }
 
+    /**
+     * Gets the {@link HeadersMapFactory} from the {@link org.apache.camel.CamelContext}, or the default
+     * factory if this message is not yet associated with an {@link Exchange}.
+     */
+    protected HeadersMapFactory getHeadersMapFactory() {
+        Exchange exchange = getExchange();
+        if (exchange != null && exchange.getContext() != null) {
+            return exchange.getContext().getHeadersMapFactory();
+        }
+        return DEFAULT_HEADERS_MAP_FACTORY;
+    }
+
     /**
      * A factory method to lazily create the attachments to make it easy to
      * create efficient Message implementations which only construct and
@@ -35,6 +35,7 @@ import org.apache.camel.model.FromDefinition;
 import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.model.RouteDefinition;
 import org.apache.camel.processor.CamelInternalProcessor;
+import org.apache.camel.processor.FusedProcessor;
 import org.apache.camel.processor.Pipeline;
 import org.apache.camel.spi.InterceptStrategy;
 import org.apache.camel.spi.RouteContext;
@@ -154,7 +155,12 @@ public class DefaultRouteContext implements RouteContext {
     public void commit() {
         // now lets turn all of the event driven consumer processors into a single route
         if (!eventDrivenProcessors.isEmpty()) {
-            Processor target = Pipeline.newInstance(getCamelContext(), eventDrivenProcessors);
+            List<Processor> processors = eventDrivenProcessors;
+            // optionally fuse runs of simple processors, unless the channels of the route do work per step
+            if (getCamelContext().isProcessorFusionEnabled() && !isStreamCaching() && (getDelayer() == null || getDelayer() <= 0)) {
+                processors = FusedProcessor.fuse(this, processors);
+            }
+            Processor target = Pipeline.newInstance(getCamelContext(), processors);
 
             String routeId = route.idOrCreate(getCamelContext().getNodeIdFactory());
 
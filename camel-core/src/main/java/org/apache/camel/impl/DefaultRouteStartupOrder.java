@@ -36,6 +36,8 @@ public class DefaultRouteStartupOrder implements RouteStartupOrder {
     private final int startupOrder;
     private final Route route;
     private final RouteService routeService;
+    private volatile long warmUpTime;
+    private volatile long startupTime;
 
     public DefaultRouteStartupOrder(int startupOrder, Route route, RouteService routeService) {
         this.startupOrder = startupOrder;
@@ -73,6 +75,28 @@ public class DefaultRouteStartupOrder implements RouteStartupOrder {
         return routeService;
     }
 
+    /**
+     * Gets the time in millis it took to warm up the route, which starts its processors and child services
+     */
+    public long getWarmUpTime() {
+        return warmUpTime;
+    }
+
+    public void setWarmUpTime(long warmUpTime) {
+        this.warmUpTime = warmUpTime;
+    }
+
+    /**
+     * Gets the time in millis it took to start the consumer of the route
+     */
+    public long getStartupTime() {
+        return startupTime;
+    }
+
+    public void setStartupTime(long startupTime) {
+        this.startupTime = startupTime;
+    }
+
     @Override
     public String toString() {
         return "Route " + route.getId() + " starts in order " + startupOrder;
@@ -135,22 +135,7 @@ public abstract class MessageSupport implements Message {
         setBody(that.getBody());
         setFault(that.isFault());
 
-        // the headers may be the same instance if the end user has made some mistake
-        // and set the OUT message with the same header instance of the IN message etc
-        boolean sameHeadersInstance = false;
-        if (hasHeaders() && that.hasHeaders() && getHeaders() == that.getHeaders()) {
-            sameHeadersInstance = true;
-        }
-
-        if (!sameHeadersInstance) {
-            if (hasHeaders()) {
-                // okay its safe to clear the headers
-                getHeaders().clear();
-            }
-            if (that.hasHeaders()) {
-                getHeaders().putAll(that.getHeaders());
-            }
-        }
+        copyHeadersFrom(that);
 
         // the attachments may be the same instance if the end user has made some mistake
         // and set the OUT message with the same attachment instance of the IN message etc
@@ -170,6 +155,30 @@ public abstract class MessageSupport implements Message {
         }
     }
 
+    /**
+     * Copies the headers from the given message
+     *
+     * @param that the message to copy the headers from
+     */
+    protected void copyHeadersFrom(Message that) {
+        // the headers may be the same instance if the end user has made some mistake
+        // and set the OUT message with the same header instance of the IN message etc
+        boolean sameHeadersInstance = false;
+        if (hasHeaders() && that.hasHeaders() && getHeaders() == that.getHeaders()) {
+            sameHeadersInstance = true;
+        }
+
+        if (!sameHeadersInstance) {
+            if (hasHeaders()) {
+                // okay its safe to clear the headers
+                getHeaders().clear();
+            }
+            if (that.hasHeaders()) {
+                getHeaders().putAll(that.getHeaders());
+            }
+        }
+    }
+
     public Exchange getExchange() {
         return exchange;
     }
@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link org.apache.camel.spi.UuidGenerator} which is a faster variant of the {@link ActiveMQUuidGenerator}
+ * for many concurrent threads.
+ * <p/>
+ * The ids starts with the same unique seed as the {@link ActiveMQUuidGenerator}, but instead of all threads
+ * incrementing the same counter, the threads are spread over a fixed number of stripes by their thread id,
+ * and each stripe reserves a block of sequence numbers at a time and then generates its ids from its own block,
+ * so threads only contend with the few other threads on the same stripe. The sequence number is appended as
+ * fixed width hex digits directly into a per stripe buffer which already holds the seed, so no intermediate
+ * strings are created.
+ * <p/>
+ * The ids are unique, but as each stripe uses its own block, ids generated by different threads
+ * are not in the order they was generated.
+ *
+ * @version 
+ */
+public class StripedUuidGenerator extends ActiveMQUuidGenerator {
+
+    private static final int DEFAULT_BLOCK_SIZE = 1024;
+    private static final int WIDTH = 16;
+    private static final char[] DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+
+    private static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors() * 4);
+
+    private final AtomicLong blocks = new AtomicLong();
+    private final int blockSize;
+    private final char[] seed;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public StripedUuidGenerator() {
+        this.blockSize = DEFAULT_BLOCK_SIZE;
+        this.seed = getSeed().toCharArray();
+        initStripes();
+    }
+
+    public StripedUuidGenerator(String prefix) {
+        this(prefix, DEFAULT_BLOCK_SIZE);
+    }
+
+    public StripedUuidGenerator(String prefix, int blockSize) {
+        super(prefix);
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("BlockSize must be positive, was: " + blockSize);
+        }
+        this.blockSize = blockSize;
+        this.seed = getSeed().toCharArray();
+        initStripes();
+    }
+
+    private void initStripes() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(seed);
+        }
+    }
+
+    /**
+     * The number of sequence numbers each thread reserves at a time.
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    @Override
+    public String generateUuid() {
+        Stripe stripe = stripes[stripeIndex(Thread.currentThread().getId())];
+        synchronized (stripe) {
+            if (stripe.next == stripe.limit) {
+                // reserve the next block of sequence numbers for this stripe
+                long start = blocks.getAndIncrement() * blockSize;
+                stripe.next = start;
+                stripe.limit = start + blockSize;
+            }
+
+            long sequence = stripe.next++;
+            char[] buffer = stripe.buffer;
+            for (int i = buffer.length - 1; i >= seed.length; i--) {
+                buffer[i] = DIGITS[(int) sequence & 0xF];
+                sequence >>>= 4;
+            }
+            return new String(buffer);
+        }
+    }
+
+    private static int stripeIndex(long threadId) {
+        // spread the thread ids as they are often sequential
+        long hash = threadId * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & (STRIPES - 1);
+    }
+
+    private static int stripes(int count) {
+        int answer = 1;
+        while (answer < count && answer < 1024) {
+            answer <<= 1;
+        }
+        return answer;
+    }
+
+    /**
+     * The block of sequence numbers reserved by a stripe, and its buffer to create the ids in.
+     */
+    private static final class Stripe {
+        private final char[] buffer;
+        private long next;
+        private long limit;
+
+        private Stripe(char[] seed) {
+            buffer = new char[seed.length + WIDTH];
+            System.arraycopy(seed, 0, buffer, 0, seed.length);
+        }
+    }
+}
@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.StringTokenizer;
@@ -61,16 +62,23 @@ import org.slf4j.LoggerFactory;
  * Therefore its recommended to specify FQN class names in the {@link #META_INF_SERVICES} file.
  * Likewise the procedure for scanning using {@link PackageScanClassResolver} may require custom implementations
  * to work in various containers such as JBoss, OSGi, etc.
+ * <p/>
+ * JARs which contains a {@link #META_INF_SERVICES_LOADER} file are preferred, as that file lists
+ * {@link TypeConverterLoader} classes which has been generated at build time by the Camel annotation processor.
+ * These loaders register the type converters without any package scanning or reflection, and therefore
+ * the {@link #META_INF_SERVICES} file in the same JAR is skipped.
  *
  * @version
  */
 public class AnnotationTypeConverterLoader implements TypeConverterLoader {
     public static final String META_INF_SERVICES = "META-INF/services/org/apache/camel/TypeConverter";
+    public static final String META_INF_SERVICES_LOADER = "META-INF/services/org/apache/camel/TypeConverterLoader";
     private static final Logger LOG = LoggerFactory.getLogger(AnnotationTypeConverterLoader.class);
     private static final Charset UTF8 = Charset.forName("UTF-8");
     protected PackageScanClassResolver resolver;
     protected Set<Class<?>> visitedClasses = new HashSet<Class<?>>();
     protected Set<String> visitedURIs = new HashSet<String>();
+    protected Set<String> generatedLocations = new HashSet<String>();
 
     public AnnotationTypeConverterLoader(PackageScanClassResolver resolver) {
         this.resolver = resolver;
@@ -80,9 +88,22 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
     public void load(TypeConverterRegistry registry) throws TypeConverterLoaderException {
         String[] packageNames;
 
+        // prefer the build time generated loaders which do not need package scanning or reflection
+        int generated;
+        try {
+            generated = loadGeneratedTypeConverterLoaders(registry);
+        } catch (Exception e) {
+            throw new TypeConverterLoaderException("Cannot load generated type converter loaders.", e);
+        }
+
         LOG.trace("Searching for {} services", META_INF_SERVICES);
         try {
             packageNames = findPackageNames();
+            if ((packageNames == null || packageNames.length == 0) && generated > 0) {
+                LOG.debug("No additional package names found in classpath for annotated type converters.");
+                clearVisited();
+                return;
+            }
             if (packageNames == null || packageNames.length == 0) {
                 throw new TypeConverterLoaderException("Cannot find package names to be used for classpath scanning for annotated type converters.");
             }
@@ -97,6 +118,7 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
         if (packageNames.length == 1 && "org.apache.camel.core".equals(packageNames[0])) {
             LOG.debug("No additional package names found in classpath for annotated type converters.");
             // no additional package names found to load type converters so break out
+            clearVisited();
             return;
         }
 
@@ -131,8 +153,96 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
         }
 
         // now clear the maps so we do not hold references
+        clearVisited();
+    }
+
+    private void clearVisited() {
         visitedClasses.clear();
         visitedURIs.clear();
+        generatedLocations.clear();
+    }
+
+    /**
+     * Loads the type converters using the {@link TypeConverterLoader} classes listed in the
+     * {@link #META_INF_SERVICES_LOADER} files on the classpath, which are generated at build time.
+     * <p/>
+     * The location of each JAR which was loaded this way is remembered, so its {@link #META_INF_SERVICES}
+     * file is skipped afterwards.
+     *
+     * @param registry the registry to load the type converters into
+     * @return the number of generated loaders which was used
+     * @throws Exception is thrown if a generated loader failed loading its type converters
+     */
+    protected int loadGeneratedTypeConverterLoaders(TypeConverterRegistry registry) throws Exception {
+        int count = 0;
+        ClassLoader ccl = Thread.currentThread().getContextClassLoader();
+        if (ccl != null) {
+            count += loadGeneratedTypeConverterLoaders(registry, ccl);
+        }
+        count += loadGeneratedTypeConverterLoaders(registry, getClass().getClassLoader());
+        if (count > 0) {
+            LOG.debug("Loaded type converters from {} generated loaders", count);
+        }
+        return count;
+    }
+
+    protected int loadGeneratedTypeConverterLoaders(TypeConverterRegistry registry, ClassLoader classLoader) throws Exception {
+        int count = 0;
+        Enumeration<URL> resources = classLoader.getResources(META_INF_SERVICES_LOADER);
+        while (resources.hasMoreElements()) {
+            URL url = resources.nextElement();
+            String location = location(url, META_INF_SERVICES_LOADER);
+            if (location == null || generatedLocations.contains(location)) {
+                continue;
+            }
+
+            List<TypeConverterLoader> loaders = createGeneratedTypeConverterLoaders(url, classLoader);
+            if (loaders != null) {
+                LOG.debug("Loading {} generated type converter loaders from url: {}", loaders.size(), url);
+                for (TypeConverterLoader loader : loaders) {
+                    loader.load(registry);
+                }
+                generatedLocations.add(location);
+                count += loaders.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Creates the generated {@link TypeConverterLoader} classes listed in the given services file.
+     * <p/>
+     * All the loaders are created before any of them is used, so the caller can fallback to
+     * annotation scanning if any of them is not usable.
+     *
+     * @param url         the url of the services file
+     * @param classLoader the class loader to load the generated loaders with
+     * @return the loaders, or <tt>null</tt> if any of them could not be created
+     */
+    protected List<TypeConverterLoader> createGeneratedTypeConverterLoaders(URL url, ClassLoader classLoader) {
+        List<TypeConverterLoader> loaders = new ArrayList<TypeConverterLoader>();
+        try {
+            // keep the order from the file
+            Set<String> names = new LinkedHashSet<String>();
+            readServices(url, names);
+            for (String name : names) {
+                Class<?> type = classLoader.loadClass(name);
+                loaders.add((TypeConverterLoader) type.newInstance());
+            }
+        } catch (Throwable e) {
+            LOG.warn("Cannot use generated type converter loaders from url: " + url + " due " + e.getMessage()
+                    + ". The type converters will be loaded using annotation scanning instead.", e);
+            return null;
+        }
+        return loaders;
+    }
+
+    /**
+     * Gets the location of the JAR or directory which contains the given resource
+     */
+    private static String location(URL url, String resource) {
+        String text = url.toExternalForm();
+        return text.endsWith(resource) ? text.substring(0, text.length() - resource.length()) : null;
     }
 
     /**
@@ -215,24 +325,32 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
             if (!visitedURIs.contains(path)) {
                 // remember we have visited this uri so we wont read it twice
                 visitedURIs.add(path);
+                if (generatedLocations.contains(location(url, META_INF_SERVICES))) {
+                    LOG.debug("Skipping file {} as its type converters has been loaded by generated loaders, from url: {}", META_INF_SERVICES, url);
+                    continue;
+                }
                 LOG.debug("Loading file {} to retrieve list of packages, from url: {}", META_INF_SERVICES, url);
-                BufferedReader reader = IOHelper.buffered(new InputStreamReader(url.openStream(), UTF8));
-                try {
-                    while (true) {
-                        String line = reader.readLine();
-                        if (line == null) {
-                            break;
-                        }
-                        line = line.trim();
-                        if (line.startsWith("#") || line.length() == 0) {
-                            continue;
-                        }
-                        tokenize(packages, line);
-                    }
-                } finally {
-                    IOHelper.close(reader, null, LOG);
+                readServices(url, packages);
+            }
+        }
+    }
+
+    private void readServices(URL url, Set<String> names) throws IOException {
+        BufferedReader reader = IOHelper.buffered(new InputStreamReader(url.openStream(), UTF8));
+        try {
+            while (true) {
+                String line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                line = line.trim();
+                if (line.startsWith("#") || line.length() == 0) {
+                    continue;
                 }
+                tokenize(names, line);
             }
+        } finally {
+            IOHelper.close(reader, null, LOG);
         }
     }
 
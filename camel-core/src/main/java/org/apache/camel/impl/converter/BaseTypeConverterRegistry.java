@@ -72,6 +72,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
     protected final AtomicLong missCounter = new AtomicLong();
     protected final AtomicLong hitCounter = new AtomicLong();
     protected final AtomicLong failedCounter = new AtomicLong();
+    private volatile TypeConverterLookupTable lookupTable;
 
     public BaseTypeConverterRegistry(PackageScanClassResolver resolver, Injector injector, FactoryFinder factoryFinder) {
         this.resolver = resolver;
@@ -269,17 +270,38 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
             attemptCounter.incrementAndGet();
         }
 
-        // check if we have tried it before and if its a miss
-        TypeMapping key = new TypeMapping(type, value.getClass());
-        if (misses.containsKey(key)) {
-            // we have tried before but we cannot convert this one
-            return Void.TYPE;
+        TypeConverterLookupTable table = lookupTable;
+        int generation = table != null ? table.getGeneration() : 0;
+        TypeMapping key = null;
+        TypeConverter converter;
+        if (table != null) {
+            // the lookup table knows the outcome of previous conversions without having to create a key
+            Object outcome = table.get(type, value.getClass());
+            if (outcome == TypeConverterLookupTable.MISS) {
+                // we have tried before but we cannot convert this one
+                return Void.TYPE;
+            } else if (outcome == TypeConverterLookupTable.NO_CONVERTER) {
+                converter = null;
+            } else if (outcome != null) {
+                converter = (TypeConverter) outcome;
+            } else {
+                key = new TypeMapping(type, value.getClass());
+                converter = getOrFindTypeConverter(key);
+                table.put(type, value.getClass(), converter != null ? converter : TypeConverterLookupTable.NO_CONVERTER, generation);
+            }
+        } else {
+            // check if we have tried it before and if its a miss
+            key = new TypeMapping(type, value.getClass());
+            if (misses.containsKey(key)) {
+                // we have tried before but we cannot convert this one
+                return Void.TYPE;
+            }
+
+            // try to find a suitable type converter
+            converter = getOrFindTypeConverter(key);
         }
-        
-        // try to find a suitable type converter
-        TypeConverter converter = getOrFindTypeConverter(key);
         if (converter != null) {
-            log.trace("Using converter: {} to convert {}", converter, key);
+            log.trace("Using converter: {} to convert {} -> {}", new Object[]{converter, value.getClass(), type});
             Object rc;
             if (tryConvert) {
                 rc = converter.tryConvertTo(type, exchange, value);
@@ -360,7 +382,11 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         if (!tryConvert) {
             // Could not find suitable conversion, so remember it
             // do not register misses for try conversions
-            misses.put(key, key);
+            if (table != null) {
+                table.put(type, value.getClass(), TypeConverterLookupTable.MISS, generation);
+            } else {
+                misses.put(key, key);
+            }
         }
 
         // Could not find suitable conversion, so return Void to indicate not found
@@ -381,6 +407,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
             typeMappings.put(key, typeConverter);
             // remove any previous misses, as we added the new type converter
             misses.remove(key);
+            clearLookupTable();
         }
     }
 
@@ -404,6 +431,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         if (converter != null) {
             typeMappings.remove(key);
             misses.remove(key);
+            clearLookupTable();
         }
         return converter != null;
     }
@@ -415,6 +443,8 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         // add in top of fallback as the toString() fallback will nearly always be able to convert
         // the last one which is add to the FallbackTypeConverter will be called at the first place
         fallbackConverters.add(0, new FallbackTypeConverter(typeConverter, canPromote));
+        // the new fallback may be able to convert what was a miss before
+        clearLookupTable();
         if (typeConverter instanceof TypeConverterAware) {
             TypeConverterAware typeConverterAware = (TypeConverterAware) typeConverter;
             typeConverterAware.setTypeConverter(this);
@@ -595,6 +625,47 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         return typeMappings.size();
     }
 
+    public boolean isLookupTableEnabled() {
+        return lookupTable != null;
+    }
+
+    /**
+     * Sets whether to remember the outcome of each conversion in a lookup table indexed by the to and from types,
+     * so repeated conversions of the same types can find their type converter, or their miss, without creating
+     * a {@link TypeMapping} key and looking it up in the maps.
+     * <p/>
+     * The lookup table is cleared whenever type converters are added or removed.
+     */
+    public void setLookupTableEnabled(boolean lookupTableEnabled) {
+        if (lookupTableEnabled) {
+            if (lookupTable == null) {
+                lookupTable = new TypeConverterLookupTable();
+            }
+        } else {
+            lookupTable = null;
+        }
+    }
+
+    /**
+     * Number of outcomes remembered in the lookup table, or <tt>0</tt> if the lookup table is not enabled.
+     */
+    public int getLookupTableSize() {
+        TypeConverterLookupTable table = lookupTable;
+        return table != null ? table.size() : 0;
+    }
+
+    /**
+     * Clears the lookup table, if enabled, so the outcomes and the classes it holds on to are released.
+     * <p/>
+     * This is done when routes are removed, as the types they converted may no longer be in use.
+     */
+    public void clearLookupTable() {
+        TypeConverterLookupTable table = lookupTable;
+        if (table != null) {
+            table.clear();
+        }
+    }
+
     @Override
     protected void doStart() throws Exception {
         // noop
@@ -611,6 +682,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
 
         typeMappings.clear();
         misses.clear();
+        clearLookupTable();
         statistics.reset();
     }
 
@@ -17,14 +17,28 @@
 package org.apache.camel.impl.converter;
 
 import java.io.IOException;
+import java.net.URL;
+import java.util.List;
+
+import org.apache.camel.spi.TypeConverterLoader;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Will load all type converters from camel-core without classpath scanning, which makes
  * it much faster.
  * <p/>
- * The {@link CorePackageScanClassResolver} contains a hardcoded list of the type converter classes to load.
+ * The type converters are loaded using the reflection free loaders which the Camel annotation processor
+ * generated at build time, listed in the {@link #META_INF_SERVICES_CORE_LOADER} file. If they are not
+ * available, for example when camel-core was built without the annotation processor, the
+ * {@link CorePackageScanClassResolver} with its hardcoded list of the type converter classes is used instead.
  */
 public class CoreTypeConverterLoader extends AnnotationTypeConverterLoader {
+    public static final String META_INF_SERVICES_CORE_LOADER = "META-INF/services/org/apache/camel/CoreTypeConverterLoader";
+    private static final Logger LOG = LoggerFactory.getLogger(CoreTypeConverterLoader.class);
+
+    private boolean generated;
 
     public CoreTypeConverterLoader() {
         super(new CorePackageScanClassResolver());
@@ -32,8 +46,37 @@ public class CoreTypeConverterLoader extends AnnotationTypeConverterLoader {
 
     @Override
     protected String[] findPackageNames() throws IOException {
+        if (generated) {
+            // all the type converters has already been loaded by the generated loaders
+            return new String[0];
+        }
         // this method doesn't change the behavior of the CorePackageScanClassResolver
         return new String[]{"org.apache.camel.converter", "org.apache.camel.component.bean", "org.apache.camel.component.file"};
     }
 
+    @Override
+    protected int loadGeneratedTypeConverterLoaders(TypeConverterRegistry registry) throws Exception {
+        generated = false;
+
+        // only use the loaders generated for this camel-core, and not the TypeConverterLoader files of other JARs
+        ClassLoader classLoader = CoreTypeConverterLoader.class.getClassLoader();
+        URL url = classLoader != null ? classLoader.getResource(META_INF_SERVICES_CORE_LOADER) : null;
+        if (url == null) {
+            LOG.debug("Cannot find {} so the core type converters will be loaded using reflection", META_INF_SERVICES_CORE_LOADER);
+            return 0;
+        }
+
+        List<TypeConverterLoader> loaders = createGeneratedTypeConverterLoaders(url, classLoader);
+        if (loaders == null || loaders.isEmpty()) {
+            return 0;
+        }
+
+        LOG.debug("Loading {} generated core type converter loaders from url: {}", loaders.size(), url);
+        for (TypeConverterLoader loader : loaders) {
+            loader.load(registry);
+        }
+        generated = true;
+        return loaders.size();
+    }
+
 }
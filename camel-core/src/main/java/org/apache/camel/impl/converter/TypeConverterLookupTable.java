@@ -0,0 +1,196 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A lookup table of type conversion outcomes keyed by the pair of to and from types.
+ * <p/>
+ * Each class is assigned a dense integer id on first use, which is kept alongside the class
+ * using a {@link ClassValue}. The outcomes are stored in a two level array indexed by the id of
+ * the to type and the id of the from type, so a lookup does not allocate any objects nor compute any hash codes.
+ * <p/>
+ * The ids are assigned per generation of the table, so clearing the table also releases the ids and the rows
+ * of classes which are no longer converted. The table is cleared when more than {@link #MAX_CLASSES} classes has
+ * been assigned an id, which bounds the size of the table.
+ * <p/>
+ * Lookups are lock free, and updates are serialized. Readers may briefly observe an outcome which
+ * has just been updated or cleared, which is harmless as the outcomes are only a cache.
+ *
+ * @version 
+ */
+final class TypeConverterLookupTable {
+
+    /**
+     * The outcome for a pair of types which cannot be converted.
+     */
+    static final Object MISS = new Object();
+
+    /**
+     * The outcome for a pair of types which has no type converter, but may be converted by the fallback type converters.
+     */
+    static final Object NO_CONVERTER = new Object();
+
+    /**
+     * The maximum number of classes which are assigned an id before the table is cleared.
+     */
+    static final int MAX_CLASSES = 512;
+
+    private static final int INITIAL_SIZE = 64;
+
+    private volatile int generation;
+    private volatile Table table = new Table(INITIAL_SIZE);
+
+    /**
+     * The ids and outcomes of a single generation of the table.
+     */
+    private static final class Table {
+        private final AtomicInteger nextId = new AtomicInteger();
+        private final ClassValue<ClassId> classIds = new ClassValue<ClassId>() {
+            @Override
+            protected ClassId computeValue(Class<?> type) {
+                return new ClassId(nextId.getAndIncrement());
+            }
+        };
+        private volatile AtomicReferenceArray<AtomicReferenceArray<Object>> rows;
+
+        private Table(int size) {
+            this.rows = new AtomicReferenceArray<AtomicReferenceArray<Object>>(size);
+        }
+    }
+
+    private static final class ClassId {
+        private final int id;
+
+        private ClassId(int id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Gets the outcome for converting to the given type from the given type.
+     *
+     * @return a {@link org.apache.camel.TypeConverter}, {@link #NO_CONVERTER}, {@link #MISS},
+     *         or <tt>null</tt> if the outcome is not known yet
+     */
+    Object get(Class<?> toType, Class<?> fromType) {
+        Table current = table;
+        int to = current.classIds.get(toType).id;
+        int from = current.classIds.get(fromType).id;
+        AtomicReferenceArray<AtomicReferenceArray<Object>> rows = current.rows;
+        if (to >= rows.length()) {
+            return null;
+        }
+        AtomicReferenceArray<Object> row = rows.get(to);
+        if (row == null || from >= row.length()) {
+            return null;
+        }
+        return row.get(from);
+    }
+
+    /**
+     * The generation of the table, which changes every time the table is cleared.
+     */
+    int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Stores the outcome for converting to the given type from the given type.
+     * <p/>
+     * The outcome is only stored if the table has not been cleared since the given generation,
+     * as the outcome may otherwise be based on type converters which have been changed since.
+     */
+    synchronized void put(Class<?> toType, Class<?> fromType, Object outcome, int expectedGeneration) {
+        if (generation != expectedGeneration) {
+            return;
+        }
+        Table current = table;
+        int to = current.classIds.get(toType).id;
+        int from = current.classIds.get(fromType).id;
+        if (to >= MAX_CLASSES || from >= MAX_CLASSES) {
+            // too many classes has been converted so start over, which releases the ids of the classes no longer in use
+            clear();
+            return;
+        }
+        AtomicReferenceArray<AtomicReferenceArray<Object>> rows = current.rows;
+        if (to >= rows.length()) {
+            AtomicReferenceArray<AtomicReferenceArray<Object>> copy =
+                    new AtomicReferenceArray<AtomicReferenceArray<Object>>(newSize(rows.length(), to));
+            for (int i = 0; i < rows.length(); i++) {
+                copy.set(i, rows.get(i));
+            }
+            rows = copy;
+            current.rows = rows;
+        }
+        AtomicReferenceArray<Object> row = rows.get(to);
+        if (row == null || from >= row.length()) {
+            int length = row != null ? row.length() : 0;
+            AtomicReferenceArray<Object> copy = new AtomicReferenceArray<Object>(newSize(Math.max(length, INITIAL_SIZE), from));
+            for (int i = 0; i < length; i++) {
+                copy.set(i, row.get(i));
+            }
+            row = copy;
+            rows.set(to, row);
+        }
+        row.set(from, outcome);
+    }
+
+    /**
+     * Clears all the outcomes and the ids of the classes, which must be done when the type converters are changed.
+     */
+    synchronized void clear() {
+        generation++;
+        table = new Table(INITIAL_SIZE);
+    }
+
+    /**
+     * Number of outcomes in the table.
+     */
+    synchronized int size() {
+        int size = 0;
+        AtomicReferenceArray<AtomicReferenceArray<Object>> rows = table.rows;
+        for (int i = 0; i < rows.length(); i++) {
+            AtomicReferenceArray<Object> row = rows.get(i);
+            if (row != null) {
+                for (int j = 0; j < row.length(); j++) {
+                    if (row.get(j) != null) {
+                        size++;
+                    }
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Number of classes which has been assigned an id in the current generation of the table.
+     */
+    int getClassCount() {
+        return table.nextId.get();
+    }
+
+    private static int newSize(int length, int id) {
+        int size = length;
+        while (size <= id) {
+            size <<= 1;
+        }
+        return size;
+    }
+}
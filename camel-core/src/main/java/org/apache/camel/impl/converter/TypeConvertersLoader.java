@@ -19,6 +19,7 @@ package org.apache.camel.impl.converter;
 import java.io.IOException;
 
 import org.apache.camel.TypeConverters;
+import org.apache.camel.spi.TypeConverterRegistry;
 
 /**
  * A type converter loader, that <b>only</b> supports scanning a {@link org.apache.camel.TypeConverters} class
@@ -45,4 +46,10 @@ public class TypeConvertersLoader extends AnnotationTypeConverterLoader {
         return new String[]{name};
     }
 
+    @Override
+    protected int loadGeneratedTypeConverterLoaders(TypeConverterRegistry registry) throws Exception {
+        // only the type converters from the given TypeConverters should be loaded
+        return 0;
+    }
+
 }
@@ -20,6 +20,7 @@ import org.apache.camel.Expression;
 import org.apache.camel.Predicate;
 import org.apache.camel.builder.ExpressionBuilder;
 import org.apache.camel.support.LanguageSupport;
+import org.apache.camel.util.LRUCache;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.PredicateToExpressionAdapter;
 
@@ -86,15 +87,29 @@ import org.apache.camel.util.PredicateToExpressionAdapter;
  * return the full path including the starting directory.
  * <br/>
  * The <b>only</b> file is the filename only with all paths clipped.
+ * <p/>
+ * The parsed expressions and predicates are cached by their text, so creating the same expression again,
+ * for example when evaluating dynamic expressions at runtime, does not have to parse it again.
+ * The language resolved from a {@link org.apache.camel.CamelContext} is created once per CamelContext and has its own cache,
+ * whereas the static methods such as {@link #simple(String)} and {@link #predicate(String)} use a single shared
+ * language and therefore share one cache in the JVM.
+ * Use {@link #setCacheSize(int)} to change the size of the cache.
  *
  */
 public class SimpleLanguage extends LanguageSupport {
 
-    // singleton for expressions without a result type
+    // singleton used by the static methods, which shares its cache of parsed expressions and predicates in the JVM
     private static final SimpleLanguage SIMPLE = new SimpleLanguage();
 
+    private static final int DEFAULT_CACHE_SIZE = 1000;
+
     protected boolean allowEscape = true;
 
+    // cache the parsed expressions and predicates, which are thread safe and can be reused
+    private volatile LRUCache<String, Expression> cacheExpression = new LRUCache<String, Expression>(DEFAULT_CACHE_SIZE);
+    private volatile LRUCache<String, Predicate> cachePredicate = new LRUCache<String, Predicate>(DEFAULT_CACHE_SIZE);
+    private volatile int functionTokensVersion = SimpleTokenizer.getFunctionTokensVersion();
+
     /**
      * Default constructor.
      */
@@ -106,14 +121,25 @@ public class SimpleLanguage extends LanguageSupport {
 
         expression = loadResource(expression);
 
+        checkFunctionTokens();
+        LRUCache<String, Predicate> cache = cachePredicate;
+        Predicate answer = cache != null ? cache.get(expression) : null;
+        if (answer != null) {
+            return answer;
+        }
+
         // support old simple language syntax
         @SuppressWarnings("deprecation")
-        Predicate answer = SimpleBackwardsCompatibleParser.parsePredicate(expression, allowEscape);
+        Predicate old = SimpleBackwardsCompatibleParser.parsePredicate(expression, allowEscape);
+        answer = old;
         if (answer == null) {
             // use the new parser
             SimplePredicateParser parser = new SimplePredicateParser(expression, allowEscape);
             answer = parser.parsePredicate();
         }
+        if (cache != null) {
+            cache.put(expression, answer);
+        }
         return answer;
     }
 
@@ -122,17 +148,75 @@ public class SimpleLanguage extends LanguageSupport {
 
         expression = loadResource(expression);
 
+        checkFunctionTokens();
+        LRUCache<String, Expression> cache = cacheExpression;
+        Expression answer = cache != null ? cache.get(expression) : null;
+        if (answer != null) {
+            return answer;
+        }
+
         // support old simple language syntax
         @SuppressWarnings("deprecation")
-        Expression answer = SimpleBackwardsCompatibleParser.parseExpression(expression, allowEscape);
+        Expression old = SimpleBackwardsCompatibleParser.parseExpression(expression, allowEscape);
+        answer = old;
         if (answer == null) {
             // use the new parser
             SimpleExpressionParser parser = new SimpleExpressionParser(expression, allowEscape);
             answer = parser.parseExpression();
         }
+        if (cache != null) {
+            cache.put(expression, answer);
+        }
         return answer;
     }
 
+    /**
+     * Gets the maximum number of parsed expressions and predicates to cache (each), or <tt>0</tt> if caching is disabled.
+     */
+    public int getCacheSize() {
+        checkFunctionTokens();
+        LRUCache<String, Expression> cache = cacheExpression;
+        return cache != null ? cache.getMaxCacheSize() : 0;
+    }
+
+    /**
+     * Sets the maximum number of parsed expressions and predicates to cache (each).
+     * <p/>
+     * The default size is <tt>1000</tt>. Use <tt>0</tt> to disable caching.
+     */
+    public void setCacheSize(int cacheSize) {
+        if (cacheSize > 0) {
+            cacheExpression = new LRUCache<String, Expression>(cacheSize);
+            cachePredicate = new LRUCache<String, Predicate>(cacheSize);
+        } else {
+            cacheExpression = null;
+            cachePredicate = null;
+        }
+    }
+
+    /**
+     * Clears the cache of parsed expressions and predicates.
+     */
+    public void clearCache() {
+        LRUCache<String, Expression> expressions = cacheExpression;
+        if (expressions != null) {
+            expressions.clear();
+        }
+        LRUCache<String, Predicate> predicates = cachePredicate;
+        if (predicates != null) {
+            predicates.clear();
+        }
+    }
+
+    private void checkFunctionTokens() {
+        int version = SimpleTokenizer.getFunctionTokensVersion();
+        if (version != functionTokensVersion) {
+            // the cached expressions was parsed using the old function tokens
+            functionTokensVersion = version;
+            clearCache();
+        }
+    }
+
     /**
      * Creates a new {@link Expression}.
      * <p/>
@@ -148,7 +232,7 @@ public class SimpleLanguage extends LanguageSupport {
      * if the resultType is a <tt>Boolean</tt>, or <tt>boolean</tt> type).
      */
     public static Expression simple(String expression, Class<?> resultType) {
-        return new SimpleLanguage().createExpression(expression, resultType);
+        return SIMPLE.createExpression(expression, resultType);
     }
 
     public Expression createExpression(String expression, Class<?> resultType) {
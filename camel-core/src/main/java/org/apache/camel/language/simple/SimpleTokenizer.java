@@ -31,6 +31,8 @@ public final class SimpleTokenizer {
 
     // use CopyOnWriteArrayList so we can modify it in the for loop when changing function start/end tokens
     private static final List<SimpleTokenType> KNOWN_TOKENS = new CopyOnWriteArrayList<SimpleTokenType>();
+    // changes every time the function start/end tokens are changed
+    private static volatile int functionTokensVersion;
 
     static {
         // add known tokens
@@ -97,6 +99,7 @@ public final class SimpleTokenizer {
         for (String token : startToken) {
             KNOWN_TOKENS.add(0, new SimpleTokenType(TokenType.functionStart, token));
         }
+        functionTokensVersion++;
     }
 
     /**
@@ -113,6 +116,14 @@ public final class SimpleTokenizer {
         for (String token : endToken) {
             KNOWN_TOKENS.add(0, new SimpleTokenType(TokenType.functionEnd, token));
         }
+        functionTokensVersion++;
+    }
+
+    /**
+     * The version of the function start/end tokens, which changes every time the tokens are changed.
+     */
+    public static int getFunctionTokensVersion() {
+        return functionTokensVersion;
     }
 
     /**
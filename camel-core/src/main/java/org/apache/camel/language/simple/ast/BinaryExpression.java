@@ -21,6 +21,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
@@ -138,6 +139,24 @@ public class BinaryExpression extends BaseSimpleNode {
     }
 
     private Expression createRegexExpression(final Expression leftExp, final Expression rightExp) {
+        String regex = getRightLiteralText();
+        Pattern pattern = null;
+        if (regex != null) {
+            try {
+                pattern = Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                // ignore, and let the invalid pattern fail when evaluated as usual
+            }
+        }
+        if (pattern != null) {
+            // the pattern is a literal so we can compile it only once
+            Predicate predicate = PredicateBuilder.regex(leftExp, pattern);
+            if (operator == BinaryOperatorType.NOT_REGEX) {
+                predicate = PredicateBuilder.not(predicate);
+            }
+            return createExpression(leftExp, rightExp, predicate);
+        }
+
         return new Expression() {
             @Override
             public <T> T evaluate(Exchange exchange, Class<T> type) {
@@ -158,6 +177,21 @@ public class BinaryExpression extends BaseSimpleNode {
     }
 
     private Expression createInExpression(final Expression leftExp, final Expression rightExp) {
+        String text = getRightLiteralText();
+        if (text != null) {
+            // the values are a literal so we can build the list of values only once
+            List<Object> values = new ArrayList<Object>();
+            Iterator<Object> it = ObjectHelper.createIterator(text);
+            while (it.hasNext()) {
+                values.add(it.next());
+            }
+            Predicate predicate = new ValueBuilder(leftExp).in(values.toArray());
+            if (operator == BinaryOperatorType.NOT_IN) {
+                predicate = PredicateBuilder.not(predicate);
+            }
+            return createExpression(leftExp, rightExp, predicate);
+        }
+
         return new Expression() {
             @Override
             public <T> T evaluate(Exchange exchange, Class<T> type) {
@@ -187,6 +221,20 @@ public class BinaryExpression extends BaseSimpleNode {
     }
 
     private Expression createRangeExpression(final String expression, final Expression leftExp, final Expression rightExp) {
+        String text = getRightLiteralText();
+        Matcher literal = text != null ? RANGE_PATTERN.matcher(text) : null;
+        if (literal != null && literal.matches()) {
+            // the range is a literal so we can build the predicate only once
+            Expression from = ExpressionBuilder.constantExpression(literal.group(1));
+            Expression to = ExpressionBuilder.constantExpression(literal.group(3));
+            Predicate predicate = PredicateBuilder.isGreaterThanOrEqualTo(leftExp, from);
+            predicate = PredicateBuilder.and(predicate, PredicateBuilder.isLessThanOrEqualTo(leftExp, to));
+            if (operator == BinaryOperatorType.NOT_RANGE) {
+                predicate = PredicateBuilder.not(predicate);
+            }
+            return createExpression(leftExp, rightExp, predicate);
+        }
+
         return new Expression() {
             @Override
             public <T> T evaluate(Exchange exchange, Class<T> type) {
@@ -220,6 +268,39 @@ public class BinaryExpression extends BaseSimpleNode {
         };
     }
 
+    /**
+     * Gets the text of the right node if its a literal, which does not contain any functions.
+     *
+     * @return the text, or <tt>null</tt> if the right node is not a literal
+     */
+    private String getRightLiteralText() {
+        SimpleNode node = right;
+        if (node instanceof SingleQuoteStart) {
+            node = ((SingleQuoteStart) node).getBlock();
+        } else if (node instanceof DoubleQuoteStart) {
+            node = ((DoubleQuoteStart) node).getBlock();
+        }
+
+        if (isLiteral(node)) {
+            return ((LiteralExpression) node).getText();
+        } else if (node instanceof CompositeNodes) {
+            StringBuilder sb = new StringBuilder();
+            for (SimpleNode child : ((CompositeNodes) node).getChildren()) {
+                if (!isLiteral(child)) {
+                    return null;
+                }
+                sb.append(((LiteralExpression) child).getText());
+            }
+            return sb.toString();
+        }
+        return null;
+    }
+
+    private static boolean isLiteral(SimpleNode node) {
+        // a function is also a literal expression in the AST
+        return node instanceof LiteralExpression && !(node instanceof SimpleFunctionExpression);
+    }
+
     private Expression createExpression(final Expression left, final Expression right, final Predicate predicate) {
         return new Expression() {
             @Override
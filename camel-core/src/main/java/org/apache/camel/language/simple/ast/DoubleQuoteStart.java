@@ -51,6 +51,10 @@ public class DoubleQuoteStart extends BaseSimpleNode implements BlockStart {
         return answer;
     }
 
+    public CompositeNodes getBlock() {
+        return block;
+    }
+
     @Override
     public boolean acceptAndAddNode(SimpleNode node) {
         block.addChild(node);
@@ -110,6 +110,9 @@ public class TokenizeLanguage implements Language, IsSingleton {
             Expression exp = headerName == null ? ExpressionBuilder.bodyExpression() : ExpressionBuilder.headerExpression(headerName);
             if (regex) {
                 answer = ExpressionBuilder.regexTokenizeExpression(exp, token);
+            } else if (group > 0) {
+                // the tokenizer can group the parts itself
+                return ExpressionBuilder.groupTokenizeExpression(exp, token, group);
             } else {
                 answer = ExpressionBuilder.tokenizeExpression(exp, token);
             }
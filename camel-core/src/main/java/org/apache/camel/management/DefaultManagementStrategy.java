@@ -62,6 +62,7 @@ public class DefaultManagementStrategy extends ServiceSupport implements Managem
     private ManagementAgent managementAgent;
     private ManagementStatisticsLevel statisticsLevel = ManagementStatisticsLevel.All;
     private boolean loadStatisticsEnabled;
+    private boolean latencyHistogramEnabled;
     private CamelContext camelContext;
 
     public DefaultManagementStrategy() {
@@ -202,6 +203,14 @@ public class DefaultManagementStrategy extends ServiceSupport implements Managem
         this.loadStatisticsEnabled = loadStatisticsEnabled;
     }
 
+    public boolean isLatencyHistogramEnabled() {
+        return latencyHistogramEnabled;
+    }
+
+    public void setLatencyHistogramEnabled(boolean latencyHistogramEnabled) {
+        this.latencyHistogramEnabled = latencyHistogramEnabled;
+    }
+
     protected void doStart() throws Exception {
         LOG.info("JMX is disabled");
         doStartManagementStrategy();
@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.event;
+
+import java.util.EventObject;
+
+import org.apache.camel.CamelContext;
+
+/**
+ * Event when the state of a circuit breaker has changed, such as from closed to open.
+ *
+ * @version 
+ */
+public class CircuitBreakerStateChangedEvent extends EventObject {
+    private static final long serialVersionUID = 5364872390171847329L;
+
+    private final CamelContext context;
+    private final Object circuitBreaker;
+    private final String previousState;
+    private final String state;
+
+    public CircuitBreakerStateChangedEvent(CamelContext context, Object circuitBreaker, String previousState, String state) {
+        super(circuitBreaker);
+        this.context = context;
+        this.circuitBreaker = circuitBreaker;
+        this.previousState = previousState;
+        this.state = state;
+    }
+
+    public CamelContext getContext() {
+        return context;
+    }
+
+    public Object getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public String getPreviousState() {
+        return previousState;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    @Override
+    public String toString() {
+        return "Circuit breaker " + circuitBreaker + " changed state from " + previousState + " to " + state;
+    }
+}
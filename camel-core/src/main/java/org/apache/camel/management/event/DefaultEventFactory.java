@@ -134,4 +134,8 @@ public class DefaultEventFactory implements EventFactory {
     public EventObject createCamelContextResumeFailureEvent(CamelContext context, Throwable cause) {
         return new CamelContextResumeFailureEvent(context, cause);
     }
+
+    public EventObject createCircuitBreakerStateChangedEvent(CamelContext context, Object circuitBreaker, String previousState, String state) {
+        return new CircuitBreakerStateChangedEvent(context, circuitBreaker, previousState, state);
+    }
 }
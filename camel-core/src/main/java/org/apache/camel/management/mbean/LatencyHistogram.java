@@ -0,0 +1,207 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-memory, lock-free latency histogram with sliding time windows.
+ * <p/>
+ * Values are recorded into log-linear buckets (8 sub buckets per power of two) which gives
+ * an accuracy within about 12% of the recorded value. Values above {@link #MAX_VALUE}
+ * (a little more than two years in millis) are recorded as {@link #MAX_VALUE}.
+ * The histogram keeps a ring of windows which are recycled as time moves on, so percentiles
+ * reflect the last <tt>windows * windowMillis</tt> milliseconds only.
+ * <p/>
+ * With the default of 3 windows the histogram uses about 3kb of memory.
+ * <p/>
+ * Recording does not allocate and does not lock. A window is cleared by the first thread
+ * that records into it after it expired, so a few values recorded concurrently with the
+ * rotation may be lost, which is acceptable for statistics.
+ */
+public final class LatencyHistogram {
+
+    public static final int DEFAULT_WINDOWS = 3;
+    public static final long DEFAULT_WINDOW_MILLIS = 20000;
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 35;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    /**
+     * The highest value that can be tracked
+     */
+    public static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final int windows;
+    private final long windowMillis;
+    // an int per bucket is enough as a window is cleared long before it can overflow
+    private final AtomicIntegerArray counts;
+    private final AtomicLongArray epochs;
+
+    public LatencyHistogram() {
+        this(DEFAULT_WINDOWS, DEFAULT_WINDOW_MILLIS);
+    }
+
+    public LatencyHistogram(int windows, long windowMillis) {
+        if (windows <= 0) {
+            throw new IllegalArgumentException("Windows must be positive, was: " + windows);
+        }
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("WindowMillis must be positive, was: " + windowMillis);
+        }
+        this.windows = windows;
+        this.windowMillis = windowMillis;
+        this.counts = new AtomicIntegerArray(windows * BUCKETS);
+        this.epochs = new AtomicLongArray(windows);
+        for (int i = 0; i < windows; i++) {
+            epochs.set(i, -1);
+        }
+    }
+
+    /**
+     * Records the value (negative values are recorded as zero, and values above {@link #MAX_VALUE} as {@link #MAX_VALUE})
+     */
+    public void record(long value) {
+        record(value, System.currentTimeMillis());
+    }
+
+    void record(long value, long now) {
+        long epoch = now / windowMillis;
+        int window = (int) (epoch % windows);
+        long current = epochs.get(window);
+        if (current < epoch && epochs.compareAndSet(window, current, epoch)) {
+            // we won the rotation so clear the expired window
+            int offset = window * BUCKETS;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(offset + i, 0);
+            }
+        }
+        counts.incrementAndGet(window * BUCKETS + bucketIndex(value));
+    }
+
+    /**
+     * Gets the value at the given percentile over the sliding windows.
+     *
+     * @param percentile the percentile such as <tt>99.9</tt>
+     * @return the value, or <tt>0</tt> if no values has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        return getValueAtPercentile(percentile, System.currentTimeMillis());
+    }
+
+    long getValueAtPercentile(double percentile, long now) {
+        long[] merged = new long[BUCKETS];
+        long total = 0;
+        long epoch = now / windowMillis;
+        for (int w = 0; w < windows; w++) {
+            long e = epochs.get(w);
+            if (e < 0 || e > epoch || epoch - e >= windows) {
+                continue;
+            }
+            int offset = w * BUCKETS;
+            for (int i = 0; i < BUCKETS; i++) {
+                long c = counts.get(offset + i);
+                merged[i] += c;
+                total += c;
+            }
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        double p = Math.min(Math.max(percentile, 0d), 100d);
+        long target = Math.max(1, (long) Math.ceil(total * p / 100d));
+        long sum = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            sum += merged[i];
+            if (sum >= target) {
+                return highestValueInBucket(i);
+            }
+        }
+        return highestValueInBucket(BUCKETS - 1);
+    }
+
+    /**
+     * Gets the number of values recorded within the sliding windows
+     */
+    public long getCount() {
+        return getCount(System.currentTimeMillis());
+    }
+
+    long getCount(long now) {
+        long total = 0;
+        long epoch = now / windowMillis;
+        for (int w = 0; w < windows; w++) {
+            long e = epochs.get(w);
+            if (e < 0 || e > epoch || epoch - e >= windows) {
+                continue;
+            }
+            int offset = w * BUCKETS;
+            for (int i = 0; i < BUCKETS; i++) {
+                total += counts.get(offset + i);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Clears all the recorded values
+     */
+    public void reset() {
+        for (int w = 0; w < windows; w++) {
+            epochs.set(w, -1);
+        }
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    public int getWindows() {
+        return windows;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return value < 0 ? 0 : (int) value;
+        }
+        if (value > MAX_VALUE) {
+            return BUCKETS - 1;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long highestValueInBucket(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = index % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lowest = ((SUB_BUCKETS | sub) << shift);
+        return lowest + (1L << shift) - 1;
+    }
+
+}
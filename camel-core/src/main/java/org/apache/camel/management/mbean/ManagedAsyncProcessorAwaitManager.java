@@ -17,6 +17,7 @@
 package org.apache.camel.management.mbean;
 
 import java.util.Collection;
+import java.util.Map;
 import javax.management.openmbean.CompositeData;
 import javax.management.openmbean.CompositeDataSupport;
 import javax.management.openmbean.CompositeType;
@@ -97,6 +98,24 @@ public class ManagedAsyncProcessorAwaitManager extends ManagedService implements
         return manager.getStatistics().getThreadsBlocked();
     }
 
+    @Override
+    public TabularData browseThreadsBlockedPerRoute() {
+        try {
+            TabularData answer = new TabularDataSupport(CamelOpenMBeanTypes.listAwaitThreadsPerRouteTabularType());
+            Map<String, Long> routes = manager.getStatistics().getThreadsBlockedPerRoute();
+            for (Map.Entry<String, Long> entry : routes.entrySet()) {
+                CompositeType ct = CamelOpenMBeanTypes.listAwaitThreadsPerRouteCompositeType();
+                CompositeData data = new CompositeDataSupport(ct,
+                        new String[]{"routeId", "threadsBlocked"},
+                        new Object[]{entry.getKey(), entry.getValue()});
+                answer.put(data);
+            }
+            return answer;
+        } catch (Exception e) {
+            throw ObjectHelper.wrapRuntimeCamelException(e);
+        }
+    }
+
     @Override
     public long getThreadsInterrupted() {
         return manager.getStatistics().getThreadsInterrupted();
@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.ManagedCircuitBreakerLoadBalancerMBean;
+import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.processor.loadbalancer.CircuitBreakerLoadBalancer;
+
+/**
+ * @version 
+ */
+@ManagedResource(description = "Managed CircuitBreaker LoadBalancer")
+public class ManagedCircuitBreakerLoadBalancer extends ManagedProcessor implements ManagedCircuitBreakerLoadBalancerMBean {
+    private final CircuitBreakerLoadBalancer loadBalancer;
+
+    public ManagedCircuitBreakerLoadBalancer(CamelContext context, CircuitBreakerLoadBalancer loadBalancer, ProcessorDefinition<?> definition) {
+        super(context, loadBalancer, definition);
+        this.loadBalancer = loadBalancer;
+    }
+
+    public CircuitBreakerLoadBalancer getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    public String getState() {
+        return loadBalancer.getState();
+    }
+
+    public int getThreshold() {
+        return loadBalancer.getThreshold();
+    }
+
+    public long getHalfOpenAfter() {
+        return loadBalancer.getHalfOpenAfter();
+    }
+
+    public boolean isSlidingWindow() {
+        return loadBalancer.isSlidingWindow();
+    }
+
+    public int getFailureRateThreshold() {
+        return loadBalancer.getFailureRateThreshold();
+    }
+
+    public int getSlowCallRateThreshold() {
+        return loadBalancer.getSlowCallRateThreshold();
+    }
+
+    public long getSlowCallDurationThreshold() {
+        return loadBalancer.getSlowCallDurationThreshold();
+    }
+
+    public int getSlidingWindowSize() {
+        return loadBalancer.getSlidingWindowSize();
+    }
+
+    public long getSlidingWindowMillis() {
+        return loadBalancer.getSlidingWindowMillis();
+    }
+
+    public int getMinimumNumberOfCalls() {
+        return loadBalancer.getMinimumNumberOfCalls();
+    }
+
+    public int getPermittedNumberOfCallsInHalfOpenState() {
+        return loadBalancer.getPermittedNumberOfCallsInHalfOpenState();
+    }
+
+    public int getNumberOfCalls() {
+        return loadBalancer.getNumberOfCalls();
+    }
+
+    public int getNumberOfFailedCalls() {
+        return loadBalancer.getNumberOfFailedCalls();
+    }
+
+    public int getNumberOfSlowCalls() {
+        return loadBalancer.getNumberOfSlowCalls();
+    }
+
+    public int getFailureRate() {
+        int calls = loadBalancer.getNumberOfCalls();
+        return calls > 0 ? (int) (loadBalancer.getNumberOfFailedCalls() * 100L / calls) : 0;
+    }
+
+    public int getSlowCallRate() {
+        int calls = loadBalancer.getNumberOfCalls();
+        return calls > 0 ? (int) (loadBalancer.getNumberOfSlowCalls() * 100L / calls) : 0;
+    }
+
+    public void resetState() {
+        loadBalancer.reset();
+    }
+}
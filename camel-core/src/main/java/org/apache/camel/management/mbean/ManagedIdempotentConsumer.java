@@ -21,6 +21,7 @@ import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.api.management.mbean.ManagedIdempotentConsumerMBean;
 import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.processor.idempotent.IdempotentConsumer;
+import org.apache.camel.processor.idempotent.MemoryIdempotentRepository;
 
 @ManagedResource(description = "Managed Idempotent Consumer")
 public class ManagedIdempotentConsumer extends ManagedProcessor implements ManagedIdempotentConsumerMBean {
@@ -44,4 +45,29 @@ public class ManagedIdempotentConsumer extends ManagedProcessor implements Manag
         getProcessor().resetDuplicateMessageCount();
     }
 
+    @Override
+    public long getRepositoryHits() {
+        MemoryIdempotentRepository repository = getMemoryIdempotentRepository();
+        return repository != null ? repository.getHits() : -1;
+    }
+
+    @Override
+    public long getRepositoryMisses() {
+        MemoryIdempotentRepository repository = getMemoryIdempotentRepository();
+        return repository != null ? repository.getMisses() : -1;
+    }
+
+    @Override
+    public long getRepositoryEvicted() {
+        MemoryIdempotentRepository repository = getMemoryIdempotentRepository();
+        return repository != null ? repository.getEvicted() : -1;
+    }
+
+    private MemoryIdempotentRepository getMemoryIdempotentRepository() {
+        if (getProcessor().getIdempotentRepository() instanceof MemoryIdempotentRepository) {
+            return (MemoryIdempotentRepository) getProcessor().getIdempotentRepository();
+        }
+        return null;
+    }
+
 }
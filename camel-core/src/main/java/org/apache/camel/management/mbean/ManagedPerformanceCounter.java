@@ -52,6 +52,9 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
     private Statistic lastExchangeFailureTimestamp;
     private String lastExchangeFailureExchangeId;
     private boolean statisticsEnabled = true;
+    private boolean latencyHistogramEnabled;
+    // only created if enabled
+    private volatile LatencyHistogram latencyHistogram;
 
     public void init(ManagementStrategy strategy) {
         super.init(strategy);
@@ -74,6 +77,9 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         this.firstExchangeFailureTimestamp = new Statistic("org.apache.camel.firstExchangeFailureTimestamp", this, Statistic.UpdateMode.VALUE);
         this.lastExchangeCompletedTimestamp = new Statistic("org.apache.camel.lastExchangeCompletedTimestamp", this, Statistic.UpdateMode.VALUE);
         this.lastExchangeFailureTimestamp = new Statistic("org.apache.camel.lastExchangeFailureTimestamp", this, Statistic.UpdateMode.VALUE);
+
+        this.latencyHistogramEnabled = strategy != null && strategy.isLatencyHistogramEnabled();
+        this.latencyHistogram = latencyHistogramEnabled ? new LatencyHistogram() : null;
     }
 
     @Override
@@ -99,6 +105,10 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         lastExchangeCompletedExchangeId = null;
         lastExchangeFailureTimestamp.reset();
         lastExchangeFailureExchangeId = null;
+        LatencyHistogram histogram = latencyHistogram;
+        if (histogram != null) {
+            histogram.reset();
+        }
     }
 
     public long getExchangesCompleted() throws Exception {
@@ -183,6 +193,32 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         return firstExchangeFailureExchangeId;
     }
 
+    public boolean isLatencyHistogramEnabled() {
+        return latencyHistogramEnabled;
+    }
+
+    public long getProcessingTimePercentile50() {
+        return getProcessingTimePercentile(50);
+    }
+
+    public long getProcessingTimePercentile95() {
+        return getProcessingTimePercentile(95);
+    }
+
+    public long getProcessingTimePercentile99() {
+        return getProcessingTimePercentile(99);
+    }
+
+    public long getProcessingTimePercentile999() {
+        return getProcessingTimePercentile(99.9);
+    }
+
+    public long getProcessingTimePercentile(double percentile) {
+        // -1 if the latency histogram is not enabled
+        LatencyHistogram histogram = latencyHistogram;
+        return histogram != null ? histogram.getValueAtPercentile(percentile) : -1;
+    }
+
     public boolean isStatisticsEnabled() {
         return statisticsEnabled;
     }
@@ -213,6 +249,10 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         totalProcessingTime.updateValue(time);
         lastProcessingTime.updateValue(time);
         deltaProcessingTime.updateValue(time);
+        LatencyHistogram histogram = latencyHistogram;
+        if (histogram != null) {
+            histogram.record(time);
+        }
 
         long now = new Date().getTime();
         if (firstExchangeCompletedTimestamp.getUpdateCount() == 0) {
@@ -270,6 +310,12 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         sb.append(String.format(" lastProcessingTime=\"%s\"", lastProcessingTime.getValue()));
         sb.append(String.format(" deltaProcessingTime=\"%s\"", deltaProcessingTime.getValue()));
         sb.append(String.format(" meanProcessingTime=\"%s\"", meanProcessingTime.getValue()));
+        if (latencyHistogramEnabled) {
+            sb.append(String.format(" p50ProcessingTime=\"%s\"", getProcessingTimePercentile50()));
+            sb.append(String.format(" p95ProcessingTime=\"%s\"", getProcessingTimePercentile95()));
+            sb.append(String.format(" p99ProcessingTime=\"%s\"", getProcessingTimePercentile99()));
+            sb.append(String.format(" p999ProcessingTime=\"%s\"", getProcessingTimePercentile999()));
+        }
 
         if (fullStats) {
             sb.append(String.format(" resetTimestamp=\"%s\"", dateAsString(resetTimestamp.getValue())));
@@ -59,4 +59,16 @@ public class ManagedThrottler extends ManagedProcessor implements ManagedThrottl
     public int getThrottledCount() {
         return getThrottler().getDelayedCount();
     }
+
+    public boolean isTokenBucket() {
+        return getThrottler().isTokenBucket();
+    }
+
+    public long getBurst() {
+        return getThrottler().getBurst();
+    }
+
+    public int getKeyCount() {
+        return getThrottler().getKeyCount();
+    }
 }
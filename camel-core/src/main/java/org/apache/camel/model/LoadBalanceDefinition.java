@@ -33,6 +33,7 @@ import org.apache.camel.Processor;
 import org.apache.camel.model.loadbalancer.CircuitBreakerLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.CustomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.FailoverLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.LeastLatencyLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RandomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RoundRobinLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.StickyLoadBalancerDefinition;
@@ -40,6 +41,7 @@ import org.apache.camel.model.loadbalancer.TopicLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.WeightedLoadBalancerDefinition;
 import org.apache.camel.processor.loadbalancer.CircuitBreakerLoadBalancer;
 import org.apache.camel.processor.loadbalancer.FailOverLoadBalancer;
+import org.apache.camel.processor.loadbalancer.LeastLatencyLoadBalancer;
 import org.apache.camel.processor.loadbalancer.LoadBalancer;
 import org.apache.camel.processor.loadbalancer.RandomLoadBalancer;
 import org.apache.camel.processor.loadbalancer.RoundRobinLoadBalancer;
@@ -70,7 +72,8 @@ public class LoadBalanceDefinition extends ProcessorDefinition<LoadBalanceDefini
             @XmlElement(required = false, name = "sticky", type = StickyLoadBalancerDefinition.class),
             @XmlElement(required = false, name = "topic", type = TopicLoadBalancerDefinition.class),
             @XmlElement(required = false, name = "weighted", type = WeightedLoadBalancerDefinition.class),
-            @XmlElement(required = false, name = "circuitBreaker", type = CircuitBreakerLoadBalancerDefinition.class)}
+            @XmlElement(required = false, name = "circuitBreaker", type = CircuitBreakerLoadBalancerDefinition.class),
+            @XmlElement(required = false, name = "leastLatency", type = LeastLatencyLoadBalancerDefinition.class)}
     )
     private LoadBalancerDefinition loadBalancerType;
     @XmlElementRef
@@ -239,6 +242,25 @@ public class LoadBalanceDefinition extends ProcessorDefinition<LoadBalanceDefini
         setLoadBalancerType(new LoadBalancerDefinition(breakerLoadBalancer));
         return this;
     }
+
+    /**
+     * Uses circuitBreaker load balancer with a sliding window of the most recent calls
+     *
+     * @param failureRateThreshold  percentage of failed calls in the sliding window which opens the circuit.
+     * @param slidingWindowSize     number of most recent calls in the sliding window.
+     * @param halfOpenAfter         time interval in milliseconds for half open state.
+     * @param exceptions            exception classes which we want to break if one of them was thrown
+     * @return the builder
+     */
+    public LoadBalanceDefinition slidingWindowCircuitBreaker(int failureRateThreshold, int slidingWindowSize, long halfOpenAfter, Class<?>... exceptions) {
+        CircuitBreakerLoadBalancer breakerLoadBalancer = new CircuitBreakerLoadBalancer(Arrays.asList(exceptions));
+        breakerLoadBalancer.setFailureRateThreshold(failureRateThreshold);
+        breakerLoadBalancer.setSlidingWindowSize(slidingWindowSize);
+        breakerLoadBalancer.setHalfOpenAfter(halfOpenAfter);
+
+        setLoadBalancerType(new LoadBalancerDefinition(breakerLoadBalancer));
+        return this;
+    }
     
     /**
      * Uses weighted load balancer
@@ -286,6 +308,30 @@ public class LoadBalanceDefinition extends ProcessorDefinition<LoadBalanceDefini
         return this;
     }
 
+    /**
+     * Uses least latency load balancer, which favours the processors with the lowest response time
+     * by comparing two random processors (power of two choices)
+     *
+     * @return the builder
+     */
+    public LoadBalanceDefinition leastLatency() {
+        setLoadBalancerType(new LoadBalancerDefinition(new LeastLatencyLoadBalancer()));
+        return this;
+    }
+
+    /**
+     * Uses least latency load balancer
+     *
+     * @param decayMillis       the decay time in millis of the moving average of the response time
+     * @param leastOutstanding  whether to choose the processor with the least outstanding exchanges,
+     *                          instead of comparing two random processors
+     * @return the builder
+     */
+    public LoadBalanceDefinition leastLatency(long decayMillis, boolean leastOutstanding) {
+        setLoadBalancerType(new LoadBalancerDefinition(new LeastLatencyLoadBalancer(decayMillis, leastOutstanding)));
+        return this;
+    }
+
     /**
      * Uses the custom load balancer
      *
@@ -72,6 +72,8 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
     private Boolean shareUnitOfWork;
     @XmlAttribute
     private Boolean parallelAggregate;
+    @XmlAttribute @Metadata(defaultValue = "0")
+    private Integer maxInFlight;
 
     public SplitDefinition() {
     }
@@ -110,6 +112,10 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         if (timeout > 0 && !isParallelProcessing) {
             throw new IllegalArgumentException("Timeout is used but ParallelProcessing has not been enabled.");
         }
+        int maxInFlight = getMaxInFlight() != null ? getMaxInFlight() : 0;
+        if (maxInFlight > 0 && !isParallelProcessing) {
+            throw new IllegalArgumentException("MaxInFlight is used but ParallelProcessing has not been enabled.");
+        }
         if (onPrepareRef != null) {
             onPrepare = CamelContextHelper.mandatoryLookup(routeContext.getCamelContext(), onPrepareRef, Processor.class);
         }
@@ -119,6 +125,7 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         Splitter answer = new Splitter(routeContext.getCamelContext(), exp, childProcessor, aggregationStrategy,
                             isParallelProcessing, threadPool, shutdownThreadPool, isStreaming, isStopOnException(),
                             timeout, onPrepare, isShareUnitOfWork, isParallelAggregate);
+        answer.setMaxInFlight(maxInFlight);
         if (isShareUnitOfWork) {
             // wrap answer in a sub unit of work, since we share the unit of work
             CamelInternalProcessor internalProcessor = new CamelInternalProcessor(answer);
@@ -319,6 +326,20 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         return this;
     }
 
+    /**
+     * Sets the maximum number of sub messages which can be in flight at the same time, when using parallel processing.
+     * When the limit is reached the Splitter waits for a sub message to be aggregated before it continues with the next,
+     * which gives back pressure and bounded memory usage, for example when splitting big messages in streaming mode.
+     * The default value is 0 which means unbounded.
+     *
+     * @param maxInFlight the maximum number of sub messages in flight
+     * @return the builder
+     */
+    public SplitDefinition maxInFlight(int maxInFlight) {
+        setMaxInFlight(maxInFlight);
+        return this;
+    }
+
     /**
      * Shares the {@link org.apache.camel.spi.UnitOfWork} with the parent and each of the sub messages.
      * Splitter will by default not share unit of work between the parent exchange and each splitted exchange.
@@ -451,6 +472,14 @@ public class SplitDefinition extends ExpressionNode implements ExecutorServiceAw
         this.timeout = timeout;
     }
 
+    public Integer getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(Integer maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
     public String getOnPrepareRef() {
         return onPrepareRef;
     }
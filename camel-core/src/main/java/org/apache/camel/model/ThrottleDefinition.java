@@ -21,6 +21,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlTransient;
 
@@ -56,7 +57,15 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     private Boolean callerRunsWhenRejected;
     @XmlAttribute
     private Boolean rejectExecution;
-    
+    @XmlAttribute
+    private Boolean tokenBucket;
+    @XmlAttribute
+    private Long burst;
+    @XmlAttribute @Metadata(defaultValue = "1000")
+    private Integer maximumKeys;
+    @XmlElement(name = "correlationExpression")
+    private ExpressionSubElementDefinition correlationExpression;
+
     public ThrottleDefinition() {
     }
 
@@ -105,6 +114,22 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         } else {
             answer.setCallerRunsWhenRejected(getCallerRunsWhenRejected());
         }
+
+        Expression correlation = null;
+        if (getCorrelationExpression() != null) {
+            correlation = getCorrelationExpression().createExpression(routeContext);
+        }
+        boolean bucket = getTokenBucket() != null && getTokenBucket();
+        if (bucket || getBurst() != null || correlation != null) {
+            answer.setTokenBucket(true);
+            if (getBurst() != null) {
+                answer.setBurst(getBurst());
+            }
+            if (getMaximumKeys() != null) {
+                answer.setMaximumKeys(getMaximumKeys());
+            }
+            answer.setCorrelationExpression(correlation);
+        }
         return answer;
     }
 
@@ -177,6 +202,58 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         return this;
     }
 
+    /**
+     * Enables token bucket mode, where the throttler uses the generic cell rate algorithm instead of fixed time slots.
+     * <p/>
+     * The bucket is refilled smoothly with one permit per time period divided by the maximum requests per period,
+     * instead of allowing a full period of requests at the start of each time slot.
+     *
+     * @return the builder
+     */
+    public ThrottleDefinition tokenBucket() {
+        setTokenBucket(true);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of messages which can pass at once when the bucket is full.
+     * <p/>
+     * Is by default the maximum requests per period. Setting the burst enables token bucket mode.
+     *
+     * @param burst the burst size
+     * @return the builder
+     */
+    public ThrottleDefinition burst(long burst) {
+        setBurst(burst);
+        return this;
+    }
+
+    /**
+     * To throttle per key, where the expression is evaluated to determine the key of the message, such as a customer id.
+     * Each key has its own token bucket. Setting the correlation expression enables token bucket mode.
+     *
+     * @param correlationExpression the expression to evaluate the key
+     * @return the builder
+     */
+    public ThrottleDefinition correlationExpression(Expression correlationExpression) {
+        setCorrelationExpression(new ExpressionSubElementDefinition(correlationExpression));
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of keys to keep track of when throttling per key.
+     * The least recently used keys are evicted, which resets their token bucket.
+     * <p/>
+     * Is by default <tt>1000</tt>
+     *
+     * @param maximumKeys the maximum number of keys
+     * @return the builder
+     */
+    public ThrottleDefinition maximumKeys(int maximumKeys) {
+        setMaximumKeys(maximumKeys);
+        return this;
+    }
+
     /**
      * Sets the ExecutorService which could be used by throttle definition
      *
@@ -258,4 +335,39 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     public void setRejectExecution(Boolean rejectExecution) {
         this.rejectExecution = rejectExecution;
     }
+
+    public Boolean getTokenBucket() {
+        return tokenBucket;
+    }
+
+    public void setTokenBucket(Boolean tokenBucket) {
+        this.tokenBucket = tokenBucket;
+    }
+
+    public Long getBurst() {
+        return burst;
+    }
+
+    public void setBurst(Long burst) {
+        this.burst = burst;
+    }
+
+    public Integer getMaximumKeys() {
+        return maximumKeys;
+    }
+
+    public void setMaximumKeys(Integer maximumKeys) {
+        this.maximumKeys = maximumKeys;
+    }
+
+    public ExpressionSubElementDefinition getCorrelationExpression() {
+        return correlationExpression;
+    }
+
+    /**
+     * Expression to group the messages which are throttled together, such as per customer
+     */
+    public void setCorrelationExpression(ExpressionSubElementDefinition correlationExpression) {
+        this.correlationExpression = correlationExpression;
+    }
 }
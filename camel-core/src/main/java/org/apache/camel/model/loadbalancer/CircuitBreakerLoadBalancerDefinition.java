@@ -39,6 +39,9 @@ import org.apache.camel.util.ObjectHelper;
  * If there are failures and the threshold is reached, it moves to open state and rejects all calls until halfOpenAfter
  * timeout is reached. After this timeout is reached, if there is a new call, it will pass and if the result is
  * success the Circuit Breaker will move to closed state, or to open state if there was an error.
+ * <p/>
+ * When a failure rate threshold or slow call rate threshold is configured, the Circuit Breaker uses a sliding window
+ * of the most recent calls instead of counting consecutive failures.
  */
 @Metadata(label = "configuration,loadbalance")
 @XmlRootElement(name = "circuitBreaker")
@@ -50,6 +53,20 @@ public class CircuitBreakerLoadBalancerDefinition extends LoadBalancerDefinition
     private Long halfOpenAfter;
     @XmlAttribute
     private Integer threshold;
+    @XmlAttribute
+    private Integer failureRateThreshold;
+    @XmlAttribute
+    private Integer slowCallRateThreshold;
+    @XmlAttribute @Metadata(defaultValue = "60000")
+    private Long slowCallDurationThreshold;
+    @XmlAttribute @Metadata(defaultValue = "100")
+    private Integer slidingWindowSize;
+    @XmlAttribute
+    private Long slidingWindowMillis;
+    @XmlAttribute @Metadata(defaultValue = "10")
+    private Integer minimumNumberOfCalls;
+    @XmlAttribute @Metadata(defaultValue = "1")
+    private Integer permittedNumberOfCallsInHalfOpenState;
 
     public CircuitBreakerLoadBalancerDefinition() {
     }
@@ -81,6 +98,27 @@ public class CircuitBreakerLoadBalancerDefinition extends LoadBalancerDefinition
         if (getThreshold() != null) {
             answer.setThreshold(getThreshold());
         }
+        if (getFailureRateThreshold() != null) {
+            answer.setFailureRateThreshold(getFailureRateThreshold());
+        }
+        if (getSlowCallRateThreshold() != null) {
+            answer.setSlowCallRateThreshold(getSlowCallRateThreshold());
+        }
+        if (getSlowCallDurationThreshold() != null) {
+            answer.setSlowCallDurationThreshold(getSlowCallDurationThreshold());
+        }
+        if (getSlidingWindowSize() != null) {
+            answer.setSlidingWindowSize(getSlidingWindowSize());
+        }
+        if (getSlidingWindowMillis() != null) {
+            answer.setSlidingWindowMillis(getSlidingWindowMillis());
+        }
+        if (getMinimumNumberOfCalls() != null) {
+            answer.setMinimumNumberOfCalls(getMinimumNumberOfCalls());
+        }
+        if (getPermittedNumberOfCallsInHalfOpenState() != null) {
+            answer.setPermittedNumberOfCallsInHalfOpenState(getPermittedNumberOfCallsInHalfOpenState());
+        }
         return answer;
     }
 
@@ -106,6 +144,86 @@ public class CircuitBreakerLoadBalancerDefinition extends LoadBalancerDefinition
         this.threshold = threshold;
     }
 
+    public Integer getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * Percentage of failed calls in the sliding window which moves the state from closed to open.
+     * Setting this option enables the sliding window.
+     */
+    public void setFailureRateThreshold(Integer failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public Integer getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    /**
+     * Percentage of slow calls in the sliding window which moves the state from closed to open.
+     * Setting this option enables the sliding window.
+     */
+    public void setSlowCallRateThreshold(Integer slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+
+    public Long getSlowCallDurationThreshold() {
+        return slowCallDurationThreshold;
+    }
+
+    /**
+     * Duration in millis above which a call is considered slow
+     */
+    public void setSlowCallDurationThreshold(Long slowCallDurationThreshold) {
+        this.slowCallDurationThreshold = slowCallDurationThreshold;
+    }
+
+    public Integer getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    /**
+     * Number of most recent calls in the sliding window
+     */
+    public void setSlidingWindowSize(Integer slidingWindowSize) {
+        this.slidingWindowSize = slidingWindowSize;
+    }
+
+    public Long getSlidingWindowMillis() {
+        return slidingWindowMillis;
+    }
+
+    /**
+     * To use a time based sliding window which covers the calls in the last number of millis,
+     * instead of the count based sliding window
+     */
+    public void setSlidingWindowMillis(Long slidingWindowMillis) {
+        this.slidingWindowMillis = slidingWindowMillis;
+    }
+
+    public Integer getMinimumNumberOfCalls() {
+        return minimumNumberOfCalls;
+    }
+
+    /**
+     * Minimum number of calls in the sliding window before the failure and slow call rates are evaluated
+     */
+    public void setMinimumNumberOfCalls(Integer minimumNumberOfCalls) {
+        this.minimumNumberOfCalls = minimumNumberOfCalls;
+    }
+
+    public Integer getPermittedNumberOfCallsInHalfOpenState() {
+        return permittedNumberOfCallsInHalfOpenState;
+    }
+
+    /**
+     * Number of trial calls permitted in the half-open state, which must all succeed to move the state to closed
+     */
+    public void setPermittedNumberOfCallsInHalfOpenState(Integer permittedNumberOfCallsInHalfOpenState) {
+        this.permittedNumberOfCallsInHalfOpenState = permittedNumberOfCallsInHalfOpenState;
+    }
+
     public List<String> getExceptions() {
         return exceptions;
     }
@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.model.loadbalancer;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.apache.camel.model.LoadBalancerDefinition;
+import org.apache.camel.processor.loadbalancer.LeastLatencyLoadBalancer;
+import org.apache.camel.processor.loadbalancer.LoadBalancer;
+import org.apache.camel.spi.Metadata;
+import org.apache.camel.spi.RouteContext;
+
+/**
+ * Least latency load balancer
+ * <p/>
+ * The least latency load balancer tracks the response time and the number of outstanding exchanges of each endpoint,
+ * and favours the endpoints which responds the fastest. By default two random endpoints are compared (power of two choices),
+ * alternatively the endpoint with the least outstanding exchanges can be chosen.
+ */
+@Metadata(label = "configuration,loadbalance")
+@XmlRootElement(name = "leastLatency")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class LeastLatencyLoadBalancerDefinition extends LoadBalancerDefinition {
+    @XmlAttribute @Metadata(defaultValue = "10000")
+    private Long decayMillis;
+    @XmlAttribute
+    private Boolean leastOutstanding;
+
+    public LeastLatencyLoadBalancerDefinition() {
+    }
+
+    @Override
+    protected LoadBalancer createLoadBalancer(RouteContext routeContext) {
+        LeastLatencyLoadBalancer answer = new LeastLatencyLoadBalancer();
+        if (getDecayMillis() != null) {
+            answer.setDecayMillis(getDecayMillis());
+        }
+        if (getLeastOutstanding() != null) {
+            answer.setLeastOutstanding(getLeastOutstanding());
+        }
+        return answer;
+    }
+
+    public Long getDecayMillis() {
+        return decayMillis;
+    }
+
+    /**
+     * The decay time in millis of the moving average of the response time
+     */
+    public void setDecayMillis(Long decayMillis) {
+        this.decayMillis = decayMillis;
+    }
+
+    public Boolean getLeastOutstanding() {
+        return leastOutstanding;
+    }
+
+    /**
+     * Whether to choose the endpoint with the least outstanding exchanges, instead of comparing two random endpoints
+     */
+    public void setLeastOutstanding(Boolean leastOutstanding) {
+        this.leastOutstanding = leastOutstanding;
+    }
+
+    @Override
+    public String toString() {
+        return "LeastLatencyLoadBalancer";
+    }
+}
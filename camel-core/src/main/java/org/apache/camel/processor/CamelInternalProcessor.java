@@ -95,6 +95,15 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
         advices.add(advice);
     }
 
+    /**
+     * Gets the advices to execute by this internal processor.
+     *
+     * @return the advices in the order they are executed
+     */
+    protected List<CamelInternalProcessorAdvice> getAdvices() {
+        return advices;
+    }
+
     /**
      * Gets the advice with the given type.
      *
@@ -0,0 +1,282 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Channel;
+import org.apache.camel.Exchange;
+import org.apache.camel.Navigate;
+import org.apache.camel.Processor;
+import org.apache.camel.Traceable;
+import org.apache.camel.processor.interceptor.DefaultChannel;
+import org.apache.camel.spi.IdAware;
+import org.apache.camel.spi.RouteContext;
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.AsyncProcessorConverterHelper;
+import org.apache.camel.util.AsyncProcessorHelper;
+import org.apache.camel.util.ServiceHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.camel.processor.PipelineHelper.continueProcessing;
+
+/**
+ * A processor which fuses a run of simple synchronous steps of a route into a single step.
+ * <p/>
+ * Each step is a {@link Channel} and the fused processor invokes the output of the channel directly,
+ * that is the error handler which wraps the interceptors and the processor of the step. This keeps the
+ * error handling semantics of each step, but avoids the per step overhead of the channel itself.
+ * The fused processor is wrapped in a single {@link DefaultChannel} which executes the advices of the
+ * channels of the steps, such as the message history and the backlog tracer, around the fused steps.
+ * <p/>
+ * Use {@link #fuse(RouteContext, java.util.List)} to fuse the steps of a route.
+ *
+ * @see org.apache.camel.CamelContext#setProcessorFusionEnabled(Boolean)
+ */
+public class FusedProcessor extends ServiceSupport implements AsyncProcessor, Navigate<Processor>, Traceable, IdAware {
+    private static final Logger LOG = LoggerFactory.getLogger(FusedProcessor.class);
+
+    private final List<Channel> steps;
+    private AsyncProcessor[] outputs;
+    private String id;
+
+    public FusedProcessor(List<Channel> steps) {
+        this.steps = new ArrayList<Channel>(steps);
+    }
+
+    /**
+     * Fuses runs of two or more consecutive fusable steps into a {@link FusedProcessor}, which is wrapped in a channel.
+     *
+     * @param routeContext the route context
+     * @param processors the steps of the route
+     * @return the steps with the fused runs, or the same list if nothing could be fused
+     */
+    public static List<Processor> fuse(RouteContext routeContext, List<Processor> processors) {
+        List<Processor> answer = new ArrayList<Processor>(processors.size());
+        List<Channel> run = new ArrayList<Channel>();
+        boolean fused = false;
+
+        for (Processor processor : processors) {
+            if (isFusable(processor)) {
+                run.add((Channel) processor);
+                continue;
+            }
+            fused |= addRun(routeContext, answer, run);
+            answer.add(processor);
+        }
+        fused |= addRun(routeContext, answer, run);
+
+        return fused ? answer : processors;
+    }
+
+    /**
+     * Whether the given step can be fused, which is a {@link Channel} to a simple synchronous processor.
+     */
+    public static boolean isFusable(Processor processor) {
+        if (!(processor instanceof Channel)) {
+            return false;
+        }
+        Processor next = ((Channel) processor).getNextProcessor();
+        return next instanceof SetHeaderProcessor
+                || next instanceof SetBodyProcessor
+                || next instanceof SetPropertyProcessor
+                || next instanceof TransformProcessor
+                || next instanceof RemoveHeaderProcessor
+                || next instanceof RemoveHeadersProcessor
+                || next instanceof RemovePropertyProcessor
+                || next instanceof RemovePropertiesProcessor
+                || next instanceof ConvertBodyProcessor
+                || next instanceof FilterProcessor;
+    }
+
+    private static boolean addRun(RouteContext routeContext, List<Processor> answer, List<Channel> run) {
+        boolean fused = false;
+        if (run.size() > 1) {
+            LOG.debug("Fusing {} steps: {}", run.size(), run);
+            DefaultChannel channel = new DefaultChannel();
+            channel.initFusedChannel(new FusedProcessor(run), routeContext);
+            answer.add(channel);
+            fused = true;
+        } else {
+            answer.addAll(run);
+        }
+        run.clear();
+        return fused;
+    }
+
+    public void process(Exchange exchange) throws Exception {
+        AsyncProcessorHelper.process(this, exchange);
+    }
+
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        if (exchange.isTransacted()) {
+            // must be synchronized for transacted exchanges
+            for (int i = 0; i < outputs.length; i++) {
+                if (!prepareStep(exchange, i)) {
+                    break;
+                }
+                try {
+                    AsyncProcessorHelper.process(outputs[i], exchange);
+                } catch (Throwable e) {
+                    exchange.setException(e);
+                }
+                if (!continueProcessing(exchange, "so breaking out of fused processor", LOG)) {
+                    break;
+                }
+            }
+            callback.done(true);
+            return true;
+        }
+
+        boolean sync = new FusedCallback(exchange, callback).processSteps(0);
+        if (sync) {
+            callback.done(true);
+        }
+        return sync;
+    }
+
+    private boolean prepareStep(Exchange exchange, int index) {
+        if (index > 0) {
+            PipelineHelper.createNextExchange(exchange);
+        }
+
+        Object stop = exchange.getProperty(Exchange.ROUTE_STOP);
+        if (stop != null) {
+            boolean doStop = exchange.getContext().getTypeConverter().convertTo(Boolean.class, stop);
+            if (doStop) {
+                LOG.debug("ExchangeId: {} is marked to stop routing: {}", exchange.getExchangeId(), exchange);
+                return false;
+            }
+        }
+
+        // determine if we can still run, or the camel context is forcing a shutdown
+        if (exchange.getContext().getShutdownStrategy().forceShutdown(this)) {
+            LOG.debug("Run not allowed as ShutdownStrategy is forcing shutting down, will reject executing exchange: {}", exchange);
+            if (exchange.getException() == null) {
+                exchange.setException(new RejectedExecutionException());
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Callback which routes the exchange through the steps, and continues from where it left if a step
+     * was completed asynchronously (such as an asynchronous delayed redelivery by the error handler).
+     */
+    private final class FusedCallback implements AsyncCallback {
+        private final Exchange exchange;
+        private final AsyncCallback callback;
+        private volatile int index;
+
+        private FusedCallback(Exchange exchange, AsyncCallback callback) {
+            this.exchange = exchange;
+            this.callback = callback;
+        }
+
+        /**
+         * @return <tt>true</tt> if the remaining steps was processed synchronously, <tt>false</tt> if continued asynchronously
+         */
+        boolean processSteps(int start) {
+            for (int i = start; i < outputs.length; i++) {
+                if (!prepareStep(exchange, i)) {
+                    break;
+                }
+                index = i;
+                if (!outputs[i].process(exchange, this)) {
+                    LOG.trace("Processing exchangeId: {} is continued being processed asynchronously", exchange.getExchangeId());
+                    return false;
+                }
+                if (!continueProcessing(exchange, "so breaking out of fused processor", LOG)) {
+                    break;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void done(boolean doneSync) {
+            if (doneSync) {
+                // the steps are continued in processSteps
+                return;
+            }
+            if (continueProcessing(exchange, "so breaking out of fused processor", LOG)) {
+                if (!processSteps(index + 1)) {
+                    return;
+                }
+            }
+            callback.done(false);
+        }
+    }
+
+    public List<Channel> getSteps() {
+        return steps;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getTraceLabel() {
+        return "fused";
+    }
+
+    public List<Processor> next() {
+        if (!hasNext()) {
+            return null;
+        }
+        return new ArrayList<Processor>(steps);
+    }
+
+    public boolean hasNext() {
+        return !steps.isEmpty();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ServiceHelper.startServices(steps);
+        AsyncProcessor[] answer = new AsyncProcessor[steps.size()];
+        for (int i = 0; i < answer.length; i++) {
+            answer[i] = AsyncProcessorConverterHelper.convert(steps.get(i).getOutput());
+        }
+        outputs = answer;
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        ServiceHelper.stopServices(steps);
+    }
+
+    @Override
+    protected void doShutdown() throws Exception {
+        ServiceHelper.stopAndShutdownServices(steps);
+    }
+
+    @Override
+    public String toString() {
+        return "Fused" + steps;
+    }
+}
@@ -31,6 +31,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -158,6 +159,7 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
     private final long timeout;
     private final ConcurrentMap<PreparedErrorHandler, Processor> errorHandlers = new ConcurrentHashMap<PreparedErrorHandler, Processor>();
     private final boolean shareUnitOfWork;
+    private int maxInFlight;
 
     public MulticastProcessor(CamelContext camelContext, Collection<Processor> processors) {
         this(camelContext, processors, null);
@@ -274,6 +276,8 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
 
         final AtomicInteger total = new AtomicInteger(0);
         final Iterator<ProcessorExchangePair> it = pairs.iterator();
+        // bounds the number of sub exchanges which has been submitted but not yet aggregated
+        final Semaphore inFlight = maxInFlight > 0 ? new Semaphore(maxInFlight) : null;
 
         if (it.hasNext()) {
             // when parallel then aggregate on the fly
@@ -286,12 +290,18 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
             // while we submit new tasks, and those tasks complete concurrently
             // this allows us to optimize work and reduce memory consumption
             final AggregateOnTheFlyTask aggregateOnTheFlyTask = new AggregateOnTheFlyTask(result, original, total, completion, running,
-                    aggregationOnTheFlyDone, allTasksSubmitted, executionException);
+                    aggregationOnTheFlyDone, allTasksSubmitted, executionException, inFlight);
             final AtomicBoolean aggregationTaskSubmitted = new AtomicBoolean();
 
             LOG.trace("Starting to submit parallel tasks");
 
             while (it.hasNext()) {
+                if (inFlight != null) {
+                    // wait until a sub exchange has been aggregated before we pull the next from the iterator
+                    // so a streaming split only holds a bounded number of sub exchanges in memory
+                    inFlight.acquire();
+                }
+
                 final ProcessorExchangePair pair = it.next();
                 final Exchange subExchange = pair.getExchange();
                 updateNewExchange(subExchange, total.intValue(), pairs, it);
@@ -382,11 +392,12 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         private final CountDownLatch aggregationOnTheFlyDone;
         private final AtomicBoolean allTasksSubmitted;
         private final AtomicException executionException;
+        private final Semaphore inFlight;
 
         private AggregateOnTheFlyTask(AtomicExchange result, Exchange original, AtomicInteger total,
                                       CompletionService<Exchange> completion, AtomicBoolean running,
                                       CountDownLatch aggregationOnTheFlyDone, AtomicBoolean allTasksSubmitted,
-                                      AtomicException executionException) {
+                                      AtomicException executionException, Semaphore inFlight) {
             this.result = result;
             this.original = original;
             this.total = total;
@@ -395,6 +406,7 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
             this.aggregationOnTheFlyDone = aggregationOnTheFlyDone;
             this.allTasksSubmitted = allTasksSubmitted;
             this.executionException = executionException;
+            this.inFlight = inFlight;
         }
 
         public void run() {
@@ -409,6 +421,10 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
                     executionException.set(ObjectHelper.wrapRuntimeCamelException(e));
                 }
             } finally {
+                if (inFlight != null) {
+                    // we do not aggregate anymore so the submitting thread must not wait for room in the window
+                    inFlight.release(Integer.MAX_VALUE / 2);
+                }
                 // must signal we are done so the latch can open and let the other thread continue processing
                 LOG.debug("Signaling we are done aggregating on the fly for exchangeId: {}", original.getExchangeId());
                 LOG.trace("Aggregate on the fly task done for exchangeId: {}", original.getExchangeId());
@@ -501,6 +517,10 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
                 }
 
                 aggregated++;
+                if (inFlight != null) {
+                    // make room for the next sub exchange to be submitted
+                    inFlight.release();
+                }
             }
 
             if (timedOut || stoppedOnException) {
@@ -1214,6 +1234,26 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         return shareUnitOfWork;
     }
 
+    /**
+     * The maximum number of sub exchanges in flight when using parallel processing, or <tt>0</tt> if unbounded.
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Sets the maximum number of sub exchanges which can be in flight (submitted but not yet aggregated)
+     * when using parallel processing.
+     * <p/>
+     * When the limit is reached the next sub exchange is not created before a sub exchange has been aggregated,
+     * which gives back pressure and a bounded memory usage when splitting big messages in streaming mode.
+     * <p/>
+     * The default value is <tt>0</tt> which means unbounded.
+     */
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
     public List<Processor> next() {
         if (!hasNext()) {
             return null;
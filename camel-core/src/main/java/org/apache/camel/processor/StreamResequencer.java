@@ -19,9 +19,8 @@ package org.apache.camel.processor;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
@@ -39,6 +38,7 @@ import org.apache.camel.spi.IdAware;
 import org.apache.camel.support.LoggingExceptionHandler;
 import org.apache.camel.support.ServiceSupport;
 import org.apache.camel.util.AsyncProcessorHelper;
+import org.apache.camel.util.CamelContextHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.ServiceHelper;
 import org.slf4j.Logger;
@@ -160,6 +160,43 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
         this.ignoreInvalidExchanges = ignoreInvalidExchanges;
     }
 
+    /**
+     * Returns the number of exchanges currently held by this resequencer.
+     */
+    public int getSize() {
+        return engine.size();
+    }
+
+    /**
+     * Returns the number of exchanges delivered by this resequencer.
+     */
+    public long getDeliveredCount() {
+        return engine.getDeliveredCount();
+    }
+
+    /**
+     * Returns the number of exchanges which arrived out of sequence and were held back
+     * waiting for a gap to be filled.
+     */
+    public long getGapCount() {
+        return engine.getGapCount();
+    }
+
+    /**
+     * Returns the number of exchanges which were released because they timed out
+     * waiting for a gap to be filled.
+     */
+    public long getTimeoutCount() {
+        return engine.getTimeoutCount();
+    }
+
+    /**
+     * Resets the gap and timeout statistics.
+     */
+    public void resetStatistics() {
+        engine.resetStatistics();
+    }
+
     @Override
     public String toString() {
         return "StreamResequencer[to: " + processor + "]";
@@ -180,6 +217,8 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
     @Override
     protected void doStart() throws Exception {
         ServiceHelper.startServices(processor);
+        // use the timer shared by the processors of the CamelContext for the timeouts
+        engine.setTimeoutTimer(CamelContextHelper.getTimeoutTimer(camelContext));
         delivery = new Delivery();
         engine.start();
         delivery.start();
@@ -190,6 +229,8 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
         // let's stop everything in the reverse order
         // no need to stop the worker thread -- it will stop automatically when this service is stopped
         engine.stop();
+        // the shared timer is stopped by the CamelContext
+        engine.setTimeoutTimer(null);
         ServiceHelper.stopServices(processor);
     }
 
@@ -248,8 +289,8 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
 
     class Delivery extends Thread {
 
-        private Lock deliveryRequestLock = new ReentrantLock();
-        private Condition deliveryRequestCondition = deliveryRequestLock.newCondition();
+        // whether a delivery has been requested since the last delivery attempt
+        private final AtomicBoolean deliveryRequested = new AtomicBoolean();
         
         public Delivery() {
             super(camelContext.getExecutorServiceManager().resolveThreadName("Resequencer Delivery"));
@@ -258,15 +299,13 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
         @Override
         public void run() {
             while (isRunAllowed()) {
-                try {
-                    deliveryRequestLock.lock();
-                    try {
-                        deliveryRequestCondition.await(DELIVERY_ATTEMPT_INTERVAL, TimeUnit.MILLISECONDS);
-                    } finally {
-                        deliveryRequestLock.unlock();
+                if (!deliveryRequested.getAndSet(false)) {
+                    // wait for a delivery request, or until the next delivery attempt
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(DELIVERY_ATTEMPT_INTERVAL));
+                    if (isInterrupted()) {
+                        break;
                     }
-                } catch (InterruptedException e) {
-                    break;
+                    deliveryRequested.set(false);
                 }
                 try {
                     engine.deliver();
@@ -282,11 +321,9 @@ public class StreamResequencer extends ServiceSupport implements SequenceSender<
         }
         
         public void request() {
-            deliveryRequestLock.lock();
-            try {
-                deliveryRequestCondition.signal();
-            } finally {
-                deliveryRequestLock.unlock();
+            // only wake up the delivery thread if no delivery is pending already
+            if (!deliveryRequested.getAndSet(true)) {
+                LockSupport.unpark(this);
             }
         }
         
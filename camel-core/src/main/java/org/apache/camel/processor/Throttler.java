@@ -16,7 +16,9 @@
  */
 package org.apache.camel.processor;
 
+import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.camel.AsyncCallback;
@@ -27,6 +29,7 @@ import org.apache.camel.Processor;
 import org.apache.camel.RuntimeExchangeException;
 import org.apache.camel.Traceable;
 import org.apache.camel.spi.IdAware;
+import org.apache.camel.util.LRUCache;
 import org.apache.camel.util.ObjectHelper;
 
 /**
@@ -37,6 +40,11 @@ import org.apache.camel.util.ObjectHelper;
  * as only allowing 100 requests per second; or if huge load can cause a
  * particular system to malfunction or to reduce its throughput you might want
  * to introduce some throttling.
+ * <p/>
+ * By default the throttler divides the time into fixed time slots. In token bucket mode the throttler
+ * uses the generic cell rate algorithm instead, which refills the bucket smoothly, allows a configurable
+ * burst, and is lock-free. The token bucket mode also supports throttling per key, by using a
+ * correlation expression to group the exchanges.
  *
  * @version
  */
@@ -47,6 +55,13 @@ public class Throttler extends DelayProcessorSupport implements Traceable, IdAwa
     private AtomicLong timePeriodMillis = new AtomicLong(1000);
     private volatile TimeSlot slot;
     private boolean rejectExecution;
+    private boolean tokenBucket;
+    private long burst;
+    private Expression correlationExpression;
+    private int maximumKeys = 1000;
+    // the theoretical arrival time (in nanos) of the next exchange in token bucket mode
+    private final AtomicLong theoreticalArrivalTime = new AtomicLong();
+    private volatile Map<Object, AtomicLong> keyedArrivalTimes;
 
     public Throttler(CamelContext camelContext, Processor processor, Expression maxRequestsPerPeriodExpression, long timePeriodMillis,
                      ScheduledExecutorService executorService, boolean shutdownExecutorService, boolean rejectExecution) {
@@ -129,7 +144,7 @@ public class Throttler extends DelayProcessorSupport implements Traceable, IdAwa
             if (maximumRequestsPerPeriod > 0 && longValue.longValue() != maximumRequestsPerPeriod) {
                 log.debug("Throttler changed maximum requests per period from {} to {}", maximumRequestsPerPeriod, longValue);
             }
-            if (maximumRequestsPerPeriod > longValue) {
+            if (maximumRequestsPerPeriod > longValue && slot != null) {
                 slot.capacity = 0;
             }
             maximumRequestsPerPeriod = longValue;
@@ -139,6 +154,10 @@ public class Throttler extends DelayProcessorSupport implements Traceable, IdAwa
             throw new IllegalStateException("The maximumRequestsPerPeriod must be a positive number, was: " + maximumRequestsPerPeriod);
         }
 
+        if (tokenBucket) {
+            return acquirePermit(exchange);
+        }
+
         TimeSlot slot = nextSlot();
         if (!slot.isActive()) {
             long delay = slot.startTime - currentSystemTime();
@@ -148,6 +167,75 @@ public class Throttler extends DelayProcessorSupport implements Traceable, IdAwa
         }
     }
 
+    /**
+     * Acquires a permit using the generic cell rate algorithm (GCRA), which is a token bucket
+     * that is refilled smoothly with one token per emission interval.
+     *
+     * @return the delay in millis before the exchange can continue
+     */
+    protected long acquirePermit(Exchange exchange) {
+        AtomicLong state = theoreticalArrivalTime;
+        if (correlationExpression != null) {
+            Object key = correlationExpression.evaluate(exchange, Object.class);
+            if (key == null) {
+                throw new RuntimeExchangeException("The correlation expression was evaluated as null: " + correlationExpression, exchange);
+            }
+            state = getOrCreateState(key);
+        }
+
+        long max = maximumRequestsPerPeriod;
+        long interval = Math.max(1, TimeUnit.MILLISECONDS.toNanos(timePeriodMillis.get()) / max);
+        long capacity = burst > 0 ? burst : max;
+        long tolerance = interval * (capacity - 1);
+
+        long now = currentNanoTime();
+        while (true) {
+            long tat = state.get();
+            long start = tat - now > 0 ? tat : now;
+            long wait = start - now - tolerance;
+            if (wait > 0 && rejectExecution) {
+                // do not consume a permit as the exchange will be rejected
+                return TimeUnit.NANOSECONDS.toMillis(wait) + 1;
+            }
+            if (state.compareAndSet(tat, start + interval)) {
+                if (wait <= 0) {
+                    return 0;
+                }
+                // round up so we do not continue too early
+                return TimeUnit.NANOSECONDS.toMillis(wait + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+            }
+        }
+    }
+
+    protected long currentNanoTime() {
+        return System.nanoTime();
+    }
+
+    private AtomicLong getOrCreateState(Object key) {
+        Map<Object, AtomicLong> states = keyedArrivalTimes;
+        if (states == null) {
+            synchronized (this) {
+                states = keyedArrivalTimes;
+                if (states == null) {
+                    states = new LRUCache<Object, AtomicLong>(16, maximumKeys, false);
+                    keyedArrivalTimes = states;
+                }
+            }
+        }
+        AtomicLong state = states.get(key);
+        if (state == null) {
+            // only creating the state for a new key needs to be synchronized
+            synchronized (states) {
+                state = states.get(key);
+                if (state == null) {
+                    state = new AtomicLong(currentNanoTime());
+                    states.put(key, state);
+                }
+            }
+        }
+        return state;
+    }
+
     /*
      * Determine what the next available time slot is for handling an Exchange
      */
@@ -210,6 +298,62 @@ public class Throttler extends DelayProcessorSupport implements Traceable, IdAwa
         return this.slot;
     }
 
+    public boolean isTokenBucket() {
+        return tokenBucket;
+    }
+
+    /**
+     * Sets whether to use a token bucket (generic cell rate algorithm) instead of fixed time slots
+     */
+    public void setTokenBucket(boolean tokenBucket) {
+        this.tokenBucket = tokenBucket;
+    }
+
+    public long getBurst() {
+        return burst;
+    }
+
+    /**
+     * Sets the maximum number of exchanges which can pass at once in token bucket mode.
+     * <p/>
+     * Is by default the maximum requests per period.
+     */
+    public void setBurst(long burst) {
+        this.burst = burst;
+    }
+
+    public Expression getCorrelationExpression() {
+        return correlationExpression;
+    }
+
+    /**
+     * Sets the expression used to group the exchanges which are throttled together in token bucket mode
+     */
+    public void setCorrelationExpression(Expression correlationExpression) {
+        this.correlationExpression = correlationExpression;
+    }
+
+    public int getMaximumKeys() {
+        return maximumKeys;
+    }
+
+    /**
+     * Sets the maximum number of keys to keep state for when using a correlation expression.
+     * <p/>
+     * The least recently used keys are evicted, which resets their bucket.
+     */
+    public void setMaximumKeys(int maximumKeys) {
+        this.maximumKeys = maximumKeys;
+    }
+
+    /**
+     * Gets the number of keys currently being tracked when using a correlation expression
+     */
+    public int getKeyCount() {
+        Map<Object, AtomicLong> states = keyedArrivalTimes;
+        return states != null ? states.size() : 0;
+    }
+
     public boolean isRejectExecution() {
         return rejectExecution;
     }
@@ -218,6 +362,13 @@ public class Throttler extends DelayProcessorSupport implements Traceable, IdAwa
         this.rejectExecution = rejectExecution;
     }
     
+    @Override
+    protected void doStart() throws Exception {
+        // the token bucket starts out full
+        theoreticalArrivalTime.set(currentNanoTime());
+        super.doStart();
+    }
+
     @Override
     protected boolean processDelay(Exchange exchange, AsyncCallback callback, long delay) {
         if (isRejectExecution() && delay > 0) {
@@ -54,9 +54,12 @@ import org.apache.camel.spi.RecoverableAggregationRepository;
 import org.apache.camel.spi.ShutdownPrepared;
 import org.apache.camel.spi.Synchronization;
 import org.apache.camel.support.DefaultTimeoutMap;
+import org.apache.camel.support.HashedWheelTimer;
 import org.apache.camel.support.LoggingExceptionHandler;
 import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.support.TimeoutMapEntry;
 import org.apache.camel.util.AsyncProcessorHelper;
+import org.apache.camel.util.CamelContextHelper;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.LRUCache;
 import org.apache.camel.util.ObjectHelper;
@@ -88,6 +91,9 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
     private static final Logger LOG = LoggerFactory.getLogger(AggregateProcessor.class);
 
     private final Lock lock = new ReentrantLock();
+    private final Lock[] sharedLock = new Lock[]{lock};
+    // rebuilt when started, so requests which are in progress keep using the locks they have acquired
+    private volatile Lock[] stripedLocks;
     private final CamelContext camelContext;
     private final Processor processor;
     private String id;
@@ -100,6 +106,9 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
     private OptimisticLockRetryPolicy optimisticLockRetryPolicy = new OptimisticLockRetryPolicy();
     private ScheduledExecutorService timeoutCheckerExecutorService;
     private boolean shutdownTimeoutCheckerExecutorService;
+    private HashedWheelTimer timeoutTimer;
+    private boolean stopTimeoutTimer;
+    private boolean sharedTimeoutTimer;
     private ScheduledExecutorService recoverService;
     // store correlation key -> exchange id in timeout map
     private TimeoutMap<String, String> timeoutMap;
@@ -191,6 +200,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
     private Integer closeCorrelationKeyOnCompletion;
     private boolean parallelProcessing;
     private boolean optimisticLocking;
+    private int lockStripes;
 
     // different ways to have completion triggered
     private boolean eagerCheckCompletion;
@@ -336,12 +346,14 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
             // when memory based then its fast using synchronized, but if the aggregation repository is IO
             // bound such as JPA etc then concurrent aggregation per correlation key could
             // improve performance as we can run aggregation repository get/add in parallel
+            // which is what lock striping allows, as only the same correlation key must be serialized
             List<Exchange> aggregated = null;
-            lock.lock();
+            Lock keyLock = getLock(key);
+            keyLock.lock();
             try {
                 aggregated = doAggregation(key, copy);
             } finally {
-                lock.unlock();
+                keyLock.unlock();
             }
 
             // we are completed so do that work outside the lock
@@ -359,11 +371,63 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         }
     }
 
+    /**
+     * Gets the lock to use for aggregating the given correlation key.
+     * <p/>
+     * When lock striping is enabled the same correlation key always maps to the same lock,
+     * otherwise the shared aggregation lock is used.
+     *
+     * @param key the correlation key
+     * @return the lock
+     */
+    private Lock getLock(String key) {
+        Lock[] locks = stripedLocks;
+        if (locks == null) {
+            return lock;
+        }
+        // spread the hash code as keys often only differ in the lower bits
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return locks[(hash & Integer.MAX_VALUE) % locks.length];
+    }
+
+    /**
+     * Acquires all the aggregation locks, which is needed by tasks that operate on all the correlation keys.
+     * <p/>
+     * The locks are always acquired in the same order to avoid deadlocks.
+     *
+     * @return the locks acquired, which must be released using {@link #unlockAll(Lock[])}
+     */
+    private Lock[] lockAll() {
+        Lock[] locks = stripedLocks;
+        if (locks == null) {
+            locks = sharedLock;
+        }
+        for (Lock stripe : locks) {
+            stripe.lock();
+        }
+        return locks;
+    }
+
+    /**
+     * Releases the aggregation locks acquired by {@link #lockAll()}.
+     *
+     * @param locks the locks acquired, or <tt>null</tt> if no locks was acquired
+     */
+    private void unlockAll(Lock[] locks) {
+        if (locks == null) {
+            return;
+        }
+        for (int i = locks.length - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
+    }
+
     /**
      * Aggregates the exchange with the given correlation key
      * <p/>
      * This method <b>must</b> be run synchronized as we cannot aggregate the same correlation key
-     * in parallel.
+     * in parallel. When lock striping is enabled different correlation keys may be aggregated in parallel.
      * <p/>
      * The returned {@link Exchange} should be send downstream using the {@link #onSubmitCompletion(String, org.apache.camel.Exchange)}
      * method which sends out the aggregated and completed {@link Exchange}.
@@ -895,6 +959,14 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         this.optimisticLocking = optimisticLocking;
     }
 
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public AggregationRepository getAggregationRepository() {
         return aggregationRepository;
     }
@@ -923,6 +995,20 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         return timeoutCheckerExecutorService;
     }
 
+    public HashedWheelTimer getTimeoutTimer() {
+        return timeoutTimer;
+    }
+
+    /**
+     * Sets the timer used for triggering completion timeouts.
+     * <p/>
+     * If not set a timer is created using the timeout checker executor service if one has been configured,
+     * otherwise the timer shared by the processors of the CamelContext is used.
+     */
+    public void setTimeoutTimer(HashedWheelTimer timeoutTimer) {
+        this.timeoutTimer = timeoutTimer;
+    }
+
     public boolean isShutdownTimeoutCheckerExecutorService() {
         return shutdownTimeoutCheckerExecutorService;
     }
@@ -1003,23 +1089,39 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
     }
 
     /**
-     * Background task that looks for aggregated exchanges which is triggered by completion timeouts.
+     * Timeout map which triggers completion of the aggregated exchanges by completion timeouts.
      */
     private final class AggregationTimeoutMap extends DefaultTimeoutMap<String, String> {
 
-        private AggregationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
+        private AggregationTimeoutMap(HashedWheelTimer timer, long retryTimeMillis) {
             // do NOT use locking on the timeout map as this aggregator has its own shared lock we will use instead
-            super(executor, requestMapPollTimeMillis, optimisticLocking);
+            super(timer, retryTimeMillis, optimisticLocking);
+        }
+
+        @Override
+        protected void expire(TimeoutMapEntry<String, String> entry) {
+            // must acquire the aggregation lock for the correlation key to be able to evict
+            Lock keyLock = optimisticLocking ? null : getLock(entry.getKey());
+            if (keyLock != null) {
+                keyLock.lock();
+            }
+            try {
+                super.expire(entry);
+            } finally {
+                if (keyLock != null) {
+                    keyLock.unlock();
+                }
+            }
         }
 
         @Override
         public void purge() {
             // must acquire the shared aggregation lock to be able to purge
-            if (!optimisticLocking) { lock.lock(); }
+            Lock[] locks = optimisticLocking ? null : lockAll();
             try {
                 super.purge();
             } finally {
-                if (!optimisticLocking) { lock.unlock(); }
+                unlockAll(locks);
             }
         }
 
@@ -1078,7 +1180,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
 
             if (keys != null && !keys.isEmpty()) {
                 // must acquire the shared aggregation lock to be able to trigger interval completion
-                if (!optimisticLocking) { lock.lock(); }
+                Lock[] locks = optimisticLocking ? null : lockAll();
                 try {
                     for (String key : keys) {
                         boolean stolenInterval = false;
@@ -1103,7 +1205,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
                         }
                     }
                 } finally {
-                    if (!optimisticLocking) { lock.unlock(); }
+                    unlockAll(locks);
                 }
             }
 
@@ -1248,6 +1350,28 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
             LOG.info("Optimistic locking is enabled");
         }
 
+        if (lockStripes < 0) {
+            throw new IllegalArgumentException("Option lockStripes must be zero or a positive number, was: " + lockStripes);
+        }
+        if (lockStripes > 0) {
+            if (optimisticLocking) {
+                throw new IllegalArgumentException("Only one of optimisticLocking or lockStripes can be used, not both.");
+            }
+            if (isCompletionFromBatchConsumer()) {
+                // batch consumer completion completes all the correlation keys at once
+                throw new IllegalArgumentException("Only one of completionFromBatchConsumer or lockStripes can be used, not both.");
+            }
+            Lock[] locks = new Lock[lockStripes];
+            for (int i = 0; i < lockStripes; i++) {
+                locks[i] = new ReentrantLock();
+            }
+            stripedLocks = locks;
+            LOG.info("Using lock striping with {} stripes", lockStripes);
+        } else {
+            // the option may have been changed since the last start
+            stripedLocks = null;
+        }
+
         ServiceHelper.startServices(aggregationStrategy, processor, aggregationRepository);
 
         // should we use recover checker
@@ -1299,12 +1423,20 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         // start timeout service if its in use
         if (getCompletionTimeout() > 0 || getCompletionTimeoutExpression() != null) {
             LOG.info("Using CompletionTimeout to trigger after " + getCompletionTimeout() + " millis of inactivity.");
-            if (getTimeoutCheckerExecutorService() == null) {
-                setTimeoutCheckerExecutorService(camelContext.getExecutorServiceManager().newScheduledThreadPool(this, AGGREGATE_TIMEOUT_CHECKER, 1));
-                shutdownTimeoutCheckerExecutorService = true;
+            if (timeoutTimer == null) {
+                if (getTimeoutCheckerExecutorService() != null) {
+                    // use the configured timeout checker thread pool for the timer
+                    timeoutTimer = new HashedWheelTimer(getTimeoutCheckerExecutorService());
+                    stopTimeoutTimer = true;
+                } else {
+                    // use the timer shared by the processors of the CamelContext
+                    timeoutTimer = CamelContextHelper.getTimeoutTimer(camelContext);
+                    sharedTimeoutTimer = true;
+                }
             }
-            // check for timed out aggregated messages once every second
-            timeoutMap = new AggregationTimeoutMap(getTimeoutCheckerExecutorService(), 1000L);
+            ServiceHelper.startService(timeoutTimer);
+            // schedule a timeout per aggregated message, and retry vetoed timeouts after a second
+            timeoutMap = new AggregationTimeoutMap(timeoutTimer, 1000L);
             // fill in existing timeout values from the aggregation repository, for example if a restart occurred, then we
             // need to re-establish the timeout map so timeout can trigger
             restoreTimeoutMapFromAggregationRepository();
@@ -1331,6 +1463,15 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
             camelContext.getExecutorServiceManager().shutdown(recoverService);
         }
         ServiceHelper.stopServices(timeoutMap, processor, deadLetterProducerTemplate);
+        if (stopTimeoutTimer) {
+            ServiceHelper.stopService(timeoutTimer);
+            timeoutTimer = null;
+            stopTimeoutTimer = false;
+        } else if (sharedTimeoutTimer) {
+            // the shared timer is stopped by the CamelContext, so lookup the timer again on restart
+            timeoutTimer = null;
+            sharedTimeoutTimer = false;
+        }
 
         if (closedCorrelationKeys != null) {
             // it may be a service so stop it as well
@@ -1395,7 +1536,8 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         // must acquire the shared aggregation lock to be able to trigger force completion
         int total = 0;
 
-        if (!optimisticLocking) { lock.lock(); }
+        Lock keyLock = getLock(key);
+        if (!optimisticLocking) { keyLock.lock(); }
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             if (exchange != null) {
@@ -1409,7 +1551,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
                 }
             }
         } finally {
-            if (!optimisticLocking) { lock.unlock(); }
+            if (!optimisticLocking) { keyLock.unlock(); }
         }
         LOG.trace("Completed force completion of group {}", key);
 
@@ -1436,7 +1578,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
             // must acquire the shared aggregation lock to be able to trigger force completion
-            if (!optimisticLocking) { lock.lock(); }
+            Lock[] locks = optimisticLocking ? null : lockAll();
             total = keys.size();
             try {
                 for (String key : keys) {
@@ -1452,7 +1594,7 @@ public class AggregateProcessor extends ServiceSupport implements AsyncProcessor
                     }
                 }
             } finally {
-                if (!optimisticLocking) { lock.unlock(); }
+                unlockAll(locks);
             }
         }
         LOG.trace("Completed force completion of all groups task");
@@ -16,13 +16,23 @@
  */
 package org.apache.camel.processor.idempotent;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
 import org.apache.camel.api.management.ManagedAttribute;
 import org.apache.camel.api.management.ManagedOperation;
 import org.apache.camel.api.management.ManagedResource;
@@ -38,19 +48,45 @@ import org.slf4j.LoggerFactory;
 /**
  * A file based implementation of {@link org.apache.camel.spi.IdempotentRepository}.
  * <p/>
+ * The file store is an append only log of keys, which is kept open while the repository is started.
+ * Removing a key appends a tombstone for the key, which is dropped when the store is compacted.
+ * By default every added key is flushed to the file straight away. Setting a <tt>flushInterval</tt> enables
+ * group commit where the keys are buffered and flushed by a background task, and <tt>syncOnFlush</tt>
+ * forces the written keys to the storage device on each flush.
+ * <p/>
+ * When the file store hits <tt>maxFileStoreSize</tt> it is compacted by rewriting the keys from the
+ * 1st level cache. Setting <tt>asyncCompaction</tt> lets a background task write the compacted store to a
+ * temporary file and swap it in, so adding and removing keys is not blocked while the store is being rewritten.
+ * <p/>
  * Care should be taken to use a suitable underlying {@link java.util.Map} to avoid this class being a
  * memory leak.
  *
  * @version 
  */
 @ManagedResource(description = "File based idempotent repository")
-public class FileIdempotentRepository extends ServiceSupport implements IdempotentRepository<String> {
+public class FileIdempotentRepository extends ServiceSupport implements IdempotentRepository<String>, CamelContextAware {
     private static final Logger LOG = LoggerFactory.getLogger(FileIdempotentRepository.class);
     private static final String STORE_DELIMITER = "\n";
+    private static final String COMPACT_SUFFIX = ".compact";
+    // prefix of the line which marks a key as removed, keys cannot start with this character
+    private static final String TOMBSTONE = "\u0000";
+    // the number of keys added meanwhile which are left to be written while holding the lock when compacting
+    private static final int COMPACTION_CATCH_UP_SIZE = 100;
     private Map<String, Object> cache;
     private File fileStore;
     private long maxFileStoreSize = 1024 * 1000L; // 1mb store file
+    private long flushInterval;
+    private boolean syncOnFlush;
+    private boolean asyncCompaction;
     private AtomicBoolean init = new AtomicBoolean();
+    // the appender and compaction state is guarded by the cache lock
+    private FileOutputStream appenderStream;
+    private OutputStream appender;
+    private long fileStoreSize;
+    private boolean dirty;
+    private List<String> compactionPending;
+    private ScheduledExecutorService executorService;
+    private CamelContext camelContext;
 
     public FileIdempotentRepository() {
         // default use a 1st level cache 
@@ -118,9 +154,15 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
                 return false;
             } else {
                 cache.put(key, key);
-                if (fileStore.length() < maxFileStoreSize) {
+                if (fileStoreSize < maxFileStoreSize) {
                     // just append to store
                     appendToStore(key);
+                } else if (asyncCompaction && executorService != null) {
+                    // keep appending to the store while it is compacted in the background
+                    appendToStore(key);
+                    if (compactionPending == null) {
+                        scheduleCompaction();
+                    }
                 } else {
                     // trunk store and flush the cache
                     trunkStore();
@@ -143,8 +185,9 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
         boolean answer;
         synchronized (cache) {
             answer = cache.remove(key) != null;
-            // trunk store and flush the cache on remove
-            trunkStore();
+            // append a tombstone even if the key was not in the cache, as the key may still be in the store,
+            // and a pending compaction catches up with the tombstone as well
+            appendToStore(TOMBSTONE + key);
         }
         return answer;
     }
@@ -162,6 +205,18 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
         this.fileStore = fileStore;
     }
 
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    /**
+     * Sets the {@link CamelContext} whose thread pools are used for the background flushing and compaction,
+     * which is required when using a flush interval or async compaction.
+     */
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
     @ManagedAttribute(description = "The file path for the store")
     public String getFilePath() {
         return fileStore.getPath();
@@ -190,6 +245,58 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
         this.maxFileStoreSize = maxFileStoreSize;
     }
 
+    @ManagedAttribute(description = "The interval in millis for flushing the file store, 0 flushes on every add")
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Sets the interval in millis for flushing added keys to the file store.
+     * <p/>
+     * The default is 0 which flushes the key to the file store on every add. A positive value
+     * enables group commit where the keys are buffered and flushed in the background, which
+     * means keys added within the last interval may be lost if the JVM crashes.
+     */
+    public void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    @ManagedAttribute(description = "Whether to force the file store to the storage device on flush")
+    public boolean isSyncOnFlush() {
+        return syncOnFlush;
+    }
+
+    /**
+     * Sets whether to force the file store to the storage device when it is flushed, so the keys
+     * survive an operating system crash.
+     * <p/>
+     * The default is <tt>false</tt>.
+     */
+    public void setSyncOnFlush(boolean syncOnFlush) {
+        this.syncOnFlush = syncOnFlush;
+    }
+
+    @ManagedAttribute(description = "Whether the file store is compacted in the background")
+    public boolean isAsyncCompaction() {
+        return asyncCompaction;
+    }
+
+    /**
+     * Sets whether the file store is compacted by a background task when the max file store size is hit.
+     * <p/>
+     * The default is <tt>false</tt> which compacts the store while adding the key that hit the limit.
+     */
+    public void setAsyncCompaction(boolean asyncCompaction) {
+        this.asyncCompaction = asyncCompaction;
+    }
+
+    @ManagedAttribute(description = "The current file size for the file store in bytes")
+    public long getFileStoreSize() {
+        synchronized (cache) {
+            return fileStoreSize;
+        }
+    }
+
     /**
      * Sets the cache size
      */
@@ -228,30 +335,27 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
      */
     protected void appendToStore(final String messageId) {
         LOG.debug("Appending {} to idempotent filestore: {}", messageId, fileStore);
-        FileOutputStream fos = null;
         try {
-            // create store parent directory if missing
-            File storeParentDirectory = fileStore.getParentFile();
-            if (storeParentDirectory != null && !storeParentDirectory.exists()) {
-                LOG.info("Parent directory of file store {} doesn't exist. Creating.", fileStore);
-                if (fileStore.getParentFile().mkdirs()) {
-                    LOG.info("Parent directory of file store {} successfully created.", fileStore);
-                } else {
-                    LOG.warn("Parent directory of file store {} cannot be created.", fileStore);
-                }
+            if (appender == null) {
+                openAppender();
             }
-            // create store if missing
-            if (!fileStore.exists()) {
-                FileUtil.createNewFile(fileStore);
+            byte[] data = (messageId + STORE_DELIMITER).getBytes();
+            appender.write(data);
+            fileStoreSize += data.length;
+            if (compactionPending != null) {
+                compactionPending.add(messageId);
+            }
+            if (flushInterval > 0 && executorService != null) {
+                // group commit by the background flush task
+                dirty = true;
+            } else {
+                appender.flush();
+                if (syncOnFlush) {
+                    appenderStream.getFD().sync();
+                }
             }
-            // append to store
-            fos = new FileOutputStream(fileStore, true);
-            fos.write(messageId.getBytes());
-            fos.write(STORE_DELIMITER.getBytes());
         } catch (IOException e) {
             throw ObjectHelper.wrapRuntimeCamelException(e);
-        } finally {
-            IOHelper.close(fos, "Appending to file idempotent repository", LOG);
         }
     }
 
@@ -261,12 +365,13 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
      */
     protected void trunkStore() {
         LOG.info("Trunking idempotent filestore: {}", fileStore);
+        closeAppender();
         FileOutputStream fos = null;
         try {
             fos = new FileOutputStream(fileStore);
-            for (String key : cache.keySet()) {
-                fos.write(key.getBytes());
-                fos.write(STORE_DELIMITER.getBytes());
+            fileStoreSize = writeKeys(fos, cache.keySet());
+            if (syncOnFlush) {
+                fos.getFD().sync();
             }
         } catch (IOException e) {
             throw ObjectHelper.wrapRuntimeCamelException(e);
@@ -275,10 +380,51 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
         }
     }
 
+    /**
+     * Flushes the keys appended to the file store
+     */
+    @ManagedOperation(description = "Flushes the file store")
+    public void flush() {
+        FileOutputStream stream;
+        synchronized (cache) {
+            if (appender == null || !dirty) {
+                return;
+            }
+            try {
+                appender.flush();
+            } catch (IOException e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            }
+            dirty = false;
+            stream = appenderStream;
+        }
+        if (syncOnFlush) {
+            // sync outside the lock so adding keys is not blocked by the storage device
+            try {
+                stream.getFD().sync();
+            } catch (IOException e) {
+                // the store may have been compacted and closed meanwhile which syncs the store anyway
+                LOG.debug("Error syncing idempotent filestore: " + fileStore + ". This exception is ignored.", e);
+            }
+        }
+    }
+
     /**
      * Loads the given file store into the 1st level cache
      */
     protected void loadStore() throws IOException {
+        File compactFile = getCompactFile();
+        if (compactFile.exists()) {
+            if (!fileStore.exists()) {
+                // the store was compacted but not yet swapped in
+                LOG.debug("Recovering filestore: {} from compacted file: {}", fileStore, compactFile);
+                FileUtil.renameFile(compactFile, fileStore, true);
+            } else {
+                // an incomplete compaction which is superseded by the store
+                FileUtil.deleteFile(compactFile);
+            }
+        }
+
         // auto create starting directory if needed
         if (!fileStore.exists()) {
             LOG.debug("Creating filestore: {}", fileStore);
@@ -293,25 +439,159 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
         LOG.trace("Loading to 1st level cache from idempotent filestore: {}", fileStore);
 
         cache.clear();
-        Scanner scanner = null;
+        BufferedReader reader = null;
         try {
-            scanner = new Scanner(fileStore);
-            scanner.useDelimiter(STORE_DELIMITER);
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                cache.put(line, line);
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(fileStore)));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(TOMBSTONE)) {
+                    // the key was removed after it was added
+                    cache.remove(line.substring(TOMBSTONE.length()));
+                } else {
+                    cache.put(line, line);
+                }
             }
         } catch (IOException e) {
             throw ObjectHelper.wrapRuntimeCamelException(e);
         } finally {
-            if (scanner != null) {
-                scanner.close();
-            }
+            IOHelper.close(reader, "Loading file idempotent repository", LOG);
         }
+        fileStoreSize = fileStore.length();
 
         LOG.debug("Loaded {} to the 1st level cache from idempotent filestore: {}", cache.size(), fileStore);
     }
 
+    private void openAppender() throws IOException {
+        // create store parent directory if missing
+        File storeParentDirectory = fileStore.getParentFile();
+        if (storeParentDirectory != null && !storeParentDirectory.exists()) {
+            LOG.info("Parent directory of file store {} doesn't exist. Creating.", fileStore);
+            if (fileStore.getParentFile().mkdirs()) {
+                LOG.info("Parent directory of file store {} successfully created.", fileStore);
+            } else {
+                LOG.warn("Parent directory of file store {} cannot be created.", fileStore);
+            }
+        }
+        // create store if missing
+        if (!fileStore.exists()) {
+            FileUtil.createNewFile(fileStore);
+        }
+        fileStoreSize = fileStore.length();
+        appenderStream = new FileOutputStream(fileStore, true);
+        appender = new BufferedOutputStream(appenderStream);
+    }
+
+    private void closeAppender() {
+        closeAppender(syncOnFlush);
+    }
+
+    private void closeAppender(boolean sync) {
+        if (appender != null) {
+            try {
+                appender.flush();
+                if (sync) {
+                    appenderStream.getFD().sync();
+                }
+            } catch (IOException e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            } finally {
+                IOHelper.close(appender, "Closing file idempotent repository", LOG);
+                appender = null;
+                appenderStream = null;
+                dirty = false;
+            }
+        }
+    }
+
+    private File getCompactFile() {
+        return new File(fileStore.getPath() + COMPACT_SUFFIX);
+    }
+
+    private static long writeKeys(OutputStream os, Iterable<String> keys) throws IOException {
+        long size = 0;
+        for (String key : keys) {
+            byte[] data = (key + STORE_DELIMITER).getBytes();
+            os.write(data);
+            size += data.length;
+        }
+        return size;
+    }
+
+    private void scheduleCompaction() {
+        // snapshot the keys to keep and track the keys added while the snapshot is written
+        final List<String> keys = new ArrayList<String>(cache.keySet());
+        compactionPending = new ArrayList<String>();
+        executorService.submit(new Runnable() {
+            public void run() {
+                compactStore(keys);
+            }
+        });
+    }
+
+    private void compactStore(List<String> keys) {
+        File compactFile = getCompactFile();
+        LOG.info("Compacting idempotent filestore: {}", fileStore);
+        FileOutputStream fos = null;
+        OutputStream os = null;
+        try {
+            fos = new FileOutputStream(compactFile);
+            os = new BufferedOutputStream(fos);
+            long size = writeKeys(os, keys);
+
+            // catch up with the keys added and removed meanwhile, without holding the lock while writing
+            while (true) {
+                List<String> pending;
+                synchronized (cache) {
+                    if (!isRunAllowed()) {
+                        break;
+                    }
+                    if (compactionPending.size() <= COMPACTION_CATCH_UP_SIZE) {
+                        break;
+                    }
+                    pending = compactionPending;
+                    compactionPending = new ArrayList<String>();
+                }
+                size += writeKeys(os, pending);
+            }
+            os.flush();
+            if (syncOnFlush) {
+                fos.getFD().sync();
+            }
+
+            synchronized (cache) {
+                if (!isRunAllowed()) {
+                    LOG.debug("Discarding compaction of idempotent filestore: {}", fileStore);
+                    IOHelper.close(os);
+                    os = null;
+                    FileUtil.deleteFile(compactFile);
+                    return;
+                }
+                // write the last few keys and swap in the compacted store, the old store does not need to be
+                // synced as its keys are all in the compacted store
+                size += writeKeys(os, compactionPending);
+                os.flush();
+                if (syncOnFlush && !compactionPending.isEmpty()) {
+                    fos.getFD().sync();
+                }
+                closeAppender(false);
+                IOHelper.close(os, "Compacting file idempotent repository", LOG);
+                os = null;
+                if (!FileUtil.renameFile(compactFile, fileStore, true)) {
+                    throw new IOException("Cannot rename compacted file: " + compactFile + " to filestore: " + fileStore);
+                }
+                fileStoreSize = size;
+            }
+        } catch (Exception e) {
+            LOG.warn("Error compacting idempotent filestore: " + fileStore + ". This exception is ignored.", e);
+            IOHelper.close(os);
+            FileUtil.deleteFile(compactFile);
+        } finally {
+            synchronized (cache) {
+                compactionPending = null;
+            }
+        }
+    }
+
     @Override
     protected void doStart() throws Exception {
         ObjectHelper.notNull(fileStore, "fileStore", this);
@@ -320,14 +600,39 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
         if (init.compareAndSet(false, true)) {
             loadStore();
         }
+
+        if (flushInterval > 0 || asyncCompaction) {
+            // the background tasks runs on a thread pool from camel
+            ObjectHelper.notNull(camelContext, "camelContext", this);
+            executorService = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "FileIdempotentRepository");
+            if (flushInterval > 0) {
+                executorService.scheduleWithFixedDelay(new Runnable() {
+                    public void run() {
+                        try {
+                            flush();
+                        } catch (Exception e) {
+                            LOG.warn("Error flushing idempotent filestore: " + fileStore + ". This exception is ignored.", e);
+                        }
+                    }
+                }, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+            }
+        }
     }
 
     @Override
     protected void doStop() throws Exception {
-        // reset will trunk and clear the cache
-        trunkStore();
-        cache.clear();
-        init.set(false);
+        if (executorService != null) {
+            // let a running compaction complete before the store is trunked
+            camelContext.getExecutorServiceManager().shutdownGraceful(executorService, 30000);
+            executorService = null;
+        }
+        synchronized (cache) {
+            // reset will trunk and clear the cache
+            trunkStore();
+            cache.clear();
+            compactionPending = null;
+            init.set(false);
+        }
     }
 
 }
@@ -17,17 +17,27 @@
 package org.apache.camel.processor.idempotent;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+import com.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import com.googlecode.concurrentlinkedhashmap.EvictionListener;
 import org.apache.camel.api.management.ManagedAttribute;
 import org.apache.camel.api.management.ManagedOperation;
 import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.spi.IdempotentRepository;
 import org.apache.camel.support.ServiceSupport;
-import org.apache.camel.util.LRUCache;
 
 /**
  * A memory based implementation of {@link org.apache.camel.spi.IdempotentRepository}. 
  * <p/>
+ * By default a bounded concurrent map with least recently used eviction is used, which is lock free
+ * as keys are added using atomic put if absent semantics. If a custom {@link Map} is given which is not
+ * a {@link ConcurrentMap} then access to the map is synchronized.
+ * <p/>
+ * Keys can optionally be expired by their age using the <tt>expireAfter</tt> option, in addition to being evicted
+ * when the cache size has been reached.
+ * <p/>
  * Care should be taken to use a suitable underlying {@link Map} to avoid this class being a
  * memory leak.
  *
@@ -35,11 +45,19 @@ import org.apache.camel.util.LRUCache;
  */
 @ManagedResource(description = "Memory based idempotent repository")
 public class MemoryIdempotentRepository extends ServiceSupport implements IdempotentRepository<String> {
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
     private Map<String, Object> cache;
     private int cacheSize;
+    private long expireAfter;
 
     public MemoryIdempotentRepository() {
-        this.cache = new LRUCache<String, Object>(1000);
+        this(1000);
+    }
+
+    private MemoryIdempotentRepository(int cacheSize) {
+        this.cache = createCache(cacheSize);
     }
 
     public MemoryIdempotentRepository(Map<String, Object> set) {
@@ -47,7 +65,7 @@ public class MemoryIdempotentRepository extends ServiceSupport implements Idempo
     }
 
     /**
-     * Creates a new memory based repository using a {@link LRUCache}
+     * Creates a new memory based repository using a bounded concurrent map
      * with a default of 1000 entries in the cache.
      */
     public static IdempotentRepository<String> memoryIdempotentRepository() {
@@ -55,12 +73,12 @@ public class MemoryIdempotentRepository extends ServiceSupport implements Idempo
     }
 
     /**
-     * Creates a new memory based repository using a {@link LRUCache}.
+     * Creates a new memory based repository using a bounded concurrent map.
      *
      * @param cacheSize  the cache size
      */
     public static IdempotentRepository<String> memoryIdempotentRepository(int cacheSize) {
-        return memoryIdempotentRepository(new LRUCache<String, Object>(cacheSize));
+        return new MemoryIdempotentRepository(cacheSize);
     }
 
     /**
@@ -78,11 +96,36 @@ public class MemoryIdempotentRepository extends ServiceSupport implements Idempo
 
     @ManagedOperation(description = "Adds the key to the store")
     public boolean add(String key) {
+        if (cache instanceof ConcurrentMap) {
+            ConcurrentMap<String, Object> map = (ConcurrentMap<String, Object>) cache;
+            Object value = createValue(key);
+            Object existing = map.putIfAbsent(key, value);
+            if (existing == null) {
+                misses.incrementAndGet();
+                return true;
+            }
+            if (isExpired(existing) && map.replace(key, existing, value)) {
+                // the expired key is evicted and replaced by the new key
+                evicted.incrementAndGet();
+                misses.incrementAndGet();
+                return true;
+            }
+            hits.incrementAndGet();
+            return false;
+        }
+
         synchronized (cache) {
-            if (cache.containsKey(key)) {
+            Object existing = cache.get(key);
+            if (existing != null && !isExpired(existing)) {
+                hits.incrementAndGet();
                 return false;
             } else {
-                cache.put(key, key);
+                if (existing != null) {
+                    // the expired key is evicted and replaced by the new key
+                    evicted.incrementAndGet();
+                }
+                cache.put(key, createValue(key));
+                misses.incrementAndGet();
                 return true;
             }
         }
@@ -90,13 +133,38 @@ public class MemoryIdempotentRepository extends ServiceSupport implements Idempo
 
     @ManagedOperation(description = "Does the store contain the given key")
     public boolean contains(String key) {
-        synchronized (cache) {
-            return cache.containsKey(key);
+        Object existing;
+        if (cache instanceof ConcurrentMap) {
+            existing = cache.get(key);
+            if (existing != null && isExpired(existing) && ((ConcurrentMap<String, Object>) cache).remove(key, existing)) {
+                evicted.incrementAndGet();
+                existing = null;
+            }
+        } else {
+            synchronized (cache) {
+                existing = cache.get(key);
+                if (existing != null && isExpired(existing)) {
+                    cache.remove(key);
+                    evicted.incrementAndGet();
+                    existing = null;
+                }
+            }
+        }
+
+        if (existing != null) {
+            hits.incrementAndGet();
+            return true;
+        } else {
+            misses.incrementAndGet();
+            return false;
         }
     }
 
     @ManagedOperation(description = "Remove the key from the store")
     public boolean remove(String key) {
+        if (cache instanceof ConcurrentMap) {
+            return cache.remove(key) != null;
+        }
         synchronized (cache) {
             return cache.remove(key) != null;
         }
@@ -120,10 +188,47 @@ public class MemoryIdempotentRepository extends ServiceSupport implements Idempo
         this.cacheSize = cacheSize;
     }
 
+    @ManagedAttribute(description = "Time in millis after which keys are expired (0 or negative for no expiry)")
+    public long getExpireAfter() {
+        return expireAfter;
+    }
+
+    /**
+     * Sets the time in millis after which a key is expired, and thus a message with the same key is no
+     * longer regarded as a duplicate. Keys are expired lazily when they are looked up again.
+     * <p/>
+     * The default is 0, which means keys are only evicted when the cache size has been reached.
+     */
+    public void setExpireAfter(long expireAfter) {
+        this.expireAfter = expireAfter;
+    }
+
+    @ManagedAttribute(description = "Number of lookups where the key was already in the store")
+    public long getHits() {
+        return hits.get();
+    }
+
+    @ManagedAttribute(description = "Number of lookups where the key was not in the store")
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @ManagedAttribute(description = "Number of keys evicted from the store due the cache size or expiry")
+    public long getEvicted() {
+        return evicted.get();
+    }
+
+    @ManagedOperation(description = "Reset the statistics")
+    public void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+        evicted.set(0);
+    }
+
     @Override
     protected void doStart() throws Exception {
         if (cacheSize > 0) {
-            cache = new LRUCache<String, Object>(cacheSize);
+            cache = createCache(cacheSize);
         }
     }
 
@@ -131,4 +236,24 @@ public class MemoryIdempotentRepository extends ServiceSupport implements Idempo
     protected void doStop() throws Exception {
         cache.clear();
     }
+
+    private Map<String, Object> createCache(int maximumCacheSize) {
+        return new ConcurrentLinkedHashMap.Builder<String, Object>()
+                .initialCapacity(Math.min(maximumCacheSize, 1000))
+                .maximumWeightedCapacity(maximumCacheSize)
+                .listener(new EvictionListener<String, Object>() {
+                    public void onEviction(String key, Object value) {
+                        evicted.incrementAndGet();
+                    }
+                }).build();
+    }
+
+    private Object createValue(String key) {
+        // only keep track of the time the key was added if expiry is in use
+        return expireAfter > 0 ? (Object) System.currentTimeMillis() : key;
+    }
+
+    private boolean isExpired(Object value) {
+        return expireAfter > 0 && value instanceof Long && System.currentTimeMillis() - (Long) value > expireAfter;
+    }
 }
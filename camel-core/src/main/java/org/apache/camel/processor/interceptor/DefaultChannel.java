@@ -33,6 +33,8 @@ import org.apache.camel.model.ProcessorDefinitionHelper;
 import org.apache.camel.model.RouteDefinition;
 import org.apache.camel.model.RouteDefinitionHelper;
 import org.apache.camel.processor.CamelInternalProcessor;
+import org.apache.camel.processor.CamelInternalProcessorAdvice;
+import org.apache.camel.processor.FusedProcessor;
 import org.apache.camel.processor.InterceptorToAsyncProcessorBridge;
 import org.apache.camel.processor.WrapProcessor;
 import org.apache.camel.spi.InterceptStrategy;
@@ -287,6 +289,36 @@ public class DefaultChannel extends CamelInternalProcessor implements ModelChann
         output = target;
     }
 
+    /**
+     * Initializes this channel for the given fused processor, which invokes the outputs of the channels of the fused
+     * steps directly. The outputs already contain the interceptors and error handler of each step, so this channel
+     * adds the advices of the channels of the steps, such as the message history and the backlog tracer and debugger,
+     * which are then executed around the fused steps as a whole.
+     *
+     * @param fused        the fused processor
+     * @param routeContext the route context
+     */
+    public void initFusedChannel(FusedProcessor fused, RouteContext routeContext) {
+        this.routeContext = routeContext;
+        this.camelContext = routeContext.getCamelContext();
+        this.nextProcessor = fused;
+
+        for (Channel step : fused.getSteps()) {
+            if (step instanceof DefaultChannel) {
+                DefaultChannel channel = (DefaultChannel) step;
+                if (definition == null) {
+                    // use the definition of the first step
+                    definition = channel.getProcessorDefinition();
+                }
+                for (CamelInternalProcessorAdvice advice : channel.getAdvices()) {
+                    addAdvice(advice);
+                }
+            }
+        }
+
+        output = fused;
+    }
+
     @Override
     public void postInitChannel(ProcessorDefinition<?> outputDefinition, RouteContext routeContext) throws Exception {
         // noop
@@ -19,6 +19,7 @@ package org.apache.camel.processor.loadbalancer;
 import java.util.List;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
@@ -28,11 +29,27 @@ import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.camel.Traceable;
 import org.apache.camel.util.AsyncProcessorConverterHelper;
+import org.apache.camel.util.EventHelper;
 
+/**
+ * Implements the circuit breaker load balancer.
+ * <p/>
+ * By default the circuit opens when the number of consecutive failures reaches the threshold.
+ * <p/>
+ * When a failure rate threshold or slow call rate threshold is configured, the circuit breaker
+ * instead uses a sliding window over the last N calls (or the last T millis), and opens when the
+ * percentage of failed (or slow) calls reaches the threshold, once the minimum number of calls has been recorded.
+ * After the halfOpenAfter period a limited number of trial calls is permitted in the half open state,
+ * which closes the circuit if they all succeed, or opens it again on the first failure.
+ * <p/>
+ * State changes are notified to the {@link org.apache.camel.spi.EventNotifier}s as
+ * {@link org.apache.camel.management.event.CircuitBreakerStateChangedEvent}.
+ */
 public class CircuitBreakerLoadBalancer extends LoadBalancerSupport implements Traceable, CamelContextAware {
     private static final int STATE_CLOSED = 0;
     private static final int STATE_HALF_OPEN = 1;
     private static final int STATE_OPEN = 2;
+    private static final String[] STATE_NAMES = {"Closed", "HalfOpen", "Open"};
 
     private final List<Class<?>> exceptions;
     private CamelContext camelContext;
@@ -42,6 +59,19 @@ public class CircuitBreakerLoadBalancer extends LoadBalancerSupport implements T
     private AtomicInteger failures = new AtomicInteger();
     private AtomicInteger state = new AtomicInteger(STATE_CLOSED);
 
+    // sliding window options
+    private int failureRateThreshold;
+    private int slowCallRateThreshold;
+    private long slowCallDurationThreshold = 60000;
+    private int slidingWindowSize = 100;
+    private long slidingWindowMillis;
+    private int minimumNumberOfCalls = 10;
+    private int permittedNumberOfCallsInHalfOpenState = 1;
+    private volatile CircuitBreakerWindow window;
+    private int requiredNumberOfCalls;
+    private volatile long openedAt;
+    private final AtomicReference<HalfOpenPeriod> halfOpenPeriod = new AtomicReference<HalfOpenPeriod>();
+
     public CircuitBreakerLoadBalancer(List<Class<?>> exceptions) {
         this.exceptions = exceptions;
     }
@@ -58,6 +88,144 @@ public class CircuitBreakerLoadBalancer extends LoadBalancerSupport implements T
         this.threshold = threshold;
     }
 
+    public long getHalfOpenAfter() {
+        return halfOpenAfter;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * Sets the percentage of failed calls in the sliding window which opens the circuit.
+     * Setting this option enables the sliding window.
+     */
+    public void setFailureRateThreshold(int failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public int getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    /**
+     * Sets the percentage of slow calls in the sliding window which opens the circuit.
+     * Setting this option enables the sliding window.
+     */
+    public void setSlowCallRateThreshold(int slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+
+    public long getSlowCallDurationThreshold() {
+        return slowCallDurationThreshold;
+    }
+
+    /**
+     * Sets the duration in millis above which a call is considered slow
+     */
+    public void setSlowCallDurationThreshold(long slowCallDurationThreshold) {
+        this.slowCallDurationThreshold = slowCallDurationThreshold;
+    }
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    /**
+     * Sets the number of calls in the count based sliding window
+     */
+    public void setSlidingWindowSize(int slidingWindowSize) {
+        this.slidingWindowSize = slidingWindowSize;
+    }
+
+    public long getSlidingWindowMillis() {
+        return slidingWindowMillis;
+    }
+
+    /**
+     * Sets the duration in millis of a time based sliding window, to be used instead of the count based sliding window
+     */
+    public void setSlidingWindowMillis(long slidingWindowMillis) {
+        this.slidingWindowMillis = slidingWindowMillis;
+    }
+
+    public int getMinimumNumberOfCalls() {
+        return minimumNumberOfCalls;
+    }
+
+    /**
+     * Sets the minimum number of calls in the sliding window before the failure and slow call rates are evaluated
+     */
+    public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+        this.minimumNumberOfCalls = minimumNumberOfCalls;
+    }
+
+    public int getPermittedNumberOfCallsInHalfOpenState() {
+        return permittedNumberOfCallsInHalfOpenState;
+    }
+
+    /**
+     * Sets the number of trial calls permitted in the half open state
+     */
+    public void setPermittedNumberOfCallsInHalfOpenState(int permittedNumberOfCallsInHalfOpenState) {
+        this.permittedNumberOfCallsInHalfOpenState = permittedNumberOfCallsInHalfOpenState;
+    }
+
+    /**
+     * Whether the sliding window is used, which is when a failure rate or slow call rate threshold is configured
+     */
+    public boolean isSlidingWindow() {
+        return failureRateThreshold > 0 || slowCallRateThreshold > 0;
+    }
+
+    /**
+     * Gets the current state, which is either <tt>Closed</tt>, <tt>HalfOpen</tt> or <tt>Open</tt>
+     */
+    public String getState() {
+        return STATE_NAMES[state.get()];
+    }
+
+    /**
+     * Gets the number of calls in the sliding window
+     */
+    public int getNumberOfCalls() {
+        CircuitBreakerWindow current = window;
+        return current != null ? current.getCalls() : 0;
+    }
+
+    /**
+     * Gets the number of failed calls in the sliding window, or the number of consecutive failures if the sliding window is not in use
+     */
+    public int getNumberOfFailedCalls() {
+        CircuitBreakerWindow current = window;
+        return current != null ? current.getFailures() : failures.get();
+    }
+
+    /**
+     * Gets the number of slow calls in the sliding window
+     */
+    public int getNumberOfSlowCalls() {
+        CircuitBreakerWindow current = window;
+        return current != null ? current.getSlowCalls() : 0;
+    }
+
+    /**
+     * Resets the circuit breaker to the closed state and clears the statistics
+     */
+    public void reset() {
+        failures.set(0);
+        halfOpenPeriod.set(null);
+        CircuitBreakerWindow current = window;
+        if (current != null) {
+            current.reset();
+        }
+        changeState(STATE_CLOSED);
+    }
+
     @Override
     public CamelContext getCamelContext() {
         return camelContext;
@@ -111,9 +279,118 @@ public class CircuitBreakerLoadBalancer extends LoadBalancerSupport implements T
             return true;
         }
 
+        if (window != null) {
+            return processSlidingWindow(exchange, callback);
+        }
         return calculateState(exchange, callback);
     }
 
+    private boolean processSlidingWindow(final Exchange exchange, final AsyncCallback callback) {
+        int current = state.get();
+        if (current == STATE_OPEN && System.currentTimeMillis() - openedAt >= halfOpenAfter
+                && transition(STATE_OPEN, STATE_HALF_OPEN)) {
+            // only the thread which changed the state starts the trial period,
+            // until then there is no period so calls are rejected
+            halfOpenPeriod.set(new HalfOpenPeriod(permittedNumberOfCallsInHalfOpenState));
+            current = STATE_HALF_OPEN;
+        }
+
+        final HalfOpenPeriod trial = current == STATE_HALF_OPEN ? halfOpenPeriod.get() : null;
+        if (current == STATE_OPEN || (current == STATE_HALF_OPEN && (trial == null || !trial.tryAcquire()))) {
+            exchange.setException(new RejectedExecutionException("CircuitBreaker Open: failed calls: " + getNumberOfFailedCalls()
+                    + ", slow calls: " + getNumberOfSlowCalls() + ", calls: " + getNumberOfCalls()));
+            callback.done(true);
+            return true;
+        }
+
+        Processor processor = getProcessors().get(0);
+        final long start = System.currentTimeMillis();
+        AsyncProcessor albp = AsyncProcessorConverterHelper.convert(processor);
+        return albp.process(exchange, new AsyncCallback() {
+            @Override
+            public void done(boolean doneSync) {
+                onCallCompleted(exchange, trial, System.currentTimeMillis() - start);
+                callback.done(doneSync);
+            }
+        });
+    }
+
+    private void onCallCompleted(Exchange exchange, HalfOpenPeriod trial, long duration) {
+        boolean failed = hasFailed(exchange);
+        boolean slow = slowCallRateThreshold > 0 && duration >= slowCallDurationThreshold;
+
+        if (trial != null) {
+            // only end the period the trial call belongs to, as a late trial call
+            // from a previous period must not change the state
+            if (failed || slow) {
+                if (halfOpenPeriod.compareAndSet(trial, null)) {
+                    openedAt = System.currentTimeMillis();
+                    transition(STATE_HALF_OPEN, STATE_OPEN);
+                }
+            } else if (trial.succeeded() >= trial.permits && halfOpenPeriod.compareAndSet(trial, null)) {
+                window.reset();
+                transition(STATE_HALF_OPEN, STATE_CLOSED);
+            }
+            return;
+        }
+
+        CircuitBreakerWindow current = window;
+        current.record(failed, slow);
+        if (state.get() == STATE_CLOSED) {
+            int calls = current.getCalls();
+            if (calls >= requiredNumberOfCalls
+                    && (exceeds(current.getFailures(), calls, failureRateThreshold) || exceeds(current.getSlowCalls(), calls, slowCallRateThreshold))) {
+                openedAt = System.currentTimeMillis();
+                transition(STATE_CLOSED, STATE_OPEN);
+            }
+        }
+    }
+
+    private static boolean exceeds(int count, int calls, int percentage) {
+        return percentage > 0 && count * 100L >= (long) percentage * calls;
+    }
+
+    private boolean transition(int from, int to) {
+        if (state.compareAndSet(from, to)) {
+            onStateChanged(from, to);
+            return true;
+        }
+        return false;
+    }
+
+    private void changeState(int to) {
+        int from = state.getAndSet(to);
+        if (from != to) {
+            onStateChanged(from, to);
+        }
+    }
+
+    private void onStateChanged(int from, int to) {
+        log.debug("CircuitBreaker changed state from {} to {}", STATE_NAMES[from], STATE_NAMES[to]);
+        if (camelContext != null) {
+            EventHelper.notifyCircuitBreakerStateChanged(camelContext, this, STATE_NAMES[from], STATE_NAMES[to]);
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (isSlidingWindow()) {
+            if (minimumNumberOfCalls <= 0) {
+                throw new IllegalArgumentException("MinimumNumberOfCalls must be a positive number, was: " + minimumNumberOfCalls);
+            }
+            if (slidingWindowMillis > 0) {
+                requiredNumberOfCalls = minimumNumberOfCalls;
+            } else {
+                // a count based window can never hold more calls than its size
+                requiredNumberOfCalls = Math.min(minimumNumberOfCalls, slidingWindowSize);
+            }
+            if (window == null) {
+                window = slidingWindowMillis > 0 ? CircuitBreakerWindow.ofMillis(slidingWindowMillis) : CircuitBreakerWindow.ofCalls(slidingWindowSize);
+            }
+        }
+        super.doStart();
+    }
+
     private boolean calculateState(final Exchange exchange, final AsyncCallback callback) {
         boolean output = false;
         if (state.get() == STATE_HALF_OPEN) {
@@ -144,21 +421,21 @@ public class CircuitBreakerLoadBalancer extends LoadBalancerSupport implements T
 
     private boolean openCircuit(final Exchange exchange, final AsyncCallback callback) {
         boolean output = rejectExchange(exchange, callback);
-        state.set(STATE_OPEN);
+        changeState(STATE_OPEN);
         logState();
         return output;
     }
 
     private boolean halfOpenCircuit(final Exchange exchange, final AsyncCallback callback) {
         boolean output = executeProcessor(exchange, callback);
-        state.set(STATE_HALF_OPEN);
+        changeState(STATE_HALF_OPEN);
         logState();
         return output;
     }
 
     private boolean closeCircuit(final Exchange exchange, final AsyncCallback callback) {
         boolean output = executeProcessor(exchange, callback);
-        state.set(STATE_CLOSED);
+        changeState(STATE_CLOSED);
         logState();
         return output;
     }
@@ -236,4 +513,25 @@ public class CircuitBreakerLoadBalancer extends LoadBalancerSupport implements T
         }
 
     }
+
+    /**
+     * The trial calls of a half open period, which is replaced as a whole when a new period starts.
+     */
+    private static final class HalfOpenPeriod {
+        private final int permits;
+        private final AtomicInteger acquired = new AtomicInteger();
+        private final AtomicInteger successes = new AtomicInteger();
+
+        private HalfOpenPeriod(int permits) {
+            this.permits = permits;
+        }
+
+        boolean tryAcquire() {
+            return acquired.incrementAndGet() <= permits;
+        }
+
+        int succeeded() {
+            return successes.incrementAndGet();
+        }
+    }
 }
@@ -0,0 +1,191 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free sliding window statistics of the calls of a {@link CircuitBreakerLoadBalancer}.
+ * <p/>
+ * The window is either count based, which keeps the outcome of the last N calls in a ring buffer,
+ * or time based, which keeps counters in a ring of buckets covering the last T millis.
+ * The statistics are updated using atomic operations only, so concurrent readers may observe
+ * a call which is only partly recorded, which is acceptable for the purpose of a circuit breaker.
+ */
+abstract class CircuitBreakerWindow {
+
+    static final int CALL = 1;
+    static final int FAILURE = 2;
+    static final int SLOW = 4;
+
+    static CircuitBreakerWindow ofCalls(int size) {
+        return new CountWindow(size);
+    }
+
+    static CircuitBreakerWindow ofMillis(long millis) {
+        return new TimeWindow(millis);
+    }
+
+    static int outcome(boolean failed, boolean slow) {
+        return CALL | (failed ? FAILURE : 0) | (slow ? SLOW : 0);
+    }
+
+    abstract void record(boolean failed, boolean slow);
+
+    abstract int getCalls();
+
+    abstract int getFailures();
+
+    abstract int getSlowCalls();
+
+    abstract void reset();
+
+    /**
+     * Keeps the outcome of the last N calls in a ring buffer, and aggregated counters
+     * which are adjusted as outcomes are overwritten.
+     */
+    private static final class CountWindow extends CircuitBreakerWindow {
+        private final int size;
+        private final AtomicIntegerArray ring;
+        private final AtomicLong cursor = new AtomicLong();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger slowCalls = new AtomicInteger();
+
+        private CountWindow(int size) {
+            if (size <= 0) {
+                throw new IllegalArgumentException("SlidingWindowSize must be a positive number, was: " + size);
+            }
+            this.size = size;
+            this.ring = new AtomicIntegerArray(size);
+        }
+
+        void record(boolean failed, boolean slow) {
+            int outcome = outcome(failed, slow);
+            int index = (int) (cursor.getAndIncrement() % size);
+            int old = ring.getAndSet(index, outcome);
+            if (old != outcome) {
+                adjust(outcome, 1);
+                adjust(old, -1);
+            }
+        }
+
+        private void adjust(int outcome, int delta) {
+            if ((outcome & CALL) != 0) {
+                calls.addAndGet(delta);
+            }
+            if ((outcome & FAILURE) != 0) {
+                failures.addAndGet(delta);
+            }
+            if ((outcome & SLOW) != 0) {
+                slowCalls.addAndGet(delta);
+            }
+        }
+
+        int getCalls() {
+            return calls.get();
+        }
+
+        int getFailures() {
+            return failures.get();
+        }
+
+        int getSlowCalls() {
+            return slowCalls.get();
+        }
+
+        void reset() {
+            for (int i = 0; i < size; i++) {
+                int old = ring.getAndSet(i, 0);
+                adjust(old, -1);
+            }
+        }
+    }
+
+    /**
+     * Keeps counters of calls, failures and slow calls in a ring of buckets, where a bucket
+     * is cleared by the first call recorded into it after it has expired.
+     */
+    private static final class TimeWindow extends CircuitBreakerWindow {
+        private static final int BUCKETS = 10;
+        private final long bucketMillis;
+        private final AtomicLongArray epochs = new AtomicLongArray(BUCKETS);
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS * 3);
+
+        private TimeWindow(long millis) {
+            if (millis <= 0) {
+                throw new IllegalArgumentException("SlidingWindowMillis must be a positive number, was: " + millis);
+            }
+            this.bucketMillis = Math.max(1, millis / BUCKETS);
+            reset();
+        }
+
+        void record(boolean failed, boolean slow) {
+            long epoch = System.currentTimeMillis() / bucketMillis;
+            int bucket = (int) (epoch % BUCKETS);
+            long current = epochs.get(bucket);
+            if (current < epoch && epochs.compareAndSet(bucket, current, epoch)) {
+                for (int i = 0; i < 3; i++) {
+                    counts.set(bucket * 3 + i, 0);
+                }
+            }
+            counts.incrementAndGet(bucket * 3);
+            if (failed) {
+                counts.incrementAndGet(bucket * 3 + 1);
+            }
+            if (slow) {
+                counts.incrementAndGet(bucket * 3 + 2);
+            }
+        }
+
+        private int sum(int offset) {
+            long epoch = System.currentTimeMillis() / bucketMillis;
+            long answer = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                long e = epochs.get(i);
+                if (e >= 0 && e <= epoch && epoch - e < BUCKETS) {
+                    answer += counts.get(i * 3 + offset);
+                }
+            }
+            return (int) Math.min(answer, Integer.MAX_VALUE);
+        }
+
+        int getCalls() {
+            return sum(0);
+        }
+
+        int getFailures() {
+            return sum(1);
+        }
+
+        int getSlowCalls() {
+            return sum(2);
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                epochs.set(i, -1);
+            }
+            for (int i = 0; i < counts.length(); i++) {
+                counts.set(i, 0);
+            }
+        }
+    }
+}
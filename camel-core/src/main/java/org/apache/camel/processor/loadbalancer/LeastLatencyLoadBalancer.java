@@ -0,0 +1,283 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.Traceable;
+import org.apache.camel.util.AsyncProcessorConverterHelper;
+
+/**
+ * Implements an adaptive load balancing policy which favours the processors with the lowest latency.
+ * <p/>
+ * For each processor the load balancer tracks the number of outstanding exchanges and an exponentially
+ * decayed moving average of the response time. The average is peak sensitive, which means a slower response
+ * is taken into account immediately, while faster responses only lower the average gradually, according to
+ * the decay time. A failed exchange doubles the average, so a processor which fails fast is not favoured.
+ * The average only decays while the processor has no outstanding exchanges, and while exchanges are outstanding
+ * their average age counts as the latency if its higher, so a processor which hangs is quickly avoided.
+ * A processor which has outstanding exchanges, but no recorded response yet, is penalized.
+ * <p/>
+ * By default the processor is chosen by the <i>power of two choices</i>: two random processors are compared, and the one
+ * with the lowest average multiplied by its number of outstanding exchanges (plus one) is chosen. This keeps the
+ * choice cheap, and avoids that all exchanges herd to the same processor. Alternatively the processor with the least
+ * outstanding exchanges can be chosen (with the lowest average as tie breaker).
+ *
+ * @version 
+ */
+public class LeastLatencyLoadBalancer extends LoadBalancerSupport implements Traceable {
+
+    // the cost in nanos of a processor with outstanding exchanges and no recorded response
+    private static final double PENALTY = TimeUnit.SECONDS.toNanos(60);
+
+    private final ConcurrentMap<Processor, Stats> stats = new ConcurrentHashMap<Processor, Stats>();
+    private long decayMillis = 10000;
+    private boolean leastOutstanding;
+
+    public LeastLatencyLoadBalancer() {
+    }
+
+    public LeastLatencyLoadBalancer(long decayMillis, boolean leastOutstanding) {
+        setDecayMillis(decayMillis);
+        this.leastOutstanding = leastOutstanding;
+    }
+
+    public long getDecayMillis() {
+        return decayMillis;
+    }
+
+    /**
+     * Sets the decay time in millis of the moving average of the response time.
+     * <p/>
+     * A lower value makes the load balancer adapt faster when a processor becomes fast again.
+     */
+    public void setDecayMillis(long decayMillis) {
+        if (decayMillis <= 0) {
+            throw new IllegalArgumentException("DecayMillis must be a positive number, was: " + decayMillis);
+        }
+        this.decayMillis = decayMillis;
+    }
+
+    public boolean isLeastOutstanding() {
+        return leastOutstanding;
+    }
+
+    /**
+     * Whether to choose the processor with the least outstanding exchanges, instead of the power of two choices.
+     */
+    public void setLeastOutstanding(boolean leastOutstanding) {
+        this.leastOutstanding = leastOutstanding;
+    }
+
+    /**
+     * Gets the current moving average of the response time of the given processor
+     *
+     * @return the average in nanos, or <tt>0</tt> if no response has been recorded
+     */
+    public double getAverageLatency(Processor processor) {
+        Stats answer = stats.get(processor);
+        return answer != null ? answer.cost(System.nanoTime()) : 0;
+    }
+
+    /**
+     * Gets the current number of outstanding exchanges of the given processor
+     */
+    public int getOutstanding(Processor processor) {
+        Stats answer = stats.get(processor);
+        return answer != null ? answer.outstanding.get() : 0;
+    }
+
+    @Override
+    public void removeProcessor(Processor processor) {
+        super.removeProcessor(processor);
+        stats.remove(processor);
+    }
+
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        List<Processor> list = getProcessors();
+        if (list.isEmpty()) {
+            // no processors but indicate we are done
+            callback.done(true);
+            return true;
+        }
+
+        final Processor processor = chooseProcessor(list);
+        final Stats target = getOrCreateStats(processor);
+        final long start = System.nanoTime();
+        target.begin(start);
+
+        AsyncProcessor async = AsyncProcessorConverterHelper.convert(processor);
+        return async.process(exchange, new AsyncCallback() {
+            public void done(boolean doneSync) {
+                long now = System.nanoTime();
+                target.end(start);
+                target.update(now - start, now, exchange.getException() != null);
+                callback.done(doneSync);
+            }
+        });
+    }
+
+    protected Processor chooseProcessor(List<Processor> processors) {
+        int size = processors.size();
+        if (size == 1) {
+            return processors.get(0);
+        }
+
+        long now = System.nanoTime();
+        if (leastOutstanding) {
+            Processor answer = null;
+            int least = Integer.MAX_VALUE;
+            double cost = Double.MAX_VALUE;
+            for (Processor processor : processors) {
+                Stats candidate = getOrCreateStats(processor);
+                int outstanding = candidate.outstanding.get();
+                double candidateCost = candidate.effectiveCost(now);
+                if (outstanding < least || (outstanding == least && candidateCost < cost)) {
+                    answer = processor;
+                    least = outstanding;
+                    cost = candidateCost;
+                }
+            }
+            return answer;
+        }
+
+        // power of two choices
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        Processor a = processors.get(first);
+        Processor b = processors.get(second);
+        return getOrCreateStats(a).score(now) <= getOrCreateStats(b).score(now) ? a : b;
+    }
+
+    private Stats getOrCreateStats(Processor processor) {
+        Stats answer = stats.get(processor);
+        if (answer == null) {
+            answer = new Stats();
+            Stats existing = stats.putIfAbsent(processor, answer);
+            if (existing != null) {
+                answer = existing;
+            }
+        }
+        return answer;
+    }
+
+    public String getTraceLabel() {
+        return "leastLatency";
+    }
+
+    public String toString() {
+        return "LeastLatencyLoadBalancer";
+    }
+
+    /**
+     * The statistics of a processor
+     */
+    private final class Stats {
+        private final AtomicInteger outstanding = new AtomicInteger();
+        // the sum of the start times of the outstanding exchanges relative to the base
+        private final AtomicLong pendingStarts = new AtomicLong();
+        private final long base = System.nanoTime();
+        private volatile double cost;
+        private volatile long stamp = base;
+
+        // the start time is added before and removed after the count, see effectiveCost for how they are read
+        void begin(long start) {
+            pendingStarts.addAndGet(start - base);
+            outstanding.incrementAndGet();
+        }
+
+        void end(long start) {
+            outstanding.decrementAndGet();
+            pendingStarts.addAndGet(base - start);
+        }
+
+        synchronized void update(long latency, long now, boolean failed) {
+            double weight = decay(now);
+            double current = cost;
+            double sample = failed ? Math.max(latency, current) * 2 : latency;
+            // peak sensitive so a slow down is detected immediately
+            cost = sample > current ? sample : current * weight + sample * (1 - weight);
+            stamp = now;
+        }
+
+        double cost(long now) {
+            double current = cost;
+            if (current == 0 || outstanding.get() > 0) {
+                // do not decay while exchanges are outstanding, as a processor which hangs does not record any responses
+                return current;
+            }
+            // decay towards zero when idle, so a slow processor is tried again eventually
+            return current * decay(now);
+        }
+
+        double effectiveCost(long now) {
+            while (true) {
+                long starts = pendingStarts.get();
+                int pending = outstanding.get();
+                if (starts == pendingStarts.get()) {
+                    return effectiveCost(now, pending, starts);
+                }
+            }
+        }
+
+        double score(long now) {
+            while (true) {
+                long starts = pendingStarts.get();
+                int pending = outstanding.get();
+                if (starts == pendingStarts.get()) {
+                    return effectiveCost(now, pending, starts) * (pending + 1);
+                }
+            }
+        }
+
+        // the count must be read between two equal reads of the start times, and otherwise read again. Then the count
+        // and the start times are either from the same point in time, or the start times includes a start which the
+        // count does not (as the start is added before and removed after the count), which only underestimates the age
+        private double effectiveCost(long now, int pending, long starts) {
+            double current = cost(now);
+            if (pending <= 0) {
+                return current;
+            }
+            if (current == 0) {
+                // no response recorded yet, so we do not know if the outstanding exchanges will ever complete
+                return PENALTY;
+            }
+            // the outstanding exchanges has been waiting this long on average, which is a lower bound of their latency
+            double age = (now - base) - (double) starts / pending;
+            return Math.max(current, age);
+        }
+
+        private double decay(long now) {
+            long elapsed = Math.max(0, now - stamp);
+            return Math.exp(-(double) elapsed / TimeUnit.MILLISECONDS.toNanos(decayMillis));
+        }
+    }
+}
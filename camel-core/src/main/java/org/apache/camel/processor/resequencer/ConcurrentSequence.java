@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * A thread safe variant of {@link Sequence} used by the {@link ResequencerEngine},
+ * so elements can be added and removed concurrently.
+ * 
+ * @version 
+ */
+class ConcurrentSequence<E> extends ConcurrentSkipListSet<E> {
+
+    private static final long serialVersionUID = -3458229357126398221L;
+
+    private final SequenceElementComparator<E> comparator;
+    
+    /**
+     * Creates a new {@link ConcurrentSequence} instance.
+     * 
+     * @param comparator a strategy for comparing elements of this sequence.
+     */
+    ConcurrentSequence(SequenceElementComparator<E> comparator) {
+        super(comparator);
+        this.comparator = comparator;
+    }
+    
+    /**
+     * Returns the immediate predecessor of the given element in this sequence
+     * or <code>null</code> if no predecessor exists.
+     * 
+     * @param e an element which is compared to elements of this sequence.
+     * @return an element of this sequence or <code>null</code>.
+     */
+    public E predecessor(E e) {
+        E elem = lower(e);
+        if (elem == null) {
+            return null;
+        }
+        if (comparator.predecessor(elem, e)) {
+            return elem;
+        }
+        return null;
+    }
+    
+    /**
+     * Returns the immediate successor of the given element in this sequence
+     * or <code>null</code> if no successor exists.
+     * 
+     * @param e an element which is compared to elements of this sequence.
+     * @return an element of this sequence or <code>null</code>.
+     */
+    public E successor(E e) {
+        E elem = higher(e);
+        if (elem == null) {
+            return null;
+        }
+        if (comparator.successor(elem, e)) {
+            return elem;
+        }
+        return null;
+    }
+    
+    /**
+     * Returns this sequence's comparator.
+     * 
+     * @return this sequence's comparator.
+     */
+    public SequenceElementComparator<E> comparator() {
+        return comparator;
+    }
+
+}
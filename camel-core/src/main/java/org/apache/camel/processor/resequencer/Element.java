@@ -16,23 +16,39 @@
  */
 package org.apache.camel.processor.resequencer;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * A container for objects to be resequenced. This container can be scheduled
  * for timing out. Non-scheduled objects or already timed-out objects are ready
  * for being released by the {@link ResequencerEngine}.
+ * <p/>
+ * A new element is not ready until the inserting thread has either marked it
+ * {@link #ready()} or scheduled it for timing out, so a concurrent delivery
+ * does not release the element before it is known whether it is in sequence.
  */
 class Element<E> implements TimeoutHandler {
 
+    private static final int PENDING = 0;
+    private static final int PENDING_CANCELLED = 1;
+    private static final int SCHEDULED = 2;
+    private static final int READY = 3;
+
     /**
      * The contained object.
      */
-    private E object;
+    private final E object;
+
+    /**
+     * The state of this element.
+     */
+    private final AtomicInteger state = new AtomicInteger(PENDING);
 
     /**
-     * Not <code>null</code> if this element is currently beeing scheduled for
+     * Not <code>null</code> if this element has been scheduled for
      * timing out.
      */
-    private Timeout timeout;
+    private volatile Timeout timeout;
     
     /**
      * Creates a new container instance.
@@ -54,37 +70,66 @@ class Element<E> implements TimeoutHandler {
 
     /**
      * Returns <code>true</code> if this element is currently scheduled for
-     * timing out.
+     * timing out, or is still being inserted.
      * 
      * @return <code>true</code> if scheduled or <code>false</code> if not
      *         scheduled or already timed-out.
      */
-    public synchronized boolean scheduled() {
-        return timeout != null;
+    public boolean scheduled() {
+        return state.get() != READY;
+    }
+
+    /**
+     * Marks this element as ready for delivery without scheduling a timeout.
+     */
+    public void ready() {
+        state.set(READY);
     }
     
     /**
      * Schedules the given timeout task. Before this methods calls the
      * {@link Timeout#schedule()} method it sets this element as timeout
-     * listener.
+     * listener, unless the task already has a listener which must then
+     * call {@link #expire()}. If this element has been cancelled meanwhile
+     * it is ready for delivery instead.
      * 
      * @param t a timeout task.
      */
-    public synchronized void schedule(Timeout t) {
+    public void schedule(Timeout t) {
         this.timeout = t;
-        this.timeout.setTimeoutHandler(this);
-        this.timeout.schedule();
+        if (t.getTimeoutHandlers() == null) {
+            t.setTimeoutHandler(this);
+        }
+        if (state.compareAndSet(PENDING, SCHEDULED)) {
+            this.timeout.schedule();
+        } else {
+            state.set(READY);
+        }
     }
     
     /**
      * Cancels the scheduled timeout for this element. If this element is not
      * scheduled or has already timed-out this method has no effect.
      */
-    public synchronized void cancel() {
-        if (timeout != null) {
-            timeout.cancel();
+    public void cancel() {
+        while (true) {
+            int current = state.get();
+            if (current == PENDING) {
+                if (state.compareAndSet(PENDING, PENDING_CANCELLED)) {
+                    return;
+                }
+            } else if (current == SCHEDULED) {
+                if (state.compareAndSet(SCHEDULED, READY)) {
+                    Timeout t = timeout;
+                    if (t != null) {
+                        t.cancel();
+                    }
+                    return;
+                }
+            } else {
+                return;
+            }
         }
-        timeout(null);
     }
 
     /**
@@ -92,8 +137,18 @@ class Element<E> implements TimeoutHandler {
      * 
      * @param t timeout task that caused the notification.
      */
-    public synchronized void timeout(Timeout t) {
-        this.timeout = null;
+    public void timeout(Timeout t) {
+        expire();
+    }
+
+    /**
+     * Marks this element as timed-out.
+     *
+     * @return <code>true</code> if this element was scheduled and is now
+     *         ready, <code>false</code> if it was cancelled or timed-out before.
+     */
+    boolean expire() {
+        return state.compareAndSet(SCHEDULED, READY);
     }
     
 }
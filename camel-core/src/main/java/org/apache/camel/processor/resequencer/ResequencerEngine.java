@@ -17,7 +17,11 @@
 package org.apache.camel.processor.resequencer;
 
 import java.util.Timer;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.camel.support.HashedWheelTimer;
 import org.apache.camel.util.concurrent.ThreadHelper;
 
 /**
@@ -55,6 +59,12 @@ import org.apache.camel.util.concurrent.ThreadHelper;
  * element needs <code>timeout</code> milliseconds in any case for becoming
  * <i>ready-for-delivery</i>.
  * <p>
+ * Elements can be inserted by many threads concurrently, and concurrently
+ * with the delivery of elements. Deliveries are performed by one thread at
+ * a time. Timeouts are scheduled on the {@link HashedWheelTimer} or the
+ * {@link ScheduledExecutorService} if set before the resequencer is started,
+ * which is owned by the caller. Otherwise the resequencer uses its own {@link Timer}.
+ * <p>
  *
  * @version 
  */
@@ -64,23 +74,45 @@ public class ResequencerEngine<E> {
      * The element that most recently hash been delivered or <code>null</code>
      * if no element has been delivered yet.
      */
-    private Element<E> lastDelivered;
+    private volatile Element<E> lastDelivered;
 
     /**
      * Minimum amount of time to wait for out-of-sequence elements.
      */
-    private long timeout;
+    private volatile long timeout;
 
     /**
      * A sequence of elements for sorting purposes.
      */
-    private Sequence<Element<E>> sequence;
+    private final ConcurrentSequence<Element<E>> sequence;
 
     /**
-     * A timer for scheduling timeout notifications.
+     * The number of elements in the sequence.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * A scheduler for timeout notifications.
+     */
+    private ScheduledExecutorService timeoutScheduler;
+
+    /**
+     * A timer for timeout notifications, which is preferred over the scheduler.
+     */
+    private HashedWheelTimer timeoutTimer;
+
+    /**
+     * A timer for scheduling timeout notifications if no timer or scheduler has been set.
      */
     private Timer timer;
 
+    /**
+     * Statistics
+     */
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong gapCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+
     /**
      * A strategy for sending sequence elements.
      */
@@ -103,15 +135,26 @@ public class ResequencerEngine<E> {
         this.lastDelivered = null;
     }
 
+    /**
+     * Starts this resequencer. If no timer or scheduler for timeout notifications
+     * has been set, then this resequencer creates its own {@link Timer}.
+     */
     public void start() {
-        timer = new Timer(ThreadHelper.resolveThreadName("Camel Thread ${counter} - ${name}", "Stream Resequencer Timer"), true);
+        if (timeoutTimer == null && timeoutScheduler == null) {
+            timer = new Timer(ThreadHelper.resolveThreadName("Camel Thread ${counter} - ${name}", "Stream Resequencer Timer"), true);
+        }
     }
 
     /**
-     * Stops this resequencer (i.e. this resequencer's {@link Timer} instance).
+     * Stops this resequencer (i.e. this resequencer's {@link Timer} instance if
+     * it created its own). A timer or scheduler which has been set is not stopped,
+     * as its owned by the caller.
      */
     public void stop() {
-        timer.cancel();
+        if (timer != null) {
+            timer.cancel();
+            timer = null;
+        }
     }
 
     /**
@@ -119,8 +162,80 @@ public class ResequencerEngine<E> {
      *
      * @return the number of elements currently maintained by this resequencer.
      */
-    public synchronized int size() {
-        return sequence.size();
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Returns the scheduler used for timeout notifications.
+     *
+     * @return the scheduler.
+     */
+    public ScheduledExecutorService getTimeoutScheduler() {
+        return timeoutScheduler;
+    }
+
+    /**
+     * Sets the scheduler used for timeout notifications, which is not shutdown
+     * when this resequencer is stopped. If used, it must be set before this resequencer is started,
+     * typically using a scheduler from the {@link org.apache.camel.spi.ExecutorServiceManager}.
+     *
+     * @param timeoutScheduler a scheduler.
+     */
+    public void setTimeoutScheduler(ScheduledExecutorService timeoutScheduler) {
+        this.timeoutScheduler = timeoutScheduler;
+    }
+
+    /**
+     * Returns the timer used for timeout notifications.
+     *
+     * @return the timer.
+     */
+    public HashedWheelTimer getTimeoutTimer() {
+        return timeoutTimer;
+    }
+
+    /**
+     * Sets the timer used for timeout notifications, which is not stopped when this
+     * resequencer is stopped. If set the timer is used instead of the scheduler, which
+     * allows to share a timer such as {@link org.apache.camel.util.CamelContextHelper#getTimeoutTimer}.
+     *
+     * @param timeoutTimer a timer.
+     */
+    public void setTimeoutTimer(HashedWheelTimer timeoutTimer) {
+        this.timeoutTimer = timeoutTimer;
+    }
+
+    /**
+     * Returns the number of elements delivered.
+     */
+    public long getDeliveredCount() {
+        return deliveredCount.get();
+    }
+
+    /**
+     * Returns the number of elements which arrived out of sequence and were held back
+     * waiting for a gap to be filled.
+     */
+    public long getGapCount() {
+        return gapCount.get();
+    }
+
+    /**
+     * Returns the number of elements which were released because they timed out
+     * waiting for a gap to be filled.
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /**
+     * Resets the statistics.
+     */
+    public void resetStatistics() {
+        deliveredCount.set(0);
+        gapCount.set(0);
+        timeoutCount.set(0);
     }
 
     /**
@@ -197,7 +312,7 @@ public class ResequencerEngine<E> {
      * @param o an element.
      * @throws IllegalArgumentException if the element cannot be used with this resequencer engine
      */
-    public synchronized void insert(E o) {
+    public void insert(E o) {
         // wrap object into internal element
         Element<E> element = new Element<E>(o);
 
@@ -207,13 +322,18 @@ public class ResequencerEngine<E> {
         }
 
         // validate the exchange shouldn't be 'rejected' (if applicable)
-        if (rejectOld != null && rejectOld.booleanValue() && beforeLastDelivered(element)) {
+        Element<E> last = lastDelivered;
+        if (rejectOld != null && rejectOld.booleanValue() && beforeLastDelivered(element, last)) {
             throw new MessageRejectedException("rejecting message [" + element.getObject()
-                    + "], it should have been sent before the last delivered message [" + lastDelivered.getObject() + "]");
+                    + "], it should have been sent before the last delivered message [" + last.getObject() + "]");
         }
 
-        // add element to sequence in proper order
-        sequence.add(element);
+        // add element to sequence in proper order (the element is not ready for delivery yet)
+        if (!sequence.add(element)) {
+            // an equal element is already in the sequence
+            return;
+        }
+        size.incrementAndGet();
 
         Element<E> successor = sequence.successor(element);
 
@@ -223,13 +343,17 @@ public class ResequencerEngine<E> {
             successor.cancel();
         }
 
-        // start delivery if current element is successor of last delivered element
-        if (successorOfLastDelivered(element)) {
-            // nothing to schedule
-        } else if (sequence.predecessor(element) != null) {
+        // check the predecessor before the last delivered element, as the last delivered
+        // element is updated before it is removed from the sequence
+        if (sequence.predecessor(element) != null) {
             // nothing to schedule
+            element.ready();
+        } else if (successorOfLastDelivered(element)) {
+            // start delivery if current element is successor of last delivered element
+            element.ready();
         } else {
-            element.schedule(defineTimeout());
+            gapCount.incrementAndGet();
+            element.schedule(defineTimeout(element));
         }
     }
 
@@ -258,8 +382,9 @@ public class ResequencerEngine<E> {
      * @throws Exception thrown by {@link SequenceSender#sendElement(Object)}.
      *
      */
-    public boolean deliverNext() throws Exception {
-        if (sequence.size() == 0) {
+    public synchronized boolean deliverNext() throws Exception {
+        // only deliveries remove elements so the sequence cannot become empty meanwhile
+        if (sequence.isEmpty()) {
             return false;
         }
         // inspect element with lowest sequence value
@@ -270,12 +395,14 @@ public class ResequencerEngine<E> {
             return false;
         }
 
-        // remove deliverable element from sequence
-        sequence.remove(element);
-
         // set the delivered element to last delivered element
         lastDelivered = element;
 
+        // remove deliverable element from sequence
+        sequence.remove(element);
+        size.decrementAndGet();
+        deliveredCount.incrementAndGet();
+
         // deliver the sequence element
         sequenceSender.sendElement(element.getObject());
 
@@ -292,10 +419,11 @@ public class ResequencerEngine<E> {
      *         successor of the last delivered element.
      */
     private boolean successorOfLastDelivered(Element<E> element) {
-        if (lastDelivered == null) {
+        Element<E> last = lastDelivered;
+        if (last == null) {
             return false;
         }
-        if (sequence.comparator().successor(element, lastDelivered)) {
+        if (sequence.comparator().successor(element, last)) {
             return true;
         }
         return false;
@@ -305,13 +433,14 @@ public class ResequencerEngine<E> {
      * Retuns <code>true</code> if the given element is before the last delivered element.
      *
      * @param element an element.
+     * @param last the last delivered element.
      * @return <code>true</code> if the given element is before the last delivered element.
      */
-    private boolean beforeLastDelivered(Element<E> element) {
-        if (lastDelivered == null) {
+    private boolean beforeLastDelivered(Element<E> element, Element<E> last) {
+        if (last == null) {
             return false;
         }
-        if (sequence.comparator().compare(element, lastDelivered) < 0) {
+        if (sequence.comparator().compare(element, last) < 0) {
             return true;
         }
         return false;
@@ -320,14 +449,30 @@ public class ResequencerEngine<E> {
     /**
      * Creates a timeout task based on the timeout setting of this resequencer.
      *
+     * @param element the element to time out.
      * @return a new timeout task.
      */
-    private Timeout defineTimeout() {
-        return new Timeout(timer, timeout);
+    private Timeout defineTimeout(final Element<E> element) {
+        Timeout answer;
+        if (timeoutTimer != null) {
+            answer = new Timeout(timeoutTimer, timeout);
+        } else if (timeoutScheduler != null) {
+            answer = new Timeout(timeoutScheduler, timeout);
+        } else {
+            answer = new Timeout(timer, timeout);
+        }
+        answer.setTimeoutHandler(new TimeoutHandler() {
+            public void timeout(Timeout t) {
+                if (element.expire()) {
+                    timeoutCount.incrementAndGet();
+                }
+            }
+        });
+        return answer;
     }
 
-    private static <E> Sequence<Element<E>> createSequence(SequenceElementComparator<E> comparator) {
-        return new Sequence<Element<E>>(new ElementComparator<E>(comparator));
+    private static <E> ConcurrentSequence<Element<E>> createSequence(SequenceElementComparator<E> comparator) {
+        return new ConcurrentSequence<Element<E>>(new ElementComparator<E>(comparator));
     }
 
 }
@@ -18,9 +18,17 @@ package org.apache.camel.processor.resequencer;
 
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.support.HashedWheelTimer;
 
 /**
  * A timer task that notifies handlers about scheduled timeouts.
+ * <p/>
+ * The task is scheduled on either a {@link Timer}, a {@link ScheduledExecutorService}
+ * or a {@link HashedWheelTimer} depending on how it was created.
  * 
  * @see Timer
  * @see TimerTask
@@ -32,8 +40,18 @@ public class Timeout extends TimerTask {
     private TimeoutHandler timeoutHandler;
     
     private Timer timer;
+
+    private ScheduledExecutorService scheduler;
+
+    private HashedWheelTimer wheelTimer;
     
     private long timeout;
+
+    private ScheduledFuture<?> future;
+
+    private HashedWheelTimer.Timeout wheelTimeout;
+
+    private boolean cancelled;
     
     /**
      * Creates a new timeout task using the given {@link Timer} instance and
@@ -48,6 +66,32 @@ public class Timeout extends TimerTask {
         this.timer = timer;
     }
 
+    /**
+     * Creates a new timeout task using the given {@link ScheduledExecutorService} instance
+     * and timeout value. The task is not scheduled immediately. It will be
+     * scheduled by calling this task's {@link #schedule()} method.
+     * 
+     * @param scheduler a scheduler
+     * @param timeout a timeout value.
+     */
+    public Timeout(ScheduledExecutorService scheduler, long timeout) {
+        this.timeout = timeout;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Creates a new timeout task using the given {@link HashedWheelTimer} instance
+     * and timeout value. The task is not scheduled immediately. It will be
+     * scheduled by calling this task's {@link #schedule()} method.
+     *
+     * @param timer a timer
+     * @param timeout a timeout value.
+     */
+    public Timeout(HashedWheelTimer timer, long timeout) {
+        this.timeout = timeout;
+        this.wheelTimer = timer;
+    }
+
     /**
      * Returns the timeout handler that has been registered for notification.
      * 
@@ -68,10 +112,36 @@ public class Timeout extends TimerTask {
     }
     
     /**
-     * Schedules this timeout task.
+     * Schedules this timeout task, unless it has been cancelled.
+     */
+    public synchronized void schedule() {
+        if (cancelled) {
+            return;
+        }
+        if (wheelTimer != null) {
+            wheelTimeout = wheelTimer.newTimeout(this, timeout, TimeUnit.MILLISECONDS);
+        } else if (scheduler != null) {
+            future = scheduler.schedule(this, timeout, TimeUnit.MILLISECONDS);
+        } else {
+            timer.schedule(this, timeout);
+        }
+    }
+
+    /**
+     * Cancels this timeout task.
+     *
+     * @return <tt>true</tt> if the task was scheduled and prevented from running
      */
-    public void schedule() {
-        timer.schedule(this, timeout);
+    @Override
+    public synchronized boolean cancel() {
+        cancelled = true;
+        boolean answer = super.cancel();
+        if (wheelTimeout != null) {
+            answer = wheelTimeout.cancel();
+        } else if (future != null) {
+            answer = future.cancel(false);
+        }
+        return answer;
     }
 
     /**
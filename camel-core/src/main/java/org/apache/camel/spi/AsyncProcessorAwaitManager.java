@@ -17,6 +17,7 @@
 package org.apache.camel.spi;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 
 import org.apache.camel.Exchange;
@@ -38,10 +39,22 @@ public interface AsyncProcessorAwaitManager extends StaticService {
     interface Statistics {
 
         /**
-         * Total number of threads that has been blocked
+         * Total number of threads that has been blocked.
+         * <p/>
+         * This includes threads where the callback was already triggered when they were about to wait,
+         * which are counted with a zero wait duration.
          */
         long getThreadsBlocked();
 
+        /**
+         * Number of threads that has been blocked grouped by the id of the route where the exchange was processed
+         * when the thread was set to block. This allows to find the routes which still fallback to blocking
+         * instead of being continued by the asynchronous routing engine.
+         *
+         * @return a read-only snapshot with the route id as key, and the number of blocked threads as value
+         */
+        Map<String, Long> getThreadsBlockedPerRoute();
+
         /**
          * Total number of threads that has been forced interrupted
          */
@@ -108,7 +121,8 @@ public interface AsyncProcessorAwaitManager extends StaticService {
         /**
          * The id of the route where the exchange was processed when the thread was set to block.
          * <p/>
-         * Is <tt>null</tt> if message history is disabled.
+         * If message history is disabled, then the id of the current route from the unit of work, or the
+         * route which created the exchange is used.
          */
         String getRouteId();
 
@@ -124,6 +138,9 @@ public interface AsyncProcessorAwaitManager extends StaticService {
     /**
      * Registers the exchange to await for the callback to be triggered by another thread which has taken over processing
      * this exchange. The current thread will await until that callback happens in the future (blocking until this happens).
+     * <p/>
+     * If the callback has already been triggered (the latch is already counted down) then the current thread is
+     * not blocked, and continues immediately.
      *
      * @param exchange   the exchange
      * @param latch      the latch used to wait for other thread to signal when its done
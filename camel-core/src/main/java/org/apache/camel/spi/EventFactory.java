@@ -241,4 +241,15 @@ public interface EventFactory {
      */
     EventObject createCamelContextResumeFailureEvent(CamelContext context, Throwable cause);
 
+    /**
+     * Creates an {@link EventObject} for a circuit breaker which has changed state.
+     *
+     * @param context        camel context
+     * @param circuitBreaker the circuit breaker
+     * @param previousState  the previous state
+     * @param state          the new state
+     * @return the created event
+     */
+    EventObject createCircuitBreakerStateChangedEvent(CamelContext context, Object circuitBreaker, String previousState, String state);
+
 }
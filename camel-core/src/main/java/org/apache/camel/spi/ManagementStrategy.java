@@ -231,6 +231,26 @@ public interface ManagementStrategy extends Service {
      */
     boolean isLoadStatisticsEnabled();
 
+    /**
+     * Sets whether latency histograms is enabled.
+     * <p/>
+     * When enabled the performance counters of routes and processors also records the processing time
+     * in a fixed-memory histogram with sliding time windows, which allows to obtain latency percentiles
+     * such as p99 and p999.
+     * <p/>
+     * Default is <tt>false</tt>
+     *
+     * @param flag <tt>true</tt> to enable latency histograms
+     */
+    void setLatencyHistogramEnabled(boolean flag);
+
+    /**
+     * Gets whether latency histograms is enabled
+     *
+     * @return <tt>true</tt> if enabled
+     */
+    boolean isLatencyHistogramEnabled();
+
     /**
      * Sets the statistics level
      * <p/>
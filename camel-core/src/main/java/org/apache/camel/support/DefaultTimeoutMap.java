@@ -46,6 +46,10 @@ import org.slf4j.LoggerFactory;
  * if its being stopped.
  * You must also invoke {@link #start()} to startup the timeout map, before its ready to be used.
  * And you must invoke {@link #stop()} to stop the map when no longer in use.
+ * <p/>
+ * Alternatively you can provide a {@link HashedWheelTimer} in the constructor which is used to schedule
+ * a timeout for each entry, so expired entries are evicted without scanning the map. The timer is not
+ * started or stopped by this map, as the timer can be shared.
  *
  * @version 
  */
@@ -56,6 +60,7 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
     private final ConcurrentMap<K, TimeoutMapEntry<K, V>> map = new ConcurrentHashMap<K, TimeoutMapEntry<K, V>>();
     private final ScheduledExecutorService executor;
     private volatile ScheduledFuture<?> future;
+    private final HashedWheelTimer timer;
     private final long purgePollTime;
     private final Lock lock = new ReentrantLock();
     private boolean useLock = true;
@@ -71,10 +76,26 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
     public DefaultTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, boolean useLock) {
         ObjectHelper.notNull(executor, "ScheduledExecutorService");
         this.executor = executor;
+        this.timer = null;
         this.purgePollTime = requestMapPollTimeMillis;
         this.useLock = useLock;
     }
 
+    /**
+     * Creates a timeout map which uses the timer to evict expired entries.
+     *
+     * @param timer the timer to schedule timeouts for the entries
+     * @param retryTimeMillis the delay before retrying to evict an entry which was not evicted
+     * @param useLock whether to use locking
+     */
+    public DefaultTimeoutMap(HashedWheelTimer timer, long retryTimeMillis, boolean useLock) {
+        ObjectHelper.notNull(timer, "HashedWheelTimer");
+        this.executor = null;
+        this.timer = timer;
+        this.purgePollTime = retryTimeMillis;
+        this.useLock = useLock;
+    }
+
     public V get(K key) {
         TimeoutMapEntry<K, V> entry;
         if (useLock) {
@@ -102,6 +123,8 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         try {
             updateExpireTime(entry);
             TimeoutMapEntry<K, V> result = map.put(key, entry);
+            cancelTimeout(result);
+            scheduleTimeout(entry, timeoutMillis);
             return result != null ? result.getValue() : null;
         } finally {
             if (useLock) {
@@ -119,6 +142,9 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
             updateExpireTime(entry);
             //Just make sure we don't override the old entry
             TimeoutMapEntry<K, V> result = map.putIfAbsent(key, entry);
+            if (result == null) {
+                scheduleTimeout(entry, timeoutMillis);
+            }
             return result != null ? result.getValue() : null;
         } finally {
             if (useLock) {
@@ -135,6 +161,7 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         }
         try {
             entry = map.remove(key);
+            cancelTimeout(entry);
         } finally {
             if (useLock) {
                 lock.unlock();
@@ -240,7 +267,7 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
                 } finally {
                     // and must remove from list after we have fired the notifications
                     for (K key : evicts) {
-                        map.remove(key);
+                        cancelTimeout(map.remove(key));
                     }
                 }
             }
@@ -251,6 +278,54 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         }
     }
 
+    /**
+     * Evicts the entry if it has expired, which is invoked when the timeout scheduled for the entry
+     * on the {@link HashedWheelTimer} expires.
+     * <p/>
+     * If the entry has not expired, for example the expire time was updated by {@link #get(Object)}, then
+     * a new timeout is scheduled for the remainder. If the eviction is vetoed the eviction is retried later.
+     *
+     * @param entry the entry
+     */
+    protected void expire(TimeoutMapEntry<K, V> entry) {
+        if (isStoppingOrStopped()) {
+            return;
+        }
+        if (useLock) {
+            lock.lock();
+        }
+        try {
+            if (map.get(entry.getKey()) != entry) {
+                // the entry has been removed or replaced meanwhile
+                return;
+            }
+            long delay = entry.getExpireTime() - currentTime();
+            if (delay >= 0) {
+                scheduleTimeout(entry, delay + 1);
+                return;
+            }
+            boolean evict = false;
+            if (isValidForEviction(entry)) {
+                log.debug("Evicting inactive entry ID: {}", entry);
+                try {
+                    evict = onEviction(entry.getKey(), entry.getValue());
+                } catch (Throwable t) {
+                    log.warn("Exception happened during eviction of entry ID {}, won't evict and will continue trying: {}",
+                            entry.getValue(), t);
+                }
+            }
+            if (evict) {
+                map.remove(entry.getKey(), entry);
+            } else {
+                scheduleTimeout(entry, purgePollTime);
+            }
+        } finally {
+            if (useLock) {
+                lock.unlock();
+            }
+        }
+    }
+
     // Properties
     // -------------------------------------------------------------------------
     
@@ -259,7 +334,11 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
     }
 
     public ScheduledExecutorService getExecutor() {
-        return executor;
+        return timer != null ? timer.getExecutor() : executor;
+    }
+
+    public HashedWheelTimer getTimer() {
+        return timer;
     }
 
     // Implementation methods
@@ -272,6 +351,27 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         future = executor.scheduleWithFixedDelay(this, 0, purgePollTime, TimeUnit.MILLISECONDS);
     }
 
+    private void scheduleTimeout(final TimeoutMapEntry<K, V> entry, long delay) {
+        if (timer != null) {
+            entry.setWheelTimeout(timer.newTimeout(new Runnable() {
+                public void run() {
+                    expire(entry);
+                }
+
+                @Override
+                public String toString() {
+                    return "Timeout[" + entry + "]";
+                }
+            }, delay, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private void cancelTimeout(TimeoutMapEntry<K, V> entry) {
+        if (entry != null && entry.getWheelTimeout() != null) {
+            entry.getWheelTimeout().cancel();
+        }
+    }
+
     /**
      * A hook to allow derivations to avoid evicting the current entry
      */
@@ -294,10 +394,12 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
 
     @Override
     protected void doStart() throws Exception {
-        if (executor.isShutdown()) {
-            throw new IllegalStateException("The ScheduledExecutorService is shutdown");
+        if (timer == null) {
+            if (executor.isShutdown()) {
+                throw new IllegalStateException("The ScheduledExecutorService is shutdown");
+            }
+            schedulePoll();
         }
-        schedulePoll();
     }
 
     @Override
@@ -307,6 +409,9 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
             future = null;
         }
         // clear map if we stop
+        for (TimeoutMapEntry<K, V> entry : map.values()) {
+            cancelTimeout(entry);
+        }
         map.clear();
     }
 
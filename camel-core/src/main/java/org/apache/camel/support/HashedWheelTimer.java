@@ -0,0 +1,421 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A hashed timing wheel which schedules and cancels timeouts in constant time.
+ * <p/>
+ * The wheel is an array of buckets where each bucket holds the timeouts which expire in the same tick,
+ * modulo the number of ticks per wheel. The wheel is advanced by a task running on the given
+ * {@link java.util.concurrent.ScheduledExecutorService} once every tick, which runs the timeouts of the current bucket
+ * that are due. Timeouts further away than a full rotation of the wheel are kept in the bucket with
+ * a count of the remaining rounds.
+ * <p/>
+ * This makes the timer well suited for a large number of timeouts which are often cancelled before they expire,
+ * at the cost of expiring timeouts with the precision of the tick duration. A timeout never expires before its delay.
+ * <p/>
+ * The timeouts are run on the thread advancing the wheel, and should therefore be short lived.
+ * The timer may be shared by many users. You must invoke {@link #start()} to start the timer, and
+ * {@link #stop()} to stop the timer which discards any pending timeouts. The executor service is not shutdown by the timer.
+ * <p/>
+ * Alternatively the timer can be created with a {@link CamelContext}, in which case the timer creates its own
+ * thread pools using the {@link org.apache.camel.spi.ExecutorServiceManager} when started, and shuts them down
+ * when stopped. The timeouts are then run on a thread pool so they do not delay the other timeouts.
+ * This is the timer shared by the processors of a CamelContext, see
+ * {@link org.apache.camel.util.CamelContextHelper#getTimeoutTimer(CamelContext)}.
+ *
+ * @version 
+ */
+public class HashedWheelTimer extends ServiceSupport implements Runnable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    private static final int ST_INIT = 0;
+    private static final int ST_CANCELLED = 1;
+    private static final int ST_EXPIRED = 2;
+
+    private final CamelContext camelContext;
+    private volatile ScheduledExecutorService executor;
+    private volatile ExecutorService taskExecutor;
+    private final long tickDuration;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<WheelTimeout> newTimeouts = new ConcurrentLinkedQueue<WheelTimeout>();
+    private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<WheelTimeout>();
+    private final AtomicInteger pendingTimeouts = new AtomicInteger();
+    private volatile ScheduledFuture<?> future;
+    private volatile long startTime;
+    // only accessed by the thread advancing the wheel
+    private long tick;
+
+    /**
+     * A handle for a timeout scheduled on the timer
+     */
+    public interface Timeout {
+
+        /**
+         * Cancels the timeout so its task is not run.
+         *
+         * @return <tt>true</tt> if cancelled, or <tt>false</tt> if the timeout was already expired or cancelled
+         */
+        boolean cancel();
+
+        /**
+         * Whether the timeout has been cancelled
+         */
+        boolean isCancelled();
+
+        /**
+         * Whether the timeout has expired, and its task been run
+         */
+        boolean isExpired();
+    }
+
+    /**
+     * Creates a timer with a tick duration of 100 millis and 512 ticks per wheel.
+     *
+     * @param executor the executor service used for advancing the wheel
+     */
+    public HashedWheelTimer(ScheduledExecutorService executor) {
+        this(executor, 100, TimeUnit.MILLISECONDS, 512);
+    }
+
+    /**
+     * Creates a timer.
+     *
+     * @param executor      the executor service used for advancing the wheel
+     * @param tickDuration  the duration of a tick
+     * @param unit          the time unit of the tick duration
+     * @param ticksPerWheel the number of ticks per wheel, which is rounded up to a power of two
+     */
+    public HashedWheelTimer(ScheduledExecutorService executor, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        this(null, executor, tickDuration, unit, ticksPerWheel);
+        ObjectHelper.notNull(executor, "ScheduledExecutorService");
+    }
+
+    /**
+     * Creates a timer which creates its own thread pools from the {@link org.apache.camel.spi.ExecutorServiceManager}
+     * when started, and runs the timeouts on a thread pool.
+     *
+     * @param camelContext  the CamelContext
+     * @param tickDuration  the duration of a tick
+     * @param unit          the time unit of the tick duration
+     * @param ticksPerWheel the number of ticks per wheel, which is rounded up to a power of two
+     */
+    public HashedWheelTimer(CamelContext camelContext, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        this(camelContext, null, tickDuration, unit, ticksPerWheel);
+        ObjectHelper.notNull(camelContext, "CamelContext");
+    }
+
+    private HashedWheelTimer(CamelContext camelContext, ScheduledExecutorService executor, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        ObjectHelper.notNull(unit, "TimeUnit");
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("TickDuration must be positive, was: " + tickDuration);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("TicksPerWheel must be between 1 and 2^30, was: " + ticksPerWheel);
+        }
+        this.camelContext = camelContext;
+        this.executor = executor;
+        this.tickDuration = unit.toNanos(tickDuration);
+        int size = 1;
+        while (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Schedules the task to run once after the given delay.
+     * <p/>
+     * Timeouts can be scheduled before the timer is started, in which case the delay is counted from
+     * the time the timeout was scheduled.
+     *
+     * @param task  the task to run
+     * @param delay the delay
+     * @param unit  the time unit of the delay
+     * @return a handle which can be used to cancel the timeout
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        ObjectHelper.notNull(task, "task");
+        ObjectHelper.notNull(unit, "TimeUnit");
+        WheelTimeout timeout = new WheelTimeout(task, System.nanoTime() + unit.toNanos(Math.max(0, delay)));
+        pendingTimeouts.incrementAndGet();
+        newTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Gets the number of timeouts which are pending, that is neither expired nor cancelled.
+     */
+    public int getPendingTimeouts() {
+        return pendingTimeouts.get();
+    }
+
+    public long getTickDuration() {
+        return TimeUnit.NANOSECONDS.toMillis(tickDuration);
+    }
+
+    public int getTicksPerWheel() {
+        return wheel.length;
+    }
+
+    /**
+     * Gets the executor service used for advancing the wheel, which is <tt>null</tt> until the timer is started
+     * if the timer creates its own thread pools.
+     */
+    public ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    /**
+     * The task which advances the wheel for each tick which has passed since last run.
+     */
+    public void run() {
+        if (!isRunAllowed()) {
+            return;
+        }
+        try {
+            transferTimeouts();
+            removeCancelledTimeouts();
+            long now = System.nanoTime();
+            // catch up if we have been delayed by more than a tick
+            while (now - startTime >= (tick + 1) * tickDuration) {
+                wheel[(int) (tick & mask)].expireTimeouts();
+                tick++;
+            }
+        } catch (Throwable t) {
+            // must catch and log exception otherwise the executor will not schedule next run
+            LOG.warn("Exception occurred advancing the timing wheel. This exception will be ignored.", t);
+        }
+    }
+
+    private void transferTimeouts() {
+        WheelTimeout timeout;
+        while ((timeout = newTimeouts.poll()) != null) {
+            if (timeout.state.get() == ST_CANCELLED) {
+                continue;
+            }
+            // the tick during which the deadline falls, which completes after the deadline
+            long calculated = Math.max(0, timeout.deadline - startTime) / tickDuration;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        WheelTimeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (camelContext != null) {
+            executor = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "TimeoutTimer");
+            taskExecutor = camelContext.getExecutorServiceManager().newDefaultThreadPool(this, "TimeoutTimerTask");
+        }
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("The ScheduledExecutorService is shutdown");
+        }
+        startTime = System.nanoTime();
+        tick = 0;
+        future = executor.scheduleAtFixedRate(this, tickDuration, tickDuration, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+        // discard pending timeouts
+        for (Bucket bucket : wheel) {
+            bucket.clear();
+        }
+        newTimeouts.clear();
+        cancelledTimeouts.clear();
+        pendingTimeouts.set(0);
+        if (camelContext != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(executor);
+            camelContext.getExecutorServiceManager().shutdownNow(taskExecutor);
+            executor = null;
+            taskExecutor = null;
+        }
+    }
+
+    private void runTask(final Runnable task) {
+        ExecutorService tasks = taskExecutor;
+        if (tasks != null) {
+            try {
+                tasks.execute(new Runnable() {
+                    public void run() {
+                        runTaskNow(task);
+                    }
+                });
+                return;
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Running timeout task on the timer thread as the task was rejected by the thread pool: {}", task);
+            }
+        }
+        runTaskNow(task);
+    }
+
+    private static void runTaskNow(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable t) {
+            LOG.warn("Exception occurred running timeout task: " + task + ". This exception will be ignored.", t);
+        }
+    }
+
+    private final class WheelTimeout implements Timeout {
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+        // the following is only accessed by the thread advancing the wheel
+        private long remainingRounds;
+        private Bucket bucket;
+        private WheelTimeout next;
+        private WheelTimeout prev;
+
+        private WheelTimeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            pendingTimeouts.decrementAndGet();
+            // let the thread advancing the wheel unlink the timeout from its bucket
+            cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            pendingTimeouts.decrementAndGet();
+            runTask(task);
+        }
+
+        @Override
+        public String toString() {
+            return "WheelTimeout[" + task + "]";
+        }
+    }
+
+    /**
+     * A bucket in the wheel which is a doubly linked list of timeouts, only accessed by the thread advancing the wheel.
+     */
+    private static final class Bucket {
+        private WheelTimeout head;
+        private WheelTimeout tail;
+
+        void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = timeout;
+                tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        WheelTimeout remove(WheelTimeout timeout) {
+            WheelTimeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            return next;
+        }
+
+        void expireTimeouts() {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                if (timeout.remainingRounds <= 0) {
+                    WheelTimeout next = remove(timeout);
+                    timeout.expire();
+                    timeout = next;
+                } else if (timeout.isCancelled()) {
+                    timeout = remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                    timeout = timeout.next;
+                }
+            }
+        }
+
+        void clear() {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                timeout = remove(timeout);
+            }
+        }
+    }
+}
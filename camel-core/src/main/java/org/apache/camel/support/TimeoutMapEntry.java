@@ -30,6 +30,7 @@ public class TimeoutMapEntry<K, V> implements Comparable<Object>, Map.Entry<K, V
     private V value;
     private long timeout;
     private long expireTime;
+    private volatile HashedWheelTimer.Timeout wheelTimeout;
 
     public TimeoutMapEntry(K id, V handler, long timeout) {
         this.key = id;
@@ -67,6 +68,14 @@ public class TimeoutMapEntry<K, V> implements Comparable<Object>, Map.Entry<K, V
         this.timeout = timeout;
     }
 
+    HashedWheelTimer.Timeout getWheelTimeout() {
+        return wheelTimeout;
+    }
+
+    void setWheelTimeout(HashedWheelTimer.Timeout wheelTimeout) {
+        this.wheelTimeout = wheelTimeout;
+    }
+
     @SuppressWarnings("unchecked")
     public int compareTo(Object that) {
         if (this == that) {
@@ -0,0 +1,321 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.WrappedFile;
+
+/**
+ * {@link Iterator} which splits an {@link InputStream} by a literal token, by scanning the raw bytes
+ * for the encoded token, and only decodes the bytes of the parts being returned as String.
+ * <p/>
+ * This is a faster alternative to {@link java.util.Scanner} which decodes the entire stream and
+ * matches the token as a regular expression. The parts returned are the same as the {@link java.util.Scanner}
+ * would return, which means a leading token is skipped, and there is no empty part after a trailing token.
+ * <p/>
+ * The token is only searched for as bytes if it can be done safely in the given charset, which is the case
+ * for UTF-8 and single byte charsets. Use {@link #isSupported(String, java.nio.charset.Charset)} to check this.
+ * <p/>
+ * Grouping is supported by returning the given number of parts at once, including the tokens in between.
+ * This is done without collecting the parts, as they are already next to each other in the stream.
+ */
+public final class ByteTokenizerIterator implements Iterator<Object>, Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String REGEX_CHARACTERS = "\\[](){}^$.|*+?";
+
+    private final InputStream in;
+    private final byte[] token;
+    private final CharsetDecoder decoder;
+    private final int group;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean first = true;
+    private boolean eof;
+    private boolean closed;
+    private String image;
+
+    /**
+     * Creates a new tokenizer iterator, which replaces malformed or unmappable input as a {@link java.io.InputStreamReader} does.
+     *
+     * @param in       the input stream to tokenize
+     * @param token    the token used to separate between the parts
+     * @param charset  the charset of the input stream
+     * @param group    number of parts to group together, use <tt>1</tt> to not group
+     * @throws IllegalArgumentException is thrown if the token is not supported or group is not a positive number
+     */
+    public ByteTokenizerIterator(InputStream in, String token, Charset charset, int group) {
+        this(in, token, charset, group, CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Creates a new tokenizer iterator
+     *
+     * @param in       the input stream to tokenize
+     * @param token    the token used to separate between the parts
+     * @param charset  the charset of the input stream
+     * @param group    number of parts to group together, use <tt>1</tt> to not group
+     * @param action   the action for malformed or unmappable input, when {@link CodingErrorAction#REPORT} then
+     *                 the iterator throws a {@link RuntimeCamelException} when it reaches such input
+     * @throws IllegalArgumentException is thrown if the token is not supported or group is not a positive number
+     */
+    public ByteTokenizerIterator(InputStream in, String token, Charset charset, int group, CodingErrorAction action) {
+        ObjectHelper.notNull(in, "in");
+        ObjectHelper.notNull(charset, "charset");
+        ObjectHelper.notNull(action, "action");
+        if (!isSupported(token, charset)) {
+            throw new IllegalArgumentException("Token: " + token + " is not supported with charset: " + charset);
+        }
+        if (group <= 0) {
+            throw new IllegalArgumentException("Group must be a positive number, was: " + group);
+        }
+        this.in = in;
+        this.token = token.getBytes(charset);
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(action)
+                .onUnmappableCharacter(action);
+        this.group = group;
+    }
+
+    /**
+     * Creates a tokenizer iterator for the given value, if the value is a stream or file,
+     * and the token can be searched for as bytes.
+     *
+     * @param exchange the current exchange
+     * @param value    the value, typically the message IN body
+     * @param token    the token used to separate between the parts
+     * @param group    number of parts to group together, use <tt>1</tt> to not group
+     * @return the iterator, or <tt>null</tt> if not possible and a {@link java.util.Scanner} should be used instead
+     */
+    public static ByteTokenizerIterator createIterator(Exchange exchange, Object value, String token, int group) {
+        if (value instanceof WrappedFile) {
+            // generic file is just a wrapper for the real file so call again with the real file
+            WrappedFile<?> gf = (WrappedFile<?>) value;
+            return createIterator(exchange, gf.getFile(), token, group);
+        }
+        if (!(value instanceof InputStream) && !(value instanceof File)) {
+            return null;
+        }
+
+        // use same charset as the scanner would use
+        String charsetName = exchange.getProperty(Exchange.CHARSET_NAME, String.class);
+        Charset charset = charsetName != null ? Charset.forName(charsetName) : Charset.defaultCharset();
+        if (!isSupported(token, charset)) {
+            return null;
+        }
+
+        // the scanner reports malformed input in a file, but replaces it in a stream, so do the same
+        InputStream in;
+        CodingErrorAction action;
+        if (value instanceof File) {
+            try {
+                in = new FileInputStream((File) value);
+            } catch (FileNotFoundException e) {
+                throw new RuntimeCamelException(e);
+            }
+            action = CodingErrorAction.REPORT;
+        } else {
+            in = (InputStream) value;
+            action = CodingErrorAction.REPLACE;
+        }
+        return new ByteTokenizerIterator(in, token, charset, group, action);
+    }
+
+    /**
+     * Whether the token can be searched for as bytes in the given charset.
+     * <p/>
+     * The token must be a literal (no regular expression) and the charset must be UTF-8 or a single byte charset,
+     * as otherwise the encoded token may match in the middle of an encoded character.
+     *
+     * @param token   the token
+     * @param charset the charset
+     * @return <tt>true</tt> if supported
+     */
+    public static boolean isSupported(String token, Charset charset) {
+        if (token == null || token.isEmpty() || charset == null || !charset.canEncode()) {
+            return false;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (REGEX_CHARACTERS.indexOf(token.charAt(i)) != -1) {
+                return false;
+            }
+        }
+        return "UTF-8".equals(charset.name()) || charset.newEncoder().maxBytesPerChar() == 1.0f;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            image = null;
+            buffer = null;
+            IOHelper.closeWithException(in);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (image == null) {
+            try {
+                image = doNext();
+            } catch (IOException e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            }
+        }
+
+        boolean answer = image != null;
+        if (!answer) {
+            // auto close
+            try {
+                close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public Object next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String answer = image;
+        image = null;
+        return answer;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Remove is not supported by this iterator");
+    }
+
+    private String doNext() throws IOException {
+        if (first) {
+            first = false;
+            // skip leading token as the scanner does
+            while (!eof && limit - position < token.length) {
+                read();
+            }
+            if (limit - position >= token.length && indexOf(position, position + token.length) == position) {
+                position += token.length;
+            }
+        }
+
+        int start = position;
+        // the start of the current part, and the last token found
+        int part = position;
+        int lastToken = -1;
+        int from = position;
+        int count = 0;
+        while (true) {
+            int index = indexOf(from, limit);
+            if (index != -1) {
+                if (++count == group) {
+                    position = index + token.length;
+                    return decode(start, index);
+                }
+                lastToken = index;
+                part = index + token.length;
+                from = part;
+            } else if (eof) {
+                position = limit;
+                if (part < limit) {
+                    // the last part is not followed by a token
+                    return decode(start, limit);
+                } else if (lastToken != -1) {
+                    // no empty part after the trailing token
+                    return decode(start, lastToken);
+                }
+                return null;
+            } else {
+                // the token may be partly read, so search again from there
+                from = Math.max(from, limit - token.length + 1);
+                // keep the current parts in the buffer when reading more data
+                if (start > 0) {
+                    System.arraycopy(buffer, start, buffer, 0, limit - start);
+                    limit -= start;
+                    part -= start;
+                    from -= start;
+                    if (lastToken != -1) {
+                        lastToken -= start;
+                    }
+                    start = 0;
+                }
+                read();
+            }
+        }
+    }
+
+    private void read() throws IOException {
+        if (limit == buffer.length) {
+            // the parts are larger than the buffer so grow the buffer
+            byte[] larger = new byte[buffer.length * 2];
+            System.arraycopy(buffer, 0, larger, 0, limit);
+            buffer = larger;
+        }
+        int n = in.read(buffer, limit, buffer.length - limit);
+        if (n == -1) {
+            eof = true;
+        } else {
+            limit += n;
+        }
+    }
+
+    private int indexOf(int from, int to) {
+        byte b = token[0];
+        int last = to - token.length;
+        for (int i = from; i <= last; i++) {
+            if (buffer[i] == b && matches(i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean matches(int index) {
+        for (int i = 1; i < token.length; i++) {
+            if (buffer[index + i] != token[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String decode(int start, int end) throws IOException {
+        return decoder.decode(ByteBuffer.wrap(buffer, start, end - start)).toString();
+    }
+
+}
@@ -29,6 +29,7 @@ import java.util.Set;
 import java.util.SortedMap;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Component;
@@ -43,6 +44,7 @@ import org.apache.camel.model.ProcessorDefinitionHelper;
 import org.apache.camel.model.RouteDefinition;
 import org.apache.camel.spi.ClassResolver;
 import org.apache.camel.spi.RouteStartupOrder;
+import org.apache.camel.support.HashedWheelTimer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,6 +65,7 @@ public final class CamelContextHelper {
     public static final String MODEL_DOCUMENTATION_PREFIX = "org/apache/camel/model/";
 
     private static final Logger LOG = LoggerFactory.getLogger(CamelContextHelper.class);
+    private static final Object TIMEOUT_TIMER_LOCK = new Object();
 
     /**
      * Utility classes should not have a public constructor.
@@ -588,6 +591,32 @@ public final class CamelContextHelper {
         return answer;
     }
 
+    /**
+     * Gets the {@link HashedWheelTimer} which is shared by the processors of the CamelContext for their timeouts,
+     * such as the completion timeouts of the aggregator, and the timeouts of the stream resequencer.
+     * <p/>
+     * If no timer has been added as a service to the CamelContext, then a timer with a tick duration
+     * of 100 millis is created and added as a service, so its stopped when the CamelContext is stopped.
+     *
+     * @param camelContext the camel context
+     * @return the started timer
+     * @throws Exception is thrown if the timer could not be started
+     */
+    public static HashedWheelTimer getTimeoutTimer(CamelContext camelContext) throws Exception {
+        notNull(camelContext, "camelContext");
+        // do not lock on the CamelContext as routes may be started in parallel while its locked
+        synchronized (TIMEOUT_TIMER_LOCK) {
+            HashedWheelTimer answer = camelContext.hasService(HashedWheelTimer.class);
+            if (answer == null) {
+                answer = new HashedWheelTimer(camelContext, 100, TimeUnit.MILLISECONDS, 512);
+                camelContext.addService(answer, true);
+            } else {
+                ServiceHelper.startService(answer);
+            }
+            return answer;
+        }
+    }
+
     /**
      * Checks if any of the Camel routes is using an EIP with the given name
      *
@@ -0,0 +1,398 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map that uses case insensitive keys, but preserves the original key cases.
+ * <p/>
+ * Unlike {@link CaseInsensitiveMap} this map is hash based and uses O(1) for lookup. The entries are stored in
+ * arrays in insertion order, and looked up using an open addressing index table, which caches the case insensitive
+ * hash code of each key. Copying the map from another {@link CaseInsensitiveHashMap} is therefore a bulk array copy.
+ * <p/>
+ * The map keeps the insertion order of the keys when iterating, whereas {@link CaseInsensitiveMap} is sorted by the keys.
+ * <p/>
+ * This map does not support <tt>null</tt> keys.
+ * <p/>
+ * This map is <b>not</b> designed to be thread safe as concurrent access to it is not supposed to be performed
+ * by the Camel routing engine.
+ *
+ * @version 
+ */
+public class CaseInsensitiveHashMap extends AbstractMap<String, Object> implements Serializable {
+
+    private static final long serialVersionUID = 2712549361845386201L;
+    private static final int DEFAULT_CAPACITY = 8;
+
+    // the entries in insertion order, where removed entries have a null key until the arrays are compacted
+    private String[] keys;
+    private Object[] values;
+    private int[] hashes;
+    // linear probing index table with the entry index + 1, so 0 is a free slot
+    private int[] table;
+    // number of used entry slots (including removed entries)
+    private int count;
+    private int size;
+
+    private transient int modCount;
+    private transient Set<Map.Entry<String, Object>> entrySet;
+
+    public CaseInsensitiveHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CaseInsensitiveHashMap(int capacity) {
+        init(capacity);
+    }
+
+    public CaseInsensitiveHashMap(Map<? extends String, ?> map) {
+        if (map instanceof CaseInsensitiveHashMap) {
+            copyFrom((CaseInsensitiveHashMap) map);
+        } else {
+            init(map.size());
+            putAll(map);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int i = 0; i < count; i++) {
+            if (keys[i] != null && ObjectHelper.equal(value, values[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        if (key == null) {
+            throw new NullPointerException("Key must not be null");
+        }
+        int hash = hash(key);
+        int mask = table.length - 1;
+        for (int i = hash & mask; table[i] != 0; i = (i + 1) & mask) {
+            int index = table[i] - 1;
+            if (matches(index, key, hash)) {
+                // preserve the original key case
+                Object answer = values[index];
+                values[index] = value;
+                return answer;
+            }
+        }
+        addEntry(key, hash, value);
+        return null;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> map) {
+        if (size == 0 && map instanceof CaseInsensitiveHashMap) {
+            copyFrom((CaseInsensitiveHashMap) map);
+            modCount++;
+        } else {
+            for (Map.Entry<? extends String, ?> entry : map.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        Object answer = values[index];
+        removeAt(index);
+        return answer;
+    }
+
+    @Override
+    public void clear() {
+        if (count > 0) {
+            Arrays.fill(keys, 0, count, null);
+            Arrays.fill(values, 0, count, null);
+            Arrays.fill(table, 0);
+            count = 0;
+            size = 0;
+        }
+        modCount++;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Computes the case insensitive hash code of the key, which is the same for keys which are
+     * equal according to {@link String#equalsIgnoreCase(String)}.
+     */
+    static int hash(String key) {
+        int hash = 0;
+        for (int i = 0, len = key.length(); i < len; i++) {
+            char ch = key.charAt(i);
+            if (ch < 128) {
+                if (ch >= 'A' && ch <= 'Z') {
+                    ch += 'a' - 'A';
+                }
+            } else {
+                ch = Character.toLowerCase(Character.toUpperCase(ch));
+            }
+            hash = 31 * hash + ch;
+        }
+        // spread the higher bits as the index table uses the lower bits
+        return hash ^ (hash >>> 16);
+    }
+
+    private void init(int capacity) {
+        int n = DEFAULT_CAPACITY;
+        while (n < capacity) {
+            n <<= 1;
+        }
+        keys = new String[n];
+        values = new Object[n];
+        hashes = new int[n];
+        // keep the index table at most half full
+        table = new int[n << 1];
+        count = 0;
+        size = 0;
+    }
+
+    private void copyFrom(CaseInsensitiveHashMap other) {
+        if (other.count == other.size) {
+            // no removed entries so we can copy the arrays as-is
+            keys = other.keys.clone();
+            values = other.values.clone();
+            hashes = other.hashes.clone();
+            table = other.table.clone();
+            count = other.count;
+            size = other.size;
+        } else {
+            init(other.size);
+            for (int i = 0; i < other.count; i++) {
+                if (other.keys[i] != null) {
+                    addEntry(other.keys[i], other.hashes[i], other.values[i]);
+                }
+            }
+        }
+    }
+
+    private boolean matches(int index, String key, int hash) {
+        String existing = keys[index];
+        return existing != null && hashes[index] == hash && (existing == key || existing.equalsIgnoreCase(key));
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        String name = (String) key;
+        int hash = hash(name);
+        int mask = table.length - 1;
+        for (int i = hash & mask; table[i] != 0; i = (i + 1) & mask) {
+            int index = table[i] - 1;
+            if (matches(index, name, hash)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private void addEntry(String key, int hash, Object value) {
+        if (count == keys.length) {
+            // grow if mostly in use, otherwise just compact the removed entries
+            resize(size >= count >> 1 ? keys.length << 1 : keys.length);
+        }
+        int index = count++;
+        keys[index] = key;
+        values[index] = value;
+        hashes[index] = hash;
+        insertIndex(index, hash);
+        size++;
+        modCount++;
+    }
+
+    private void insertIndex(int index, int hash) {
+        int mask = table.length - 1;
+        int i = hash & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = index + 1;
+    }
+
+    private void removeAt(int index) {
+        // the removed entry stays in the index table so lookups of other keys keeps probing past it
+        keys[index] = null;
+        values[index] = null;
+        size--;
+        modCount++;
+        if (size == 0) {
+            clear();
+        }
+    }
+
+    private void resize(int capacity) {
+        String[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        int oldCount = count;
+
+        keys = new String[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        table = new int[capacity << 1];
+        count = 0;
+        for (int i = 0; i < oldCount; i++) {
+            if (oldKeys[i] != null) {
+                keys[count] = oldKeys[i];
+                values[count] = oldValues[i];
+                hashes[count] = oldHashes[i];
+                insertIndex(count, oldHashes[i]);
+                count++;
+            }
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+        @Override
+        public Iterator<Map.Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            CaseInsensitiveHashMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        private EntryIterator() {
+            next = skipRemoved(0);
+        }
+
+        public boolean hasNext() {
+            return next < count;
+        }
+
+        public Map.Entry<String, Object> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= count) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = skipRemoved(next + 1);
+            return new Entry(last);
+        }
+
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            last = -1;
+            expectedModCount = modCount;
+        }
+
+        private int skipRemoved(int index) {
+            while (index < count && keys[index] == null) {
+                index++;
+            }
+            return index;
+        }
+    }
+
+    private final class Entry extends SimpleEntry<String, Object> {
+        private static final long serialVersionUID = 1L;
+        private final int index;
+
+        private Entry(int index) {
+            super(keys[index], values[index]);
+            this.index = index;
+        }
+
+        @Override
+        public Object getValue() {
+            return isValid() ? values[index] : super.getValue();
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object answer = getValue();
+            // write through to the map if the entry is still in the map
+            if (isValid()) {
+                values[index] = value;
+            }
+            super.setValue(value);
+            return answer;
+        }
+
+        private boolean isValid() {
+            return index < count && keys[index] == getKey();
+        }
+    }
+
+}
@@ -751,6 +751,34 @@ public final class EventHelper {
         }
     }
 
+    public static void notifyCircuitBreakerStateChanged(CamelContext context, Object circuitBreaker, String previousState, String state) {
+        ManagementStrategy management = context.getManagementStrategy();
+        if (management == null) {
+            return;
+        }
+
+        List<EventNotifier> notifiers = management.getEventNotifiers();
+        if (notifiers == null || notifiers.isEmpty()) {
+            return;
+        }
+
+        for (EventNotifier notifier : notifiers) {
+            if (notifier.isIgnoreServiceEvents()) {
+                continue;
+            }
+
+            EventFactory factory = management.getEventFactory();
+            if (factory == null) {
+                return;
+            }
+            EventObject event = factory.createCircuitBreakerStateChangedEvent(context, circuitBreaker, previousState, state);
+            if (event == null) {
+                return;
+            }
+            doNotifyEvent(notifier, event);
+        }
+    }
+
     private static void doNotifyEvent(EventNotifier notifier, EventObject event) {
         // only notify if notifier is started
         boolean started = true;
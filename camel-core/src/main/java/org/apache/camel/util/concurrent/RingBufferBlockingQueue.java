@@ -0,0 +1,448 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A bounded multi producer multi consumer {@link BlockingQueue} backed by a ring buffer, which does not use any locks
+ * for adding or removing elements.
+ * <p/>
+ * Each slot in the ring buffer has a sequence number which tells whether the slot is ready to be written
+ * or read at a given position, so producers and consumers only contend on claiming a position using
+ * compare and set, and never on a lock. The capacity is rounded up to the next power of two.
+ * <p/>
+ * Threads which has to wait for room or for an element uses the configured {@link WaitStrategy}. Only with the
+ * {@link WaitStrategy#Park} strategy does a thread which has been idle for a while block on a condition, and
+ * the producers and consumers only take the lock to signal the condition when there are such blocked threads.
+ * <p/>
+ * Removing an element from the middle of the queue, such as {@link #remove(Object)} does, marks its slot
+ * as removed, and the slot is then skipped and freed when the consumers reach it.
+ *
+ * @version 
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    /**
+     * Strategy for threads waiting for room in a full queue or for an element in an empty queue.
+     */
+    public enum WaitStrategy {
+        /**
+         * Busy spin, which has the lowest latency, but uses a CPU core per waiting thread.
+         */
+        Spin,
+        /**
+         * Yields the thread, which has low latency, but still uses a lot of CPU while waiting.
+         */
+        Yield,
+        /**
+         * Spins and yields for a short while, then parks the thread with an increasing timeout (up to 1 milli second),
+         * and then blocks the thread until it is signalled, which does not use any CPU while the queue stays idle.
+         */
+        Park
+    }
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final int PARK_TRIES = 20;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final Object REMOVED = new Object();
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<Object> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong removed = new AtomicLong();
+    private final WaitStrategy waitStrategy;
+    // only used by threads which has been idle for a while with the park wait strategy
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final AtomicInteger blockedConsumers = new AtomicInteger();
+    private final AtomicInteger blockedProducers = new AtomicInteger();
+
+    public RingBufferBlockingQueue(int capacity) {
+        this(capacity, WaitStrategy.Park);
+    }
+
+    public RingBufferBlockingQueue(int capacity, WaitStrategy waitStrategy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive, was: " + capacity);
+        }
+        ObjectHelper.notNull(waitStrategy, "waitStrategy");
+        int size = 2;
+        while (size < capacity) {
+            if (size >= 1 << 30) {
+                throw new IllegalArgumentException("Capacity is too large: " + capacity);
+            }
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = size - 1;
+        this.buffer = new AtomicReferenceArray<Object>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.waitStrategy = waitStrategy;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        ObjectHelper.notNull(e, "element");
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                // the slot is free at this position so try to claim it
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer.set(index, e);
+                    // publish the element to the consumers
+                    sequences.set(index, position + 1);
+                    signal(blockedConsumers, notEmpty);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // the slot still holds the element from the previous lap so we are full
+                return false;
+            } else {
+                // another producer claimed this position
+                position = tail.get();
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                // the element is published at this position so try to claim it
+                if (head.compareAndSet(position, position + 1)) {
+                    // take the element atomically as it may be removed concurrently
+                    Object e = buffer.getAndSet(index, null);
+                    // free the slot for the producers in the next lap
+                    sequences.set(index, position + capacity);
+                    signal(blockedProducers, notFull);
+                    if (e != REMOVED) {
+                        return (E) e;
+                    }
+                    // the element was removed so skip the slot
+                    removed.decrementAndGet();
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                // nothing published at this position so we are empty
+                return null;
+            } else {
+                // another consumer claimed this position
+                position = head.get();
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        while (true) {
+            long position = head.get();
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                return null;
+            }
+            Object e = buffer.get(index);
+            if (e == REMOVED) {
+                // free the removed slot so we can peek at the next one
+                if (head.compareAndSet(position, position + 1)) {
+                    buffer.compareAndSet(index, REMOVED, null);
+                    sequences.set(index, position + capacity);
+                    removed.decrementAndGet();
+                    signal(blockedProducers, notFull);
+                }
+            } else if (e != null && head.get() == position) {
+                // only return the element if it was not taken meanwhile
+                return (E) e;
+            }
+        }
+    }
+
+    /**
+     * Removes a single instance of the given element from the queue.
+     * <p/>
+     * The slot of the element is marked as removed, and is freed when the consumers reach it.
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        long last = tail.get();
+        for (long position = head.get(); position < last; position++) {
+            int index = (int) position & mask;
+            Object e = buffer.get(index);
+            // the compare and set fails if a consumer took the element meanwhile
+            if (e != null && e != REMOVED && o.equals(e) && buffer.compareAndSet(index, e, REMOVED)) {
+                removed.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        int attempt = 0;
+        while (!offer(e)) {
+            idle(attempt++, Long.MAX_VALUE, false);
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int attempt = 0;
+        while (!offer(e)) {
+            long left = deadline - System.nanoTime();
+            if (left <= 0) {
+                return false;
+            }
+            idle(attempt++, left, false);
+        }
+        return true;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        int attempt = 0;
+        E e;
+        while ((e = poll()) == null) {
+            idle(attempt++, Long.MAX_VALUE, true);
+        }
+        return e;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int attempt = 0;
+        E e;
+        while ((e = poll()) == null) {
+            long left = deadline - System.nanoTime();
+            if (left <= 0) {
+                return null;
+            }
+            idle(attempt++, left, true);
+        }
+        return e;
+    }
+
+    private void idle(int attempt, long maxNanos, boolean element) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        switch (waitStrategy) {
+        case Spin:
+            break;
+        case Yield:
+            Thread.yield();
+            break;
+        default:
+            if (attempt < SPIN_TRIES) {
+                break;
+            } else if (attempt < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else if (attempt < SPIN_TRIES + YIELD_TRIES + PARK_TRIES) {
+                // back off exponentially up till the max park time
+                int shift = Math.min(attempt - SPIN_TRIES - YIELD_TRIES, 10);
+                long nanos = Math.min(Math.min(1000L << shift, MAX_PARK_NANOS), maxNanos);
+                LockSupport.parkNanos(this, nanos);
+            } else if (element) {
+                block(blockedConsumers, notEmpty, maxNanos, true);
+            } else {
+                block(blockedProducers, notFull, maxNanos, false);
+            }
+        }
+    }
+
+    /**
+     * Blocks the idle thread until it is signalled that there is an element or room in the queue.
+     */
+    private void block(AtomicInteger blocked, Condition condition, long maxNanos, boolean element) throws InterruptedException {
+        // register as blocked before checking the queue, and as the producers and consumers update the queue
+        // before checking for blocked threads, then either we see the update or they see us and signal
+        blocked.incrementAndGet();
+        try {
+            lock.lockInterruptibly();
+            try {
+                long occupied = occupied();
+                if (element ? occupied > 0 : occupied < capacity) {
+                    return;
+                }
+                if (maxNanos == Long.MAX_VALUE) {
+                    condition.await();
+                } else {
+                    condition.awaitNanos(maxNanos);
+                }
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            blocked.decrementAndGet();
+        }
+    }
+
+    private void signal(AtomicInteger blocked, Condition condition) {
+        if (blocked.get() > 0) {
+            lock.lock();
+            try {
+                condition.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        // do not count the removed slots the consumers has not yet reached
+        long size = occupied() - removed.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        // removed slots still takes up room until the consumers reach them
+        return (int) (capacity - Math.max(0, Math.min(occupied(), capacity)));
+    }
+
+    private long occupied() {
+        while (true) {
+            long before = head.get();
+            long last = tail.get();
+            // ensure we read a consistent pair of head and tail
+            if (head.get() == before) {
+                return last - before;
+            }
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        ObjectHelper.notNull(c, "collection");
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain to itself");
+        }
+        int count = 0;
+        E e;
+        while (count < maxElements && (e = poll()) != null) {
+            c.add(e);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the elements in the queue.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator() {
+        List<E> snapshot = new ArrayList<E>();
+        long last = tail.get();
+        for (long position = head.get(); position < last; position++) {
+            int index = (int) position & mask;
+            Object e = buffer.get(index);
+            // only include the element if its still published at this position
+            if (e != null && e != REMOVED && sequences.get(index) == position + 1) {
+                snapshot.add((E) e);
+            }
+        }
+        final Iterator<E> it = snapshot.iterator();
+        return new Iterator<E>() {
+            private E current;
+
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            public E next() {
+                current = it.next();
+                return current;
+            }
+
+            public void remove() {
+                if (current == null) {
+                    throw new IllegalStateException();
+                }
+                RingBufferBlockingQueue.this.remove(current);
+                current = null;
+            }
+        };
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            // noop
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RingBufferBlockingQueue[capacity=" + capacity + ", size=" + size() + ", waitStrategy=" + waitStrategy + "]";
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.bean;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class BeanChosenMethodCacheTest extends ContextTestSupport {
+
+    public void testChooseOverloadedMethodByBodyType() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("String:Hello", "Integer:123", "String:World", "Integer:456");
+
+        template.sendBody("direct:start", "Hello");
+        template.sendBody("direct:start", 123);
+        template.sendBody("direct:start", "World");
+        template.sendBody("direct:start", 456);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testChooseOverloadedMethodConcurrently() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(200);
+
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            final boolean text = i % 2 == 0;
+            threads[i] = new Thread(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < 50; j++) {
+                        Object body = text ? (Object) ("Hello " + j) : (Object) j;
+                        String expected = text ? "String:Hello " + j : "Integer:" + j;
+                        assertEquals(expected, template.requestBody("direct:start", body));
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .bean(MyOverloadedBean.class, "handle")
+                    .to("mock:result");
+            }
+        };
+    }
+
+    public static class MyOverloadedBean {
+
+        public String handle(String body) {
+            return "String:" + body;
+        }
+
+        public String handle(Integer body) {
+            return "Integer:" + body;
+        }
+    }
+
+}
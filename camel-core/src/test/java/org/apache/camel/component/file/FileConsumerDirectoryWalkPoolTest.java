@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.JndiRegistry;
+
+/**
+ * @version 
+ */
+public class FileConsumerDirectoryWalkPoolTest extends ContextTestSupport {
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/walk");
+        super.setUp();
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry jndi = super.createRegistry();
+        jndi.bind("myFilter", new ThreadRecordingFilter());
+        return jndi;
+    }
+
+    public void testParallelWalk() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            template.sendBodyAndHeader("file:target/walk/dir" + i, "a" + i, Exchange.FILE_NAME, "a.txt");
+            template.sendBodyAndHeader("file:target/walk/dir" + i + "/sub", "b" + i, Exchange.FILE_NAME, "b.txt");
+            template.sendBodyAndHeader("file:target/walk/dir" + i + "/sub/deep", "c" + i, Exchange.FILE_NAME, "c.txt");
+        }
+        template.sendBodyAndHeader("file:target/walk", "root", Exchange.FILE_NAME, "root.txt");
+
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                // only files at depth 2 and 3
+                from("file:target/walk?recursive=true&noop=true&minDepth=2&maxDepth=3&directoryWalkPoolSize=3&initialDelay=0&delay=10")
+                    .convertBodyTo(String.class)
+                    .to("mock:result");
+            }
+        });
+        context.start();
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("a0", "a1", "a2", "a3", "a4", "b0", "b1", "b2", "b3", "b4");
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testParallelWalkEagerMaxMessagesPerPoll() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            template.sendBodyAndHeader("file:target/walk/dir" + i, "Hello " + i, Exchange.FILE_NAME, "hello.txt");
+        }
+
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file:target/walk?recursive=true&delete=true&maxMessagesPerPoll=3&directoryWalkPoolSize=4&initialDelay=0&delay=10")
+                    .routeId("walk").noAutoStartup()
+                    .to("mock:result");
+            }
+        });
+        context.start();
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(10);
+        // the batch should be limited to max messages per poll
+        mock.allMessages().property(Exchange.BATCH_SIZE).isLessThanOrEqualTo(3);
+
+        context.startRoute("walk");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testParallelWalkFiltersOnPollingThread() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            template.sendBodyAndHeader("file:target/walk/dir" + i + "/sub", "b" + i, Exchange.FILE_NAME, "b.txt");
+        }
+
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file:target/walk?recursive=true&noop=true&filter=#myFilter&directoryWalkPoolSize=3&initialDelay=0&delay=10")
+                    .convertBodyTo(String.class)
+                    .to("mock:result");
+            }
+        });
+        context.start();
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("b0", "b1", "b2", "b3", "b4");
+        mock.allMessages().header(Exchange.FILE_LENGTH).isEqualTo(2L);
+        assertMockEndpointsSatisfied();
+
+        // the files and directories are validated by the polling thread only, and not by the walker threads
+        ThreadRecordingFilter filter = context.getRegistry().lookupByNameAndType("myFilter", ThreadRecordingFilter.class);
+        assertEquals(1, filter.threads.size());
+        assertFalse(filter.threads.iterator().next().contains("FileDirectoryWalker"));
+    }
+
+    private static final class ThreadRecordingFilter implements GenericFileFilter<File> {
+
+        private final Set<String> threads = new CopyOnWriteArraySet<String>();
+
+        @Override
+        public boolean accept(GenericFile<File> file) {
+            threads.add(Thread.currentThread().getName());
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,186 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.LoggingLevel;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.JndiRegistry;
+
+/**
+ * @version 
+ */
+public class FileConsumerWatchDirectoryTest extends ContextTestSupport {
+
+    private final MyReadLockStrategy readLock = new MyReadLockStrategy();
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/watch");
+        super.setUp();
+    }
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry jndi = super.createRegistry();
+        jndi.bind("myReadLock", readLock);
+        return jndi;
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    public void testWatchDirectoryRecursiveNoop() throws Exception {
+        // existing files should be picked up by the first full scan
+        template.sendBodyAndHeader("file:target/watch", "a", Exchange.FILE_NAME, "a.txt");
+        template.sendBodyAndHeader("file:target/watch/foo", "b", Exchange.FILE_NAME, "b.txt");
+
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file:target/watch?recursive=true&noop=true&watchDirectory=true&watchRescanInterval=0&initialDelay=0&delay=10")
+                    .convertBodyTo(String.class)
+                    .to("mock:result");
+            }
+        });
+        context.start();
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("a", "b");
+        assertMockEndpointsSatisfied();
+
+        // new files in existing and new directories should be picked up from the watch events
+        mock.reset();
+        mock.expectedBodiesReceivedInAnyOrder("c", "d", "e");
+
+        template.sendBodyAndHeader("file:target/watch", "c", Exchange.FILE_NAME, "c.txt");
+        template.sendBodyAndHeader("file:target/watch/foo", "d", Exchange.FILE_NAME, "d.txt");
+        template.sendBodyAndHeader("file:target/watch/bar/baz", "e", Exchange.FILE_NAME, "e.txt");
+
+        assertMockEndpointsSatisfied();
+
+        // and no duplicates
+        mock.reset();
+        mock.expectedMessageCount(0);
+        mock.setResultWaitTime(250);
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testWatchDirectoryReadLockNotAcquired() throws Exception {
+        // the file exists before the consumer is started, so there is no watch event for it
+        template.sendBodyAndHeader("file:target/watch", "Hello World", Exchange.FILE_NAME, "hello.txt");
+
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                // never rescan so the file must be polled again from the tracked files
+                from("file:target/watch?exclusiveReadLockStrategy=#myReadLock&watchDirectory=true&watchRescanInterval=0&initialDelay=0&delay=10")
+                    .convertBodyTo(String.class)
+                    .to("mock:result");
+            }
+        });
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello World");
+
+        context.start();
+
+        assertMockEndpointsSatisfied();
+        assertTrue("Should have tried to acquire the read lock more than once", readLock.getCounter() > 1);
+    }
+
+    public void testWatchDirectoryDoneFile() throws Exception {
+        // the file exists before the consumer is started, but its done file is written later
+        template.sendBodyAndHeader("file:target/watch", "Hello World", Exchange.FILE_NAME, "hello.txt");
+
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file:target/watch?doneFileName=done&watchDirectory=true&watchRescanInterval=0&initialDelay=0&delay=10")
+                    .convertBodyTo(String.class)
+                    .to("mock:result");
+            }
+        });
+        context.start();
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(0);
+
+        // wait a bit and it should not pickup the written file as there are no done file
+        Thread.sleep(250);
+        assertMockEndpointsSatisfied();
+
+        mock.reset();
+        mock.expectedBodiesReceived("Hello World");
+
+        template.sendBodyAndHeader("file:target/watch", "", Exchange.FILE_NAME, "done");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    // does not grant the read lock on the first attempt
+    private static class MyReadLockStrategy implements GenericFileExclusiveReadLockStrategy<File> {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public void prepareOnStartup(GenericFileOperations<File> operations, GenericFileEndpoint<File> endpoint) throws Exception {
+            // noop
+        }
+
+        @Override
+        public boolean acquireExclusiveReadLock(GenericFileOperations<File> operations, GenericFile<File> file, Exchange exchange) throws Exception {
+            return counter.incrementAndGet() > 1;
+        }
+
+        @Override
+        public void releaseExclusiveReadLock(GenericFileOperations<File> operations, GenericFile<File> file, Exchange exchange) throws Exception {
+            // noop
+        }
+
+        @Override
+        public void setTimeout(long timeout) {
+            // noop
+        }
+
+        @Override
+        public void setCheckInterval(long checkInterval) {
+            // noop
+        }
+
+        @Override
+        public void setReadLockLoggingLevel(LoggingLevel readLockLoggingLevel) {
+            // noop
+        }
+
+        @Override
+        public void setMarkerFiler(boolean markerFile) {
+            // noop
+        }
+
+        public int getCounter() {
+            return counter.get();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.JndiRegistry;
+
+/**
+ * @version 
+ */
+public class SedaPollBatchSizeTest extends ContextTestSupport {
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry jndi = super.createRegistry();
+        jndi.bind("ringBuffer", new RingBufferBlockingQueueFactory<Exchange>());
+        return jndi;
+    }
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        // do not start the routes so the messages are queued up
+        context.setAutoStartup(false);
+        return context;
+    }
+
+    public void testPollBatchSize() throws Exception {
+        doTestPollBatchSize("seda:foo", "foo");
+    }
+
+    public void testPollBatchSizeRingBuffer() throws Exception {
+        doTestPollBatchSize("seda:bar", "bar");
+    }
+
+    private void doTestPollBatchSize(String uri, String routeId) throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(25);
+        // a single consumer processes the batches in order
+        for (int i = 0; i < 25; i++) {
+            mock.message(i).body().isEqualTo("Message " + i);
+        }
+
+        for (int i = 0; i < 25; i++) {
+            template.sendBody(uri, "Message " + i);
+        }
+
+        context.startRoute(routeId);
+
+        assertMockEndpointsSatisfied();
+
+        SedaEndpoint endpoint = context.getEndpoint(uri + "?pollBatchSize=10", SedaEndpoint.class);
+        assertEquals(10, endpoint.getPollBatchSize());
+        assertEquals(0, endpoint.getQueue().size());
+    }
+
+    public void testRequestReply() throws Exception {
+        context.startRoute("foo");
+
+        for (int i = 0; i < 5; i++) {
+            Object out = template.requestBody("seda:foo", "Message " + i);
+            assertEquals("Message " + i, out);
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:foo?pollBatchSize=10").routeId("foo").to("mock:result");
+
+                from("seda:bar?pollBatchSize=10&queueFactory=#ringBuffer").routeId("bar").to("mock:result");
+            }
+        };
+    }
+}
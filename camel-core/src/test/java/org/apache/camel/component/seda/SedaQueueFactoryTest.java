@@ -25,17 +25,20 @@ import org.apache.camel.ContextTestSupport;
 import org.apache.camel.Exchange;
 import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.impl.SimpleRegistry;
+import org.apache.camel.util.concurrent.RingBufferBlockingQueue;
 
 /**
  *
  */
 public class SedaQueueFactoryTest extends ContextTestSupport {
     private final ArrayBlockingQueueFactory<Exchange> arrayQueueFactory = new ArrayBlockingQueueFactory<Exchange>();
+    private final RingBufferBlockingQueueFactory<Exchange> ringBufferQueueFactory = new RingBufferBlockingQueueFactory<Exchange>();
 
     @Override
     protected CamelContext createCamelContext() throws Exception {
         SimpleRegistry simpleRegistry = new SimpleRegistry();
         simpleRegistry.put("arrayQueueFactory", arrayQueueFactory);
+        simpleRegistry.put("ringBufferQueueFactory", ringBufferQueueFactory);
         return new DefaultCamelContext(simpleRegistry);
     }
 
@@ -62,4 +65,24 @@ public class SedaQueueFactoryTest extends ContextTestSupport {
         BlockingQueue<Exchange> queue = endpoint.getQueue();
         assertIsInstanceOf(LinkedBlockingQueue.class, queue);
     }
+
+    @SuppressWarnings("unchecked")
+    public void testRingBufferBlockingQueueFactory() throws Exception {
+        SedaEndpoint endpoint = resolveMandatoryEndpoint("seda:ringBufferQueue?queueFactory=#ringBufferQueueFactory", SedaEndpoint.class);
+
+        BlockingQueue<Exchange> queue = endpoint.getQueue();
+        RingBufferBlockingQueue<Exchange> ringBuffer = assertIsInstanceOf(RingBufferBlockingQueue.class, queue);
+        // unbounded is not possible so the default capacity is used
+        assertEquals(1024, ringBuffer.getCapacity());
+        assertEquals(RingBufferBlockingQueue.WaitStrategy.Park, ringBuffer.getWaitStrategy());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testRingBufferBlockingQueueFactoryAndSize() throws Exception {
+        SedaEndpoint endpoint = resolveMandatoryEndpoint("seda:ringBufferQueue64?queueFactory=#ringBufferQueueFactory&size=64", SedaEndpoint.class);
+
+        BlockingQueue<Exchange> queue = endpoint.getQueue();
+        RingBufferBlockingQueue<Exchange> ringBuffer = assertIsInstanceOf(RingBufferBlockingQueue.class, queue);
+        assertEquals("remainingCapacity", 64, ringBuffer.remainingCapacity());
+    }
 }
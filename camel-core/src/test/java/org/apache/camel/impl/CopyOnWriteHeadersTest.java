@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class CopyOnWriteHeadersTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setCopyOnWriteHeaders(true);
+        return context;
+    }
+
+    public void testCopyShareHeaders() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setHeader("foo", 123);
+        exchange.getIn().setHeader("bar", "beer");
+
+        Exchange copy = exchange.copy();
+        assertEquals(123, copy.getIn().getHeader("FOO"));
+        assertEquals("beer", copy.getIn().getHeader("bar"));
+
+        // change the copy should not affect the original
+        copy.getIn().setHeader("foo", 456);
+        copy.getIn().removeHeader("bar");
+        assertEquals(456, copy.getIn().getHeader("foo"));
+        assertNull(copy.getIn().getHeader("bar"));
+        assertEquals(123, exchange.getIn().getHeader("foo"));
+        assertEquals("beer", exchange.getIn().getHeader("bar"));
+
+        // and change the original should not affect the copy
+        Exchange copy2 = exchange.copy();
+        exchange.getIn().setHeader("cake", "cheese");
+        assertNull(copy2.getIn().getHeader("cake"));
+        assertEquals(2, copy2.getIn().getHeaders().size());
+        assertEquals(3, exchange.getIn().getHeaders().size());
+    }
+
+    public void testCopyShareHeadersIteratorRemove() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setHeader("foo", 123);
+        exchange.getIn().setHeader("bar", "beer");
+        exchange.getIn().setHeader("baz", "wine");
+
+        Exchange copy = exchange.copy();
+        Iterator<Map.Entry<String, Object>> it = copy.getIn().getHeaders().entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Object> entry = it.next();
+            if (entry.getKey().startsWith("ba")) {
+                it.remove();
+            } else {
+                entry.setValue(456);
+            }
+        }
+
+        assertEquals(1, copy.getIn().getHeaders().size());
+        assertEquals(456, copy.getIn().getHeader("foo"));
+        assertEquals(3, exchange.getIn().getHeaders().size());
+        assertEquals(123, exchange.getIn().getHeader("foo"));
+    }
+
+    public void testMulticastCopyOnWriteHeaders() throws Exception {
+        getMockEndpoint("mock:a").expectedHeaderReceived("foo", "changed");
+        getMockEndpoint("mock:b").expectedHeaderReceived("foo", 123);
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedHeaderReceived("foo", 123);
+        result.message(0).header("bar").isNull();
+
+        template.sendBodyAndHeader("direct:start", "Hello World", "foo", 123);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .multicast().parallelProcessing().to("direct:a", "direct:b").end()
+                    .to("mock:result");
+
+                from("direct:a")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            exchange.getIn().setHeader("foo", "changed");
+                            exchange.getIn().setHeader("bar", "beer");
+                        }
+                    })
+                    .to("mock:a");
+
+                from("direct:b")
+                    .to("mock:b");
+            }
+        };
+    }
+}
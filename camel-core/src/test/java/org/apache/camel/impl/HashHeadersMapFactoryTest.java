@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.util.CaseInsensitiveHashMap;
+
+/**
+ * @version 
+ */
+public class HashHeadersMapFactoryTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setHeadersMapFactory(new HashHeadersMapFactory());
+        return context;
+    }
+
+    public void testHashHeadersMapFactory() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello World");
+        mock.expectedHeaderReceived("foo", 123);
+        mock.expectedHeaderReceived("BAR", "beer");
+
+        template.sendBodyAndHeader("direct:start", "Hello World", "Foo", 123);
+
+        assertMockEndpointsSatisfied();
+
+        Exchange exchange = mock.getReceivedExchanges().get(0);
+        assertIsInstanceOf(CaseInsensitiveHashMap.class, exchange.getIn().getHeaders());
+        assertEquals(123, exchange.getIn().getHeader("FOO"));
+        assertEquals("beer", exchange.getIn().getHeader("bar"));
+
+        Exchange copy = exchange.copy();
+        assertIsInstanceOf(CaseInsensitiveHashMap.class, copy.getIn().getHeaders());
+        copy.getIn().setHeader("foo", 456);
+        assertEquals(456, copy.getIn().getHeader("Foo"));
+        assertEquals(123, exchange.getIn().getHeader("Foo"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .setHeader("bar", constant("beer"))
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Consumer;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.RouteStartupOrder;
+
+/**
+ * @version 
+ */
+public class ParallelRouteStartupTest extends ContextTestSupport {
+
+    private final List<String> startedRoutes = Collections.synchronizedList(new ArrayList<String>());
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setParallelRouteStartup(true);
+        context.setParallelRouteStartupPoolSize(5);
+        context.addComponent("slow", new SlowComponent());
+        return context;
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    public void testParallelRouteStartup() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("slow:first").routeId("first").startupOrder(1).to("mock:result");
+                from("slow:second").routeId("second").startupOrder(2).to("mock:result");
+                for (int i = 0; i < 10; i++) {
+                    from("slow:route" + i).routeId("route" + i).to("mock:result");
+                }
+            }
+        });
+
+        long start = System.currentTimeMillis();
+        context.start();
+        long delta = System.currentTimeMillis() - start;
+
+        // 12 routes which takes 200 millis each to start would take 2.4 seconds if started one by one
+        assertTrue("Should start the routes concurrently, was " + delta + " millis", delta < 2000);
+        assertEquals(12, startedRoutes.size());
+
+        // the routes with a startup order is started first and in their order
+        assertEquals("first", startedRoutes.get(0));
+        assertEquals("second", startedRoutes.get(1));
+
+        // and the startup order is kept so the routes are stopped in reverse order
+        List<RouteStartupOrder> orders = context.getRouteStartupOrder();
+        assertEquals(12, orders.size());
+        assertEquals("first", orders.get(0).getRoute().getId());
+        assertEquals("second", orders.get(1).getRoute().getId());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("route" + i, orders.get(i + 2).getRoute().getId());
+            DefaultRouteStartupOrder order = (DefaultRouteStartupOrder) orders.get(i + 2);
+            assertTrue(order.getStartupTime() >= 150);
+            assertTrue(context.getRouteStatus("route" + i).isStarted());
+        }
+    }
+
+    public void testParallelRouteStartupFailure() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("slow:foo").routeId("foo").to("mock:result");
+                from("slow:fail").routeId("fail").to("mock:result");
+                from("slow:bar").routeId("bar").to("mock:result");
+            }
+        });
+
+        try {
+            context.start();
+            fail("Should have thrown an exception");
+        } catch (IllegalStateException e) {
+            assertEquals("Forced", e.getMessage());
+        }
+
+        // the other routes was still started
+        assertTrue(startedRoutes.contains("foo"));
+        assertTrue(startedRoutes.contains("bar"));
+    }
+
+    private final class SlowComponent extends DefaultComponent {
+
+        @Override
+        protected Endpoint createEndpoint(String uri, final String remaining, Map<String, Object> parameters) throws Exception {
+            return new DefaultEndpoint(uri, this) {
+                public Producer createProducer() throws Exception {
+                    throw new UnsupportedOperationException();
+                }
+
+                public Consumer createConsumer(Processor processor) throws Exception {
+                    return new DefaultConsumer(this, processor) {
+                        @Override
+                        protected void doStart() throws Exception {
+                            super.doStart();
+                            if ("fail".equals(remaining)) {
+                                throw new IllegalStateException("Forced");
+                            }
+                            Thread.sleep(200);
+                            startedRoutes.add(remaining);
+                        }
+                    };
+                }
+
+                public boolean isSingleton() {
+                    return true;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.util.TimeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class StripedUuidGeneratorTest extends TestCase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StripedUuidGeneratorTest.class);
+
+    public void testGenerateUUID() {
+        StripedUuidGenerator uuidGenerator = new StripedUuidGenerator();
+
+        String firstUUID = uuidGenerator.generateUuid();
+        String secondUUID = uuidGenerator.generateUuid();
+
+        assertFalse(firstUUID.equals(secondUUID));
+        assertEquals(firstUUID.length(), secondUUID.length());
+        assertTrue(firstUUID.startsWith(uuidGenerator.getSeed()));
+        assertTrue(firstUUID.endsWith("0000000000000000"));
+        assertTrue(secondUUID.endsWith("0000000000000001"));
+    }
+
+    public void testBlocks() {
+        StripedUuidGenerator uuidGenerator = new StripedUuidGenerator("ID-foo", 16);
+        assertEquals(16, uuidGenerator.getBlockSize());
+
+        for (int i = 0; i < 16; i++) {
+            uuidGenerator.generateUuid();
+        }
+        // the next block is reserved
+        assertTrue(uuidGenerator.generateUuid().endsWith("0000000000000010"));
+    }
+
+    public void testConcurrentUnique() throws Exception {
+        final StripedUuidGenerator uuidGenerator = new StripedUuidGenerator("ID-foo", 100);
+        final Set<String> ids = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        for (int i = 0; i < 5; i++) {
+            executor.submit(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        ids.add(uuidGenerator.generateUuid());
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(50000, ids.size());
+    }
+
+    public void testConcurrentUniqueMoreThreadsThanStripes() throws Exception {
+        final StripedUuidGenerator uuidGenerator = new StripedUuidGenerator("ID-foo", 10);
+        final Set<String> ids = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+        // threads sharing a stripe must not get the same ids
+        int threads = Runtime.getRuntime().availableProcessors() * 4 + 10;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < 1000; j++) {
+                        ids.add(uuidGenerator.generateUuid());
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(threads * 1000, ids.size());
+    }
+
+    public void testPerformance() {
+        StripedUuidGenerator uuidGenerator = new StripedUuidGenerator();
+        StopWatch watch = new StopWatch();
+
+        LOG.info("First id: " + uuidGenerator.generateUuid());
+        for (int i = 0; i < 500000; i++) {
+            uuidGenerator.generateUuid();
+        }
+        LOG.info("Last id:  " + uuidGenerator.generateUuid());
+
+        LOG.info("Took " + TimeUtils.printDuration(watch.stop()));
+    }
+
+}
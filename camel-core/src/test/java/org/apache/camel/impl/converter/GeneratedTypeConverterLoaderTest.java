@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.TestSupport;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultClassResolver;
+import org.apache.camel.impl.DefaultFactoryFinderResolver;
+import org.apache.camel.impl.DefaultPackageScanClassResolver;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.apache.camel.util.ReflectionInjector;
+
+/**
+ * @version 
+ */
+public class GeneratedTypeConverterLoaderTest extends TestSupport {
+
+    private File dir = new File("target/generatedloader");
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        deleteDirectory(dir);
+    }
+
+    public void testPreferGeneratedLoader() throws Exception {
+        // the package does not exist so package scanning would fail if not skipped
+        writeServices(MyGeneratedTypeConverterLoader.class.getName(), "org.apache.camel.impl.converter.doesnotexist");
+
+        TypeConverter converter = lookupCountryConverter();
+        assertIsInstanceOf(MyGeneratedTypeConverterLoader.Converter.class, converter);
+    }
+
+    public void testFallbackToAnnotationScanning() throws Exception {
+        writeServices("org.apache.camel.impl.converter.DoesNotExistLoader", MyConverters.class.getName());
+
+        TypeConverter converter = lookupCountryConverter();
+        assertIsInstanceOf(InstanceMethodTypeConverter.class, converter);
+    }
+
+    public void testCoreUsesGeneratedLoaders() throws Exception {
+        CamelContext context = new DefaultCamelContext();
+        context.start();
+        try {
+            TypeConverter converter = context.getTypeConverterRegistry().lookup(byte[].class, String.class);
+            assertNotNull(converter);
+            assertTrue("Should be generated, was " + converter, converter.toString().startsWith("GeneratedTypeConverter"));
+        } finally {
+            context.stop();
+        }
+    }
+
+    public void testCoreGeneratedLoadersSameAsReflection() throws Exception {
+        TypeConverterRegistry generated = createRegistry();
+        CoreTypeConverterLoader loader = new CoreTypeConverterLoader();
+        loader.load(generated);
+        assertNotNull(getClass().getClassLoader().getResource(CoreTypeConverterLoader.META_INF_SERVICES_CORE_LOADER));
+
+        TypeConverterRegistry reflection = createRegistry();
+        loader = new CoreTypeConverterLoader() {
+            @Override
+            protected int loadGeneratedTypeConverterLoaders(TypeConverterRegistry registry) throws Exception {
+                return 0;
+            }
+        };
+        loader.load(reflection);
+
+        Set<String> expected = fromTo(reflection);
+        assertTrue(expected.size() > 100);
+        assertEquals(expected, fromTo(generated));
+    }
+
+    private static TypeConverterRegistry createRegistry() {
+        return new DefaultTypeConverter(new DefaultPackageScanClassResolver(), new ReflectionInjector(),
+                new DefaultFactoryFinderResolver().resolveDefaultFactoryFinder(new DefaultClassResolver()));
+    }
+
+    private static Set<String> fromTo(TypeConverterRegistry registry) {
+        Set<String> answer = new HashSet<String>();
+        for (Class<?>[] pair : ((BaseTypeConverterRegistry) registry).listAllTypeConvertersFromTo()) {
+            answer.add(pair[0].getName() + "->" + pair[1].getName());
+        }
+        return answer;
+    }
+
+    private void writeServices(String loader, String converter) throws Exception {
+        File services = new File(dir, "META-INF/services/org/apache/camel");
+        services.mkdirs();
+        Files.write(new File(services, "TypeConverterLoader").toPath(), loader.getBytes("UTF-8"));
+        Files.write(new File(services, "TypeConverter").toPath(), converter.getBytes("UTF-8"));
+    }
+
+    private TypeConverter lookupCountryConverter() throws Exception {
+        ClassLoader old = Thread.currentThread().getContextClassLoader();
+        ClassLoader loader = new URLClassLoader(new URL[]{dir.toURI().toURL()}, getClass().getClassLoader());
+        Thread.currentThread().setContextClassLoader(loader);
+        CamelContext context = new DefaultCamelContext();
+        try {
+            context.start();
+            TypeConverter answer = context.getTypeConverterRegistry().lookup(Country.class, String.class);
+            assertNotNull(answer);
+            assertEquals("en", context.getTypeConverter().convertTo(Country.class, "en").getIso());
+            return answer;
+        } finally {
+            context.stop();
+            Thread.currentThread().setContextClassLoader(old);
+        }
+    }
+}
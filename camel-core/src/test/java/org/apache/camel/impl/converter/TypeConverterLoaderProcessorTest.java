@@ -0,0 +1,209 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.TestSupport;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.tools.apt.TypeConverterLoaderProcessor;
+
+/**
+ * Compiles converter classes with the {@link TypeConverterLoaderProcessor} and uses the generated loaders.
+ *
+ * @version 
+ */
+public class TypeConverterLoaderProcessorTest extends TestSupport {
+
+    private static final String PACKAGE = "org.apache.camel.impl.converter.generated";
+
+    private File dir = new File("target/converterprocessor");
+    private File src = new File(dir, "src");
+    private File classes = new File(dir, "classes");
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        deleteDirectory(dir);
+        src.mkdirs();
+        classes.mkdirs();
+    }
+
+    public void testGenerateLoaders() throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            // not running on a JDK
+            return;
+        }
+
+        writeSource("Things", "public final class Things {\n"
+                + "    private Things() {\n"
+                + "    }\n"
+                + "    public static class Thing {\n"
+                + "        private final String value;\n"
+                + "        public Thing(String value) {\n"
+                + "            this.value = value;\n"
+                + "        }\n"
+                + "        public String getValue() {\n"
+                + "            return value;\n"
+                + "        }\n"
+                + "    }\n"
+                + "    public static class FinalThing extends Thing {\n"
+                + "        public FinalThing(String value) {\n"
+                + "            super(value);\n"
+                + "        }\n"
+                + "    }\n"
+                + "    public static class PlainThing extends Thing {\n"
+                + "        public PlainThing(String value) {\n"
+                + "            super(value);\n"
+                + "        }\n"
+                + "    }\n"
+                + "    public static class StaticThing extends Thing {\n"
+                + "        public StaticThing(String value) {\n"
+                + "            super(value);\n"
+                + "        }\n"
+                + "    }\n"
+                + "    public static class AwareThing extends Thing {\n"
+                + "        public AwareThing(String value) {\n"
+                + "            super(value);\n"
+                + "        }\n"
+                + "    }\n"
+                + "}\n");
+        // a final class with instance converter methods, which is not type converter aware
+        writeSource("FinalConverter", "@org.apache.camel.Converter\n"
+                + "public final class FinalConverter {\n"
+                + "    @org.apache.camel.Converter\n"
+                + "    public Things.FinalThing toFinalThing(String value) {\n"
+                + "        return new Things.FinalThing(\"final \" + value);\n"
+                + "    }\n"
+                + "}\n");
+        writeSource("PlainConverter", "@org.apache.camel.Converter\n"
+                + "public class PlainConverter {\n"
+                + "    @org.apache.camel.Converter\n"
+                + "    public Things.PlainThing toPlainThing(String value) {\n"
+                + "        return new Things.PlainThing(\"plain \" + value);\n"
+                + "    }\n"
+                + "}\n");
+        writeSource("StaticConverter", "@org.apache.camel.Converter\n"
+                + "public final class StaticConverter {\n"
+                + "    private StaticConverter() {\n"
+                + "    }\n"
+                + "    @org.apache.camel.Converter\n"
+                + "    public static Things.StaticThing toStaticThing(String value) {\n"
+                + "        return new Things.StaticThing(\"static \" + value);\n"
+                + "    }\n"
+                + "}\n");
+        writeSource("AwareConverter", "@org.apache.camel.Converter\n"
+                + "public final class AwareConverter implements org.apache.camel.spi.TypeConverterAware {\n"
+                + "    private org.apache.camel.TypeConverter typeConverter;\n"
+                + "    public void setTypeConverter(org.apache.camel.TypeConverter typeConverter) {\n"
+                + "        this.typeConverter = typeConverter;\n"
+                + "    }\n"
+                + "    @org.apache.camel.Converter\n"
+                + "    public Things.AwareThing toAwareThing(String value) {\n"
+                + "        return new Things.AwareThing(\"aware \" + value + \" \" + (typeConverter != null));\n"
+                + "    }\n"
+                + "}\n");
+
+        // only the converters discovered by the type converter file are processed
+        File services = new File(classes, "META-INF/services/org/apache/camel");
+        services.mkdirs();
+        Files.write(new File(services, "TypeConverter").toPath(), PACKAGE.getBytes("UTF-8"));
+
+        compile(compiler);
+
+        List<String> loaders = Files.readAllLines(new File(services, "TypeConverterLoader").toPath(), StandardCharsets.UTF_8);
+        assertTrue(loaders.contains(PACKAGE + ".FinalConverterLoader"));
+        assertTrue(loaders.contains(PACKAGE + ".PlainConverterLoader"));
+        assertTrue(loaders.contains(PACKAGE + ".StaticConverterLoader"));
+        assertTrue(loaders.contains(PACKAGE + ".AwareConverterLoader"));
+
+        ClassLoader old = Thread.currentThread().getContextClassLoader();
+        ClassLoader loader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, getClass().getClassLoader());
+        Thread.currentThread().setContextClassLoader(loader);
+        CamelContext context = new DefaultCamelContext();
+        try {
+            context.start();
+            assertEquals("final hello", convert(context, loader, "FinalThing"));
+            assertEquals("plain hello", convert(context, loader, "PlainThing"));
+            assertEquals("static hello", convert(context, loader, "StaticThing"));
+            assertEquals("aware hello true", convert(context, loader, "AwareThing"));
+        } finally {
+            context.stop();
+            Thread.currentThread().setContextClassLoader(old);
+        }
+    }
+
+    private void writeSource(String name, String body) throws Exception {
+        File file = new File(src, PACKAGE.replace('.', '/') + "/" + name + ".java");
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), ("package " + PACKAGE + ";\n\n" + body).getBytes("UTF-8"));
+    }
+
+    private void compile(JavaCompiler compiler) throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+        try {
+            List<File> files = new ArrayList<File>();
+            for (File file : new File(src, PACKAGE.replace('.', '/')).listFiles()) {
+                files.add(file);
+            }
+            List<String> options = Arrays.asList("-d", classes.getPath(), "-classpath", System.getProperty("java.class.path"));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(files));
+            task.setProcessors(Arrays.asList(new TypeConverterLoaderProcessor()));
+
+            boolean success = task.call();
+            StringBuilder sb = new StringBuilder();
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                    sb.append(diagnostic.getMessage(Locale.ENGLISH)).append("\n");
+                }
+            }
+            assertTrue("Compilation failed:\n" + sb, success);
+        } finally {
+            fileManager.close();
+        }
+    }
+
+    private String convert(CamelContext context, ClassLoader loader, String thing) throws Exception {
+        Class<?> type = loader.loadClass(PACKAGE + ".Things$" + thing);
+        TypeConverter converter = context.getTypeConverterRegistry().lookup(type, String.class);
+        assertNotNull("Should have converter to " + thing, converter);
+        // the converter should be from the generated loader
+        assertTrue(converter.getClass().getName(), converter.getClass().getName().endsWith("Loader$Converter"));
+
+        Object answer = context.getTypeConverter().mandatoryConvertTo(type, "hello");
+        return (String) answer.getClass().getMethod("getValue").invoke(answer);
+    }
+}
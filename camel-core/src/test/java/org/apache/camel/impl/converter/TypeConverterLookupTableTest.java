@@ -0,0 +1,172 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.lang.reflect.Array;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.LoggingLevel;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.support.TypeConverterSupport;
+
+/**
+ * @version 
+ */
+public class TypeConverterLookupTableTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setTypeConverterLookupTableEnabled(true);
+        return context;
+    }
+
+    private BaseTypeConverterRegistry getRegistry() {
+        return (BaseTypeConverterRegistry) context.getTypeConverterRegistry();
+    }
+
+    public void testLookupTableEnabled() throws Exception {
+        assertTrue(context.isTypeConverterLookupTableEnabled());
+        assertTrue(getRegistry().isLookupTableEnabled());
+    }
+
+    public void testConvert() throws Exception {
+        TypeConverter tc = context.getTypeConverter();
+        int before = getRegistry().getLookupTableSize();
+
+        assertEquals(Integer.valueOf(5), tc.convertTo(Integer.class, "5"));
+        assertEquals(before + 1, getRegistry().getLookupTableSize());
+        assertEquals(Integer.valueOf(7), tc.convertTo(Integer.class, "7"));
+        assertEquals(before + 1, getRegistry().getLookupTableSize());
+
+        // primitive types
+        assertEquals(Integer.valueOf(9), tc.convertTo(int.class, "9"));
+        assertEquals(Long.valueOf(10), tc.convertTo(long.class, "10"));
+        assertEquals(Long.valueOf(11), tc.convertTo(long.class, "11"));
+
+        // by the fallback type converters
+        assertEquals(LoggingLevel.WARN, tc.convertTo(LoggingLevel.class, "WARN"));
+        assertEquals(LoggingLevel.INFO, tc.convertTo(LoggingLevel.class, "INFO"));
+        assertEquals(TimeUnit.SECONDS, tc.convertTo(TimeUnit.class, "SECONDS"));
+    }
+
+    public void testMiss() throws Exception {
+        TypeConverter tc = context.getTypeConverter();
+
+        assertNull(tc.convertTo(MyOrder.class, "123"));
+        assertNull(tc.convertTo(MyOrder.class, "456"));
+        assertNull(tc.tryConvertTo(MyOrder.class, "789"));
+
+        // adding a type converter should clear the miss
+        context.getTypeConverterRegistry().addTypeConverter(MyOrder.class, String.class, new MyOrderTypeConverter());
+
+        MyOrder order = tc.convertTo(MyOrder.class, "123");
+        assertNotNull(order);
+        assertEquals(123, order.getId());
+
+        // and removing it should make it a miss again
+        assertTrue(context.getTypeConverterRegistry().removeTypeConverter(MyOrder.class, String.class));
+        assertNull(tc.convertTo(MyOrder.class, "123"));
+    }
+
+    public void testAddFallbackTypeConverter() throws Exception {
+        TypeConverter tc = context.getTypeConverter();
+
+        assertNull(tc.convertTo(MyOrder.class, "123"));
+
+        // a new fallback type converter may be able to convert what was a miss before
+        context.getTypeConverterRegistry().addFallbackTypeConverter(new MyOrderTypeConverter(), false);
+
+        MyOrder order = tc.convertTo(MyOrder.class, "123");
+        assertNotNull(order);
+        assertEquals(123, order.getId());
+    }
+
+    public void testDisable() throws Exception {
+        TypeConverter tc = context.getTypeConverter();
+        assertEquals(Integer.valueOf(5), tc.convertTo(Integer.class, "5"));
+        assertTrue(getRegistry().getLookupTableSize() > 0);
+
+        getRegistry().setLookupTableEnabled(false);
+        assertFalse(getRegistry().isLookupTableEnabled());
+        assertEquals(0, getRegistry().getLookupTableSize());
+
+        assertEquals(Integer.valueOf(6), tc.convertTo(Integer.class, "6"));
+        assertNull(tc.convertTo(MyOrder.class, "123"));
+    }
+
+    public void testBoundedNumberOfClasses() throws Exception {
+        TypeConverterLookupTable table = new TypeConverterLookupTable();
+        for (Class<?> type : new Class<?>[]{String.class, Integer.class, Long.class}) {
+            for (int i = 0; i < 200; i++) {
+                // use array types to get many distinct classes
+                type = Array.newInstance(type, 0).getClass();
+                table.put(Object.class, type, TypeConverterLookupTable.MISS, table.getGeneration());
+                assertTrue(table.getClassCount() <= TypeConverterLookupTable.MAX_CLASSES + 1);
+            }
+        }
+        // the table was cleared and started over when it hit the max number of classes
+        assertTrue(table.getGeneration() > 0);
+        assertTrue(table.size() < TypeConverterLookupTable.MAX_CLASSES);
+        assertNull(table.get(Object.class, String[].class));
+    }
+
+    public void testClearedOnRouteRemoval() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("foo").convertBodyTo(Integer.class).to("mock:result");
+            }
+        });
+        getMockEndpoint("mock:result").expectedBodiesReceived(5);
+        template.sendBody("direct:start", "5");
+        assertMockEndpointsSatisfied();
+        assertTrue(getRegistry().getLookupTableSize() > 0);
+
+        context.stopRoute("foo");
+        assertTrue(context.removeRoute("foo"));
+        assertEquals(0, getRegistry().getLookupTableSize());
+    }
+
+    private static final class MyOrder {
+        private final int id;
+
+        private MyOrder(int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
+    }
+
+    private static final class MyOrderTypeConverter extends TypeConverterSupport {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+            if (type == MyOrder.class && value instanceof String) {
+                return (T) new MyOrder(Integer.parseInt((String) value));
+            }
+            return null;
+        }
+    }
+}
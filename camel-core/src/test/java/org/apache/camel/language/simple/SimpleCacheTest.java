@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import org.apache.camel.Expression;
+import org.apache.camel.LanguageTestSupport;
+import org.apache.camel.Predicate;
+
+/**
+ * @version 
+ */
+public class SimpleCacheTest extends LanguageTestSupport {
+
+    @Override
+    protected String getLanguageName() {
+        return "simple";
+    }
+
+    private SimpleLanguage getSimple() {
+        return (SimpleLanguage) context.resolveLanguage("simple");
+    }
+
+    public void testCacheExpression() throws Exception {
+        SimpleLanguage simple = getSimple();
+        assertEquals(1000, simple.getCacheSize());
+
+        Expression exp = simple.createExpression("Hello ${body}");
+        assertSame(exp, simple.createExpression("Hello ${body}"));
+        assertNotSame(exp, simple.createExpression("Bye ${body}"));
+
+        exchange.getIn().setBody("World");
+        assertEquals("Hello World", exp.evaluate(exchange, String.class));
+
+        simple.clearCache();
+        assertNotSame(exp, simple.createExpression("Hello ${body}"));
+    }
+
+    public void testCachePredicate() throws Exception {
+        SimpleLanguage simple = getSimple();
+
+        Predicate predicate = simple.createPredicate("${body} == 'World'");
+        assertSame(predicate, simple.createPredicate("${body} == 'World'"));
+
+        exchange.getIn().setBody("World");
+        assertTrue(predicate.matches(exchange));
+        exchange.getIn().setBody("Camel");
+        assertFalse(predicate.matches(exchange));
+    }
+
+    public void testCacheDisabled() throws Exception {
+        SimpleLanguage simple = getSimple();
+        simple.setCacheSize(0);
+        assertEquals(0, simple.getCacheSize());
+
+        Expression exp = simple.createExpression("Hello ${body}");
+        assertNotSame(exp, simple.createExpression("Hello ${body}"));
+
+        simple.setCacheSize(10);
+        exp = simple.createExpression("Hello ${body}");
+        assertSame(exp, simple.createExpression("Hello ${body}"));
+    }
+
+    public void testChangeFunctionTokens() throws Exception {
+        SimpleLanguage simple = getSimple();
+        exchange.getIn().setBody("World");
+        assertEquals("Hello World", simple.createExpression("Hello ${body}").evaluate(exchange, String.class));
+
+        try {
+            SimpleLanguage.changeFunctionStartToken("[[");
+            SimpleLanguage.changeFunctionEndToken("]]");
+
+            // the cached expression must not be used as it was parsed with the old tokens
+            assertEquals("Hello ${body}", simple.createExpression("Hello ${body}").evaluate(exchange, String.class));
+        } finally {
+            SimpleLanguage.changeFunctionStartToken("${", "$simple{");
+            SimpleLanguage.changeFunctionEndToken("}");
+        }
+
+        assertEquals("Hello World", simple.createExpression("Hello ${body}").evaluate(exchange, String.class));
+    }
+
+    public void testLiteralOperators() throws Exception {
+        exchange.getIn().setBody("Camel");
+        exchange.getIn().setHeader("number", 5);
+        exchange.getIn().setHeader("pattern", "^C.*");
+
+        assertPredicate("${body} regex '^C.*'", true);
+        assertPredicate("${body} regex \"^D.*\"", false);
+        assertPredicate("${body} not regex '^D.*'", true);
+        assertPredicate("${body} regex ${header.pattern}", true);
+
+        assertPredicate("${body} in 'Camel,Donkey'", true);
+        assertPredicate("${body} not in 'Camel,Donkey'", false);
+        assertPredicate("${body} in 'Tiger,Donkey'", false);
+
+        assertPredicate("${header.number} range '1..10'", true);
+        assertPredicate("${header.number} not range '1..10'", false);
+        assertPredicate("${header.number} range '6..10'", false);
+    }
+
+}
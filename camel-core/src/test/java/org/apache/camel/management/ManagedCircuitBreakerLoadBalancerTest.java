@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class ManagedCircuitBreakerLoadBalancerTest extends ManagementTestSupport {
+
+    public void testManageCircuitBreaker() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        getMockEndpoint("mock:result").whenAnyExchangeReceived(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                if ("Kaboom".equals(exchange.getIn().getBody())) {
+                    throw new IllegalArgumentException("Forced");
+                }
+            }
+        });
+
+        template.sendBody("direct:start", "Hello World");
+        template.sendBody("direct:start", "Bye World");
+        template.send("direct:start", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setBody("Kaboom");
+            }
+        });
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName name = ObjectName.getInstance("org.apache.camel:context=camel-1,type=processors,name=\"myBreaker\"");
+        assertTrue(mbeanServer.isRegistered(name));
+
+        assertEquals(Boolean.TRUE, mbeanServer.getAttribute(name, "SlidingWindow"));
+        assertEquals(50, mbeanServer.getAttribute(name, "FailureRateThreshold"));
+        assertEquals(4, mbeanServer.getAttribute(name, "SlidingWindowSize"));
+        assertEquals("Closed", mbeanServer.getAttribute(name, "State"));
+        assertEquals(3, mbeanServer.getAttribute(name, "NumberOfCalls"));
+        assertEquals(1, mbeanServer.getAttribute(name, "NumberOfFailedCalls"));
+        assertEquals(33, mbeanServer.getAttribute(name, "FailureRate"));
+
+        template.send("direct:start", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setBody("Kaboom");
+            }
+        });
+        assertEquals("Open", mbeanServer.getAttribute(name, "State"));
+        assertEquals(50, mbeanServer.getAttribute(name, "FailureRate"));
+
+        mbeanServer.invoke(name, "resetState", null, null);
+        assertEquals("Closed", mbeanServer.getAttribute(name, "State"));
+        assertEquals(0, mbeanServer.getAttribute(name, "NumberOfCalls"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .loadBalance().id("myBreaker").slidingWindowCircuitBreaker(50, 4, 10000)
+                        .to("mock:result");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.w3c.dom.Document;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class ManagedLatencyHistogramTest extends ManagementTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getManagementStrategy().setLatencyHistogramEnabled(true);
+        return context;
+    }
+
+    public void testLatencyHistogram() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName route = ObjectName.getInstance("org.apache.camel:context=camel-1,type=routes,name=\"foo\"");
+        ObjectName processor = ObjectName.getInstance("org.apache.camel:context=camel-1,type=processors,name=\"mydelay\"");
+
+        // nothing recorded yet
+        assertEquals(Boolean.TRUE, mbeanServer.getAttribute(route, "LatencyHistogramEnabled"));
+        assertEquals(0L, mbeanServer.getAttribute(route, "ProcessingTimePercentile99"));
+
+        getMockEndpoint("mock:result").expectedMessageCount(5);
+
+        for (int i = 0; i < 5; i++) {
+            template.sendBody("direct:start", "Hello World");
+        }
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(Boolean.TRUE, mbeanServer.getAttribute(route, "LatencyHistogramEnabled"));
+        Long p50 = (Long) mbeanServer.getAttribute(route, "ProcessingTimePercentile50");
+        Long p99 = (Long) mbeanServer.getAttribute(route, "ProcessingTimePercentile99");
+        Long max = (Long) mbeanServer.getAttribute(route, "MaxProcessingTime");
+        assertTrue("Should be delayed, was " + p50, p50 >= 50);
+        assertTrue(p99 >= p50);
+        // the histogram reports the upper bound of the bucket
+        assertTrue(p99 >= max);
+
+        Long p999 = (Long) mbeanServer.invoke(processor, "getProcessingTimePercentile", new Object[]{99.9d}, new String[]{"double"});
+        assertTrue("Should be delayed, was " + p999, p999 >= 50);
+
+        String xml = (String) mbeanServer.invoke(route, "dumpRouteStatsAsXml", new Object[]{false, true}, new String[]{"boolean", "boolean"});
+        log.info(xml);
+        Document doc = context.getTypeConverter().convertTo(Document.class, xml);
+        assertNotNull(doc);
+        assertTrue(doc.getDocumentElement().hasAttribute("p99ProcessingTime"));
+        assertTrue(xml.contains("p999ProcessingTime"));
+
+        mbeanServer.invoke(route, "reset", null, null);
+        assertEquals(0L, mbeanServer.getAttribute(route, "ProcessingTimePercentile99"));
+    }
+
+    public void testLatencyHistogramDisabled() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        context.getManagementStrategy().setLatencyHistogramEnabled(false);
+        context.stop();
+        context.start();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName route = ObjectName.getInstance("org.apache.camel:context=camel-1,type=routes,name=\"foo\"");
+
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+        template.sendBody("direct:start", "Hello World");
+        assertMockEndpointsSatisfied();
+
+        assertEquals(Boolean.FALSE, mbeanServer.getAttribute(route, "LatencyHistogramEnabled"));
+        assertEquals(-1L, mbeanServer.getAttribute(route, "ProcessingTimePercentile99"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("foo")
+                        .delay(50).id("mydelay")
+                        .to("mock:result");
+            }
+        };
+    }
+
+}
@@ -153,6 +153,42 @@ public class ManagedMemoryIdempotentConsumerTest extends ManagementTestSupport {
         assertEquals(3L, count.longValue());
     }
 
+    public void testRepositoryStatistics() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        MBeanServer mbeanServer = getMBeanServer();
+
+        // processors
+        Set<ObjectName> names = mbeanServer.queryNames(new ObjectName("org.apache.camel" + ":type=processors,*"), null);
+        ObjectName on = null;
+        for (ObjectName name : names) {
+            if (name.toString().contains("idempotentConsumer")) {
+                on = name;
+                break;
+            }
+        }
+        assertTrue("Should be registered", mbeanServer.isRegistered(on));
+
+        resultEndpoint.expectedBodiesReceived("one", "two");
+
+        sendMessage("1", "one");
+        sendMessage("2", "two");
+        sendMessage("1", "one");
+        sendMessage("4", "four");
+
+        resultEndpoint.assertIsSatisfied();
+
+        Long hits = (Long) mbeanServer.getAttribute(on, "RepositoryHits");
+        assertEquals(2L, hits.longValue());
+        Long misses = (Long) mbeanServer.getAttribute(on, "RepositoryMisses");
+        assertEquals(3L, misses.longValue());
+        Long evicted = (Long) mbeanServer.getAttribute(on, "RepositoryEvicted");
+        assertEquals(0L, evicted.longValue());
+    }
+
     protected void sendMessage(final Object messageId, final Object body) {
         template.send(startEndpoint, new Processor() {
             public void process(Exchange exchange) {
@@ -22,6 +22,7 @@ import javax.management.ObjectName;
 
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.processor.aggregate.UseLatestAggregationStrategy;
+import org.apache.camel.support.HashedWheelTimer;
 
 /**
  * @version 
@@ -52,11 +53,11 @@ public class ManagedRemoveRouteAggregateThreadPoolTest extends ManagementTestSup
         boolean registered = mbeanServer.isRegistered(on);
         assertFalse("Route mbean should have been unregistered", registered);
 
-        // and no wire tap thread pool as we use an existing external pool
+        // the completion timeout is checked by the timer shared by the CamelContext
+        // so there is no thread pool of the route to remove, and the shared timer is kept
         Set<ObjectName> after = mbeanServer.queryNames(new ObjectName("*:type=threadpools,*"), null);
-
-        // there should be 1 less thread pool
-        assertTrue("There should be one less thread pool", before.size() - 1 == after.size());
+        assertEquals("There should be the same thread pools", before, after);
+        assertNotNull(context.hasService(HashedWheelTimer.class));
     }
 
     @Override
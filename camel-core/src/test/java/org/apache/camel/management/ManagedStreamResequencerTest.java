@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class ManagedStreamResequencerTest extends ManagementTestSupport {
+
+    public void testManageStreamResequencer() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        getMockEndpoint("mock:result").expectedBodiesReceived("A", "B", "D");
+
+        // 1 and 4 must wait for the gaps in front of them to time out
+        template.sendBodyAndHeader("direct:start", "A", "seqno", 1);
+        template.sendBodyAndHeader("direct:start", "B", "seqno", 2);
+        template.sendBodyAndHeader("direct:start", "D", "seqno", 4);
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName name = ObjectName.getInstance("org.apache.camel:context=camel-1,type=processors,name=\"myresequencer\"");
+        assertTrue(mbeanServer.isRegistered(name));
+
+        Long timeout = (Long) mbeanServer.getAttribute(name, "Timeout");
+        assertEquals(200, timeout.longValue());
+
+        Integer size = (Integer) mbeanServer.getAttribute(name, "Size");
+        assertEquals(0, size.intValue());
+
+        Long delivered = (Long) mbeanServer.getAttribute(name, "DeliveredCount");
+        assertEquals(3, delivered.longValue());
+
+        Long gaps = (Long) mbeanServer.getAttribute(name, "GapCount");
+        assertEquals(2, gaps.longValue());
+
+        Long timeouts = (Long) mbeanServer.getAttribute(name, "TimeoutCount");
+        assertEquals(2, timeouts.longValue());
+
+        mbeanServer.invoke(name, "resetResequencerStatistics", null, null);
+
+        gaps = (Long) mbeanServer.getAttribute(name, "GapCount");
+        assertEquals(0, gaps.longValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .resequence(header("seqno")).stream().timeout(200).id("myresequencer")
+                    .to("mock:result");
+            }
+        };
+    }
+}
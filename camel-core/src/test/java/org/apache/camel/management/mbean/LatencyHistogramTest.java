@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class LatencyHistogramTest extends TestCase {
+
+    public void testEmpty() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    public void testPercentiles() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram(6, 1000);
+        long now = 10000;
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i, now);
+        }
+        assertEquals(1000, histogram.getCount(now));
+
+        assertWithinPrecision(500, histogram.getValueAtPercentile(50, now));
+        assertWithinPrecision(990, histogram.getValueAtPercentile(99, now));
+        assertWithinPrecision(999, histogram.getValueAtPercentile(99.9, now));
+        assertWithinPrecision(1000, histogram.getValueAtPercentile(100, now));
+    }
+
+    public void testSmallValuesAreExact() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram(6, 1000);
+        for (int i = 0; i < 10; i++) {
+            histogram.record(i, 0);
+        }
+        histogram.record(-5, 0);
+        assertEquals(0, histogram.getValueAtPercentile(0, 0));
+        assertEquals(4, histogram.getValueAtPercentile(50, 0));
+        assertEquals(9, histogram.getValueAtPercentile(100, 0));
+    }
+
+    public void testSlidingWindows() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram(3, 1000);
+        histogram.record(5000, 0);
+        histogram.record(10, 1000);
+        histogram.record(10, 2000);
+        assertEquals(3, histogram.getCount(2500));
+        assertWithinPrecision(5000, histogram.getValueAtPercentile(100, 2500));
+
+        // the first window has now expired
+        assertEquals(2, histogram.getCount(3000));
+        assertEquals(10, histogram.getValueAtPercentile(100, 3000));
+
+        // recording into the recycled window should clear it
+        histogram.record(12, 3000);
+        assertEquals(3, histogram.getCount(3000));
+        assertEquals(12, histogram.getValueAtPercentile(100, 3000));
+
+        // all windows expired
+        assertEquals(0, histogram.getCount(10000));
+    }
+
+    public void testReset() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram(6, 1000);
+        histogram.record(100, 0);
+        assertEquals(1, histogram.getCount(0));
+        histogram.reset();
+        assertEquals(0, histogram.getCount(0));
+    }
+
+    public void testBuckets() throws Exception {
+        long[] values = {0, 1, 7, 8, 9, 15, 16, 17, 31, 32, 33, 100, 1000, 123456789L, LatencyHistogram.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.bucketIndex(value);
+            long highest = LatencyHistogram.highestValueInBucket(index);
+            assertTrue("Value " + value + " above " + highest, value <= highest);
+            assertWithinPrecision(value, highest);
+        }
+    }
+
+    public void testValuesAboveMaxAreClamped() throws Exception {
+        int last = LatencyHistogram.bucketIndex(LatencyHistogram.MAX_VALUE);
+        assertEquals(last, LatencyHistogram.bucketIndex(LatencyHistogram.MAX_VALUE + 1));
+        assertEquals(last, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+        assertEquals(LatencyHistogram.MAX_VALUE, LatencyHistogram.highestValueInBucket(last));
+
+        LatencyHistogram histogram = new LatencyHistogram(3, 1000);
+        histogram.record(Long.MAX_VALUE, 0);
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.getValueAtPercentile(100, 0));
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue("Expected " + expected + " but was " + actual, Math.abs(actual - expected) <= expected / 8 + 1);
+    }
+
+}
@@ -0,0 +1,251 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.EventObject;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.management.event.CircuitBreakerStateChangedEvent;
+import org.apache.camel.processor.loadbalancer.CircuitBreakerLoadBalancer;
+import org.apache.camel.support.EventNotifierSupport;
+
+/**
+ * @version 
+ */
+public class CircuitBreakerSlidingWindowTest extends ContextTestSupport {
+
+    private final List<String> events = new ArrayList<String>();
+    private CircuitBreakerLoadBalancer slow;
+    private CircuitBreakerLoadBalancer trial;
+    private final AtomicInteger trialCalls = new AtomicInteger();
+    private final CountDownLatch releaseTrials = new CountDownLatch(1);
+
+    private static class MyCustomException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        getMockEndpoint("mock:result").whenAnyExchangeReceived(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                if (exchange.getIn().getHeader("fail", Boolean.class)) {
+                    throw new MyCustomException();
+                }
+            }
+        });
+    }
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getManagementStrategy().addEventNotifier(new EventNotifierSupport() {
+            public void notify(EventObject event) throws Exception {
+                CircuitBreakerStateChangedEvent changed = (CircuitBreakerStateChangedEvent) event;
+                events.add(changed.getPreviousState() + "->" + changed.getState());
+            }
+
+            public boolean isEnabled(EventObject event) {
+                return event instanceof CircuitBreakerStateChangedEvent;
+            }
+        });
+        return context;
+    }
+
+    public void testFailureRateOpensCircuit() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(4);
+
+        assertNull(send("direct:start", false).getException());
+        assertNull(send("direct:start", false).getException());
+        assertTrue(send("direct:start", true).getException() instanceof MyCustomException);
+        // 2 of 4 calls failed which reaches the 50% threshold
+        assertTrue(send("direct:start", true).getException() instanceof MyCustomException);
+        assertTrue(send("direct:start", false).getException() instanceof RejectedExecutionException);
+
+        assertMockEndpointsSatisfied();
+        assertEquals("[Closed->Open]", events.toString());
+    }
+
+    public void testHalfOpenPermitsTrialCalls() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(7);
+
+        for (int i = 0; i < 4; i++) {
+            send("direct:start", true);
+        }
+        assertTrue(send("direct:start", false).getException() instanceof RejectedExecutionException);
+
+        Thread.sleep(600);
+        // the first trial call fails so the circuit opens again
+        assertTrue(send("direct:start", true).getException() instanceof MyCustomException);
+        assertTrue(send("direct:start", false).getException() instanceof RejectedExecutionException);
+
+        Thread.sleep(600);
+        assertNull(send("direct:start", false).getException());
+        assertEquals("[Closed->Open, Open->HalfOpen, HalfOpen->Open, Open->HalfOpen, HalfOpen->Closed]", events.toString());
+        assertNull(send("direct:start", false).getException());
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testSlowCallRateOpensCircuit() throws Exception {
+        getMockEndpoint("mock:slow").whenAnyExchangeReceived(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                Thread.sleep(exchange.getIn().getBody(Integer.class));
+            }
+        });
+
+        template.sendBody("direct:slow", 0);
+        template.sendBody("direct:slow", 100);
+        assertEquals("Closed", slow.getState());
+        template.sendBody("direct:slow", 100);
+        assertEquals("Open", slow.getState());
+        assertEquals(3, slow.getNumberOfCalls());
+        assertEquals(2, slow.getNumberOfSlowCalls());
+        assertEquals(0, slow.getNumberOfFailedCalls());
+
+        Exchange out = template.send("direct:slow", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setBody(0);
+            }
+        });
+        assertTrue(out.getException() instanceof RejectedExecutionException);
+
+        slow.reset();
+        assertEquals("Closed", slow.getState());
+        assertEquals(0, slow.getNumberOfCalls());
+    }
+
+    public void testConcurrentCallsOnlyGetThePermittedTrialCalls() throws Exception {
+        send("direct:trial", true);
+        send("direct:trial", true);
+        assertEquals("Open", trial.getState());
+        trialCalls.set(0);
+        Thread.sleep(150);
+
+        // many threads hits the circuit breaker as it changes to half open
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        List<Future<Exchange>> futures = new ArrayList<Future<Exchange>>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(executor.submit(new Callable<Exchange>() {
+                public Exchange call() throws Exception {
+                    start.await();
+                    return send("direct:trial", false);
+                }
+            }));
+        }
+        start.countDown();
+
+        // the trial calls are blocked so the rest must be rejected
+        long deadline = System.currentTimeMillis() + 10000;
+        int rejected = 0;
+        while (rejected < 18 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            rejected = 0;
+            for (Future<Exchange> future : futures) {
+                if (future.isDone()) {
+                    assertTrue(future.get().getException() instanceof RejectedExecutionException);
+                    rejected++;
+                }
+            }
+        }
+        assertEquals(18, rejected);
+        assertEquals(2, trialCalls.get());
+        assertEquals("HalfOpen", trial.getState());
+
+        releaseTrials.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        int succeeded = 0;
+        for (Future<Exchange> future : futures) {
+            if (future.get().getException() == null) {
+                succeeded++;
+            }
+        }
+        assertEquals(2, succeeded);
+        assertEquals(2, trialCalls.get());
+        assertEquals("Closed", trial.getState());
+    }
+
+    private Exchange send(String endpoint, final boolean fail) {
+        return template.send(endpoint, new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setBody("Hello");
+                exchange.getIn().setHeader("fail", fail);
+            }
+        });
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        slow = new CircuitBreakerLoadBalancer();
+        slow.setSlowCallRateThreshold(60);
+        slow.setSlowCallDurationThreshold(50);
+        slow.setSlidingWindowSize(10);
+        slow.setMinimumNumberOfCalls(3);
+        slow.setHalfOpenAfter(10000);
+
+        trial = new CircuitBreakerLoadBalancer();
+        trial.setFailureRateThreshold(50);
+        trial.setSlidingWindowSize(4);
+        trial.setMinimumNumberOfCalls(2);
+        trial.setHalfOpenAfter(100);
+        trial.setPermittedNumberOfCallsInHalfOpenState(2);
+
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .loadBalance().slidingWindowCircuitBreaker(50, 4, 500, MyCustomException.class)
+                        .to("mock:result");
+
+                from("direct:slow")
+                    .loadBalance(slow)
+                        .to("mock:slow");
+
+                from("direct:trial")
+                    .loadBalance(trial)
+                        .to("direct:trialTarget");
+
+                from("direct:trialTarget")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            trialCalls.incrementAndGet();
+                            if (exchange.getIn().getHeader("fail", Boolean.class)) {
+                                throw new MyCustomException();
+                            }
+                            releaseTrials.await(10, TimeUnit.SECONDS);
+                        }
+                    });
+            }
+        };
+    }
+}
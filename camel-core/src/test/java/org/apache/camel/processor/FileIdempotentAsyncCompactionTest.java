@@ -0,0 +1,179 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import junit.framework.TestCase;
+import org.apache.camel.CamelContext;
+import org.apache.camel.converter.IOConverter;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.processor.idempotent.FileIdempotentRepository;
+import org.apache.camel.support.LifecycleStrategySupport;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.LRUCache;
+
+/**
+ * @version 
+ */
+public class FileIdempotentAsyncCompactionTest extends TestCase {
+    private File store = new File("target/idempotentasyncstore.dat");
+    private CamelContext context;
+    private final Set<ThreadPoolExecutor> pools = new CopyOnWriteArraySet<ThreadPoolExecutor>();
+    private FileIdempotentRepository repo;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        FileUtil.deleteFile(store);
+        FileUtil.deleteFile(new File(store.getPath() + ".compact"));
+
+        // 5 elements in cache, and 50 bytes as max size limit for when compaction should start
+        context = new DefaultCamelContext();
+        context.addLifecycleStrategy(new LifecycleStrategySupport() {
+            @Override
+            public void onThreadPoolAdd(CamelContext camelContext, ThreadPoolExecutor threadPool, String id,
+                                        String sourceId, String routeId, String threadPoolProfileId) {
+                pools.add(threadPool);
+            }
+
+            @Override
+            public void onThreadPoolRemove(CamelContext camelContext, ThreadPoolExecutor threadPool) {
+                pools.remove(threadPool);
+            }
+        });
+        context.start();
+
+        repo = new FileIdempotentRepository(store, new LRUCache<String, Object>(5));
+        repo.setCamelContext(context);
+        repo.setMaxFileStoreSize(50);
+        repo.setAsyncCompaction(true);
+        repo.setFlushInterval(50);
+        repo.start();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        repo.stop();
+        context.stop();
+        super.tearDown();
+    }
+
+    public void testCamelContextRequired() throws Exception {
+        FileIdempotentRepository repo2 = new FileIdempotentRepository(store, new LRUCache<String, Object>(5));
+        repo2.setFlushInterval(50);
+        try {
+            repo2.start();
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public void testThreadPoolFromCamelContext() throws Exception {
+        // the thread pool is managed by camel
+        assertEquals(1, pools.size());
+        repo.stop();
+        assertTrue(pools.isEmpty());
+    }
+
+    public void testGroupCommit() throws Exception {
+        assertTrue(repo.add("AAAAAAAAAA"));
+        assertTrue(repo.add("BBBBBBBBBB"));
+        assertFalse(repo.add("AAAAAAAAAA"));
+
+        // the keys are flushed by the background task
+        waitForFileSize(22);
+        assertEquals("AAAAAAAAAA\nBBBBBBBBBB\n", IOConverter.toString(store));
+    }
+
+    public void testAsyncCompaction() throws Exception {
+        for (char c = 'A'; c <= 'F'; c++) {
+            assertTrue(repo.add(String.valueOf(c) + c + c + c + c + c + c + c + c + c));
+        }
+
+        // the store is compacted to the last 5 keys in the background
+        waitForFileSize(55);
+        assertFalse(new File(store.getPath() + ".compact").exists());
+
+        FileIdempotentRepository repo2 = new FileIdempotentRepository(store, new LRUCache<String, Object>(5));
+        repo2.start();
+        try {
+            assertFalse(repo2.contains("AAAAAAAAAA"));
+            assertTrue(repo2.contains("BBBBBBBBBB"));
+            assertTrue(repo2.contains("DDDDDDDDDD"));
+            assertTrue(repo2.contains("FFFFFFFFFF"));
+        } finally {
+            repo2.stop();
+        }
+    }
+
+    public void testRemoveAndCompaction() throws Exception {
+        for (char c = 'A'; c <= 'E'; c++) {
+            assertTrue(repo.add(String.valueOf(c) + c + c + c + c + c + c + c + c + c));
+        }
+        // the remove appends a tombstone, and the next add hits the limit and starts the compaction
+        assertTrue(repo.remove("BBBBBBBBBB"));
+        assertTrue(repo.add("FFFFFFFFFF"));
+        assertFalse(repo.contains("BBBBBBBBBB"));
+        assertTrue(repo.remove("CCCCCCCCCC"));
+
+        for (int i = 0; i < 100 && new File(store.getPath() + ".compact").exists(); i++) {
+            Thread.sleep(50);
+        }
+        repo.flush();
+
+        FileIdempotentRepository repo2 = new FileIdempotentRepository(store, new LRUCache<String, Object>(5));
+        repo2.start();
+        try {
+            assertTrue(repo2.contains("AAAAAAAAAA"));
+            assertFalse(repo2.contains("BBBBBBBBBB"));
+            assertFalse(repo2.contains("CCCCCCCCCC"));
+            assertTrue(repo2.contains("EEEEEEEEEE"));
+            assertTrue(repo2.contains("FFFFFFFFFF"));
+        } finally {
+            repo2.stop();
+        }
+    }
+
+    public void testRecoverCompactedStore() throws Exception {
+        repo.stop();
+        FileUtil.deleteFile(store);
+
+        // simulate a crash after the compacted file was written but before it was swapped in
+        File compact = new File(store.getPath() + ".compact");
+        FileWriter writer = new FileWriter(compact);
+        writer.write("AAAAAAAAAA\nBBBBBBBBBB\n");
+        writer.close();
+
+        repo.start();
+        assertTrue(repo.contains("AAAAAAAAAA"));
+        assertTrue(repo.contains("BBBBBBBBBB"));
+        assertFalse(compact.exists());
+    }
+
+    private void waitForFileSize(long size) throws Exception {
+        for (int i = 0; i < 100 && store.length() != size; i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(size, store.length());
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.component.mock.MockEndpoint;
 import org.apache.camel.processor.idempotent.FileIdempotentRepository;
 import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.util.LRUCache;
 
 /**
  * @version 
@@ -63,10 +64,25 @@ public class FileIdempotentRemoveTest extends ContextTestSupport {
 
         assertMockEndpointsSatisfied();
 
-        // remove should flush file so we will only see B in the file
+        // remove appends a tombstone for A to the file
         repo.remove("A");
 
         String data = context.getTypeConverter().convertTo(String.class, store);
+        assertEquals("A\nB\n\u0000A\nA\n\u0000A\n", data);
+
+        // so A is removed when the file is loaded
+        FileIdempotentRepository repo2 = new FileIdempotentRepository(store, new LRUCache<String, Object>(10));
+        repo2.start();
+        try {
+            assertFalse(repo2.contains("A"));
+            assertTrue(repo2.contains("B"));
+        } finally {
+            repo2.stop();
+        }
+
+        // and the tombstones are dropped when the store is trunked on stop
+        context.stop();
+        data = context.getTypeConverter().convertTo(String.class, store);
         assertEquals("B\n", data);
     }
 
@@ -0,0 +1,213 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.MessageHistory;
+import org.apache.camel.Navigate;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.interceptor.DefaultChannel;
+import org.apache.camel.support.ExpressionAdapter;
+
+/**
+ * @version 
+ */
+public class FusedProcessorTest extends ContextTestSupport {
+
+    private final AtomicInteger counter = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setProcessorFusionEnabled(true);
+        return context;
+    }
+
+    public void testFused() throws Exception {
+        FusedProcessor fused = assertFused("foo", 5);
+        assertIsInstanceOf(SetHeaderProcessor.class, fused.getSteps().get(0).getNextProcessor());
+        assertIsInstanceOf(ConvertBodyProcessor.class, fused.getSteps().get(4).getNextProcessor());
+
+        getMockEndpoint("mock:result").expectedBodiesReceived("Bye World");
+        getMockEndpoint("mock:result").expectedHeaderReceived("foo", 123);
+        getMockEndpoint("mock:result").message(0).header("bar").isNull();
+
+        template.sendBodyAndHeader("direct:start", "World", "bar", "removed");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testFusedMessageHistory() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+
+        template.sendBody("direct:start", "World");
+
+        assertMockEndpointsSatisfied();
+
+        // the fused steps are still recorded in the message history
+        List<MessageHistory> history = getMockEndpoint("mock:result").getReceivedExchanges().get(0)
+                .getProperty(Exchange.MESSAGE_HISTORY, List.class);
+        assertEquals(6, history.size());
+        assertEquals("setHeader", history.get(0).getNode().getShortName());
+        assertEquals("convertBodyTo", history.get(4).getNode().getShortName());
+        assertEquals("to", history.get(5).getNode().getShortName());
+    }
+
+    public void testFusedFilter() throws Exception {
+        FusedProcessor fused = assertFused("filter", 3);
+        assertIsInstanceOf(FilterProcessor.class, fused.getSteps().get(1).getNextProcessor());
+
+        getMockEndpoint("mock:filtered").expectedBodiesReceived("Hello Camel");
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello Camel", "Hello World");
+
+        template.sendBody("direct:filter", "Camel");
+        template.sendBody("direct:filter", "World");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testFusedRedelivery() throws Exception {
+        assertFused("redeliver", 3);
+
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World");
+        getMockEndpoint("mock:result").expectedHeaderReceived("counter", 1);
+        getMockEndpoint("mock:result").expectedHeaderReceived("flaky", "OK");
+
+        failures.set(2);
+        template.sendBody("direct:redeliver", "World");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(1, counter.get());
+    }
+
+    public void testFusedContinued() throws Exception {
+        assertFused("continued", 3);
+
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World");
+        getMockEndpoint("mock:result").expectedHeaderReceived("after", "yes");
+        getMockEndpoint("mock:result").message(0).header("flaky").isNull();
+
+        template.sendBody("direct:continued", "World");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testNotFusedWhenDisabled() throws Exception {
+        context.stop();
+        context.setProcessorFusionEnabled(false);
+        context.start();
+
+        assertNull(findFused(context.getRoute("foo").navigate()));
+
+        getMockEndpoint("mock:result").expectedBodiesReceived("Bye World");
+        template.sendBody("direct:start", "World");
+        assertMockEndpointsSatisfied();
+    }
+
+    private FusedProcessor assertFused(String routeId, int steps) {
+        FusedProcessor fused = findFused(context.getRoute(routeId).navigate());
+        assertNotNull("Should have fused the steps", fused);
+        assertEquals(steps, fused.getSteps().size());
+        return fused;
+    }
+
+    private static FusedProcessor findFused(Navigate<Processor> nav) {
+        if (nav == null || !nav.hasNext()) {
+            return null;
+        }
+        List<Processor> children = nav.next();
+        for (Processor child : children) {
+            if (child instanceof DefaultChannel && ((DefaultChannel) child).getNextProcessor() instanceof FusedProcessor) {
+                // the fused processor is wrapped in a single channel
+                return (FusedProcessor) ((DefaultChannel) child).getNextProcessor();
+            }
+            if (child instanceof Navigate) {
+                @SuppressWarnings("unchecked")
+                FusedProcessor answer = findFused((Navigate<Processor>) child);
+                if (answer != null) {
+                    return answer;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        final Expression flaky = new ExpressionAdapter() {
+            public Object evaluate(Exchange exchange) {
+                if (failures.getAndDecrement() > 0) {
+                    throw new IllegalArgumentException("Forced");
+                }
+                return "OK";
+            }
+        };
+        final Expression count = new ExpressionAdapter() {
+            public Object evaluate(Exchange exchange) {
+                return counter.incrementAndGet();
+            }
+        };
+
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                onException(IllegalStateException.class).continued(true);
+
+                from("direct:start").routeId("foo")
+                    .setHeader("foo", constant(123))
+                    .setBody(simple("Hello ${body}"))
+                    .transform(body().regexReplaceAll("Hello", "Bye"))
+                    .removeHeader("bar")
+                    .convertBodyTo(String.class)
+                    .to("mock:result");
+
+                from("direct:filter").routeId("filter")
+                    .setBody(simple("Hello ${body}"))
+                    .filter(body().contains("Camel"))
+                        .to("mock:filtered")
+                    .end()
+                    .setHeader("done", constant(true))
+                    .to("mock:result");
+
+                from("direct:redeliver").routeId("redeliver")
+                    .errorHandler(defaultErrorHandler().maximumRedeliveries(3).redeliveryDelay(0))
+                    .setHeader("counter", count)
+                    .setBody(simple("Hello ${body}"))
+                    .setHeader("flaky", flaky)
+                    .to("mock:result");
+
+                from("direct:continued").routeId("continued")
+                    .setBody(simple("Hello ${body}"))
+                    .setHeader("flaky").method(FusedProcessorTest.this, "forceFailure")
+                    .setHeader("after", constant("yes"))
+                    .to("mock:result");
+            }
+        };
+    }
+
+    public String forceFailure() {
+        throw new IllegalStateException("Forced");
+    }
+}
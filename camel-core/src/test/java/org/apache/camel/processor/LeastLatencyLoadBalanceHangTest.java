@@ -0,0 +1,151 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class LeastLatencyLoadBalanceHangTest extends ContextTestSupport {
+
+    private static final int THREADS = 10;
+    private static final int MESSAGES = 20;
+
+    private final AtomicBoolean hang = new AtomicBoolean();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger a = new AtomicInteger();
+    private final AtomicInteger b = new AtomicInteger();
+    private final AtomicInteger hung = new AtomicInteger();
+
+    @Override
+    protected void tearDown() throws Exception {
+        release.countDown();
+        super.tearDown();
+    }
+
+    public void testHangsFromFirstExchange() throws Exception {
+        hang.set(true);
+        sendConcurrently("direct:start");
+    }
+
+    public void testHangsAfterResponses() throws Exception {
+        // let all the processors record their latency before one of them hangs
+        for (int i = 0; i < 30; i++) {
+            template.sendBody("direct:start", "Warmup " + i);
+        }
+        a.set(0);
+        b.set(0);
+        hung.set(0);
+        hang.set(true);
+        sendConcurrently("direct:start");
+    }
+
+    public void testLeastOutstandingHangs() throws Exception {
+        hang.set(true);
+        sendConcurrently("direct:outstanding");
+    }
+
+    private void sendConcurrently(final String uri) throws Exception {
+        ExecutorService executor = context.getExecutorServiceManager().newFixedThreadPool(this, "LeastLatencyHang", THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(new Runnable() {
+                    public void run() {
+                        for (int j = 0; j < MESSAGES; j++) {
+                            template.sendBody(uri, "Message " + j);
+                        }
+                    }
+                }));
+            }
+
+            // each thread either sends all its messages or gets stuck on the hung processor
+            int done = 0;
+            long deadline = System.currentTimeMillis() + 20000;
+            while (done + hung.get() < THREADS && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+                done = 0;
+                for (Future<?> future : futures) {
+                    if (future.isDone()) {
+                        done++;
+                    }
+                }
+            }
+
+            // if the traffic did not move away from the hung processor then all the threads would be stuck
+            int stuck = hung.get();
+            assertTrue("Hung processor received " + stuck, stuck < THREADS);
+            assertEquals(THREADS - stuck, done);
+            assertTrue(a.get() + b.get() >= done * MESSAGES);
+        } finally {
+            release.countDown();
+            context.getExecutorServiceManager().shutdownNow(executor);
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                // use a short decay so the latency of the hung processor would have decayed while it hangs
+                from("direct:start").loadBalance().leastLatency(100, false).to("direct:hung", "direct:a", "direct:b");
+
+                from("direct:outstanding").loadBalance().leastLatency(100, true).to("direct:hung", "direct:a", "direct:b");
+
+                from("direct:a").process(new Work(a));
+                from("direct:b").process(new Work(b));
+                from("direct:hung").process(new Work(hung) {
+                    @Override
+                    public void process(Exchange exchange) throws Exception {
+                        if (hang.get()) {
+                            counter.incrementAndGet();
+                            release.await(30, TimeUnit.SECONDS);
+                        } else {
+                            super.process(exchange);
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    private static class Work implements Processor {
+        protected final AtomicInteger counter;
+
+        Work(AtomicInteger counter) {
+            this.counter = counter;
+        }
+
+        public void process(Exchange exchange) throws Exception {
+            Thread.sleep(5);
+            counter.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class LeastLatencyLoadBalanceTest extends ContextTestSupport {
+
+    protected MockEndpoint fast;
+    protected MockEndpoint slow;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        fast = getMockEndpoint("mock:fast");
+        slow = getMockEndpoint("mock:slow");
+        slow.whenAnyExchangeReceived(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                Thread.sleep(100);
+            }
+        });
+    }
+
+    public void testPowerOfTwoChoices() throws Exception {
+        sendMessages("direct:start");
+
+        // the slow endpoint may be tried once before its latency is known
+        assertTrue("Slow endpoint received " + slow.getReceivedCounter(), slow.getReceivedCounter() <= 1);
+        assertEquals(20 - slow.getReceivedCounter(), fast.getReceivedCounter());
+    }
+
+    public void testLeastOutstanding() throws Exception {
+        sendMessages("direct:outstanding");
+
+        assertTrue("Slow endpoint received " + slow.getReceivedCounter(), slow.getReceivedCounter() <= 1);
+        assertEquals(20 - slow.getReceivedCounter(), fast.getReceivedCounter());
+    }
+
+    private void sendMessages(String uri) throws Exception {
+        for (int i = 0; i < 20; i++) {
+            template.sendBody(uri, "Message " + i);
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                from("direct:start").loadBalance().leastLatency().to("mock:slow", "mock:fast");
+
+                from("direct:outstanding").loadBalance().leastLatency(10000, true).to("mock:slow", "mock:fast");
+            }
+        };
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import junit.framework.TestCase;
+import org.apache.camel.processor.idempotent.MemoryIdempotentRepository;
+import org.apache.camel.util.LRUCache;
+
+/**
+ * @version 
+ */
+public class MemoryIdempotentRepositoryTest extends TestCase {
+
+    public void testAddAndContains() throws Exception {
+        MemoryIdempotentRepository repo = (MemoryIdempotentRepository) MemoryIdempotentRepository.memoryIdempotentRepository(3);
+        repo.start();
+
+        assertTrue(repo.add("1"));
+        assertTrue(repo.add("2"));
+        assertFalse(repo.add("1"));
+        assertTrue(repo.contains("2"));
+        assertFalse(repo.contains("3"));
+
+        assertEquals(2, repo.getHits());
+        assertEquals(3, repo.getMisses());
+        assertEquals(0, repo.getEvicted());
+
+        // exceed the cache size
+        assertTrue(repo.add("3"));
+        assertTrue(repo.add("4"));
+        assertEquals(3, repo.getCacheSize());
+        assertEquals(1, repo.getEvicted());
+
+        assertTrue(repo.remove("4"));
+        assertFalse(repo.contains("4"));
+
+        repo.stop();
+    }
+
+    public void testExpireAfter() throws Exception {
+        doTestExpireAfter(new MemoryIdempotentRepository());
+    }
+
+    public void testExpireAfterCustomMap() throws Exception {
+        doTestExpireAfter(new MemoryIdempotentRepository(new LRUCache<String, Object>(10)));
+    }
+
+    private void doTestExpireAfter(MemoryIdempotentRepository repo) throws Exception {
+        repo.setExpireAfter(100);
+        repo.start();
+
+        assertTrue(repo.add("1"));
+        assertFalse(repo.add("1"));
+        assertTrue(repo.contains("1"));
+
+        Thread.sleep(250);
+
+        // should be expired so its no longer a duplicate, and the expired key is evicted
+        assertTrue(repo.add("1"));
+        assertFalse(repo.add("1"));
+        assertEquals(1, repo.getEvicted());
+
+        Thread.sleep(250);
+
+        assertFalse(repo.contains("1"));
+        assertEquals(2, repo.getEvicted());
+
+        repo.stop();
+    }
+
+    public void testCustomMap() throws Exception {
+        MemoryIdempotentRepository repo = new MemoryIdempotentRepository(new LRUCache<String, Object>(10));
+        repo.start();
+
+        assertTrue(repo.add("1"));
+        assertFalse(repo.add("1"));
+        assertTrue(repo.contains("1"));
+        assertTrue(repo.remove("1"));
+        assertFalse(repo.contains("1"));
+
+        repo.stop();
+    }
+
+    public void testConcurrentAdd() throws Exception {
+        final MemoryIdempotentRepository repo = new MemoryIdempotentRepository();
+        repo.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(executor.submit(new Callable<Integer>() {
+                public Integer call() throws Exception {
+                    int added = 0;
+                    for (int j = 0; j < 500; j++) {
+                        if (repo.add("" + j)) {
+                            added++;
+                        }
+                    }
+                    return added;
+                }
+            }));
+        }
+
+        int total = 0;
+        for (Future<Integer> future : futures) {
+            total += future.get();
+        }
+        executor.shutdownNow();
+
+        // each key should only be added once
+        assertEquals(500, total);
+        assertEquals(500, repo.getMisses());
+        assertEquals(4500, repo.getHits());
+
+        repo.stop();
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.aggregate.AggregationStrategy;
+
+/**
+ * @version 
+ */
+public class SplitterParallelMaxInFlightTest extends ContextTestSupport {
+
+    private static final int MAX_IN_FLIGHT = 3;
+
+    private final AtomicInteger pulled = new AtomicInteger();
+    private final AtomicInteger aggregated = new AtomicInteger();
+    private final AtomicInteger maxObserved = new AtomicInteger();
+
+    public void testMaxInFlight() throws Exception {
+        getMockEndpoint("mock:split").expectedMessageCount(50);
+        getMockEndpoint("mock:result").expectedBodiesReceived(50);
+
+        template.sendBody("direct:start", new CountingIterator(50));
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(50, pulled.get());
+        assertEquals(50, aggregated.get());
+        assertTrue("Should not have more than " + MAX_IN_FLIGHT + " in flight, was " + maxObserved.get(),
+                maxObserved.get() <= MAX_IN_FLIGHT);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .split(body(), new CountingAggregationStrategy()).streaming().parallelProcessing().maxInFlight(MAX_IN_FLIGHT)
+                        .to("mock:split")
+                        .delay(10).end()
+                    .end()
+                    .to("mock:result");
+            }
+        };
+    }
+
+    private final class CountingIterator implements Iterator<Integer> {
+        private final int size;
+
+        private CountingIterator(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pulled.get() < size;
+        }
+
+        @Override
+        public Integer next() {
+            int inFlight = pulled.incrementAndGet() - aggregated.get();
+            while (true) {
+                int max = maxObserved.get();
+                if (inFlight <= max || maxObserved.compareAndSet(max, inFlight)) {
+                    break;
+                }
+            }
+            return pulled.get();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private final class CountingAggregationStrategy implements AggregationStrategy {
+
+        @Override
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            int count = aggregated.incrementAndGet();
+            newExchange.getIn().setBody(count);
+            return newExchange;
+        }
+    }
+}
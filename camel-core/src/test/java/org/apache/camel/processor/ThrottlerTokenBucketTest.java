@@ -0,0 +1,188 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.ExpressionBuilder;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.util.ServiceHelper;
+
+/**
+ * @version 
+ */
+public class ThrottlerTokenBucketTest extends ContextTestSupport {
+
+    private final AtomicInteger accepted = new AtomicInteger();
+    private final AtomicInteger rejected = new AtomicInteger();
+
+    public void testBurst() throws Exception {
+        ManualClockThrottler throttler = createThrottler(5, 1000, false);
+
+        // the bucket holds 5 permits which are refilled with one every 200 millis
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, throttler.calculateDelay(createExchange()));
+        }
+        assertEquals(200, throttler.calculateDelay(createExchange()));
+
+        // the delayed exchange has taken the first refilled permit
+        throttler.advance(400);
+        assertEquals(0, throttler.calculateDelay(createExchange()));
+        assertEquals(200, throttler.calculateDelay(createExchange()));
+    }
+
+    public void testBurstRoute() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(5);
+
+        for (int i = 0; i < 6; i++) {
+            try {
+                template.sendBody("direct:burst", "Message " + i);
+            } catch (CamelExecutionException e) {
+                assertIsInstanceOf(ThrottlerRejectedExecutionException.class, e.getCause());
+                rejected.incrementAndGet();
+            }
+        }
+
+        assertMockEndpointsSatisfied();
+        assertEquals(1, rejected.get());
+    }
+
+    public void testRejectDoesNotConsumePermit() throws Exception {
+        ManualClockThrottler throttler = createThrottler(10, 1000, true);
+        throttler.setBurst(1);
+
+        process(throttler, 3);
+        assertEquals(1, accepted.get());
+        assertEquals(2, rejected.get());
+
+        // a permit is refilled every 100 millis, and the rejected exchanges did not take it
+        throttler.advance(100);
+        process(throttler, 2);
+        assertEquals(2, accepted.get());
+        assertEquals(3, rejected.get());
+    }
+
+    public void testPerKey() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("A1", "B1", "C1");
+
+        template.sendBodyAndHeader("direct:key", "A1", "customer", "A");
+        template.sendBodyAndHeader("direct:key", "B1", "customer", "B");
+        try {
+            template.sendBodyAndHeader("direct:key", "A2", "customer", "A");
+            fail("Should have thrown exception");
+        } catch (CamelExecutionException e) {
+            assertIsInstanceOf(ThrottlerRejectedExecutionException.class, e.getCause());
+        }
+        template.sendBodyAndHeader("direct:key", "C1", "customer", "C");
+
+        assertMockEndpointsSatisfied();
+
+        Throttler throttler = (Throttler) context.getProcessor("keyed");
+        assertTrue(throttler.isTokenBucket());
+        assertEquals(2, throttler.getKeyCount());
+    }
+
+    public void testAsyncDelayed() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(4);
+
+        // burst of 2, then the rest are delayed and not rejected
+        for (int i = 0; i < 4; i++) {
+            template.sendBody("direct:async", "Message " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    private ManualClockThrottler createThrottler(long max, long timePeriodMillis, boolean rejectExecution) throws Exception {
+        Processor counter = new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                accepted.incrementAndGet();
+            }
+        };
+        ManualClockThrottler throttler = new ManualClockThrottler(counter, max, timePeriodMillis, rejectExecution);
+        throttler.setTokenBucket(true);
+        ServiceHelper.startService(throttler);
+        return throttler;
+    }
+
+    private void process(Throttler throttler, int count) {
+        for (int i = 0; i < count; i++) {
+            Exchange exchange = createExchange();
+            throttler.process(exchange, new AsyncCallback() {
+                public void done(boolean doneSync) {
+                    // noop
+                }
+            });
+            if (exchange.getException() instanceof ThrottlerRejectedExecutionException) {
+                rejected.incrementAndGet();
+            }
+        }
+    }
+
+    private Exchange createExchange() {
+        return new DefaultExchange(context);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:burst")
+                    .throttle(5).timePeriodMillis(60000).tokenBucket().rejectExecution(true)
+                    .to("mock:result");
+
+                from("direct:key")
+                    .throttle(1).timePeriodMillis(10000).correlationExpression(header("customer")).maximumKeys(2).rejectExecution(true).id("keyed")
+                    .to("mock:result");
+
+                from("direct:async")
+                    .throttle(10).timePeriodMillis(1000).burst(2).asyncDelayed()
+                    .to("mock:result");
+            }
+        };
+    }
+
+    /**
+     * A throttler whose clock only moves when told to, so the tests do not depend on how fast they run.
+     */
+    private final class ManualClockThrottler extends Throttler {
+        private long now;
+
+        private ManualClockThrottler(Processor processor, long max, long timePeriodMillis, boolean rejectExecution) {
+            super(context, processor, ExpressionBuilder.constantExpression(max), timePeriodMillis, null, false, rejectExecution);
+        }
+
+        void advance(long millis) {
+            now += TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+
+        @Override
+        protected long currentNanoTime() {
+            return now;
+        }
+    }
+}
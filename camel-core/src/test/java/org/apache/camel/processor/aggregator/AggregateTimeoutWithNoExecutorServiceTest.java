@@ -20,11 +20,13 @@ import org.apache.camel.ContextTestSupport;
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.component.mock.MockEndpoint;
 import org.apache.camel.processor.aggregate.UseLatestAggregationStrategy;
+import org.apache.camel.support.HashedWheelTimer;
 
 public class AggregateTimeoutWithNoExecutorServiceTest extends ContextTestSupport {
-    public void testThreadUsedForEveryAggregatorWhenDefaultExecutorServiceUsed() throws Exception {
-        assertTrue("There should be a thread for every aggregator when using defaults", 
-                AggregateTimeoutWithExecutorServiceTest.aggregateThreadsCount() >= AggregateTimeoutWithExecutorServiceTest.NUM_AGGREGATORS);
+    public void testSharedTimerUsedWhenDefaultExecutorServiceUsed() throws Exception {
+        assertEquals("There should be no thread for every aggregator when using defaults", 
+                0, AggregateTimeoutWithExecutorServiceTest.aggregateThreadsCount());
+        assertNotNull("The aggregators should share the timer of the CamelContext", context.hasService(HashedWheelTimer.class));
         
         // sanity check to make sure were testing routes that work
         for (int i = 0; i < AggregateTimeoutWithExecutorServiceTest.NUM_AGGREGATORS; ++i) {
@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.async;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.spi.AsyncProcessorAwaitManager;
+
+/**
+ * @version 
+ */
+public class AsyncProcessorAwaitManagerPerRouteTest extends ContextTestSupport {
+
+    public void testThreadsBlockedPerRoute() throws Exception {
+        AsyncProcessorAwaitManager manager = context.getAsyncProcessorAwaitManager();
+        manager.getStatistics().setStatisticsEnabled(true);
+
+        getMockEndpoint("mock:result").expectedMessageCount(3);
+
+        template.requestBody("direct:foo", "Hello Camel", String.class);
+        template.requestBody("direct:foo", "Hello Camel", String.class);
+        template.requestBody("direct:bar", "Hello Camel", String.class);
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(3, manager.getStatistics().getThreadsBlocked());
+        // message history is disabled so the route id is taken from the unit of work
+        assertEquals(Long.valueOf(2), manager.getStatistics().getThreadsBlockedPerRoute().get("foo"));
+        assertEquals(Long.valueOf(1), manager.getStatistics().getThreadsBlockedPerRoute().get("bar"));
+        assertTrue(manager.getStatistics().getMinDuration() > 0);
+        assertTrue(manager.getStatistics().getMaxDuration() >= manager.getStatistics().getMinDuration());
+
+        manager.getStatistics().reset();
+        assertTrue(manager.getStatistics().getThreadsBlockedPerRoute().isEmpty());
+    }
+
+    public void testCallbackAlreadyDoneIsCounted() throws Exception {
+        AsyncProcessorAwaitManager manager = context.getAsyncProcessorAwaitManager();
+        manager.getStatistics().setStatisticsEnabled(true);
+
+        Exchange exchange = new DefaultExchange(context);
+        exchange.setFromRouteId("foo");
+        CountDownLatch latch = new CountDownLatch(1);
+        manager.countDown(exchange, latch);
+        manager.await(exchange, latch);
+
+        // the thread did not block but it is still counted, with zero wait duration
+        assertEquals(0, manager.size());
+        assertEquals(1, manager.getStatistics().getThreadsBlocked());
+        assertEquals(Long.valueOf(1), manager.getStatistics().getThreadsBlockedPerRoute().get("foo"));
+        assertEquals(0, manager.getStatistics().getTotalDuration());
+        assertEquals(0, manager.getStatistics().getMeanDuration());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                context.setMessageHistory(false);
+                context.addComponent("async", new MyAsyncComponent());
+
+                from("direct:foo").routeId("foo")
+                        .to("async:bye:camel?delay=10")
+                        .to("mock:result");
+
+                from("direct:bar").routeId("bar")
+                        .to("async:bye:camel?delay=10")
+                        .to("mock:result");
+            }
+        };
+    }
+
+}
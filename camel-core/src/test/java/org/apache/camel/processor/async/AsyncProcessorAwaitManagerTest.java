@@ -46,6 +46,7 @@ public class AsyncProcessorAwaitManagerTest extends ContextTestSupport {
         assertEquals(0, context.getAsyncProcessorAwaitManager().size());
         assertEquals(1, context.getAsyncProcessorAwaitManager().getStatistics().getThreadsBlocked());
         assertEquals(0, context.getAsyncProcessorAwaitManager().getStatistics().getThreadsInterrupted());
+        assertEquals(Long.valueOf(1), context.getAsyncProcessorAwaitManager().getStatistics().getThreadsBlockedPerRoute().get("myRoute"));
     }
 
     @Override
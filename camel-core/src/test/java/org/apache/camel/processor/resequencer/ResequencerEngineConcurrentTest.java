@@ -0,0 +1,78 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.apache.camel.TestSupport;
+
+/**
+ * @version 
+ */
+public class ResequencerEngineConcurrentTest extends TestSupport {
+
+    private ScheduledExecutorService scheduler;
+
+    public void setUp() throws Exception {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    public void tearDown() throws Exception {
+        scheduler.shutdownNow();
+    }
+
+    public void testConcurrentInsert() throws Exception {
+        SequenceBuffer<Integer> buffer = new SequenceBuffer<Integer>();
+        final ResequencerEngine<Integer> engine = new ResequencerEngine<Integer>(new IntegerComparator());
+        engine.setSequenceSender(buffer);
+        engine.setTimeout(5000);
+        engine.setLastDelivered(-1);
+        engine.setTimeoutScheduler(scheduler);
+        engine.start();
+
+        // producers insert interleaved elements in parallel without any synchronization
+        final int producers = 4;
+        final int input = 1000;
+        final CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            final int offset = p;
+            new Thread() {
+                public void run() {
+                    for (int i = offset; i < input; i += producers) {
+                        engine.insert(i);
+                    }
+                    done.countDown();
+                }
+            }.start();
+        }
+
+        // deliver concurrently with the producers
+        while (done.getCount() > 0 || engine.size() > 0) {
+            engine.deliver();
+        }
+        engine.stop();
+
+        for (int i = 0; i < input; i++) {
+            assertEquals((Integer) i, buffer.poll(0));
+        }
+        assertEquals(input, engine.getDeliveredCount());
+        assertEquals(0, engine.getTimeoutCount());
+    }
+
+}
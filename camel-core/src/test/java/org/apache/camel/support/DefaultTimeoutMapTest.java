@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import junit.framework.TestCase;
 import org.slf4j.Logger;
@@ -65,6 +66,39 @@ public class DefaultTimeoutMapTest extends TestCase {
         map.stop();
     }
 
+    public void testDefaultTimeoutMapTimer() throws Exception {
+        HashedWheelTimer timer = new HashedWheelTimer(executor, 10, TimeUnit.MILLISECONDS, 64);
+        timer.start();
+        final List<String> keys = new ArrayList<String>();
+        DefaultTimeoutMap<String, Integer> map = new DefaultTimeoutMap<String, Integer>(timer, 100, true) {
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                keys.add(key);
+                return true;
+            }
+        };
+        map.start();
+
+        map.put("A", 1, 50);
+        map.put("B", 2, 100);
+        map.put("C", 3, 50);
+        map.remove("C");
+        assertEquals(2, map.size());
+
+        Thread.sleep(300);
+        if (map.size() > 0) {
+            LOG.warn("Waiting extra due slow CI box");
+            Thread.sleep(1000);
+        }
+
+        assertEquals(0, map.size());
+        assertEquals("[A, B]", keys.toString());
+        assertEquals(0, timer.getPendingTimeouts());
+
+        map.stop();
+        timer.stop();
+    }
+
     public void testDefaultTimeoutMapForcePurge() throws Exception {
         DefaultTimeoutMap<String, Integer> map = new DefaultTimeoutMap<String, Integer>(executor, 100);
         map.start();
@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.util.CamelContextHelper;
+
+/**
+ * @version 
+ */
+public class HashedWheelTimerTest extends TestCase {
+
+    private ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+    private HashedWheelTimer timer;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        // a small wheel so timeouts span several rounds
+        timer = new HashedWheelTimer(executor, 10, TimeUnit.MILLISECONDS, 6);
+        timer.start();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        timer.stop();
+        executor.shutdownNow();
+        super.tearDown();
+    }
+
+    public void testTicksPerWheelRoundedUp() throws Exception {
+        assertEquals(8, timer.getTicksPerWheel());
+        assertEquals(10, timer.getTickDuration());
+    }
+
+    public void testExpireInOrder() throws Exception {
+        final List<String> expired = new CopyOnWriteArrayList<String>();
+        final CountDownLatch latch = new CountDownLatch(3);
+
+        final long start = System.nanoTime();
+        timer.newTimeout(new Task("C", expired, latch), 300, TimeUnit.MILLISECONDS);
+        timer.newTimeout(new Task("A", expired, latch), 20, TimeUnit.MILLISECONDS);
+        HashedWheelTimer.Timeout b = timer.newTimeout(new Task("B", expired, latch), 150, TimeUnit.MILLISECONDS);
+        assertEquals(3, timer.getPendingTimeouts());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        // never expire before the delay
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 300);
+        assertEquals("[A, B, C]", expired.toString());
+        assertTrue(b.isExpired());
+        assertFalse(b.cancel());
+        assertEquals(0, timer.getPendingTimeouts());
+    }
+
+    public void testCancel() throws Exception {
+        final List<String> expired = new CopyOnWriteArrayList<String>();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        HashedWheelTimer.Timeout a = timer.newTimeout(new Task("A", expired, latch), 50, TimeUnit.MILLISECONDS);
+        timer.newTimeout(new Task("B", expired, latch), 100, TimeUnit.MILLISECONDS);
+        assertTrue(a.cancel());
+        assertTrue(a.isCancelled());
+        assertFalse(a.cancel());
+        assertEquals(1, timer.getPendingTimeouts());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals("[B]", expired.toString());
+        assertFalse(a.isExpired());
+    }
+
+    public void testStopDiscardsTimeouts() throws Exception {
+        final List<String> expired = new CopyOnWriteArrayList<String>();
+        timer.newTimeout(new Task("A", expired, new CountDownLatch(1)), 50, TimeUnit.MILLISECONDS);
+        timer.stop();
+        assertEquals(0, timer.getPendingTimeouts());
+
+        Thread.sleep(100);
+        assertTrue(expired.isEmpty());
+    }
+
+    public void testSharedTimeoutTimer() throws Exception {
+        CamelContext context = new DefaultCamelContext();
+        context.start();
+        try {
+            HashedWheelTimer shared = CamelContextHelper.getTimeoutTimer(context);
+            assertSame(shared, CamelContextHelper.getTimeoutTimer(context));
+            assertTrue(shared.isStarted());
+
+            final List<String> expired = new CopyOnWriteArrayList<String>();
+            final CountDownLatch latch = new CountDownLatch(1);
+            shared.newTimeout(new Task("A", expired, latch), 50, TimeUnit.MILLISECONDS);
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals("[A]", expired.toString());
+        } finally {
+            context.stop();
+        }
+        // the shared timer is stopped with the context
+        assertNull(context.hasService(HashedWheelTimer.class));
+    }
+
+    private static final class Task implements Runnable {
+        private final String name;
+        private final List<String> expired;
+        private final CountDownLatch latch;
+
+        private Task(String name, List<String> expired, CountDownLatch latch) {
+            this.name = name;
+            this.expired = expired;
+            this.latch = latch;
+        }
+
+        public void run() {
+            expired.add(name);
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.TestSupport;
+
+/**
+ * @version 
+ */
+public class ByteTokenizerIteratorTest extends TestSupport {
+
+    private static final String[] INPUTS = {"", "x", "\n", "\n\n", "\na", "\n\na", "a\nb\nc", "a\nb\nc\n", "c\n\n", "a\n\nb", "a\n\n\n"};
+
+    public void testSameAsScanner() throws Exception {
+        for (String input : INPUTS) {
+            assertEquals("Input: " + input, scan(input, "\n"), tokenize(input, "\n", 1, false));
+            assertEquals("Input: " + input, scan(input, "\n"), tokenize(input, "\n", 1, true));
+        }
+    }
+
+    public void testSameAsScannerMultiByteToken() throws Exception {
+        for (String input : INPUTS) {
+            input = input.replace("\n", "\r\n");
+            assertEquals("Input: " + input, scan(input, "\r\n"), tokenize(input, "\r\n", 1, false));
+            assertEquals("Input: " + input, scan(input, "\r\n"), tokenize(input, "\r\n", 1, true));
+        }
+        // partial tokens must not match
+        assertEquals(scan("a\rb\r\nc\r", "\r\n"), tokenize("a\rb\r\nc\r", "\r\n", 1, true));
+    }
+
+    public void testGroup() throws Exception {
+        String s = "ABC\nDEF\nGHI\nJKL\nMNO\nPQR\nSTU\nVW";
+        List<String> parts = tokenize(s, "\n", 3, true);
+        assertEquals(3, parts.size());
+        assertEquals("ABC\nDEF\nGHI", parts.get(0));
+        assertEquals("JKL\nMNO\nPQR", parts.get(1));
+        assertEquals("STU\nVW", parts.get(2));
+
+        // no empty part after the trailing token
+        parts = tokenize("A\nB\nC\n", "\n", 2, false);
+        assertEquals(2, parts.size());
+        assertEquals("A\nB", parts.get(0));
+        assertEquals("C", parts.get(1));
+
+        parts = tokenize("A\nB\n", "\n", 2, false);
+        assertEquals(1, parts.size());
+        assertEquals("A\nB", parts.get(0));
+    }
+
+    public void testLargeParts() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            sb.append((char) ('a' + i % 26));
+        }
+        String line = sb.toString();
+        String input = line + "\n" + line + "\n" + "end";
+
+        List<String> parts = tokenize(input, "\n", 1, false);
+        assertEquals(3, parts.size());
+        assertEquals(line, parts.get(0));
+        assertEquals(line, parts.get(1));
+        assertEquals("end", parts.get(2));
+    }
+
+    public void testUtf8() throws Exception {
+        String input = "\u00A31\u00A7\u00A32\u00A7\u00E6\u00F8\u00E5";
+        InputStream in = new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+        ByteTokenizerIterator it = new ByteTokenizerIterator(in, "\u00A7", StandardCharsets.UTF_8, 1);
+
+        assertEquals("\u00A31", it.next());
+        assertEquals("\u00A32", it.next());
+        assertEquals("\u00E6\u00F8\u00E5", it.next());
+        assertFalse(it.hasNext());
+    }
+
+    public void testMalformedInput() throws Exception {
+        byte[] input = {'a', (byte) 0xFF, 'b', '\n', 'c', '\n', '\n', 'd'};
+
+        // replaced the same way as the scanner does for a stream
+        Scanner scanner = new Scanner(new ByteArrayInputStream(input), "UTF-8").useDelimiter("\n");
+        List<String> expected = new ArrayList<String>();
+        while (scanner.hasNext()) {
+            expected.add(scanner.next());
+        }
+        scanner.close();
+
+        ByteTokenizerIterator it = new ByteTokenizerIterator(new ByteArrayInputStream(input), "\n", StandardCharsets.UTF_8, 1);
+        List<String> parts = new ArrayList<String>();
+        while (it.hasNext()) {
+            parts.add((String) it.next());
+        }
+        it.close();
+        assertEquals(expected, parts);
+        assertEquals(4, parts.size());
+        assertEquals("a\uFFFDb", parts.get(0));
+
+        // or reported if asked for
+        it = new ByteTokenizerIterator(new ByteArrayInputStream(input), "\n", StandardCharsets.UTF_8, 1, CodingErrorAction.REPORT);
+        try {
+            it.next();
+            fail("Should have thrown exception");
+        } catch (RuntimeCamelException e) {
+            assertIsInstanceOf(MalformedInputException.class, e.getCause());
+        } finally {
+            it.close();
+        }
+    }
+
+    public void testIsSupported() throws Exception {
+        assertTrue(ByteTokenizerIterator.isSupported("\n", StandardCharsets.UTF_8));
+        assertTrue(ByteTokenizerIterator.isSupported(",", StandardCharsets.ISO_8859_1));
+        assertTrue(ByteTokenizerIterator.isSupported("\r\n", StandardCharsets.US_ASCII));
+        // regular expressions should use the scanner
+        assertFalse(ByteTokenizerIterator.isSupported("|", StandardCharsets.UTF_8));
+        assertFalse(ByteTokenizerIterator.isSupported("\\d", StandardCharsets.UTF_8));
+        assertFalse(ByteTokenizerIterator.isSupported("", StandardCharsets.UTF_8));
+        // multi byte charsets where the token may match inside a character
+        assertFalse(ByteTokenizerIterator.isSupported("\n", StandardCharsets.UTF_16));
+        assertFalse(ByteTokenizerIterator.isSupported("\n", Charset.forName("UTF-32")));
+    }
+
+    private static List<String> scan(String input, String token) {
+        Scanner scanner = new Scanner(input).useDelimiter(token);
+        List<String> answer = new ArrayList<String>();
+        while (scanner.hasNext()) {
+            answer.add(scanner.next());
+        }
+        scanner.close();
+        return answer;
+    }
+
+    private static List<String> tokenize(String input, String token, int group, boolean oneByteAtATime) throws IOException {
+        InputStream in = new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+        if (oneByteAtATime) {
+            in = new OneByteInputStream(in);
+        }
+        ByteTokenizerIterator it = new ByteTokenizerIterator(in, token, StandardCharsets.UTF_8, group);
+        List<String> answer = new ArrayList<String>();
+        while (it.hasNext()) {
+            answer.add((String) it.next());
+        }
+        it.close();
+        return answer;
+    }
+
+    private static final class OneByteInputStream extends FilterInputStream {
+
+        private OneByteInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return super.read(b, off, Math.min(1, len));
+        }
+    }
+
+}
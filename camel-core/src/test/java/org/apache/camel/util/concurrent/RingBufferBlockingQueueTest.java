@@ -0,0 +1,282 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class RingBufferBlockingQueueTest extends TestCase {
+
+    public void testCapacity() throws Exception {
+        assertEquals(2, new RingBufferBlockingQueue<String>(1).getCapacity());
+        assertEquals(8, new RingBufferBlockingQueue<String>(5).getCapacity());
+        assertEquals(16, new RingBufferBlockingQueue<String>(16).getCapacity());
+
+        try {
+            new RingBufferBlockingQueue<String>(0);
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public void testOfferPoll() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<String>(4);
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertNull(queue.peek());
+
+        assertTrue(queue.offer("A"));
+        assertTrue(queue.offer("B"));
+        assertTrue(queue.offer("C"));
+        assertTrue(queue.offer("D"));
+        assertFalse(queue.offer("E"));
+        assertEquals(4, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+        assertEquals("[A, B, C, D]", new ArrayList<String>(queue).toString());
+
+        assertEquals("A", queue.peek());
+        assertEquals("A", queue.poll());
+        assertTrue(queue.offer("E"));
+        assertEquals("B", queue.poll());
+        assertEquals("C", queue.poll());
+
+        List<String> drained = new ArrayList<String>();
+        assertEquals(1, queue.drainTo(drained, 1));
+        assertEquals(1, queue.drainTo(drained));
+        assertEquals("[D, E]", drained.toString());
+        assertTrue(queue.isEmpty());
+    }
+
+    public void testRemove() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<String>(4);
+        queue.offer("A");
+        queue.offer("B");
+        queue.offer("C");
+
+        assertTrue(queue.remove("B"));
+        assertFalse(queue.remove("B"));
+        assertFalse(queue.remove("D"));
+        assertEquals(2, queue.size());
+        // the removed slot is not freed until the consumers reach it
+        assertEquals(1, queue.remainingCapacity());
+        assertEquals("[A, C]", new ArrayList<String>(queue).toString());
+
+        assertTrue(queue.remove("A"));
+        assertEquals("C", queue.peek());
+        assertEquals(1, queue.size());
+        assertEquals(3, queue.remainingCapacity());
+
+        Iterator<String> it = queue.iterator();
+        assertEquals("C", it.next());
+        it.remove();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertEquals(4, queue.remainingCapacity());
+
+        // the slots can be reused after being removed
+        for (String s : new String[]{"E", "F", "G", "H"}) {
+            assertTrue(queue.offer(s));
+        }
+        assertTrue(queue.remove("H"));
+        assertEquals("E", queue.poll());
+        assertEquals("F", queue.poll());
+        assertEquals("G", queue.poll());
+        assertNull(queue.poll());
+    }
+
+    public void testRemoveConcurrentWithConsumers() throws Exception {
+        final RingBufferBlockingQueue<Long> queue = new RingBufferBlockingQueue<Long>(1024);
+        final int count = 1000;
+        for (long i = 0; i < count; i++) {
+            queue.put(i);
+        }
+
+        final AtomicLong taken = new AtomicLong();
+        final CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(new Runnable() {
+                public void run() {
+                    while (queue.poll() != null) {
+                        taken.incrementAndGet();
+                    }
+                    latch.countDown();
+                }
+            });
+            long removedCount = 0;
+            for (long i = count - 1; i >= 0; i--) {
+                if (queue.remove(i)) {
+                    removedCount++;
+                }
+            }
+            assertTrue("Should complete", latch.await(10, TimeUnit.SECONDS));
+
+            // each element is either taken or removed but never both
+            assertEquals(count, taken.get() + removedCount);
+            assertTrue(queue.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public void testTimeout() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<String>(2, RingBufferBlockingQueue.WaitStrategy.Park);
+        assertNull(queue.poll(50, TimeUnit.MILLISECONDS));
+
+        assertTrue(queue.offer("A", 50, TimeUnit.MILLISECONDS));
+        assertTrue(queue.offer("B", 50, TimeUnit.MILLISECONDS));
+        assertFalse(queue.offer("C", 50, TimeUnit.MILLISECONDS));
+    }
+
+    public void testInterrupt() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<String>(2);
+        Thread.currentThread().interrupt();
+        try {
+            queue.take();
+            fail("Should have thrown exception");
+        } catch (InterruptedException e) {
+            // expected
+        }
+    }
+
+    public void testIdleConsumerBlocks() throws Exception {
+        final RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<String>(2, RingBufferBlockingQueue.WaitStrategy.Park);
+        final List<String> taken = new ArrayList<String>();
+        Thread consumer = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    taken.add(queue.take());
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+            }
+        });
+        consumer.start();
+
+        // the idle consumer should stop parking with a timeout and block until signalled
+        awaitState(consumer, Thread.State.WAITING);
+
+        queue.put("A");
+        consumer.join(5000);
+        assertFalse(consumer.isAlive());
+        assertEquals("A", taken.get(0));
+    }
+
+    public void testIdleProducerBlocks() throws Exception {
+        final RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<String>(2, RingBufferBlockingQueue.WaitStrategy.Park);
+        queue.put("A");
+        queue.put("B");
+        Thread producer = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    queue.put("C");
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+            }
+        });
+        producer.start();
+
+        awaitState(producer, Thread.State.WAITING);
+
+        assertEquals("A", queue.take());
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        assertEquals("B", queue.take());
+        assertEquals("C", queue.take());
+    }
+
+    private static void awaitState(Thread thread, Thread.State state) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (thread.getState() != state && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(state, thread.getState());
+    }
+
+    public void testProducersConsumersSpin() throws Exception {
+        doTestProducersConsumers(RingBufferBlockingQueue.WaitStrategy.Spin);
+    }
+
+    public void testProducersConsumersYield() throws Exception {
+        doTestProducersConsumers(RingBufferBlockingQueue.WaitStrategy.Yield);
+    }
+
+    public void testProducersConsumersPark() throws Exception {
+        doTestProducersConsumers(RingBufferBlockingQueue.WaitStrategy.Park);
+    }
+
+    private void doTestProducersConsumers(RingBufferBlockingQueue.WaitStrategy waitStrategy) throws Exception {
+        final RingBufferBlockingQueue<Long> queue = new RingBufferBlockingQueue<Long>(16, waitStrategy);
+        final int threads = 3;
+        final int count = 10000;
+        final AtomicLong sum = new AtomicLong();
+        final CountDownLatch latch = new CountDownLatch(threads * 2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads * 2);
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.submit(new Runnable() {
+                    public void run() {
+                        try {
+                            for (long j = 1; j <= count; j++) {
+                                queue.put(j);
+                            }
+                        } catch (InterruptedException e) {
+                            // ignore
+                        } finally {
+                            latch.countDown();
+                        }
+                    }
+                });
+                executor.submit(new Runnable() {
+                    public void run() {
+                        try {
+                            for (int j = 0; j < count; j++) {
+                                sum.addAndGet(queue.take());
+                            }
+                        } catch (InterruptedException e) {
+                            // ignore
+                        } finally {
+                            latch.countDown();
+                        }
+                    }
+                });
+            }
+
+            assertTrue("Should complete", latch.await(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long expected = threads * ((long) count * (count + 1) / 2);
+        assertEquals(expected, sum.get());
+        assertTrue(queue.isEmpty());
+    }
+}
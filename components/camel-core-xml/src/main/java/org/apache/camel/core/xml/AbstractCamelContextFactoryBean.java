@@ -78,6 +78,7 @@ import org.apache.camel.spi.EventFactory;
 import org.apache.camel.spi.EventNotifier;
 import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.FactoryFinderResolver;
+import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.spi.InflightRepository;
 import org.apache.camel.spi.InterceptStrategy;
 import org.apache.camel.spi.LifecycleStrategy;
@@ -454,6 +455,11 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
             if (loadStatisticsEnabled != null) {
                 getContext().getManagementStrategy().setLoadStatisticsEnabled(loadStatisticsEnabled);
             }
+
+            Boolean latencyHistogramEnabled = CamelContextHelper.parseBoolean(getContext(), camelJMXAgent.getLatencyHistogramEnabled());
+            if (latencyHistogramEnabled != null) {
+                getContext().getManagementStrategy().setLatencyHistogramEnabled(latencyHistogramEnabled);
+            }
         }
     }
 
@@ -975,6 +981,11 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
             LOG.info("Using custom UuidGenerator: {}", uuidGenerator);
             getContext().setUuidGenerator(uuidGenerator);
         }
+        HeadersMapFactory headersMapFactory = getBeanForType(HeadersMapFactory.class);
+        if (headersMapFactory != null) {
+            LOG.info("Using custom HeadersMapFactory: {}", headersMapFactory);
+            getContext().setHeadersMapFactory(headersMapFactory);
+        }
         NodeIdFactory nodeIdFactory = getBeanForType(NodeIdFactory.class);
         if (nodeIdFactory != null) {
             LOG.info("Using custom NodeIdFactory: {}", nodeIdFactory);
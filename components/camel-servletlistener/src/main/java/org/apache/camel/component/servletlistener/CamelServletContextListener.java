@@ -318,6 +318,12 @@ public abstract class CamelServletContextListener<R extends Registry> implements
                 if (statisticsEnabled != null) {
                     camelContext.getManagementStrategy().setLoadStatisticsEnabled(statisticsEnabled);
                 }
+
+                String latencyHistogramEnabled = (String) properties.remove("latencyHistogramEnabled");
+                Boolean histogramEnabled = CamelContextHelper.parseBoolean(camelContext, latencyHistogramEnabled);
+                if (histogramEnabled != null) {
+                    camelContext.getManagementStrategy().setLatencyHistogramEnabled(histogramEnabled);
+                }
             }
             // validate we could set all parameters
             if (!properties.isEmpty()) {
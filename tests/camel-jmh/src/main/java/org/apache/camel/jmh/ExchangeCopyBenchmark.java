@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks copying an exchange, as done by the EIPs which send copies such as the multicast and wire tap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExchangeCopyBenchmark {
+
+    @Param({"5", "20"})
+    int headers;
+
+    @Param({"false", "true"})
+    boolean copyOnWriteHeaders;
+
+    private CamelContext context;
+    private Exchange exchange;
+
+    @Setup
+    public void setup() throws Exception {
+        context = new DefaultCamelContext();
+        context.setCopyOnWriteHeaders(copyOnWriteHeaders);
+        context.start();
+
+        exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        for (int i = 0; i < headers; i++) {
+            exchange.getIn().setHeader("header" + i, "value" + i);
+            exchange.setProperty("property" + i, i);
+        }
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        context.stop();
+    }
+
+    @Benchmark
+    public Exchange copy() {
+        return exchange.copy();
+    }
+
+    @Benchmark
+    public Exchange copyAndSetHeader() {
+        Exchange copy = exchange.copy();
+        copy.getIn().setHeader("header0", "changed");
+        return copy;
+    }
+}
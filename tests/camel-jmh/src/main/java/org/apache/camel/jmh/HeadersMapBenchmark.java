@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.impl.DefaultHeadersMapFactory;
+import org.apache.camel.impl.HashHeadersMapFactory;
+import org.apache.camel.spi.HeadersMapFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the case insensitive header maps created by the {@link HeadersMapFactory} implementations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HeadersMapBenchmark {
+
+    @Param({"default", "hash"})
+    String factory;
+
+    private HeadersMapFactory headersMapFactory;
+    private Map<String, Object> headers;
+    private String[] keys;
+
+    @Setup
+    public void setup() {
+        headersMapFactory = "hash".equals(factory) ? new HashHeadersMapFactory() : new DefaultHeadersMapFactory();
+        headers = headersMapFactory.newMap();
+        keys = new String[10];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "CamelHeader" + i;
+            headers.put(keys[i], i);
+        }
+    }
+
+    @Benchmark
+    public void get(Blackhole bh) {
+        for (String key : keys) {
+            bh.consume(headers.get(key));
+        }
+    }
+
+    @Benchmark
+    public Object getOtherCase() {
+        return headers.get("camelheader5");
+    }
+
+    @Benchmark
+    public Map<String, Object> putAll() {
+        Map<String, Object> map = headersMapFactory.newMap();
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Map<String, Object> copy() {
+        return headersMapFactory.newMap(headers);
+    }
+}
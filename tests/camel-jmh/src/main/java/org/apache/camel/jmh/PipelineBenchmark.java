@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultConsumer;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.model.RouteDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks routing an exchange through a route with a pipeline of steps, where each step is wrapped in
+ * a channel with the internal processor advices. The plain benchmark invokes the same processors directly,
+ * which is the baseline for the overhead added by the routing engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PipelineBenchmark {
+
+    @Param({"1", "5", "10"})
+    int steps;
+
+    private CamelContext context;
+    private Processor route;
+    private Processor step;
+
+    @Setup
+    public void setup() throws Exception {
+        step = new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setHeader("step", exchange.getIn().getBody());
+            }
+        };
+
+        context = new DefaultCamelContext();
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                RouteDefinition route = from("direct:start").routeId("pipeline");
+                for (int i = 0; i < steps; i++) {
+                    route.process(step);
+                }
+            }
+        });
+        context.start();
+        // invoke the route directly so the producer and direct component is not measured
+        route = ((DefaultConsumer) context.getRoute("pipeline").getConsumer()).getProcessor();
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        context.stop();
+    }
+
+    @Benchmark
+    public void route(Blackhole bh) throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        route.process(exchange);
+        bh.consume(exchange);
+    }
+
+    @Benchmark
+    public void plain(Blackhole bh) throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        for (int i = 0; i < steps; i++) {
+            step.process(exchange);
+        }
+        bh.consume(exchange);
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Producer;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.ProducerCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks acquiring and releasing a producer from the producer cache, with and without resolving
+ * the endpoint by uri as done by the dynamic EIPs such as the recipient list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProducerCacheBenchmark {
+
+    private CamelContext context;
+    private ProducerCache cache;
+    private Endpoint endpoint;
+
+    @Setup
+    public void setup() throws Exception {
+        context = new DefaultCamelContext();
+        context.start();
+        cache = new ProducerCache(this, context);
+        cache.start();
+        endpoint = context.getEndpoint("log:foo");
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        cache.stop();
+        context.stop();
+    }
+
+    @Benchmark
+    public Producer acquireAndRelease() throws Exception {
+        Producer producer = cache.acquireProducer(endpoint);
+        cache.releaseProducer(endpoint, producer);
+        return producer;
+    }
+
+    @Benchmark
+    public Producer resolveAcquireAndRelease() throws Exception {
+        Endpoint resolved = context.getEndpoint("log:foo");
+        Producer producer = cache.acquireProducer(resolved);
+        cache.releaseProducer(resolved, producer);
+        return producer;
+    }
+}
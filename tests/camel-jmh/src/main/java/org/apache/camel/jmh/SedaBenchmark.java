@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks the hand-off of exchanges from a seda producer to seda consumers.
+ * <p/>
+ * The queue is bounded and blocks when full, so the throughput is limited by the consumers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SedaBenchmark {
+
+    @Param({"1", "4"})
+    int concurrentConsumers;
+
+    private CamelContext context;
+    private Producer producer;
+    private Endpoint endpoint;
+
+    @Setup
+    public void setup() throws Exception {
+        context = new DefaultCamelContext();
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:bench?size=10000&blockWhenFull=true&concurrentConsumers=" + concurrentConsumers)
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            // noop
+                        }
+                    });
+            }
+        });
+        context.start();
+        endpoint = context.getEndpoint("seda:bench?size=10000&blockWhenFull=true&concurrentConsumers=" + concurrentConsumers);
+        producer = endpoint.createProducer();
+        producer.start();
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        producer.stop();
+        context.stop();
+    }
+
+    @Benchmark
+    public Exchange send() throws Exception {
+        Exchange exchange = endpoint.createExchange(ExchangePattern.InOnly);
+        exchange.getIn().setBody("Hello World");
+        producer.process(exchange);
+        return exchange;
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.spi.Language;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks parsing and evaluating expressions and predicates in the simple language.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SimpleBenchmark {
+
+    private static final String EXPRESSION = "Hello ${header.name} you are ${body.length} long";
+    private static final String PREDICATE = "${header.name} == 'Camel' && ${header.age} > 5";
+
+    private CamelContext context;
+    private Language simple;
+    private Exchange exchange;
+    private Expression expression;
+    private Predicate predicate;
+
+    @Setup
+    public void setup() throws Exception {
+        context = new DefaultCamelContext();
+        context.start();
+        simple = context.resolveLanguage("simple");
+        expression = simple.createExpression(EXPRESSION);
+        predicate = simple.createPredicate(PREDICATE);
+
+        exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("name", "Camel");
+        exchange.getIn().setHeader("age", 7);
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        context.stop();
+    }
+
+    @Benchmark
+    public Object evaluateExpression() {
+        return expression.evaluate(exchange, String.class);
+    }
+
+    @Benchmark
+    public boolean evaluatePredicate() {
+        return predicate.matches(exchange);
+    }
+
+    @Benchmark
+    public Object parseAndEvaluateExpression() {
+        return simple.createExpression(EXPRESSION).evaluate(exchange, String.class);
+    }
+
+    @Benchmark
+    public boolean parseAndEvaluatePredicate() {
+        return simple.createPredicate(PREDICATE).matches(exchange);
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks type conversions through the type converter registry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TypeConverterBenchmark {
+
+    private CamelContext context;
+    private TypeConverter converter;
+    private Object stringValue = "12345";
+    private Object integerValue = 12345;
+    private Object bytesValue = "Hello World".getBytes();
+
+    @Setup
+    public void setup() throws Exception {
+        context = new DefaultCamelContext();
+        context.start();
+        converter = context.getTypeConverter();
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        context.stop();
+    }
+
+    @Benchmark
+    public Object sameType() {
+        return converter.convertTo(String.class, stringValue);
+    }
+
+    @Benchmark
+    public Object stringToInteger() {
+        return converter.convertTo(Integer.class, stringValue);
+    }
+
+    @Benchmark
+    public Object integerToString() {
+        return converter.convertTo(String.class, integerValue);
+    }
+
+    @Benchmark
+    public Object bytesToString() {
+        return converter.convertTo(String.class, bytesValue);
+    }
+
+    @Benchmark
+    public Object stringToBytes() {
+        return converter.convertTo(byte[].class, stringValue);
+    }
+
+    @Benchmark
+    public Object noConverter() {
+        // a miss which is remembered by the registry
+        return converter.tryConvertTo(Thread.class, stringValue);
+    }
+}
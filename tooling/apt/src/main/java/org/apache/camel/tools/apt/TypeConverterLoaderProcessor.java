@@ -0,0 +1,481 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.tools.apt;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+import static org.apache.camel.tools.apt.IOHelper.loadText;
+
+/**
+ * Process all the classes annotated with <tt>@Converter</tt> and generate a reflection free
+ * <tt>TypeConverterLoader</tt> for each of them, which is listed in the
+ * <tt>META-INF/services/org/apache/camel/TypeConverterLoader</tt> file.
+ * <p/>
+ * Only the converter classes which would be discovered by the <tt>META-INF/services/org/apache/camel/TypeConverter</tt>
+ * file of the module are processed, and if the module has no such file then nothing is generated.
+ * <p/>
+ * camel-core is detected by its <tt>TypeConverter</tt> file only listing the <tt>org.apache.camel.core</tt> placeholder
+ * package, as its type converters are loaded by the <tt>CoreTypeConverterLoader</tt> instead. All its converter classes
+ * are processed, and the loaders are listed in the <tt>META-INF/services/org/apache/camel/CoreTypeConverterLoader</tt>
+ * file so they are not loaded a second time when the other JARs on the classpath are loaded.
+ */
+@SupportedAnnotationTypes({"org.apache.camel.Converter"})
+@SupportedSourceVersion(SourceVersion.RELEASE_7)
+public class TypeConverterLoaderProcessor extends AbstractAnnotationProcessor {
+
+    private static final String CONVERTER = "org.apache.camel.Converter";
+    private static final String FALLBACK_CONVERTER = "org.apache.camel.FallbackConverter";
+    private static final String EXCHANGE = "org.apache.camel.Exchange";
+    private static final String TYPE_CONVERTER_REGISTRY = "org.apache.camel.spi.TypeConverterRegistry";
+    private static final String TYPE_CONVERTER_AWARE = "org.apache.camel.spi.TypeConverterAware";
+    private static final String SERVICES_PACKAGE = "META-INF/services/org/apache/camel";
+    private static final String CORE_PACKAGE = "org.apache.camel.core";
+
+    private final Set<String> loaders = new TreeSet<String>();
+    private Set<String> services;
+    private boolean core;
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (!loaders.isEmpty()) {
+                writeServicesFile();
+            }
+            return false;
+        }
+
+        if (services == null) {
+            services = loadServices();
+            core = services.size() == 1 && services.contains(CORE_PACKAGE);
+        }
+        if (services.isEmpty()) {
+            return false;
+        }
+
+        TypeElement converter = processingEnv.getElementUtils().getTypeElement(CONVERTER);
+        if (converter == null) {
+            return false;
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(converter)) {
+            if (element instanceof TypeElement) {
+                TypeElement classElement = (TypeElement) element;
+                if (isDiscovered(classElement)) {
+                    processConverterClass(classElement);
+                }
+            }
+        }
+
+        // do not claim the annotation as other processors may want it
+        return false;
+    }
+
+    /**
+     * Loads the package and class names from the <tt>TypeConverter</tt> file of the module
+     */
+    protected Set<String> loadServices() {
+        Set<String> answer = new LinkedHashSet<String>();
+        String text;
+        try {
+            FileObject resource = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", SERVICES_PACKAGE + "/TypeConverter");
+            InputStream is = resource.openInputStream();
+            text = loadText(is, true);
+        } catch (Exception e) {
+            // the module has no type converters to be discovered
+            return answer;
+        }
+        for (String line : text.split("\n")) {
+            line = line.trim();
+            if (line.startsWith("#") || line.length() == 0) {
+                continue;
+            }
+            for (String name : line.split(",")) {
+                name = name.trim();
+                if (name.length() > 0) {
+                    answer.add(name);
+                }
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Whether the converter class would be discovered by the annotation type converter loader at runtime
+     */
+    protected boolean isDiscovered(TypeElement classElement) {
+        // only top level and static nested classes can be instantiated as converters
+        if (classElement.getKind() != ElementKind.CLASS || classElement.getNestingKind() == NestingKind.LOCAL
+                || classElement.getNestingKind() == NestingKind.ANONYMOUS) {
+            return false;
+        }
+        if (classElement.getNestingKind() == NestingKind.MEMBER && !classElement.getModifiers().contains(Modifier.STATIC)) {
+            return false;
+        }
+        if (!classElement.getModifiers().contains(Modifier.PUBLIC)) {
+            return false;
+        }
+
+        if (core) {
+            // all the converter classes in camel-core are loaded by the core type converter loader
+            return true;
+        }
+
+        String className = classElement.getQualifiedName().toString();
+        String packageName = processingEnv.getElementUtils().getPackageOf(classElement).getQualifiedName().toString();
+        // package scanning includes sub packages
+        for (String name : services) {
+            if (name.equals(className) || name.equals(packageName) || packageName.startsWith(name + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected void processConverterClass(TypeElement classElement) {
+        List<ConverterMethod> methods = new ArrayList<ConverterMethod>();
+        boolean instance = false;
+
+        // include the converter methods from super classes as well
+        TypeElement current = classElement;
+        while (current != null && !"java.lang.Object".equals(current.getQualifiedName().toString())) {
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                ConverterMethod converterMethod = createConverterMethod(current, method);
+                if (converterMethod != null) {
+                    methods.add(converterMethod);
+                    instance |= !converterMethod.isStatic;
+                }
+            }
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+
+        if (methods.isEmpty()) {
+            return;
+        }
+        if (instance && classElement.getModifiers().contains(Modifier.ABSTRACT)) {
+            warning("Cannot generate type converter loader for abstract class: " + classElement.getQualifiedName()
+                    + " which has instance converter methods");
+            return;
+        }
+
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(classElement);
+        String packageName = packageElement.getQualifiedName().toString();
+        String loaderName = loaderName(classElement);
+        String fqn = packageName.length() > 0 ? packageName + "." + loaderName : loaderName;
+
+        Writer writer = null;
+        try {
+            JavaFileObject source = processingEnv.getFiler().createSourceFile(fqn, classElement);
+            writer = source.openWriter();
+            PrintWriter pw = new PrintWriter(writer);
+            writeLoader(pw, packageName, loaderName, classElement, methods, instance, isTypeConverterAware(classElement));
+            pw.flush();
+            loaders.add(fqn);
+        } catch (IOException e) {
+            log(e);
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    protected ConverterMethod createConverterMethod(TypeElement classElement, ExecutableElement method) {
+        Set<Modifier> modifiers = method.getModifiers();
+        AnnotationMirror annotation = findAnnotation(method, CONVERTER);
+        boolean fallback = false;
+        if (annotation == null) {
+            annotation = findAnnotation(method, FALLBACK_CONVERTER);
+            fallback = true;
+        }
+        if (annotation == null) {
+            return null;
+        }
+        if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.ABSTRACT) || method.getReturnType().getKind() == TypeKind.VOID) {
+            // the runtime loader will ignore these methods as well
+            return null;
+        }
+
+        List<? extends VariableElement> params = method.getParameters();
+        if (fallback) {
+            if (params.size() != 3 && !(params.size() == 4 && isType(params.get(1), EXCHANGE))) {
+                return null;
+            }
+            if (!isType(params.get(params.size() - 1), TYPE_CONVERTER_REGISTRY)) {
+                return null;
+            }
+        } else {
+            if (params.size() != 1 && !(params.size() == 2 && isType(params.get(1), EXCHANGE))) {
+                return null;
+            }
+        }
+
+        Types types = processingEnv.getTypeUtils();
+        ConverterMethod answer = new ConverterMethod();
+        answer.name = method.getSimpleName().toString();
+        answer.fallback = fallback;
+        answer.isStatic = modifiers.contains(Modifier.STATIC);
+        answer.useExchange = fallback ? params.size() == 4 : params.size() == 2;
+        answer.allowNull = booleanValue(annotation, "allowNull");
+        answer.canPromote = fallback && booleanValue(annotation, "canPromote");
+        answer.declaringClass = classElement.getQualifiedName().toString();
+        answer.toType = types.erasure(method.getReturnType()).toString();
+        for (VariableElement param : params) {
+            answer.parameterTypes.add(types.erasure(param.asType()).toString());
+        }
+        answer.fromType = fallback ? null : answer.parameterTypes.get(0);
+        return answer;
+    }
+
+    protected void writeLoader(PrintWriter w, String packageName, String loaderName, TypeElement classElement,
+                               List<ConverterMethod> methods, boolean instance, boolean typeConverterAware) {
+        String className = classElement.getQualifiedName().toString();
+
+        if (packageName.length() > 0) {
+            w.println("package " + packageName + ";");
+            w.println();
+        }
+        w.println("/**");
+        w.println(" * Generated by camel-apt from the type converters of {@link " + className + "}, do not edit.");
+        w.println(" */");
+        w.println("public final class " + loaderName + " implements org.apache.camel.spi.TypeConverterLoader {");
+        w.println();
+        w.println("    public void load(org.apache.camel.spi.TypeConverterRegistry registry) throws org.apache.camel.TypeConverterLoaderException {");
+        if (instance) {
+            w.println("        org.apache.camel.impl.converter.CachingInjector<" + className + "> injector = new org.apache.camel.impl.converter.CachingInjector<"
+                    + className + ">(registry, " + className + ".class);");
+        } else {
+            w.println("        org.apache.camel.impl.converter.CachingInjector<" + className + "> injector = null;");
+        }
+        for (int i = 0; i < methods.size(); i++) {
+            ConverterMethod method = methods.get(i);
+            String converter = "new Converter(" + i + ", " + method.allowNull + ", registry, injector)";
+            if (method.fallback) {
+                w.println("        registry.addFallbackTypeConverter(" + converter + ", " + method.canPromote + ");");
+            } else {
+                w.println("        registry.addTypeConverter(" + method.toType + ".class, " + method.fromType + ".class, " + converter + ");");
+            }
+        }
+        w.println("    }");
+        w.println();
+        w.println("    private static final class Converter extends org.apache.camel.support.TypeConverterSupport {");
+        w.println("        private final int index;");
+        w.println("        private final boolean allowNull;");
+        w.println("        private final org.apache.camel.spi.TypeConverterRegistry registry;");
+        w.println("        private final org.apache.camel.impl.converter.CachingInjector<" + className + "> injector;");
+        w.println();
+        w.println("        Converter(int index, boolean allowNull, org.apache.camel.spi.TypeConverterRegistry registry,");
+        w.println("                  org.apache.camel.impl.converter.CachingInjector<" + className + "> injector) {");
+        w.println("            this.index = index;");
+        w.println("            this.allowNull = allowNull;");
+        w.println("            this.registry = registry;");
+        w.println("            this.injector = injector;");
+        w.println("        }");
+        w.println();
+        w.println("        @Override");
+        w.println("        public boolean allowNull() {");
+        w.println("            return allowNull;");
+        w.println("        }");
+        w.println();
+        w.println("        @SuppressWarnings(\"unchecked\")");
+        w.println("        public <T> T convertTo(Class<T> type, org.apache.camel.Exchange exchange, Object value) {");
+        w.println("            Object answer;");
+        w.println("            try {");
+        w.println("                switch (index) {");
+        for (int i = 0; i < methods.size(); i++) {
+            ConverterMethod method = methods.get(i);
+            String target = method.isStatic ? method.declaringClass : "instance()";
+            List<String> p = method.parameterTypes;
+            String args;
+            if (method.fallback && method.useExchange) {
+                args = "type, " + cast(p.get(1), "exchange") + ", " + cast(p.get(2), "value") + ", registry";
+            } else if (method.fallback) {
+                args = "type, " + cast(p.get(1), "value") + ", registry";
+            } else if (method.useExchange) {
+                args = cast(p.get(0), "value") + ", " + cast(p.get(1), "exchange");
+            } else {
+                args = cast(p.get(0), "value");
+            }
+            w.println("                case " + i + ":");
+            w.println("                    answer = " + target + "." + method.name + "(" + args + ");");
+            w.println("                    break;");
+        }
+        w.println("                default:");
+        w.println("                    throw new IllegalStateException(\"Unknown converter: \" + index);");
+        w.println("                }");
+        w.println("            } catch (Exception e) {");
+        w.println("                throw org.apache.camel.util.ObjectHelper.wrapRuntimeCamelException(e);");
+        w.println("            }");
+        w.println("            return (T) answer;");
+        w.println("        }");
+        if (instance) {
+            w.println();
+            w.println("        private " + className + " instance() {");
+            w.println("            " + className + " answer = injector.newInstance();");
+            w.println("            if (answer == null) {");
+            w.println("                throw new org.apache.camel.RuntimeCamelException(\"Could not instantiate an instance of: " + className + "\");");
+            w.println("            }");
+            if (typeConverterAware) {
+                // only check at compile time, as an instanceof check of a final class which is not aware does not compile
+                w.println("            if (registry instanceof org.apache.camel.TypeConverter) {");
+                w.println("                answer.setTypeConverter((org.apache.camel.TypeConverter) registry);");
+                w.println("            }");
+            }
+            w.println("            return answer;");
+            w.println("        }");
+        }
+        w.println();
+        w.println("        @Override");
+        w.println("        public String toString() {");
+        w.println("            return \"GeneratedTypeConverter: " + className + "#\" + index;");
+        w.println("        }");
+        w.println("    }");
+        w.println();
+        w.println("}");
+    }
+
+    protected void writeServicesFile() {
+        Func1<PrintWriter, Void> handler = new Func1<PrintWriter, Void>() {
+            public Void call(PrintWriter writer) {
+                writer.println("# Generated by camel-apt, do not edit.");
+                for (String loader : loaders) {
+                    writer.println(loader);
+                }
+                return null;
+            }
+        };
+        processFile("", SERVICES_PACKAGE + (core ? "/CoreTypeConverterLoader" : "/TypeConverterLoader"), handler);
+    }
+
+    private AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationName.equals(type.getQualifiedName().toString())) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private boolean booleanValue(AnnotationMirror annotation, String name) {
+        for (ExecutableElement key : annotation.getElementValues().keySet()) {
+            if (name.equals(key.getSimpleName().toString())) {
+                AnnotationValue value = annotation.getElementValues().get(key);
+                return Boolean.TRUE.equals(value.getValue());
+            }
+        }
+        return false;
+    }
+
+    private boolean isTypeConverterAware(TypeElement classElement) {
+        TypeElement element = processingEnv.getElementUtils().getTypeElement(TYPE_CONVERTER_AWARE);
+        Types types = processingEnv.getTypeUtils();
+        return element != null && types.isAssignable(types.erasure(classElement.asType()), types.erasure(element.asType()));
+    }
+
+    private boolean isType(VariableElement param, String className) {
+        TypeMirror type = processingEnv.getTypeUtils().erasure(param.asType());
+        TypeElement element = processingEnv.getElementUtils().getTypeElement(className);
+        return element != null && processingEnv.getTypeUtils().isAssignable(type, processingEnv.getTypeUtils().erasure(element.asType()));
+    }
+
+    private static String loaderName(TypeElement classElement) {
+        StringBuilder sb = new StringBuilder(classElement.getSimpleName().toString());
+        Element enclosing = classElement.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            sb.insert(0, enclosing.getSimpleName() + "_");
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return sb.append("Loader").toString();
+    }
+
+    private static String cast(String type, String name) {
+        if ("java.lang.Object".equals(type) || ("exchange".equals(name) && EXCHANGE.equals(type))) {
+            return name;
+        }
+        return "(" + boxed(type) + ") " + name;
+    }
+
+    private static String boxed(String type) {
+        if ("boolean".equals(type)) {
+            return "java.lang.Boolean";
+        } else if ("byte".equals(type)) {
+            return "java.lang.Byte";
+        } else if ("char".equals(type)) {
+            return "java.lang.Character";
+        } else if ("short".equals(type)) {
+            return "java.lang.Short";
+        } else if ("int".equals(type)) {
+            return "java.lang.Integer";
+        } else if ("long".equals(type)) {
+            return "java.lang.Long";
+        } else if ("float".equals(type)) {
+            return "java.lang.Float";
+        } else if ("double".equals(type)) {
+            return "java.lang.Double";
+        }
+        return type;
+    }
+
+    private static final class ConverterMethod {
+        private String name;
+        private String declaringClass;
+        private String toType;
+        private String fromType;
+        private boolean fallback;
+        private boolean isStatic;
+        private boolean useExchange;
+        private boolean allowNull;
+        private boolean canPromote;
+        private List<String> parameterTypes = new ArrayList<String>();
+    }
+
+}